@@ -29,12 +29,14 @@ import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionShortcut;
 import org.apache.geode.cache.util.ObjectSizer;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
+import org.apache.geode.internal.cache.InlineKeyHelper;
 import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryHeapIntKey;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryHeapLongKey;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryHeapObjectKey;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryHeapStringKey1;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryHeapStringKey2;
+import org.apache.geode.internal.cache.entries.VMThinRegionEntryHeapStringKeyBytes;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryHeapUUIDKey;
 
 public class InlineKeyJUnitTest {
@@ -93,7 +95,22 @@ public class InlineKeyJUnitTest {
             lr.getRegionEntry(key) instanceof VMThinRegionEntryHeapStringKey2);
       }
 
-      key = getAsciiString(16);
+      for (int i = 16; i <= InlineKeyHelper.MAX_INLINE_BYTE_ARRAY_STRING_KEY; i += 16) {
+        key = getAsciiString(i);
+        r.create(key, null);
+        assertEquals(true, r.containsKey(key));
+        assertTrue("expected string entry but was " + lr.getRegionEntry(key).getClass(),
+            lr.getRegionEntry(key) instanceof VMThinRegionEntryHeapStringKeyBytes);
+      }
+
+      key = getLatin1String(40);
+      r.create(key, null);
+      assertEquals(true, r.containsKey(key));
+      assertEquals(key, lr.getRegionEntry(key).getKey());
+      assertTrue("expected string entry but was " + lr.getRegionEntry(key).getClass(),
+          lr.getRegionEntry(key) instanceof VMThinRegionEntryHeapStringKeyBytes);
+
+      key = getAsciiString(InlineKeyHelper.MAX_INLINE_BYTE_ARRAY_STRING_KEY + 1);
       r.create(key, null);
       assertEquals(true, r.containsKey(key));
       assertTrue("expected object entry but was " + lr.getRegionEntry(key).getClass(),
@@ -134,6 +151,15 @@ public class InlineKeyJUnitTest {
     return sb.toString();
   }
 
+  private static String getLatin1String(int len) {
+    StringBuilder sb = new StringBuilder();
+    char latin1Char = '\u00e9';
+    for (int i = 0; i < len; i++) {
+      sb.append(latin1Char);
+    }
+    return sb.toString();
+  }
+
   private static String getNonAsciiString(int len) {
     StringBuilder sb = new StringBuilder();
     char nonAsciiChar = '\u8888';
@@ -178,5 +204,12 @@ public class InlineKeyJUnitTest {
     re2 = new VMThinRegionEntryHeapObjectKey(null, "123456789012345", null);
     // System.out.println("VMThinRegionEntryObjectKey=" + getMemSize(re2));
     assertTrue(getMemSize(re) < getMemSize(re2));
+
+    String key = "ID-00000000-0000-0000-0000-000000000001";
+    re = new VMThinRegionEntryHeapStringKeyBytes(null, key, null);
+    // System.out.println("VMThinRegionEntryStringKeyBytes=" + getMemSize(re));
+    re2 = new VMThinRegionEntryHeapObjectKey(null, key, null);
+    // System.out.println("VMThinRegionEntryObjectKey=" + getMemSize(re2));
+    assertTrue(getMemSize(re) < getMemSize(re2));
   }
 }
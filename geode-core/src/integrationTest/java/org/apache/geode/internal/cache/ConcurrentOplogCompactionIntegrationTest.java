@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import org.apache.geode.Statistics;
+import org.apache.geode.cache.Scope;
+
+/**
+ * Tests compacting the oplogs of a disk store with several threads at a limited rate.
+ */
+public class ConcurrentOplogCompactionIntegrationTest extends DiskRegionTestingBase {
+
+  private static final int OPLOGS = 6;
+  private static final int PUTS_PER_OPLOG = 20;
+
+  private final DiskRegionProperties diskProps = new DiskRegionProperties();
+
+  @Override
+  protected final void postSetUp() throws Exception {
+    DiskStoreImpl.COMPACTION_THREADS = 3;
+    // oplogs wait after every five values they copy forward
+    DiskStoreImpl.COMPACTION_BYTES_PER_SECOND = 50 * 1000;
+    deleteFiles();
+    diskProps.setDiskDirs(dirs);
+    diskProps.setRolling(false);
+    diskProps.setAllowForceCompaction(true);
+    diskProps.setRegionName("ConcurrentCompactionRegion");
+  }
+
+  @Override
+  protected final void preTearDown() throws Exception {
+    DiskStoreImpl.COMPACTION_THREADS = 1;
+    DiskStoreImpl.COMPACTION_BYTES_PER_SECOND = 0;
+    closeDown();
+    deleteFiles();
+  }
+
+  @Test
+  public void oplogsAreCompactedConcurrentlyAndThrottled() throws Exception {
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+    byte[] value = new byte[1000];
+    for (int oplog = 0; oplog < OPLOGS; oplog++) {
+      for (int i = 0; i < PUTS_PER_OPLOG; i++) {
+        region.put(oplog + "-" + i, value);
+      }
+      for (int i = 1; i < PUTS_PER_OPLOG; i += 2) {
+        region.remove(oplog + "-" + i);
+      }
+      region.forceRolling();
+    }
+    DiskStoreImpl diskStore = ((LocalRegion) region).getDiskStore();
+    assertThat(diskStore.numCompactableOplogs()).isGreaterThanOrEqualTo(OPLOGS - 1);
+
+    assertThat(diskStore.forceCompaction()).isTrue();
+
+    assertThat(diskStore.numCompactableOplogs()).isEqualTo(0);
+    Statistics stats = diskStore.getStats().getStats();
+    assertThat(stats.getLong("compactionReclaimedBytes")).isGreaterThan(0);
+    assertThat(stats.getLong("compactionThrottleTime")).isGreaterThan(0);
+
+    cache.close();
+    cache = createCache();
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+
+    assertThat(region.size()).isEqualTo(OPLOGS * PUTS_PER_OPLOG / 2);
+    for (int oplog = 0; oplog < OPLOGS; oplog++) {
+      for (int i = 0; i < PUTS_PER_OPLOG; i++) {
+        assertThat(region.containsKey(oplog + "-" + i)).isEqualTo(i % 2 == 0);
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the block alignment of the writes of {@link DirectOplogWriter}, using a channel that is not
+ * opened for direct I/O so that the test does not depend on the JVM and the file system.
+ */
+public class DirectOplogWriterIntegrationTest {
+
+  private static final int BLOCK_SIZE = 64;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File file;
+  private FileChannel channel;
+  private DirectOplogWriter writer;
+
+  @Before
+  public void setUp() throws Exception {
+    file = temporaryFolder.newFile("oplog.crf");
+    channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+    writer = new DirectOplogWriter(channel, BLOCK_SIZE, ByteBuffer.allocateDirect(4 * BLOCK_SIZE));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    writer.close();
+  }
+
+  @Test
+  public void unalignedAppendsAreWrittenInWholeBlocks() throws Exception {
+    byte[] expected = new byte[0];
+    for (int length : new int[] {10, 1, 53, 100, 7, 0, 64, 30}) {
+      byte[] bytes = bytes(expected.length, length);
+      writer.write(ByteBuffer.wrap(bytes), expected.length);
+      expected = concat(expected, bytes);
+
+      assertThat(file.length() % BLOCK_SIZE).isEqualTo(0);
+      assertThat(contents(expected.length)).isEqualTo(expected);
+      assertThat(paddingIsZeros(expected.length)).isTrue();
+    }
+  }
+
+  @Test
+  public void appendsLargerThanTheBufferAreWrittenInChunks() throws Exception {
+    byte[] first = bytes(0, 5);
+    byte[] second = bytes(first.length, 10 * BLOCK_SIZE + 3);
+    writer.write(ByteBuffer.wrap(first), 0);
+    writer.write(ByteBuffer.wrap(second), first.length);
+
+    assertThat(file.length()).isEqualTo(11 * BLOCK_SIZE);
+    assertThat(contents(first.length + second.length)).isEqualTo(concat(first, second));
+  }
+
+  @Test
+  public void appendAtAnotherPositionReadsTheBytesBeforeItInItsBlock() throws Exception {
+    byte[] existing = bytes(0, 2 * BLOCK_SIZE + 20);
+    Files.write(file.toPath(), existing);
+    byte[] appended = bytes(existing.length, 50);
+
+    writer.write(ByteBuffer.wrap(appended), existing.length);
+
+    assertThat(file.length()).isEqualTo(4 * BLOCK_SIZE);
+    assertThat(contents(existing.length + appended.length)).isEqualTo(concat(existing, appended));
+  }
+
+  @Test
+  public void appendAfterTheEndOfTheFileFails() throws Exception {
+    assertThatThrownBy(() -> writer.write(ByteBuffer.wrap(bytes(0, 10)), 10))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void remainingBytesOfTheSourceAreWritten() throws Exception {
+    ByteBuffer source = ByteBuffer.wrap(bytes(0, 30));
+    source.position(10);
+
+    writer.write(source, 0);
+
+    assertThat(source.hasRemaining()).isFalse();
+    assertThat(contents(20)).isEqualTo(Arrays.copyOfRange(bytes(0, 30), 10, 30));
+  }
+
+  @Test
+  public void bufferMustHoldWholeBlocks() {
+    assertThatThrownBy(
+        () -> new DirectOplogWriter(channel, BLOCK_SIZE, ByteBuffer.allocate(BLOCK_SIZE + 1)))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static byte[] bytes(int offset, int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) ((offset + i) % 127 + 1);
+    }
+    return bytes;
+  }
+
+  private static byte[] concat(byte[] first, byte[] second) {
+    byte[] bytes = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, bytes, first.length, second.length);
+    return bytes;
+  }
+
+  private byte[] contents(int length) throws IOException {
+    return Arrays.copyOf(Files.readAllBytes(file.toPath()), length);
+  }
+
+  private boolean paddingIsZeros(int length) throws IOException {
+    byte[] bytes = Files.readAllBytes(file.toPath());
+    for (int i = length; i < bytes.length; i++) {
+      if (bytes[i] != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedOplogFileIntegrationTest {
+
+  private final byte[] bytes = new byte[1000];
+  private File file;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Before
+  public void setUp() throws Exception {
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    file = temporaryFolder.newFile("BACKUPtest_1.crf");
+    Files.write(file.toPath(), bytes);
+  }
+
+  @Test
+  public void readReturnsTheBytesOfTheFile() throws Exception {
+    MappedOplogFile mapped = MappedOplogFile.map(file, bytes.length);
+
+    assertThat(mapped.getLength()).isEqualTo(bytes.length);
+    assertThat(mapped.read(10, 20)).isEqualTo(Arrays.copyOfRange(bytes, 10, 30));
+    assertThat(mapped.read(0, bytes.length)).isEqualTo(bytes);
+  }
+
+  @Test
+  public void readReturnsBytesThatSpanSegments() throws Exception {
+    MappedOplogFile mapped = MappedOplogFile.map(file, bytes.length, 64);
+
+    assertThat(mapped.read(60, 200)).isEqualTo(Arrays.copyOfRange(bytes, 60, 260));
+    assertThat(mapped.read(960, 40)).isEqualTo(Arrays.copyOfRange(bytes, 960, 1000));
+  }
+
+  @Test
+  public void onlyTheGivenLengthIsMapped() throws Exception {
+    MappedOplogFile mapped = MappedOplogFile.map(file, 500);
+
+    assertThat(mapped.contains(400, 100)).isTrue();
+    assertThat(mapped.contains(400, 101)).isFalse();
+    assertThat(mapped.contains(-1, 1)).isFalse();
+    assertThatThrownBy(() -> mapped.read(400, 101))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void mappingRemainsReadableAfterTheFileIsDeleted() throws Exception {
+    MappedOplogFile mapped = MappedOplogFile.map(file, bytes.length);
+    assertThat(file.delete()).isTrue();
+
+    assertThat(mapped.read(100, 10)).isEqualTo(Arrays.copyOfRange(bytes, 100, 110));
+  }
+
+  @Test
+  public void closedMappingCannotBeRetained() throws Exception {
+    MappedOplogFile mapped = MappedOplogFile.map(file, bytes.length);
+
+    mapped.close();
+
+    assertThat(mapped.retain()).isFalse();
+  }
+
+  @Test
+  public void closeWaitsForRetainedReaders() throws Exception {
+    MappedOplogFile mapped = MappedOplogFile.map(file, bytes.length);
+    assertThat(mapped.retain()).isTrue();
+
+    CompletableFuture<Void> close = CompletableFuture.runAsync(mapped::close);
+    Thread.sleep(100);
+
+    assertThat(close).isNotDone();
+    assertThat(mapped.read(100, 10)).isEqualTo(Arrays.copyOfRange(bytes, 100, 110));
+    assertThat(mapped.retain()).isFalse();
+
+    mapped.release();
+
+    await().until(close::isDone);
+    assertThat(file.delete()).isTrue();
+  }
+}
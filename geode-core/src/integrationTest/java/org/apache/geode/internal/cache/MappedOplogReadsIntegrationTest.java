@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import org.apache.geode.Statistics;
+
+/**
+ * Tests faulting in values from oplogs that are read through a memory mapping.
+ */
+public class MappedOplogReadsIntegrationTest extends DiskRegionTestingBase {
+
+  private final DiskRegionProperties diskProps = new DiskRegionProperties();
+
+  @Override
+  protected final void postSetUp() throws Exception {
+    DiskStoreImpl.MAPPED_OPLOG_READS = true;
+    deleteFiles();
+    diskProps.setDiskDirs(dirs);
+    diskProps.setRolling(false);
+  }
+
+  @Override
+  protected final void preTearDown() throws Exception {
+    DiskStoreImpl.MAPPED_OPLOG_READS = false;
+    closeDown();
+    deleteFiles();
+  }
+
+  @Test
+  public void faultInFromOldOplogIsReadFromMapping() {
+    region = DiskRegionHelperFactory.getSyncOverFlowAndPersistRegion(cache, diskProps);
+    put100Int();
+    putTillOverFlow(region);
+    region.forceRolling();
+
+    assertThat(((LocalRegion) region).getValueInVM(2)).isNull();
+    verify100Int(false);
+
+    Statistics stats = ((LocalRegion) region).getDiskStore().getStats().getStats();
+    assertThat(stats.getInt("mappedOplogs")).isEqualTo(1);
+    assertThat(stats.getLong("mappedOplogReads")).isGreaterThan(0);
+    assertThat(stats.getLong("mappedOplogReadBytes")).isGreaterThan(0);
+  }
+
+  @Test
+  public void faultInFromCurrentOplogIsNotReadFromMapping() {
+    region = DiskRegionHelperFactory.getSyncOverFlowAndPersistRegion(cache, diskProps);
+    put100Int();
+    putTillOverFlow(region);
+
+    assertThat(region.get(2)).isEqualTo(2);
+
+    Statistics stats = ((LocalRegion) region).getDiskStore().getStats().getStats();
+    assertThat(stats.getInt("mappedOplogs")).isEqualTo(0);
+    assertThat(stats.getLong("mappedOplogReads")).isEqualTo(0);
+  }
+}
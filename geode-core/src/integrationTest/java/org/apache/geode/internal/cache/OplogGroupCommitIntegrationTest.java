@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import org.apache.geode.Statistics;
+import org.apache.geode.cache.Scope;
+
+/**
+ * Tests synchronous writes to a persistent region whose oplog records are committed as groups.
+ */
+public class OplogGroupCommitIntegrationTest extends DiskRegionTestingBase {
+
+  private static final int THREADS = 8;
+  private static final int PUTS_PER_THREAD = 200;
+
+  private final DiskRegionProperties diskProps = new DiskRegionProperties();
+
+  @Override
+  protected final void postSetUp() throws Exception {
+    DiskStoreImpl.GROUP_COMMIT = true;
+    deleteFiles();
+    diskProps.setDiskDirs(dirs);
+    diskProps.setRegionName("GroupCommitRegion");
+  }
+
+  @Override
+  protected final void preTearDown() throws Exception {
+    DiskStoreImpl.GROUP_COMMIT = false;
+    closeDown();
+    deleteFiles();
+  }
+
+  @Test
+  public void concurrentPutsAndRemovesAreCommittedAndRecovered() throws Exception {
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      final int thread = t;
+      futures.add(CompletableFuture.runAsync(() -> {
+        for (int i = 0; i < PUTS_PER_THREAD; i++) {
+          region.put(thread + "-" + i, i);
+        }
+        region.remove(thread + "-0");
+      }));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+
+    Statistics stats = ((LocalRegion) region).getDiskStore().getStats().getStats();
+    assertThat(stats.getLong("groupCommits")).isGreaterThan(0);
+    assertThat(stats.getLong("groupCommitWrites"))
+        .isLessThanOrEqualTo(THREADS * (PUTS_PER_THREAD + 1))
+        .isGreaterThanOrEqualTo(stats.getLong("groupCommits"));
+
+    cache.close();
+    cache = createCache();
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+
+    assertThat(region.size()).isEqualTo(THREADS * (PUTS_PER_THREAD - 1));
+    for (int t = 0; t < THREADS; t++) {
+      assertThat(region.containsKey(t + "-0")).isFalse();
+      for (int i = 1; i < PUTS_PER_THREAD; i++) {
+        assertThat(region.get(t + "-" + i)).isEqualTo(i);
+      }
+    }
+  }
+}
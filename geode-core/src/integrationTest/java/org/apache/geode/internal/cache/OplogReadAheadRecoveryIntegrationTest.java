@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import org.apache.geode.Statistics;
+import org.apache.geode.cache.Scope;
+
+/**
+ * Tests recovering a persistent region from oplogs that are read ahead of the recovery thread.
+ */
+public class OplogReadAheadRecoveryIntegrationTest extends DiskRegionTestingBase {
+
+  private static final int OPLOGS = 5;
+  private static final int PUTS_PER_OPLOG = 100;
+
+  private final DiskRegionProperties diskProps = new DiskRegionProperties();
+
+  @Override
+  protected final void postSetUp() throws Exception {
+    DiskStoreImpl.RECOVERY_READ_AHEAD_THREADS = 2;
+    deleteFiles();
+    diskProps.setDiskDirs(dirs);
+    diskProps.setRolling(false);
+    diskProps.setRegionName("ReadAheadRegion");
+  }
+
+  @Override
+  protected final void preTearDown() throws Exception {
+    DiskStoreImpl.RECOVERY_READ_AHEAD_THREADS = 0;
+    DiskStoreImpl.RECOVERY_READ_AHEAD_MAX_FILE_SIZE = 32 * 1024 * 1024;
+    closeDown();
+    deleteFiles();
+  }
+
+  @Test
+  public void entriesOfAllOplogsAreRecovered() throws Exception {
+    createOplogsAndRecover();
+
+    assertRecovered();
+  }
+
+  @Test
+  public void entriesOfOplogsTooLargeToReadIntoMemoryAreRecovered() throws Exception {
+    DiskStoreImpl.RECOVERY_READ_AHEAD_MAX_FILE_SIZE = 0;
+
+    createOplogsAndRecover();
+
+    assertRecovered();
+  }
+
+  private void createOplogsAndRecover() {
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+    for (int oplog = 0; oplog < OPLOGS; oplog++) {
+      for (int i = 0; i < PUTS_PER_OPLOG; i++) {
+        region.put(oplog + "-" + i, i);
+      }
+      region.remove(oplog + "-0");
+      region.put("oplog", oplog);
+      region.forceRolling();
+    }
+
+    cache.close();
+    cache = createCache();
+    region = DiskRegionHelperFactory.getSyncPersistOnlyRegion(cache, diskProps, Scope.LOCAL);
+  }
+
+  private void assertRecovered() {
+    assertThat(region.size()).isEqualTo(OPLOGS * (PUTS_PER_OPLOG - 1) + 1);
+    assertThat(region.get("oplog")).isEqualTo(OPLOGS - 1);
+    for (int oplog = 0; oplog < OPLOGS; oplog++) {
+      assertThat(region.containsKey(oplog + "-0")).isFalse();
+      for (int i = 1; i < PUTS_PER_OPLOG; i++) {
+        assertThat(region.get(oplog + "-" + i)).isEqualTo(i);
+      }
+    }
+
+    // the recovery thread waits for every file it recovers to be read ahead, which is recorded
+    // once the read is complete; every oplog has a drf and either a krf or a crf
+    Statistics stats = ((LocalRegion) region).getDiskStore().getStats().getStats();
+    assertThat(stats.getLong("recoveryReadAheads")).isGreaterThanOrEqualTo(2 * OPLOGS);
+    assertThat(stats.getLong("recoveryReadAheadBytes")).isGreaterThan(0);
+  }
+}
@@ -31,6 +31,9 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAlgorithm;
+import org.apache.geode.cache.EvictionAttributes;
 import org.apache.geode.cache.PartitionAttributes;
 import org.apache.geode.cache.PartitionAttributesFactory;
 import org.apache.geode.cache.Region;
@@ -92,4 +95,28 @@ public class CacheXmlGeneratorIntegrationTest {
     assertThat(parsedAttributes.getFixedPartitionAttributes())
         .isEqualTo(partitionAttributes.getFixedPartitionAttributes());
   }
+
+  @Test
+  public void generateXmlForRegionWithTinyLfuEvictionShouldRoundTrip() throws Exception {
+    CacheCreation cacheCreation = new CacheCreation();
+    RegionAttributesCreation attributes = new RegionAttributesCreation(cacheCreation);
+    attributes.setPartitionAttributes(partitionAttributes);
+    attributes.setEvictionAttributes(
+        EvictionAttributes.createTinyLFUEntryAttributes(100, EvictionAction.LOCAL_DESTROY));
+    cacheCreation.createVMRegion(testName.getMethodName(), attributes);
+    File cacheXmlFile = temporaryFolder.newFile(testName.getMethodName() + ".xml");
+    PrintWriter printWriter = new PrintWriter(new FileWriter(cacheXmlFile), true);
+    CacheXmlGenerator.generate(cacheCreation, printWriter);
+
+    serverStarterRule.withProperty("cache-xml-file", cacheXmlFile.getAbsolutePath())
+        .startServer();
+
+    Region<Object, Object> region = serverStarterRule.getCache().getRegion(
+        testName.getMethodName());
+    assertThat(region).isNotNull();
+    EvictionAttributes parsed = region.getAttributes().getEvictionAttributes();
+    assertThat(parsed.getAlgorithm()).isEqualTo(EvictionAlgorithm.TINY_LFU_ENTRY);
+    assertThat(parsed.getMaximum()).isEqualTo(100);
+    assertThat(parsed.getAction()).isEqualTo(EvictionAction.LOCAL_DESTROY);
+  }
 }
@@ -233,6 +233,98 @@ public class SSLSocketIntegrationTest {
     // assertThat(this.messageFromClient.get()).isEqualTo(MESSAGE);
   }
 
+  @Test
+  public void nioSslSocketShouldExchangeMessagesWithSSLSocket() throws Exception {
+    ServerSocketChannel serverChannel = ServerSocketChannel.open();
+    serverSocket = serverChannel.socket();
+    serverSocket.bind(new InetSocketAddress(localHost, 0), 10);
+    int serverPort = serverSocket.getLocalPort();
+
+    AtomicReference<Boolean> bufferedAfterLastMessage = new AtomicReference<>();
+    serverThread = new Thread(new MyThreadGroup(testName.getMethodName()), () -> {
+      try {
+        SocketChannel channel = serverChannel.accept();
+        BufferPool bufferPool = new BufferPool(mock(DMStats.class));
+        ByteBuffer peerNetData = bufferPool.acquireDirectReceiveBuffer(65535);
+        NioSslEngine engine = socketCreator.handshakeSSLSocketChannel(channel,
+            socketCreator.createServerSSLEngine("localhost", 1234), 15000, false, peerNetData,
+            bufferPool);
+        try (NioSslSocket socket = new NioSslSocket(channel, engine, peerNetData, bufferPool)) {
+          assertThat(socket.getChannel()).isNull();
+          DataInputStream input = new DataInputStream(socket.getInputStream());
+          DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+          messageFromClient.set(input.readUTF() + input.readUTF());
+          bufferedAfterLastMessage.set(socket.hasBufferedInput());
+          output.writeUTF(messageFromClient.get());
+          output.flush();
+        }
+      } catch (Throwable throwable) {
+        serverException = throwable;
+      }
+    }, testName.getMethodName() + "-server");
+    serverThread.start();
+
+    clientSocket = socketCreator.connectForServer(localHost, serverPort);
+    DataOutputStream output = new DataOutputStream(clientSocket.getOutputStream());
+    output.writeUTF(MESSAGE);
+    output.writeUTF(" again");
+    output.flush();
+    DataInputStream input = new DataInputStream(clientSocket.getInputStream());
+
+    assertThat(input.readUTF()).isEqualTo(MESSAGE + " again");
+    assertThat(input.read()).isEqualTo(-1);
+    await().until(() -> !serverThread.isAlive());
+    assertNull(serverException);
+    assertThat(bufferedAfterLastMessage.get()).isFalse();
+  }
+
+  @Test
+  public void nioSslSocketShouldTimeOutReadsAndShutDownOutput() throws Exception {
+    ServerSocketChannel serverChannel = ServerSocketChannel.open();
+    serverSocket = serverChannel.socket();
+    serverSocket.bind(new InetSocketAddress(localHost, 0), 10);
+    int serverPort = serverSocket.getLocalPort();
+
+    AtomicReference<Throwable> readFailure = new AtomicReference<>();
+    serverThread = new Thread(new MyThreadGroup(testName.getMethodName()), () -> {
+      try {
+        SocketChannel channel = serverChannel.accept();
+        BufferPool bufferPool = new BufferPool(mock(DMStats.class));
+        ByteBuffer peerNetData = bufferPool.acquireDirectReceiveBuffer(65535);
+        NioSslEngine engine = socketCreator.handshakeSSLSocketChannel(channel,
+            socketCreator.createServerSSLEngine("localhost", 1234), 15000, false, peerNetData,
+            bufferPool);
+        try (NioSslSocket socket = new NioSslSocket(channel, engine, peerNetData, bufferPool)) {
+          socket.setSoTimeout(500);
+          try {
+            socket.getInputStream().read();
+          } catch (Throwable throwable) {
+            readFailure.set(throwable);
+          }
+          DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+          output.writeUTF(MESSAGE);
+          output.flush();
+          socket.shutdownOutput();
+          assertThat(socket.isOutputShutdown()).isTrue();
+          assertThat(socket.getInputStream().read()).isEqualTo(-1);
+        }
+      } catch (Throwable throwable) {
+        serverException = throwable;
+      }
+    }, testName.getMethodName() + "-server");
+    serverThread.start();
+
+    clientSocket = socketCreator.connectForServer(localHost, serverPort);
+    DataInputStream input = new DataInputStream(clientSocket.getInputStream());
+
+    assertThat(input.readUTF()).isEqualTo(MESSAGE);
+    assertThat(input.read()).isEqualTo(-1);
+    clientSocket.close();
+    await().until(() -> !serverThread.isAlive());
+    assertNull(serverException);
+    assertThat(readFailure.get()).isInstanceOf(SocketTimeoutException.class);
+  }
+
   private void writeMessageToNIOSSLServer(SocketChannel clientChannel, NioSslEngine engine)
       throws IOException {
     System.out.println("client sending Hello World message to server");
@@ -31,12 +31,14 @@ import org.apache.geode.cache.RegionShortcut;
 import org.apache.geode.cache.util.ObjectSizer;
 import org.apache.geode.distributed.ConfigurationProperties;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
+import org.apache.geode.internal.cache.InlineKeyHelper;
 import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryOffHeapIntKey;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryOffHeapLongKey;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryOffHeapObjectKey;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryOffHeapStringKey1;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryOffHeapStringKey2;
+import org.apache.geode.internal.cache.entries.VMThinRegionEntryOffHeapStringKeyBytes;
 import org.apache.geode.internal.cache.entries.VMThinRegionEntryOffHeapUUIDKey;
 import org.apache.geode.test.junit.categories.OffHeapTest;
 
@@ -161,6 +163,12 @@ public class InlineKeyJUnitTest {
       key = "1234567890123456";
       r.create(key, null);
       assertEquals(true, r.containsKey(key));
+      assertTrue("expected string entry but was " + lr.getRegionEntry(key).getClass(),
+          lr.getRegionEntry(key) instanceof VMThinRegionEntryOffHeapStringKeyBytes);
+
+      key = getAsciiString(InlineKeyHelper.MAX_INLINE_BYTE_ARRAY_STRING_KEY + 1);
+      r.create(key, null);
+      assertEquals(true, r.containsKey(key));
       assertTrue("expected string object but was " + lr.getRegionEntry(key).getClass(),
           lr.getRegionEntry(key) instanceof VMThinRegionEntryOffHeapObjectKey);
 
@@ -169,6 +177,14 @@ public class InlineKeyJUnitTest {
     }
   }
 
+  private static String getAsciiString(int len) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < len; i++) {
+      sb.append('1');
+    }
+    return sb.toString();
+  }
+
   private static int getMemSize(Object o) {
     return ObjectSizer.REFLECTION_SIZE.sizeof(o);
   }
@@ -204,5 +220,12 @@ public class InlineKeyJUnitTest {
     re2 = new VMThinRegionEntryOffHeapObjectKey(null, "123456789012345", null);
     // System.out.println("VMThinRegionEntryObjectKey=" + getMemSize(re2));
     assertTrue(getMemSize(re) < getMemSize(re2));
+
+    String key = "ID-00000000-0000-0000-0000-000000000001";
+    re = new VMThinRegionEntryOffHeapStringKeyBytes(null, key, null);
+    // System.out.println("VMThinRegionEntryStringKeyBytes=" + getMemSize(re));
+    re2 = new VMThinRegionEntryOffHeapObjectKey(null, key, null);
+    // System.out.println("VMThinRegionEntryObjectKey=" + getMemSize(re2));
+    assertTrue(getMemSize(re) < getMemSize(re2));
   }
 }
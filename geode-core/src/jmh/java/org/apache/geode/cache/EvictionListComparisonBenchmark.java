@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+
+/**
+ * This benchmark compares the eviction lists with a read-mostly, skewed workload on a region that
+ * holds a quarter of the keys. Each operation gets a key and puts it on a miss, so the throughput
+ * includes the cost of evicting, and the hit ratio printed at the end of the trial shows how well
+ * each list keeps the hot keys. The tiny-lfu list is used by the
+ * {@link EvictionAlgorithm#TINY_LFU_ENTRY} algorithm rather than chosen with a system property.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class EvictionListComparisonBenchmark {
+  private static final int MAX_ENTRIES = 250_000;
+  private static final int KEYS = 4 * MAX_ENTRIES;
+  /** 80 percent of the operations use the hottest 20 percent of the keys */
+  private static final int HOT_KEYS = KEYS / 5;
+
+  @Param({"async", "sync", "clock", "tiny-lfu"})
+  public String evictionList;
+
+  Cache cache;
+  Region<Integer, String> region;
+  final LongAdder hits = new LongAdder();
+  final LongAdder misses = new LongAdder();
+
+  @Setup(Level.Trial)
+  public void setup() {
+    System.setProperty("geode." + SystemPropertyHelper.EVICTION_SCAN_ASYNC,
+        Boolean.toString(evictionList.equals("async")));
+    System.setProperty("geode." + SystemPropertyHelper.EVICTION_CLOCK,
+        Boolean.toString(evictionList.equals("clock")));
+    EvictionAttributes evictionAttributes = evictionList.equals("tiny-lfu")
+        ? EvictionAttributes.createTinyLFUEntryAttributes(MAX_ENTRIES, EvictionAction.LOCAL_DESTROY)
+        : EvictionAttributes.createLRUEntryAttributes(MAX_ENTRIES, EvictionAction.LOCAL_DESTROY);
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    region = cache.<Integer, String>createRegionFactory(RegionShortcut.LOCAL)
+        .setEvictionAttributes(evictionAttributes).create("testRegion");
+    for (int i = 0; i < MAX_ENTRIES; i++) {
+      region.put(nextKey(ThreadLocalRandom.current()), "value");
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    long total = hits.sum() + misses.sum();
+    if (total > 0) {
+      System.out.println("Hit ratio with " + evictionList + " eviction list: "
+          + (100.0 * hits.sum() / total) + "%");
+    }
+    cache.close();
+  }
+
+  @Benchmark
+  @Measurement(time = 5, iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @Threads(8)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String getOrPut() {
+    Integer key = nextKey(ThreadLocalRandom.current());
+    String value = region.get(key);
+    if (value != null) {
+      hits.increment();
+      return value;
+    }
+    misses.increment();
+    return region.put(key, "value");
+  }
+
+  private static Integer nextKey(ThreadLocalRandom random) {
+    if (random.nextInt(100) < 80) {
+      return random.nextInt(HOT_KEYS);
+    }
+    return HOT_KEYS + random.nextInt(KEYS - HOT_KEYS);
+  }
+}
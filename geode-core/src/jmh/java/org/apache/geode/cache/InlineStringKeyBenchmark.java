@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This benchmark measures the throughput of get actions on a region with long ASCII string keys
+ * and prints the heap used per entry. Run it with and without
+ * -Dgemfire.DISABLE_INLINE_REGION_KEYS=true to compare inline byte array keys with String keys.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class InlineStringKeyBenchmark {
+  private static final int ENTRIES = 1_000_000;
+
+  @Param({"16", "32", "40"})
+  int keyLength;
+
+  Cache cache;
+  Region<String, String> region;
+  String[] keys;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    cache = new CacheFactory().set(LOG_LEVEL, "warn").create();
+    keys = new String[ENTRIES];
+    for (int i = 0; i < ENTRIES; i++) {
+      keys[i] = createKey(i);
+    }
+    long heapBefore = usedHeap();
+    region = createRegion(cache);
+    long heapAfter = usedHeap();
+    System.out.println("Heap per entry with keys of length " + keyLength + ": "
+        + (heapAfter - heapBefore) / ENTRIES + " bytes");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.close();
+  }
+
+  @State(Scope.Thread)
+  public static class MyState {
+    Random random = new Random();
+  }
+
+  @Benchmark
+  @Measurement(iterations = 10)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String getEntry(MyState state) {
+    return region.get(keys[state.random.nextInt(ENTRIES)]);
+  }
+
+  private String createKey(int i) {
+    StringBuilder key = new StringBuilder(keyLength);
+    key.append("ID-");
+    String suffix = Integer.toString(i);
+    for (int j = key.length() + suffix.length(); j < keyLength; j++) {
+      key.append('0');
+    }
+    return key.append(suffix).toString();
+  }
+
+  private Region<String, String> createRegion(Cache cache) {
+    Region<String, String> region =
+        cache.<String, String>createRegionFactory(RegionShortcut.LOCAL).create("testRegion");
+    String value = "value";
+    for (int i = 0; i < ENTRIES; i++) {
+      // put a copy of the key so that the region does not share the String held by keys
+      region.put(new String(keys[i]), value);
+    }
+    return region;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
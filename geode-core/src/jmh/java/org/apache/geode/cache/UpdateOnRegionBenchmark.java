@@ -66,6 +66,17 @@ public class UpdateOnRegionBenchmark {
     return region.put(key, "value");
   }
 
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dgemfire.RECYCLE_ENTRY_EVENTS=true")
+  @Measurement(iterations = 50)
+  @Warmup(iterations = 5)
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public String updateRegionWithRecycledEvents(MyState state) {
+    String key = Integer.toString(state.random.nextInt(ENTRIES));
+    return region.put(key, "value");
+  }
+
   private Region<String, String> createRegion(Cache cache, int maxSize) {
     Region<String, String> region = cache.<String, String>createRegionFactory(RegionShortcut.LOCAL)
         .setEvictionAttributes(
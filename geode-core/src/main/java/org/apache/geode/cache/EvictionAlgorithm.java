@@ -75,12 +75,25 @@ public final class EvictionAlgorithm extends EnumSyntax implements Serializable
   @Immutable
   public static final EvictionAlgorithm LIFO_MEMORY = new EvictionAlgorithm(5);
 
+  /**
+   * An algorithm that considers the number of Entries in the Region before invoking its
+   * {@link EvictionAction} and that only keeps a new entry if its key has recently been used more
+   * often than the key of the entry it would replace. It is configured with
+   * {@link EvictionAttributes#createTinyLFUEntryAttributes(int, EvictionAction)} or with a
+   * {@code tiny-lfu-entry-count} element in cache.xml. Members older than Geode 1.12 are sent
+   * {@link #LRU_ENTRY} instead.
+   *
+   * @since Geode 1.12
+   */
+  @Immutable
+  public static final EvictionAlgorithm TINY_LFU_ENTRY = new EvictionAlgorithm(6);
+
   private EvictionAlgorithm(int val) {
     super(val);
   }
 
   private static final String[] stringTable = {"none", "lru-entry-count", "lru-heap-percentage",
-      "lru-memory-size", "lifo-entry-count", "lifo-memory-size"};
+      "lru-memory-size", "lifo-entry-count", "lifo-memory-size", "tiny-lfu-entry-count"};
 
   @Override
   protected String[] getStringTable() {
@@ -89,7 +102,7 @@ public final class EvictionAlgorithm extends EnumSyntax implements Serializable
 
   @Immutable
   private static final EvictionAlgorithm[] enumValueTable =
-      {NONE, LRU_ENTRY, LRU_HEAP, LRU_MEMORY, LIFO_ENTRY, LIFO_MEMORY,};
+      {NONE, LRU_ENTRY, LRU_HEAP, LRU_MEMORY, LIFO_ENTRY, LIFO_MEMORY, TINY_LFU_ENTRY,};
 
   @Override
   protected EnumSyntax[] getEnumValueTable() {
@@ -150,4 +163,13 @@ public final class EvictionAlgorithm extends EnumSyntax implements Serializable
   public boolean isLIFO() {
     return this == LIFO_ENTRY || this == LIFO_MEMORY;
   }
+
+  /**
+   * Returns true if this object uses a TinyLFU admission filter.
+   *
+   * @since Geode 1.12
+   */
+  public boolean isTinyLFU() {
+    return this == TINY_LFU_ENTRY;
+  }
 }
@@ -486,6 +486,27 @@ public abstract class EvictionAttributes {
     return buffer.toString();
   }
 
+  /**
+   * Creates and returns {@linkplain EvictionAlgorithm#TINY_LFU_ENTRY entry TinyLFU} eviction
+   * attributes with the given maximum and action. Like entry LRU these attributes evict when the
+   * region holds more than {@code maximumEntries} entries, but a new entry whose key has not been
+   * used more often than the key of the entry it would replace is evicted itself. This keeps the
+   * frequently used entries in the region when it is scanned.
+   * <p>
+   * These attributes are declared in cache.xml with a {@code tiny-lfu-entry-count} element. They
+   * cannot be configured with gfsh.
+   *
+   * @param maximumEntries the number of entries to keep in the Region
+   * @param evictionAction the action to perform when evicting an entry
+   * @return entry TinyLFU eviction attributes with the given maximum and action
+   * @since Geode 1.12
+   */
+  public static EvictionAttributes createTinyLFUEntryAttributes(int maximumEntries,
+      EvictionAction evictionAction) {
+    return new EvictionAttributesImpl().setAlgorithm(EvictionAlgorithm.TINY_LFU_ENTRY)
+        .setAction(evictionAction).setMaximum(maximumEntries);
+  }
+
   /**
    * @return an EvictionAttributes for the LIFOCapacityController
    * @since GemFire 5.7
@@ -524,6 +545,12 @@ public abstract class EvictionAttributes {
       heapPercentage.setAction(action);
       objectSizerClass.ifPresent(o -> heapPercentage.setClassName(o));
       configAttributes.setLruHeapPercentage(heapPercentage);
+    } else if (algorithm.isTinyLFU()) {
+      RegionAttributesType.EvictionAttributes.TinyLfuEntryCount entryCount =
+          new RegionAttributesType.EvictionAttributes.TinyLfuEntryCount();
+      entryCount.setAction(action);
+      entryCount.setMaximum(maximum.toString());
+      configAttributes.setTinyLfuEntryCount(entryCount);
     } else if (algorithm.isLRUMemory()) {
       RegionAttributesType.EvictionAttributes.LruMemorySize memorySize =
           new RegionAttributesType.EvictionAttributes.LruMemorySize();
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 
@@ -1444,6 +1445,81 @@ public interface Region<K, V> extends ConcurrentMap<K, V> {
    */
   <T extends K> Map<T, V> getAll(Collection<T> keys, Object aCallbackArgument);
 
+  /**
+   * Returns a future of the value associated with the specified key, as {@link #get(Object)} does.
+   * The future fails with the exception that {@link #get(Object)} would throw.
+   * <p>
+   * On a client region that stores nothing locally, that is a <code>PROXY</code> region, and has no
+   * cache loader, cache writer or cache listeners, the value is requested from a server without
+   * waiting for the response, and many requests share a connection to the server. The calling
+   * thread is free to issue more requests in the meantime. The future may be completed by a thread
+   * of the pool, so work chained to it should not block. Anywhere else, and within a transaction,
+   * this method calls {@link #get(Object)} and returns a completed future.
+   *
+   * @param key the key whose associated value is to be returned
+   * @return a future of the value, or of null if the key has no value
+   * @since Geode 1.12
+   */
+  default CompletableFuture<V> getAsync(Object key) {
+    try {
+      return CompletableFuture.completedFuture(get(key));
+    } catch (RuntimeException e) {
+      CompletableFuture<V> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+  }
+
+  /**
+   * Places a new value into an entry in this region with the specified key, as
+   * {@link #put(Object, Object)} does, and returns a future that completes when it is done. The
+   * future fails with the exception that {@link #put(Object, Object)} would throw.
+   * <p>
+   * On a client <code>PROXY</code> region without cache loader, cache writer and cache listeners
+   * the value is sent to a server without waiting for the response, as described for
+   * {@link #getAsync(Object)}. Anywhere else this method calls {@link #put(Object, Object)} and
+   * returns a completed future.
+   *
+   * @param key a key associated with the value to be put into this region
+   * @param value the value to be put into the cache
+   * @return a future that completes when the put is done
+   * @since Geode 1.12
+   */
+  default CompletableFuture<Void> putAsync(K key, V value) {
+    try {
+      put(key, value);
+      return CompletableFuture.completedFuture(null);
+    } catch (RuntimeException e) {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+  }
+
+  /**
+   * Returns a future of the values for all the keys in the input Collection, as
+   * {@link #getAll(Collection)} does. The future fails with the exception that
+   * {@link #getAll(Collection)} would throw.
+   * <p>
+   * On a client <code>PROXY</code> region without cache loader, cache writer and cache listeners
+   * the values are requested from the servers without waiting for the responses, as described for
+   * {@link #getAsync(Object)}. Anywhere else this method calls {@link #getAll(Collection)} and
+   * returns a completed future.
+   *
+   * @param keys A Collection of keys
+   * @return A future of a Map of values for the input keys
+   * @since Geode 1.12
+   */
+  default CompletableFuture<Map<K, V>> getAllAsync(Collection<?> keys) {
+    try {
+      return CompletableFuture.completedFuture(getAll(keys));
+    } catch (RuntimeException e) {
+      CompletableFuture<Map<K, V>> future = new CompletableFuture<>();
+      future.completeExceptionally(e);
+      return future;
+    }
+  }
+
 
   /**
    * Removes the entry with the specified key. The operation removes not only the value but also the
@@ -392,6 +392,57 @@ public abstract class AbstractOp implements Op {
     }
   }
 
+  /**
+   * Sends this operation's message on the given connection without reading the response, so that
+   * more operations can be sent on the connection first. The server replies to the messages of a
+   * connection in the order it received them, so the responses are then read in the same order
+   * with {@link #attemptPipelinedReadResponse(Connection, long)}.
+   *
+   * @return the start of this attempt, to pass on to the methods that end it
+   */
+  long attemptPipelinedSend(Connection connection) throws Exception {
+    failed = true;
+    timedOut = false;
+    long start = startAttempt(connection.getStats());
+    try {
+      attemptSend(connection);
+      failed = false;
+    } finally {
+      endSendAttempt(connection.getStats(), start);
+      if (failed) {
+        endAttempt(connection.getStats(), start);
+      }
+    }
+    return start;
+  }
+
+  /**
+   * Reads the response to a message sent with {@link #attemptPipelinedSend(Connection)}.
+   */
+  Object attemptPipelinedReadResponse(Connection connection, long start) throws Exception {
+    failed = true;
+    try {
+      Object result = attemptReadResponse(connection);
+      failed = false;
+      return result;
+    } catch (SocketTimeoutException ste) {
+      failed = false;
+      timedOut = true;
+      throw ste;
+    } finally {
+      endAttempt(connection.getStats(), start);
+    }
+  }
+
+  /**
+   * Ends an attempt whose message was sent with {@link #attemptPipelinedSend(Connection)} but
+   * whose response will never be read because the connection failed.
+   */
+  void abandonPipelinedAttempt(Connection connection, long start) {
+    failed = true;
+    endAttempt(connection.getStats(), start);
+  }
+
   protected boolean hasFailed() {
     return failed;
   }
@@ -416,6 +467,16 @@ public abstract class AbstractOp implements Op {
     return true;
   }
 
+  /**
+   * Returns true if this operation can share a connection with the operations of other threads
+   * when the pool multiplexes connections. That is the case for operations that send one message
+   * and read one response, and that the server handles quickly, since operations sharing a
+   * connection wait for the responses to the operations sent before them.
+   */
+  protected boolean isMultiplexable() {
+    return false;
+  }
+
   public boolean isGatewaySenderOp() {
     return false;
   }
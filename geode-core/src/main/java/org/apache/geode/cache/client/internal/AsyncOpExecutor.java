@@ -0,0 +1,339 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.apache.geode.util.internal.GeodeGlossary.GEMFIRE_PREFIX;
+
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.cache.client.ServerOperationException;
+import org.apache.geode.cache.client.internal.pooling.ConnectionManager;
+import org.apache.geode.distributed.PoolCancelledException;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.logging.internal.executors.LoggingExecutors;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * Executes the operations of the asynchronous region methods without holding a thread and a
+ * connection for each of them. Operations wait in a queue for the server they go to, and a few
+ * pipelines per server take them off the queue in batches. A pipeline sends the operations of a
+ * batch on one connection ahead of reading their responses, as far as the send buffer of the
+ * connection allows, and the server sends the responses in the order it received the operations.
+ * <p>
+ * Operations that a pipeline cannot complete, because its connection failed, are executed again
+ * by the pool, which fails over to other servers the way it does for synchronous operations.
+ *
+ * @since Geode 1.12
+ */
+public class AsyncOpExecutor {
+  private static final Logger logger = LogService.getLogger();
+
+  /** The number of pipelines that execute operations on each server at the same time. */
+  static final int PIPELINES_PER_SERVER =
+      Integer.getInteger(GEMFIRE_PREFIX + "PoolImpl.ASYNC_PIPELINES_PER_SERVER", 4);
+
+  /** The number of operations that a pipeline takes off the queue in one batch. */
+  static final int MAX_PIPELINED_OPS =
+      Integer.getInteger(GEMFIRE_PREFIX + "PoolImpl.ASYNC_MAX_PIPELINED_OPS", 64);
+
+  private static final int THREADS = Integer.getInteger(GEMFIRE_PREFIX + "PoolImpl.ASYNC_THREADS",
+      2 * Runtime.getRuntime().availableProcessors());
+
+  private static final int THREAD_KEEP_ALIVE_SECONDS = 60;
+
+  private final ExecutablePool pool;
+  private final ConnectionManager connectionManager;
+  private final long connectionTimeout;
+  private final ExecutorService executor;
+  private final int pipelinesPerServer;
+  private final int maxPipelinedOps;
+
+  /** Operations that any server can execute. */
+  private final Lane anyServerLane = new Lane(null);
+  private final ConcurrentMap<ServerLocation, Lane> serverLanes = new ConcurrentHashMap<>();
+
+  private volatile boolean closed;
+
+  AsyncOpExecutor(String poolName, ExecutablePool pool, ConnectionManager connectionManager,
+      long connectionTimeout) {
+    this(pool, connectionManager, connectionTimeout,
+        LoggingExecutors.newFixedThreadPoolWithTimeout("AsyncOps " + poolName + " Thread ",
+            THREADS, THREAD_KEEP_ALIVE_SECONDS),
+        PIPELINES_PER_SERVER, MAX_PIPELINED_OPS);
+  }
+
+  AsyncOpExecutor(ExecutablePool pool, ConnectionManager connectionManager,
+      long connectionTimeout, ExecutorService executor, int pipelinesPerServer,
+      int maxPipelinedOps) {
+    this.pool = pool;
+    this.connectionManager = connectionManager;
+    this.connectionTimeout = connectionTimeout;
+    this.executor = executor;
+    this.pipelinesPerServer = pipelinesPerServer;
+    this.maxPipelinedOps = maxPipelinedOps;
+  }
+
+  /**
+   * Executes the given operation on any server.
+   *
+   * @return a future that completes with the result of the operation
+   */
+  public CompletableFuture<Object> execute(AbstractOp op) {
+    return enqueue(anyServerLane, op);
+  }
+
+  /**
+   * Executes the given operation on the given server if possible, or else on any server.
+   *
+   * @return a future that completes with the result of the operation
+   */
+  public CompletableFuture<Object> executeOn(ServerLocation server, AbstractOp op) {
+    return enqueue(serverLanes.computeIfAbsent(server, Lane::new), op);
+  }
+
+  /**
+   * Fails the operations that have not been sent yet and stops the pipelines.
+   */
+  void close() {
+    closed = true;
+    executor.shutdown();
+    failQueued(anyServerLane);
+    serverLanes.values().forEach(this::failQueued);
+  }
+
+  private CompletableFuture<Object> enqueue(Lane lane, AbstractOp op) {
+    PendingOp pending = new PendingOp(op);
+    lane.queue.offer(pending);
+    if (closed) {
+      failQueued(lane);
+    } else {
+      startPipeline(lane);
+    }
+    return pending.future;
+  }
+
+  private void startPipeline(Lane lane) {
+    while (true) {
+      int pipelines = lane.pipelines.get();
+      if (pipelines >= pipelinesPerServer) {
+        // a running pipeline takes the operation when it is done with its batch
+        return;
+      }
+      if (lane.pipelines.compareAndSet(pipelines, pipelines + 1)) {
+        break;
+      }
+    }
+    try {
+      executor.execute(() -> runPipeline(lane));
+    } catch (RejectedExecutionException e) {
+      lane.pipelines.decrementAndGet();
+      failQueued(lane);
+    }
+  }
+
+  private void runPipeline(Lane lane) {
+    Connection connection = null;
+    try {
+      List<PendingOp> batch = new ArrayList<>(maxPipelinedOps);
+      while (!closed && takeBatch(lane, batch)) {
+        if (connection == null) {
+          try {
+            connection = borrowConnection(lane);
+          } catch (RuntimeException e) {
+            if (logger.isDebugEnabled()) {
+              logger.debug("Unable to borrow a connection for pipelined operations", e);
+            }
+            executeSynchronously(batch, 0);
+            batch.clear();
+            continue;
+          }
+        }
+        if (!pipeline(connection, batch)) {
+          connection = null;
+        }
+        batch.clear();
+      }
+    } finally {
+      if (connection != null) {
+        connectionManager.returnConnection(connection);
+      }
+      lane.pipelines.decrementAndGet();
+      // an operation may have been queued after the last batch was taken
+      if (!lane.queue.isEmpty()) {
+        if (closed) {
+          failQueued(lane);
+        } else {
+          startPipeline(lane);
+        }
+      }
+    }
+  }
+
+  private boolean takeBatch(Lane lane, List<PendingOp> batch) {
+    PendingOp pending;
+    while (batch.size() < maxPipelinedOps && (pending = lane.queue.poll()) != null) {
+      batch.add(pending);
+    }
+    return !batch.isEmpty();
+  }
+
+  private Connection borrowConnection(Lane lane) {
+    if (lane.server == null) {
+      return connectionManager.borrowConnection(connectionTimeout);
+    }
+    return connectionManager.borrowConnection(lane.server, false);
+  }
+
+  /**
+   * Sends the operations of the batch on the given connection and reads their responses.
+   * <p>
+   * Socket writes have no timeout, and the server does not read the next message of a connection
+   * until it has written the response to the previous one. So that neither side can block forever
+   * writing to the other, the requests sent whose responses have not been read yet never exceed
+   * the send buffer of the connection. The response of the oldest operation is read before sending
+   * an operation that does not fit, and an operation larger than the buffer is only sent once all
+   * responses have been read.
+   *
+   * @return false if the connection failed and was destroyed and returned
+   */
+  private boolean pipeline(Connection connection, List<PendingOp> batch) {
+    if (connection.getServer().getRequiresCredentials()) {
+      // the pool authenticates connections as it executes operations on them
+      executeSynchronously(batch, 0);
+      return true;
+    }
+    long capacity = getSendBufferSize(connection);
+    long inFlight = 0;
+    int sent = 0;
+    int received = 0;
+    boolean receiving = false;
+    try {
+      while (received < batch.size()) {
+        if (sent < batch.size()) {
+          PendingOp pending = batch.get(sent);
+          long length = pending.op.getMessage().getSendLength();
+          if (sent == received || inFlight + length <= capacity) {
+            pending.start = pending.op.attemptPipelinedSend(connection);
+            pending.length = length;
+            inFlight += length;
+            sent++;
+            continue;
+          }
+        }
+        receiving = true;
+        PendingOp pending = batch.get(received);
+        try {
+          pending.future
+              .complete(pending.op.attemptPipelinedReadResponse(connection, pending.start));
+        } catch (ServerOperationException e) {
+          // the server failed the operation but sent a complete response, so the connection is
+          // still in step with the server
+          pending.future.completeExceptionally(e);
+        }
+        receiving = false;
+        inFlight -= pending.length;
+        received++;
+      }
+      return true;
+    } catch (Exception e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Pipelined operations on {} failed after {} of {} responses",
+            connection.getServer(), received, batch.size(), e);
+      }
+      connection.destroy();
+      for (int i = receiving ? received + 1 : received; i < sent; i++) {
+        batch.get(i).op.abandonPipelinedAttempt(connection, batch.get(i).start);
+      }
+      for (int i = received; i < batch.size(); i++) {
+        // the server may have applied operations it received before the connection failed
+        batch.get(i).op.getMessage().setIsRetry();
+      }
+      connectionManager.returnConnection(connection);
+      executeSynchronously(batch, received);
+      return false;
+    }
+  }
+
+  /**
+   * Returns the number of request bytes that can be sent on the given connection without reading
+   * any response, or 0 to send one operation at a time if it is not known.
+   */
+  private static long getSendBufferSize(Connection connection) {
+    Socket socket = connection.getSocket();
+    if (socket == null) {
+      return 0;
+    }
+    try {
+      return socket.getSendBufferSize();
+    } catch (SocketException e) {
+      return 0;
+    }
+  }
+
+  private void executeSynchronously(List<PendingOp> batch, int from) {
+    for (int i = from; i < batch.size(); i++) {
+      PendingOp pending = batch.get(i);
+      try {
+        pending.future.complete(pool.execute(pending.op));
+      } catch (RuntimeException e) {
+        pending.future.completeExceptionally(e);
+      }
+    }
+  }
+
+  private void failQueued(Lane lane) {
+    PendingOp pending;
+    while ((pending = lane.queue.poll()) != null) {
+      pending.future.completeExceptionally(new PoolCancelledException("Pool is closed"));
+    }
+  }
+
+  /**
+   * The operations that go to one server, or to any server.
+   */
+  private static class Lane {
+    private final ServerLocation server;
+    private final Queue<PendingOp> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pipelines = new AtomicInteger();
+
+    Lane(ServerLocation server) {
+      this.server = server;
+    }
+  }
+
+  private static class PendingOp {
+    private final AbstractOp op;
+    private final CompletableFuture<Object> future = new CompletableFuture<>();
+    private long start;
+    private long length;
+
+    PendingOp(AbstractOp op) {
+      this.op = op;
+    }
+  }
+}
@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.Logger;
 
@@ -111,6 +112,49 @@ public class GetAllOp {
     }
   }
 
+  /**
+   * Does a region getAll on the servers without waiting for the responses, using the pipelined
+   * connections of the given pool. With single hop enabled the keys are split up by the server
+   * that hosts them.
+   *
+   * @param pool the pool to use to communicate with the servers.
+   * @param region the region to do the getAll on
+   * @param keys list of keys to get
+   * @return a future of the values found by the getAll if any
+   */
+  public static CompletableFuture<VersionedObjectList> executeAsync(PoolImpl pool,
+      LocalRegion region, List keys, Object callback) {
+    Map<ServerLocation, HashSet> serverToFilterMap = null;
+    if (pool.getPRSingleHopEnabled()) {
+      serverToFilterMap =
+          region.getCache().getClientMetadataService().getServerToFilterMap(keys, region, true);
+    }
+    if (serverToFilterMap == null || serverToFilterMap.isEmpty()) {
+      AbstractOp op = new GetAllOpImpl(region.getFullPath(), keys, callback);
+      op.initMessagePart();
+      return pool.getAsyncOpExecutor().execute(op)
+          .thenApply(result -> ((VersionedObjectList) result).setKeys(keys));
+    }
+
+    List<CompletableFuture<VersionedObjectList>> futures = new ArrayList<>();
+    for (Map.Entry<ServerLocation, HashSet> entry : serverToFilterMap.entrySet()) {
+      ServerLocation server = entry.getKey();
+      List serverKeys = new ArrayList(entry.getValue());
+      AbstractOp op = new GetAllOpImpl(region.getFullPath(), serverKeys, callback);
+      op.initMessagePart();
+      futures.add(pool.getAsyncOpExecutor()
+          .executeOn(new ServerLocation(server.getHostName(), server.getPort()), op)
+          .thenApply(result -> ((VersionedObjectList) result).setKeys(serverKeys)));
+    }
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(done -> {
+      VersionedObjectList result = futures.get(0).join();
+      for (int i = 1; i < futures.size(); i++) {
+        result.addAll(futures.get(i).join());
+      }
+      return result;
+    });
+  }
+
   private GetAllOp() {
     // no instances allowed
   }
@@ -209,6 +253,11 @@ public class GetAllOp {
       }
     }
 
+    @Override
+    protected boolean isMultiplexable() {
+      return true;
+    }
+
     @Override
     protected boolean isErrorResponse(int msgType) {
       return msgType == MessageType.GET_ALL_DATA_ERROR;
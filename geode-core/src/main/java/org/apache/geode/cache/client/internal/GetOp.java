@@ -14,6 +14,8 @@
  */
 package org.apache.geode.cache.client.internal;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.cache.CacheClosedException;
@@ -91,6 +93,29 @@ public class GetOp {
     return pool.execute(op);
   }
 
+  /**
+   * Does a region get on a server without waiting for the response, using the pipelined
+   * connections of the given pool.
+   *
+   * @param pool the pool to use to communicate with the server.
+   * @param region the region to do the get on
+   * @param key the entry key to do the get on
+   * @param callbackArg an optional callback arg to pass to any cache callbacks
+   * @return a future of the entry value found by the get if any
+   */
+  public static CompletableFuture<Object> executeAsync(PoolImpl pool, LocalRegion region,
+      Object key, Object callbackArg) {
+    GetOpImpl op = new GetOpImpl(region, key, callbackArg, pool.getPRSingleHopEnabled(), null);
+    if (pool.getPRSingleHopEnabled()) {
+      ServerLocation server = region.getCache().getClientMetadataService()
+          .getBucketServerLocation(region, Operation.GET, key, null, callbackArg);
+      if (server != null) {
+        return pool.getAsyncOpExecutor()
+            .executeOn(new ServerLocation(server.getHostName(), server.getPort()), op);
+      }
+    }
+    return pool.getAsyncOpExecutor().execute(op);
+  }
 
   private GetOp() {
     // no instances allowed
@@ -211,6 +236,11 @@ public class GetOp {
       return object;
     }
 
+    @Override
+    protected boolean isMultiplexable() {
+      return true;
+    }
+
     @Override
     protected boolean isErrorResponse(int msgType) {
       return msgType == MessageType.REQUESTDATAERROR;
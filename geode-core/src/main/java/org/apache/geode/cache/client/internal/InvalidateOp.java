@@ -163,6 +163,11 @@ public class InvalidateOp {
       return null;
     }
 
+    @Override
+    protected boolean isMultiplexable() {
+      return true;
+    }
+
     @Override
     protected boolean isErrorResponse(int msgType) {
       return msgType == MessageType.INVALIDATE_ERROR;
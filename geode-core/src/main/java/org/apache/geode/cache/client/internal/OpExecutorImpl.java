@@ -234,6 +234,10 @@ public class OpExecutorImpl implements ExecutablePool {
     serverAffinity.set(Boolean.TRUE);
   }
 
+  boolean hasServerAffinity() {
+    return serverAffinity.get();
+  }
+
   @Override
   public void releaseServerAffinity() {
     if (logger.isDebugEnabled()) {
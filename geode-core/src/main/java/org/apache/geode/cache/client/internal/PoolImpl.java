@@ -24,6 +24,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -60,6 +62,7 @@ import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.PoolFactoryImpl;
 import org.apache.geode.internal.cache.PoolManagerImpl;
 import org.apache.geode.internal.cache.PoolStats;
+import org.apache.geode.internal.cache.TXManagerImpl;
 import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
 import org.apache.geode.internal.logging.CoreLoggingExecutors;
 import org.apache.geode.internal.logging.InternalLogWriter;
@@ -89,6 +92,17 @@ public class PoolImpl implements InternalPool {
   private static final int BACKGROUND_TASK_POOL_KEEP_ALIVE = Integer.getInteger(
       GeodeGlossary.GEMFIRE_PREFIX + "PoolImpl.BACKGROUND_TASK_POOL_KEEP_ALIVE", 1000);
 
+  /**
+   * If true, short key operations of all threads share the pipelined connections of the
+   * {@link AsyncOpExecutor} instead of each borrowing a connection for itself.
+   * <p>
+   * The responses on a pipelined connection are matched to the operations by the order the server
+   * sends them in, so an operation that is slow on the server delays every operation sent after
+   * it on the same connection, including those of other threads.
+   */
+  public static final String MULTIPLEX_CONNECTIONS =
+      GeodeGlossary.GEMFIRE_PREFIX + "PoolImpl.MULTIPLEX_CONNECTIONS";
+
   /**
    * For durable client tests only. Connection Sources read this flag and return an empty list of
    * servers.
@@ -134,6 +148,8 @@ public class PoolImpl implements InternalPool {
   private final PoolStats stats;
   private ScheduledExecutorService backgroundProcessor;
   private final OpExecutorImpl executor;
+  private final AsyncOpExecutor asyncExecutor;
+  private final boolean multiplexConnections;
   private final RegisterInterestTracker riTracker = new RegisterInterestTracker();
   private final InternalDistributedSystem distributedSystem;
   private InternalCache cache;
@@ -271,6 +287,9 @@ public class PoolImpl implements InternalPool {
     // an exception, by passing in the poolOrCache stopper
     executor = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, retryAttempts,
         freeConnectionTimeout, new PoolOrCacheStopper(), this);
+    // failed pipelined operations are retried by the executor, which never multiplexes them again
+    asyncExecutor = new AsyncOpExecutor(name, executor, manager, freeConnectionTimeout);
+    multiplexConnections = Boolean.getBoolean(MULTIPLEX_CONNECTIONS);
     if (multiuserSecureModeEnabled) {
       proxyCacheList = new ArrayList<>();
     } else {
@@ -593,6 +612,12 @@ public class PoolImpl implements InternalPool {
         logger.error("Interrupted while stopping backgroundProcessor", e);
       }
 
+      try {
+        asyncExecutor.close();
+      } catch (RuntimeException e) {
+        logger.error("Error encountered while stopping asynchronous operations.", e);
+      }
+
       try {
         if (source != null) {
           source.stop();
@@ -752,6 +777,14 @@ public class PoolImpl implements InternalPool {
     return stats;
   }
 
+  /**
+   * Returns the executor of the operations of the asynchronous region methods, which pipelines
+   * them on the connections of this pool.
+   */
+  public AsyncOpExecutor getAsyncOpExecutor() {
+    return asyncExecutor;
+  }
+
 
   /**
    * Execute the given op on the servers that this pool connects to. This method is responsible for
@@ -771,6 +804,9 @@ public class PoolImpl implements InternalPool {
     // But this may lead to a user getting authenticated on all servers, even if
     // a single server could have serviced all its requests.
     authenticateIfRequired(null, op);
+    if (shouldMultiplex(op)) {
+      return join(asyncExecutor.execute((AbstractOp) op));
+    }
     return executor.execute(op);
   }
 
@@ -814,9 +850,39 @@ public class PoolImpl implements InternalPool {
   public Object executeOn(ServerLocation server, Op op, boolean accessed,
       boolean onlyUseExistingCnx) {
     authenticateIfRequired(server, op);
+    // a pipeline may borrow a new connection to the server
+    if (!onlyUseExistingCnx && shouldMultiplex(op)) {
+      return join(asyncExecutor.executeOn(server, (AbstractOp) op));
+    }
     return executor.executeOn(server, op, accessed, onlyUseExistingCnx);
   }
 
+  /**
+   * Returns true if the given operation should share a connection with the operations of other
+   * threads. Operations that depend on state of the calling thread, such as its transaction or
+   * its user in multiuser mode, are never multiplexed.
+   */
+  private boolean shouldMultiplex(Op op) {
+    return multiplexConnections && !multiuserSecureModeEnabled && op instanceof AbstractOp
+        && ((AbstractOp) op).isMultiplexable() && !executor.hasServerAffinity()
+        && TXManagerImpl.getCurrentTXUniqueId() == TXManagerImpl.NOTX;
+  }
+
+  private static Object join(CompletableFuture<Object> result) {
+    try {
+      return result.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
   /**
    * Execute the given op on the given connection.
    *
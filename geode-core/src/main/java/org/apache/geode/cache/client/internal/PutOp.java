@@ -16,6 +16,8 @@
 package org.apache.geode.cache.client.internal;
 
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.DataSerializer;
@@ -93,6 +95,33 @@ public class PutOp {
     return result;
   }
 
+  /**
+   * Does a region put on a server without waiting for the response, using the pipelined
+   * connections of the given pool. The whole value is sent, never a delta.
+   *
+   * @param pool the pool to use to communicate with the server.
+   * @param region the region to do the put on
+   * @param key the entry key to do the put on
+   * @param value the entry value to put
+   * @param event the event for this put
+   * @param callbackArg an optional callback arg to pass to any cache callbacks
+   * @return a future of the old value if the server returned one
+   */
+  public static CompletableFuture<Object> executeAsync(PoolImpl pool, LocalRegion region,
+      Object key, Object value, EntryEventImpl event, Object callbackArg) {
+    PutOpImpl op = new PutOpImpl(region, key, value, null, event, Operation.UPDATE, false, null,
+        callbackArg, true, pool.getPRSingleHopEnabled());
+    if (pool.getPRSingleHopEnabled()) {
+      ServerLocation server = region.getCache().getClientMetadataService()
+          .getBucketServerLocation(region, Operation.UPDATE, key, value, callbackArg);
+      if (server != null) {
+        return pool.getAsyncOpExecutor()
+            .executeOn(new ServerLocation(server.getHostName(), server.getPort()), op);
+      }
+    }
+    return pool.getAsyncOpExecutor().execute(op);
+  }
+
   public static Object execute(ExecutablePool pool, String regionName, Object key, Object value,
       byte[] deltaBytes, EntryEventImpl event, Operation operation,
       boolean requireOldValue,
@@ -349,6 +378,12 @@ public class PutOp {
       }
     }
 
+    @Override
+    protected boolean isMultiplexable() {
+      // the full value is resent on the same connection if the server fails to apply a delta
+      return !deltaSent;
+    }
+
     @Override
     protected boolean isErrorResponse(int msgType) {
       return msgType == MessageType.PUT_DATA_ERROR;
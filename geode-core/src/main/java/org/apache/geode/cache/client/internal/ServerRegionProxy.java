@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import org.apache.logging.log4j.Logger;
@@ -117,6 +118,38 @@ public class ServerRegionProxy extends ServerProxy implements ServerRegionDataAc
         pool.getPRSingleHopEnabled(), clientEvent);
   }
 
+  /**
+   * Returns true if the operations of this region can be pipelined by
+   * {@link #getAsync(Object, Object)}, {@link #putAsync} and {@link #getAllAsync(List, Object)}.
+   * Operations that need the user attributes of a multiuser pool are not pipelined.
+   */
+  public boolean supportsAsync() {
+    return pool instanceof PoolImpl && !pool.getMultiuserAuthentication();
+  }
+
+  /**
+   * Does a get on the server without waiting for the response. Must not be used in a transaction.
+   */
+  public CompletableFuture<Object> getAsync(Object key, Object callbackArg) {
+    return GetOp.executeAsync((PoolImpl) pool, region, key, callbackArg);
+  }
+
+  /**
+   * Does a put on the server without waiting for the response. Must not be used in a transaction.
+   */
+  public CompletableFuture<Object> putAsync(Object key, Object value, EntryEventImpl event,
+      Object callbackArg) {
+    return PutOp.executeAsync((PoolImpl) pool, region, key, value, event, callbackArg);
+  }
+
+  /**
+   * Does a getAll on the servers without waiting for the responses. Must not be used in a
+   * transaction.
+   */
+  public CompletableFuture<VersionedObjectList> getAllAsync(List keys, Object callback) {
+    return GetAllOp.executeAsync((PoolImpl) pool, region, keys, callback);
+  }
+
 
 
   @Override
@@ -2012,6 +2012,16 @@ public class RegionAttributesType implements Serializable {
    *             &lt;/complexContent>
    *           &lt;/complexType>
    *         &lt;/element>
+   *         &lt;element name="tiny-lfu-entry-count">
+   *           &lt;complexType>
+   *             &lt;complexContent>
+   *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+   *                 &lt;attribute name="action" type="{http://geode.apache.org/schema/cache}enum-action-destroy-overflow" />
+   *                 &lt;attribute name="maximum" type="{http://www.w3.org/2001/XMLSchema}string" />
+   *               &lt;/restriction>
+   *             &lt;/complexContent>
+   *           &lt;/complexType>
+   *         &lt;/element>
    *         &lt;element name="lru-heap-percentage">
    *           &lt;complexType>
    *             &lt;complexContent>
@@ -2048,11 +2058,14 @@ public class RegionAttributesType implements Serializable {
    *
    */
   @XmlAccessorType(XmlAccessType.FIELD)
-  @XmlType(name = "", propOrder = {"lruEntryCount", "lruHeapPercentage", "lruMemorySize"})
+  @XmlType(name = "",
+      propOrder = {"lruEntryCount", "tinyLfuEntryCount", "lruHeapPercentage", "lruMemorySize"})
   public static class EvictionAttributes implements Serializable {
 
     @XmlElement(name = "lru-entry-count", namespace = "http://geode.apache.org/schema/cache")
     protected RegionAttributesType.EvictionAttributes.LruEntryCount lruEntryCount;
+    @XmlElement(name = "tiny-lfu-entry-count", namespace = "http://geode.apache.org/schema/cache")
+    protected RegionAttributesType.EvictionAttributes.TinyLfuEntryCount tinyLfuEntryCount;
     @XmlElement(name = "lru-heap-percentage", namespace = "http://geode.apache.org/schema/cache")
     protected RegionAttributesType.EvictionAttributes.LruHeapPercentage lruHeapPercentage;
     @XmlElement(name = "lru-memory-size", namespace = "http://geode.apache.org/schema/cache")
@@ -2130,6 +2143,29 @@ public class RegionAttributesType implements Serializable {
       this.lruEntryCount = value;
     }
 
+    /**
+     * Gets the value of the tinyLfuEntryCount property.
+     *
+     * possible object is
+     * {@link RegionAttributesType.EvictionAttributes.TinyLfuEntryCount }
+     *
+     */
+    public RegionAttributesType.EvictionAttributes.TinyLfuEntryCount getTinyLfuEntryCount() {
+      return tinyLfuEntryCount;
+    }
+
+    /**
+     * Sets the value of the tinyLfuEntryCount property.
+     *
+     * allowed object is
+     * {@link RegionAttributesType.EvictionAttributes.TinyLfuEntryCount }
+     *
+     */
+    public void setTinyLfuEntryCount(
+        RegionAttributesType.EvictionAttributes.TinyLfuEntryCount value) {
+      this.tinyLfuEntryCount = value;
+    }
+
     /**
      * Gets the value of the lruHeapPercentage property.
      *
@@ -2252,6 +2288,82 @@ public class RegionAttributesType implements Serializable {
     }
 
 
+    /**
+     * <p>
+     * Java class for anonymous complex type.
+     *
+     * <p>
+     * The following schema fragment specifies the expected content contained within this class.
+     *
+     * <pre>
+     * &lt;complexType>
+     *   &lt;complexContent>
+     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType">
+     *       &lt;attribute name="action" type="{http://geode.apache.org/schema/cache}enum-action-destroy-overflow" />
+     *       &lt;attribute name="maximum" type="{http://www.w3.org/2001/XMLSchema}string" />
+     *     &lt;/restriction>
+     *   &lt;/complexContent>
+     * &lt;/complexType>
+     * </pre>
+     *
+     *
+     */
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(name = "")
+    public static class TinyLfuEntryCount implements Serializable {
+
+      @XmlAttribute(name = "action")
+      protected EnumActionDestroyOverflow action;
+      @XmlAttribute(name = "maximum")
+      protected String maximum;
+
+      /**
+       * Gets the value of the action property.
+       *
+       * possible object is
+       * {@link EnumActionDestroyOverflow }
+       *
+       */
+      public EnumActionDestroyOverflow getAction() {
+        return action;
+      }
+
+      /**
+       * Sets the value of the action property.
+       *
+       * allowed object is
+       * {@link EnumActionDestroyOverflow }
+       *
+       */
+      public void setAction(EnumActionDestroyOverflow value) {
+        this.action = value;
+      }
+
+      /**
+       * Gets the value of the maximum property.
+       *
+       * possible object is
+       * {@link String }
+       *
+       */
+      public String getMaximum() {
+        return maximum;
+      }
+
+      /**
+       * Sets the value of the maximum property.
+       *
+       * allowed object is
+       * {@link String }
+       *
+       */
+      public void setMaximum(String value) {
+        this.maximum = value;
+      }
+
+    }
+
+
     /**
      * <p>
      * Java class for anonymous complex type.
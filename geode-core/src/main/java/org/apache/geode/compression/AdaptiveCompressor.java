@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A {@link Compressor} that only compresses the values that are worth it. Values smaller than a
+ * minimum size are never compressed, and values that another compressor does not shrink are stored
+ * as they are. The ratio of compressed to uncompressed size is sampled, and while values are found
+ * to be incompressible on average only an occasional value is compressed, to notice when they
+ * change.
+ * <p>
+ * Each value starts with a one byte flag that says whether it was compressed, so values that were
+ * stored as they are cost a copy to decompress instead of a pass of the other compressor.
+ *
+ * @since Geode 1.12
+ */
+public class AdaptiveCompressor implements Compressor, Serializable {
+  private static final long serialVersionUID = 6353466012358810396L;
+
+  public static final int DEFAULT_MINIMUM_SIZE = 64;
+
+  public static final double DEFAULT_MAXIMUM_RATIO = 0.9;
+
+  static final byte STORED = 0;
+  static final byte COMPRESSED = 1;
+
+  /** Fixed point scale of the average compression ratio. */
+  private static final int RATIO_SCALE = 1 << 10;
+
+  /** The average moves an eighth of the way towards each sampled ratio. */
+  private static final int AVERAGE_SHIFT = 3;
+
+  /** While values are incompressible one in this many of them is still compressed. */
+  static final int SAMPLE_INTERVAL = 16;
+
+  private final Compressor compressor;
+
+  private final int minimumSize;
+
+  private final double maximumRatio;
+
+  /**
+   * The average ratio of compressed to uncompressed size times RATIO_SCALE. Updated without
+   * synchronization since a lost sample does not matter.
+   */
+  private transient int averageRatio;
+
+  private transient int skipped;
+
+  /**
+   * Create a new instance of the AdaptiveCompressor that compresses with a {@link Lz4Compressor}.
+   */
+  public AdaptiveCompressor() {
+    this(new Lz4Compressor(), DEFAULT_MINIMUM_SIZE, DEFAULT_MAXIMUM_RATIO);
+  }
+
+  /**
+   * Create a new instance of the AdaptiveCompressor.
+   *
+   * @param compressor compresses the values that are worth compressing
+   * @param minimumSize the size in bytes below which values are not compressed
+   * @param maximumRatio the ratio of compressed to uncompressed size above which values are
+   *        considered incompressible
+   */
+  public AdaptiveCompressor(Compressor compressor, int minimumSize, double maximumRatio) {
+    if (compressor == null) {
+      throw new IllegalArgumentException("compressor must not be null");
+    }
+    if (minimumSize < 0) {
+      throw new IllegalArgumentException("minimumSize must not be negative: " + minimumSize);
+    }
+    if (!(maximumRatio > 0 && maximumRatio <= 1)) {
+      throw new IllegalArgumentException(
+          "maximumRatio must be greater than 0 and at most 1: " + maximumRatio);
+    }
+    this.compressor = compressor;
+    this.minimumSize = minimumSize;
+    this.maximumRatio = maximumRatio;
+  }
+
+  public Compressor getCompressor() {
+    return compressor;
+  }
+
+  public int getMinimumSize() {
+    return minimumSize;
+  }
+
+  public double getMaximumRatio() {
+    return maximumRatio;
+  }
+
+  @Override
+  public byte[] compress(byte[] input) {
+    if (input.length < minimumSize || input.length == 0) {
+      return store(input);
+    }
+    if (averageRatio > maximumRatio * RATIO_SCALE && ++skipped % SAMPLE_INTERVAL != 0) {
+      return store(input);
+    }
+
+    byte[] compressed;
+    int compressedLength;
+    if (compressor instanceof Lz4Compressor) {
+      compressed = ((Lz4Compressor) compressor).compress(input, 1);
+      compressedLength = compressed.length - 1;
+    } else {
+      compressed = null;
+      byte[] output = compressor.compress(input);
+      compressedLength = output.length;
+      if (compressedLength < input.length) {
+        compressed = new byte[compressedLength + 1];
+        System.arraycopy(output, 0, compressed, 1, compressedLength);
+      }
+    }
+
+    int ratio = (int) ((long) compressedLength * RATIO_SCALE / input.length);
+    averageRatio += (ratio - averageRatio) >> AVERAGE_SHIFT;
+    if (compressed == null || compressedLength >= input.length) {
+      return store(input);
+    }
+    compressed[0] = COMPRESSED;
+    return compressed;
+  }
+
+  @Override
+  public byte[] decompress(byte[] input) {
+    if (input.length == 0) {
+      throw new CompressionException("Missing compression flag");
+    }
+    switch (input[0]) {
+      case STORED:
+        return Arrays.copyOfRange(input, 1, input.length);
+      case COMPRESSED:
+        if (compressor instanceof Lz4Compressor) {
+          return ((Lz4Compressor) compressor).decompress(input, 1);
+        }
+        return compressor.decompress(Arrays.copyOfRange(input, 1, input.length));
+      default:
+        throw new CompressionException("Unknown compression flag " + input[0]);
+    }
+  }
+
+  /**
+   * Returns true if the given output of {@link #compress(byte[])} holds the value as it is, so
+   * decompressing it is only a copy.
+   */
+  public static boolean isStored(byte[] compressed) {
+    return compressed.length > 0 && compressed[0] == STORED;
+  }
+
+  private static byte[] store(byte[] input) {
+    byte[] output = new byte[input.length + 1];
+    output[0] = STORED;
+    System.arraycopy(input, 0, output, 1, input.length);
+    return output;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * compressor.hashCode() + minimumSize) + Double.hashCode(maximumRatio);
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (other == null || other.getClass() != getClass()) {
+      return false;
+    }
+    AdaptiveCompressor that = (AdaptiveCompressor) other;
+    return compressor.equals(that.compressor) && minimumSize == that.minimumSize
+        && Double.compare(maximumRatio, that.maximumRatio) == 0;
+  }
+}
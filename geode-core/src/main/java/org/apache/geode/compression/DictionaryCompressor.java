@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.internal.cache.EntryEventImpl;
+
+/**
+ * A {@link Compressor} for regions of small, similar values, such as PDX serialized objects of
+ * the same few types. Small values compress poorly on their own because most of what they have in
+ * common with each other, such as field names and type information, occurs only once in each of
+ * them. This compressor compresses every value with the LZ4 codec as if a shared dictionary of
+ * such common byte sequences came right before it.
+ * <p>
+ * A dictionary is trained with {@link #train(Iterable, int)} from a sample of values, for example
+ * with {@link #train(Region, int, int)} from the values already in a region. The same dictionary
+ * must be given to the compressor of the region on every member that hosts the region, and must
+ * be kept for as long as the region is persisted: every compressed value starts with an id of the
+ * dictionary it was compressed with, and decompressing it with another dictionary fails. To
+ * configure the compressor in cache.xml or gfsh, extend this class with a public no-arg
+ * constructor that passes the dictionary to {@link #DictionaryCompressor(byte[])}.
+ *
+ * @since Geode 1.12
+ */
+public class DictionaryCompressor implements Compressor, Serializable {
+  private static final long serialVersionUID = -4435498209389219431L;
+
+  /** The largest dictionary that values can refer to. */
+  public static final int MAX_DICTIONARY_SIZE = Lz4Compressor.Dictionary.MAX_LENGTH;
+
+  /** The length of the byte sequences that dictionaries are made of. */
+  static final int SEGMENT_LENGTH = 32;
+
+  /** The length of the byte sequences that training counts the occurrences of. */
+  private static final int GRAM_LENGTH = 6;
+
+  private static final int GRAM_HASH_LOG = 20;
+
+  private static final int ID_LENGTH = 4;
+
+  private final byte[] dictionary;
+
+  private transient int id;
+
+  private transient Lz4Compressor.Dictionary index;
+
+  /**
+   * Create a new instance of the DictionaryCompressor.
+   *
+   * @param dictionary the dictionary to compress values with, usually one returned by
+   *        {@link #train(Iterable, int)}. Only its last {@link #MAX_DICTIONARY_SIZE} bytes are
+   *        used.
+   */
+  public DictionaryCompressor(byte[] dictionary) {
+    if (dictionary == null) {
+      throw new IllegalArgumentException("dictionary must not be null");
+    }
+    this.dictionary = Arrays.copyOfRange(dictionary,
+        Math.max(0, dictionary.length - MAX_DICTIONARY_SIZE), dictionary.length);
+    initialize();
+  }
+
+  private void initialize() {
+    CRC32 crc = new CRC32();
+    crc.update(dictionary);
+    id = (int) crc.getValue();
+    index = new Lz4Compressor.Dictionary(dictionary);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    initialize();
+  }
+
+  /**
+   * Returns a copy of the dictionary that values are compressed with.
+   */
+  public byte[] getDictionary() {
+    return dictionary.clone();
+  }
+
+  @Override
+  public byte[] compress(byte[] input) {
+    int length = input.length;
+    byte[] output = new byte[ID_LENGTH + 5 + Lz4Compressor.maxBlockLength(length)];
+    int outputPosition = 0;
+    output[outputPosition++] = (byte) (id >>> 24);
+    output[outputPosition++] = (byte) (id >>> 16);
+    output[outputPosition++] = (byte) (id >>> 8);
+    output[outputPosition++] = (byte) id;
+    // small values are the common case, so the length is written in as few bytes as it fits
+    while ((length & ~0x7f) != 0) {
+      output[outputPosition++] = (byte) ((length & 0x7f) | 0x80);
+      length >>>= 7;
+    }
+    output[outputPosition++] = (byte) length;
+    outputPosition = Lz4Compressor.compressBlock(input, index, output, outputPosition);
+    return Arrays.copyOf(output, outputPosition);
+  }
+
+  @Override
+  public byte[] decompress(byte[] input) {
+    if (input.length < ID_LENGTH + 2) {
+      throw new CompressionException("Malformed input of " + input.length + " bytes");
+    }
+    int inputId = ((input[0] & 0xff) << 24) | ((input[1] & 0xff) << 16)
+        | ((input[2] & 0xff) << 8) | (input[3] & 0xff);
+    if (inputId != id) {
+      throw new CompressionException(String.format(
+          "Value was compressed with dictionary %08x instead of %08x", inputId, id));
+    }
+    int inputPosition = ID_LENGTH;
+    int length = 0;
+    for (int shift = 0;; shift += 7) {
+      if (inputPosition == input.length || shift > 28) {
+        throw new CompressionException("Malformed uncompressed length");
+      }
+      int b = input[inputPosition++];
+      length |= (b & 0x7f) << shift;
+      if (b >= 0) {
+        break;
+      }
+    }
+    return Lz4Compressor.decompressBlock(input, inputPosition, index, length);
+  }
+
+  /**
+   * Trains a dictionary from a sample of the values of a region. The values are serialized the
+   * way the region stores them.
+   *
+   * @param region the region to sample
+   * @param sampleSize the number of values to sample
+   * @param dictionarySize the largest size of the dictionary, at most
+   *        {@link #MAX_DICTIONARY_SIZE}
+   */
+  public static byte[] train(Region<?, ?> region, int sampleSize, int dictionarySize) {
+    List<byte[]> samples = new ArrayList<>(Math.min(sampleSize, 1024));
+    for (Object value : region.values()) {
+      if (samples.size() >= sampleSize) {
+        break;
+      }
+      if (value != null) {
+        samples.add(EntryEventImpl.serialize(value));
+      }
+    }
+    return train(samples, dictionarySize);
+  }
+
+  /**
+   * Trains a dictionary from sample values. The dictionary is made of the byte sequences that the
+   * most samples have in common. The more samples, the better the dictionary; samples of about a
+   * hundred times the dictionary size in total are a good start.
+   *
+   * @param samples the values to train the dictionary from
+   * @param dictionarySize the largest size of the dictionary, at most
+   *        {@link #MAX_DICTIONARY_SIZE}
+   */
+  public static byte[] train(Iterable<byte[]> samples, int dictionarySize) {
+    if (dictionarySize <= 0 || dictionarySize > MAX_DICTIONARY_SIZE) {
+      throw new IllegalArgumentException(
+          "dictionarySize must be between 1 and " + MAX_DICTIONARY_SIZE + ": " + dictionarySize);
+    }
+    int totalLength = 0;
+    for (byte[] sample : samples) {
+      totalLength += sample.length;
+    }
+    byte[] data = new byte[totalLength];
+    // the number of samples that contain each gram, by hash, and the last sample that did
+    int[] frequencies = new int[1 << GRAM_HASH_LOG];
+    int[] lastSample = new int[1 << GRAM_HASH_LOG];
+    int[] gramHashes = new int[totalLength];
+    Arrays.fill(gramHashes, -1);
+    int sampleNumber = 0;
+    int dataLength = 0;
+    for (byte[] sample : samples) {
+      sampleNumber++;
+      System.arraycopy(sample, 0, data, dataLength, sample.length);
+      for (int i = 0; i + GRAM_LENGTH <= sample.length; i++) {
+        int hash = gramHash(sample, i);
+        gramHashes[dataLength + i] = hash;
+        if (lastSample[hash] != sampleNumber) {
+          lastSample[hash] = sampleNumber;
+          frequencies[hash]++;
+        }
+      }
+      dataLength += sample.length;
+    }
+
+    // pick the best segment of each epoch, so the dictionary covers all kinds of samples
+    int segmentCount = Math.min(dictionarySize / SEGMENT_LENGTH, dataLength / SEGMENT_LENGTH);
+    if (segmentCount == 0) {
+      return new byte[0];
+    }
+    int epochLength = dataLength / segmentCount;
+    int gramsPerSegment = SEGMENT_LENGTH - GRAM_LENGTH + 1;
+    List<int[]> segments = new ArrayList<>();
+    for (int epoch = 0; epoch < segmentCount; epoch++) {
+      int begin = epoch * epochLength;
+      int end = begin + epochLength - SEGMENT_LENGTH;
+      long score = 0;
+      long bestScore = 0;
+      int bestStart = -1;
+      for (int start = begin; start <= end; start++) {
+        score += score(frequencies, gramHashes, start + gramsPerSegment - 1);
+        if (start > begin) {
+          score -= score(frequencies, gramHashes, start - 1);
+        } else {
+          for (int i = start; i < start + gramsPerSegment - 1; i++) {
+            score += score(frequencies, gramHashes, i);
+          }
+        }
+        if (score > bestScore) {
+          bestScore = score;
+          bestStart = start;
+        }
+      }
+      if (bestStart < 0) {
+        continue;
+      }
+      segments.add(new int[] {bestStart, (int) Math.min(bestScore, Integer.MAX_VALUE)});
+      for (int i = bestStart; i < bestStart + gramsPerSegment; i++) {
+        if (gramHashes[i] >= 0) {
+          // later segments gain nothing from the grams this one covers
+          frequencies[gramHashes[i]] = 0;
+        }
+      }
+    }
+
+    // the best segments go last, where the most of each value is in reach of them
+    segments.sort((a, b) -> Integer.compare(a[1], b[1]));
+    byte[] dictionary = new byte[segments.size() * SEGMENT_LENGTH];
+    for (int i = 0; i < segments.size(); i++) {
+      System.arraycopy(data, segments.get(i)[0], dictionary, i * SEGMENT_LENGTH, SEGMENT_LENGTH);
+    }
+    return dictionary;
+  }
+
+  /**
+   * Returns how much the gram at the given position is worth to a dictionary. Grams that only one
+   * sample contains are worth nothing.
+   */
+  private static int score(int[] frequencies, int[] gramHashes, int position) {
+    int hash = gramHashes[position];
+    if (hash < 0) {
+      return 0;
+    }
+    int frequency = frequencies[hash];
+    return frequency > 1 ? frequency : 0;
+  }
+
+  private static int gramHash(byte[] bytes, int position) {
+    long gram = 0;
+    for (int i = 0; i < GRAM_LENGTH; i++) {
+      gram = (gram << 8) | (bytes[position + i] & 0xff);
+    }
+    return (int) ((gram * 0x9E3779B97F4A7C15L) >>> (64 - GRAM_HASH_LOG));
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * this.getClass().getName().hashCode() + id;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (other == null || other.getClass() != getClass()) {
+      return false;
+    }
+    return Arrays.equals(dictionary, ((DictionaryCompressor) other).dictionary);
+  }
+}
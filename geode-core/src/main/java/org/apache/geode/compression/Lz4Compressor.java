@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * An implementation of {@link Compressor} for the LZ4 compression codec, which trades some
+ * compression ratio for very fast compression and even faster decompression. The compressed form
+ * is the uncompressed length as four big-endian bytes followed by an LZ4 block. This is a pure
+ * Java implementation, so it needs no native library and works on every platform.
+ *
+ * @since Geode 1.12
+ */
+public class Lz4Compressor implements Compressor, Serializable {
+  private static final long serialVersionUID = -2906541946473766245L;
+
+  private static final int MIN_MATCH = 4;
+  /** The last match must start at least this many bytes before the end of the input. */
+  private static final int MF_LIMIT = 12;
+  /** The last bytes of the input are always literals. */
+  private static final int LAST_LITERALS = 5;
+  private static final int MAX_OFFSET = 0xffff;
+  private static final int MIN_HASH_LOG = 8;
+  private static final int MAX_HASH_LOG = 14;
+  private static final int SKIP_TRIGGER = 6;
+  private static final int RUN_MASK = 15;
+
+  /**
+   * Create a new instance of the Lz4Compressor.
+   */
+  public Lz4Compressor() {}
+
+  @Override
+  public byte[] compress(byte[] input) {
+    return compress(input, 0);
+  }
+
+  @Override
+  public byte[] decompress(byte[] input) {
+    return decompress(input, 0);
+  }
+
+  /**
+   * Compresses the input into a new array that starts with the given number of unused bytes.
+   */
+  byte[] compress(byte[] input, int headerLength) {
+    int length = input.length;
+    byte[] output = new byte[headerLength + 4 + maxBlockLength(length)];
+    int outputPosition = headerLength;
+    output[outputPosition++] = (byte) (length >>> 24);
+    output[outputPosition++] = (byte) (length >>> 16);
+    output[outputPosition++] = (byte) (length >>> 8);
+    output[outputPosition++] = (byte) length;
+    outputPosition = compressBlock(input, null, output, outputPosition);
+    return Arrays.copyOf(output, outputPosition);
+  }
+
+  /**
+   * Decompresses the compressed form that starts at the given offset of the input.
+   */
+  byte[] decompress(byte[] input, int offset) {
+    if (input.length - offset < 4) {
+      throw new CompressionException("Malformed LZ4 input");
+    }
+    int length = ((input[offset] & 0xff) << 24) | ((input[offset + 1] & 0xff) << 16)
+        | ((input[offset + 2] & 0xff) << 8) | (input[offset + 3] & 0xff);
+    return decompressBlock(input, offset + 4, null, length);
+  }
+
+  /**
+   * Returns the largest size of the block that the given number of bytes can be compressed to.
+   */
+  static int maxBlockLength(int length) {
+    return length + length / 255 + 16;
+  }
+
+  /**
+   * Compresses the input into an LZ4 block written to the output at the given position, which
+   * must leave room for {@link #maxBlockLength(int)} bytes. Matches may refer to the dictionary,
+   * if there is one, as if it came right before the input.
+   *
+   * @return the position after the block
+   */
+  static int compressBlock(byte[] input, Dictionary dictionary, byte[] output,
+      int outputPosition) {
+    int length = input.length;
+    int anchor = 0;
+    if (length >= MF_LIMIT + 1) {
+      int hashLog =
+          Math.max(MIN_HASH_LOG, Math.min(MAX_HASH_LOG, 32 - Integer.numberOfLeadingZeros(length)));
+      int hashShift = 32 - hashLog;
+      int[] table = new int[1 << hashLog];
+      Arrays.fill(table, -1);
+      byte[] dictionaryBytes = dictionary == null ? null : dictionary.bytes;
+      int matchLimit = length - LAST_LITERALS;
+      int position = 0;
+      int searches = 1 << SKIP_TRIGGER;
+
+      while (position <= length - MF_LIMIT) {
+        int sequence = readInt(input, position);
+        int hash = hash(sequence, hashShift);
+        int reference = table[hash];
+        table[hash] = position;
+        int matchLength;
+        int offset;
+        if (reference >= 0 && position - reference <= MAX_OFFSET
+            && readInt(input, reference) == sequence) {
+          while (position > anchor && reference > 0
+              && input[position - 1] == input[reference - 1]) {
+            position--;
+            reference--;
+          }
+          matchLength = MIN_MATCH;
+          while (position + matchLength < matchLimit
+              && input[reference + matchLength] == input[position + matchLength]) {
+            matchLength++;
+          }
+          offset = position - reference;
+        } else if (dictionary != null
+            && (reference = dictionary.find(sequence, position)) >= 0) {
+          while (position > anchor && reference > 0
+              && input[position - 1] == dictionaryBytes[reference - 1]) {
+            position--;
+            reference--;
+          }
+          matchLength = MIN_MATCH;
+          while (position + matchLength < matchLimit
+              && reference + matchLength < dictionaryBytes.length
+              && dictionaryBytes[reference + matchLength] == input[position + matchLength]) {
+            matchLength++;
+          }
+          offset = position + dictionaryBytes.length - reference;
+        } else {
+          // skip faster through data that does not compress
+          position += searches++ >>> SKIP_TRIGGER;
+          continue;
+        }
+        searches = 1 << SKIP_TRIGGER;
+
+        int tokenPosition = outputPosition;
+        outputPosition = writeSequence(input, anchor, position - anchor, output, outputPosition);
+        output[tokenPosition] |= (byte) Math.min(matchLength - MIN_MATCH, RUN_MASK);
+        output[outputPosition++] = (byte) offset;
+        output[outputPosition++] = (byte) (offset >>> 8);
+        if (matchLength - MIN_MATCH >= RUN_MASK) {
+          outputPosition = writeLength(matchLength - MIN_MATCH - RUN_MASK, output, outputPosition);
+        }
+        position += matchLength;
+        anchor = position;
+        if (position <= length - MF_LIMIT) {
+          int previous = position - 2;
+          table[hash(readInt(input, previous), hashShift)] = previous;
+        }
+      }
+    }
+    return writeSequence(input, anchor, length - anchor, output, outputPosition);
+  }
+
+  /**
+   * Decompresses the LZ4 block that starts at the given position of the input and runs to its
+   * end. Matches may refer to the dictionary, if there is one, as if it came right before the
+   * output.
+   *
+   * @param length the length of the uncompressed value
+   */
+  static byte[] decompressBlock(byte[] input, int inputPosition, Dictionary dictionary,
+      int length) {
+    if (length < 0) {
+      throw new CompressionException("Invalid uncompressed length " + length);
+    }
+    int dictionaryLength = dictionary == null ? 0 : dictionary.bytes.length;
+    try {
+      byte[] output = new byte[length];
+      int outputPosition = 0;
+      for (;;) {
+        int token = input[inputPosition++] & 0xff;
+
+        int literalLength = token >>> 4;
+        if (literalLength == RUN_MASK) {
+          int b;
+          do {
+            b = input[inputPosition++] & 0xff;
+            literalLength += b;
+          } while (b == 255);
+        }
+        System.arraycopy(input, inputPosition, output, outputPosition, literalLength);
+        inputPosition += literalLength;
+        outputPosition += literalLength;
+        if (inputPosition >= input.length) {
+          // the last sequence has no match
+          break;
+        }
+
+        int matchOffset = (input[inputPosition++] & 0xff) | ((input[inputPosition++] & 0xff) << 8);
+        int matchLength = token & RUN_MASK;
+        if (matchLength == RUN_MASK) {
+          int b;
+          do {
+            b = input[inputPosition++] & 0xff;
+            matchLength += b;
+          } while (b == 255);
+        }
+        matchLength += MIN_MATCH;
+        int matchPosition = outputPosition - matchOffset;
+        if (matchOffset == 0 || matchPosition < -dictionaryLength
+            || outputPosition + matchLength > length) {
+          throw new CompressionException("Invalid match at input position " + inputPosition);
+        }
+        if (matchPosition < 0) {
+          int fromDictionary = Math.min(-matchPosition, matchLength);
+          System.arraycopy(dictionary.bytes, dictionaryLength + matchPosition, output,
+              outputPosition, fromDictionary);
+          outputPosition += fromDictionary;
+          matchLength -= fromDictionary;
+          matchPosition = 0;
+        }
+        if (outputPosition - matchPosition >= matchLength) {
+          System.arraycopy(output, matchPosition, output, outputPosition, matchLength);
+          outputPosition += matchLength;
+        } else {
+          // the match overlaps the bytes it produces
+          for (int i = 0; i < matchLength; i++) {
+            output[outputPosition++] = output[matchPosition++];
+          }
+        }
+      }
+      if (outputPosition != length) {
+        throw new CompressionException(
+            "Decompressed " + outputPosition + " bytes instead of " + length);
+      }
+      return output;
+    } catch (IndexOutOfBoundsException e) {
+      throw new CompressionException("Malformed LZ4 input", e);
+    }
+  }
+
+  /**
+   * Writes the token and the literals of a sequence. The match length part of the token is left
+   * for the caller to fill in.
+   */
+  private static int writeSequence(byte[] input, int literalStart, int literalLength,
+      byte[] output, int outputPosition) {
+    output[outputPosition++] = (byte) (Math.min(literalLength, RUN_MASK) << 4);
+    if (literalLength >= RUN_MASK) {
+      outputPosition = writeLength(literalLength - RUN_MASK, output, outputPosition);
+    }
+    System.arraycopy(input, literalStart, output, outputPosition, literalLength);
+    return outputPosition + literalLength;
+  }
+
+  private static int writeLength(int length, byte[] output, int outputPosition) {
+    while (length >= 255) {
+      output[outputPosition++] = (byte) 255;
+      length -= 255;
+    }
+    output[outputPosition++] = (byte) length;
+    return outputPosition;
+  }
+
+  private static int readInt(byte[] bytes, int position) {
+    return (bytes[position] & 0xff) | ((bytes[position + 1] & 0xff) << 8)
+        | ((bytes[position + 2] & 0xff) << 16) | ((bytes[position + 3] & 0xff) << 24);
+  }
+
+  private static int hash(int sequence, int hashShift) {
+    return (sequence * -1640531535) >>> hashShift;
+  }
+
+  /**
+   * Bytes that compressed values may refer to as if they came right before them, together with
+   * the index that finds their matches. Only the last 64K bytes can be referred to.
+   */
+  static class Dictionary {
+    static final int MAX_LENGTH = MAX_OFFSET;
+
+    private static final int HASH_SHIFT = 32 - 16;
+
+    final byte[] bytes;
+
+    private final int[] table;
+
+    Dictionary(byte[] bytes) {
+      if (bytes.length > MAX_LENGTH) {
+        bytes = Arrays.copyOfRange(bytes, bytes.length - MAX_LENGTH, bytes.length);
+      }
+      this.bytes = bytes;
+      table = new int[1 << (32 - HASH_SHIFT)];
+      Arrays.fill(table, -1);
+      // later positions replace earlier ones since they are more likely to be in reach
+      for (int position = 0; position + MIN_MATCH <= bytes.length; position++) {
+        table[hash(readInt(bytes, position), HASH_SHIFT)] = position;
+      }
+    }
+
+    /**
+     * Returns the position of the dictionary that starts with the given four bytes and is in reach
+     * of the given position of the input, or -1 if there is none.
+     */
+    int find(int sequence, int inputPosition) {
+      int reference = table[hash(sequence, HASH_SHIFT)];
+      if (reference < 0 || inputPosition + bytes.length - reference > MAX_OFFSET
+          || readInt(bytes, reference) != sequence) {
+        return -1;
+      }
+      return reference;
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return this.getClass().getName().hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (other == null) {
+      return false;
+    }
+
+    return this.getClass().getName().equals(other.getClass().getName());
+  }
+}
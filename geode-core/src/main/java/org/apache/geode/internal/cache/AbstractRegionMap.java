@@ -72,6 +72,7 @@ import org.apache.geode.internal.sequencelog.EntryLogger;
 import org.apache.geode.internal.size.ReflectionSingleObjectSizer;
 import org.apache.geode.internal.util.concurrent.ConcurrentMapWithReusableEntries;
 import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap;
+import org.apache.geode.internal.util.concurrent.PrimitiveKeyConcurrentHashMap;
 import org.apache.geode.logging.internal.log4j.api.LogService;
 
 /**
@@ -111,8 +112,13 @@ public abstract class AbstractRegionMap extends BaseRegionMap
       InternalRegionArguments internalRegionArgs, boolean isLRU) {
     _setAttributes(attr);
     setOwner(owner);
-    setEntryMap(createConcurrentMapWithReusableEntries(attr.initialCapacity, attr.loadFactor,
-        attr.concurrencyLevel, false, new AbstractRegionEntry.HashRegionEntryCreator()));
+    if (attr.primitiveKeyClass != null) {
+      setEntryMap(new PrimitiveKeyConcurrentHashMap(attr.primitiveKeyClass, attr.initialCapacity,
+          attr.loadFactor, attr.concurrencyLevel));
+    } else {
+      setEntryMap(createConcurrentMapWithReusableEntries(attr.initialCapacity, attr.loadFactor,
+          attr.concurrencyLevel, false, new AbstractRegionEntry.HashRegionEntryCreator()));
+    }
 
     boolean isDisk;
     boolean withVersioning;
@@ -130,6 +130,8 @@ public class CachePerfStats {
   static final int tombstoneGCCountId;
   private static final int tombstoneOverhead1Id;
   private static final int tombstoneOverhead2Id;
+  private static final int tombstoneQueue1Id;
+  private static final int tombstoneQueue2Id;
   static final int clearTimeoutsId;
 
   static final int deltaUpdatesId;
@@ -287,6 +289,10 @@ public class CachePerfStats {
         "Amount of memory consumed by destroyed entries in replicated or partitioned regions";
     final String tombstoneOverhead2Desc =
         "Amount of memory consumed by destroyed entries in non-replicated regions";
+    final String tombstoneQueue1Desc =
+        "Memory allocated to queue unexpired tombstones of replicated or partitioned regions";
+    final String tombstoneQueue2Desc =
+        "Memory allocated to queue unexpired tombstones of non-replicated regions";
     final String clearTimeoutsDesc =
         "Number of timeouts waiting for events concurrent to a clear() operation to be received and applied before performing the clear()";
     final String deltaUpdatesDesc =
@@ -451,6 +457,8 @@ public class CachePerfStats {
             f.createIntCounter("tombstoneGCs", tombstoneGCCountDesc, "operations"),
             f.createLongGauge("replicatedTombstonesSize", tombstoneOverhead1Desc, "bytes"),
             f.createLongGauge("nonReplicatedTombstonesSize", tombstoneOverhead2Desc, "bytes"),
+            f.createLongGauge("replicatedTombstoneQueueSize", tombstoneQueue1Desc, "bytes"),
+            f.createLongGauge("nonReplicatedTombstoneQueueSize", tombstoneQueue2Desc, "bytes"),
             f.createIntCounter("clearTimeouts", clearTimeoutsDesc, "timeouts"),
             f.createIntGauge("evictorJobsStarted", "Number of evictor jobs started", "jobs"),
             f.createIntGauge("evictorJobsCompleted", "Number of evictor jobs completed", "jobs"),
@@ -588,6 +596,8 @@ public class CachePerfStats {
     tombstoneGCCountId = type.nameToId("tombstoneGCs");
     tombstoneOverhead1Id = type.nameToId("replicatedTombstonesSize");
     tombstoneOverhead2Id = type.nameToId("nonReplicatedTombstonesSize");
+    tombstoneQueue1Id = type.nameToId("replicatedTombstoneQueueSize");
+    tombstoneQueue2Id = type.nameToId("nonReplicatedTombstoneQueueSize");
     clearTimeoutsId = type.nameToId("clearTimeouts");
 
     deltaUpdatesId = type.nameToId("deltaUpdates");
@@ -1393,6 +1403,14 @@ public class CachePerfStats {
     stats.setLong(tombstoneOverhead2Id, size);
   }
 
+  void setReplicatedTombstoneQueueSize(long size) {
+    stats.setLong(tombstoneQueue1Id, size);
+  }
+
+  void setNonReplicatedTombstoneQueueSize(long size) {
+    stats.setLong(tombstoneQueue2Id, size);
+  }
+
   public int getClearTimeouts() {
     return stats.getInt(clearTimeoutsId);
   }
@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.geode.internal.cache.TombstoneService.Tombstone;
+import org.apache.geode.internal.cache.versions.VersionSource;
+import org.apache.geode.internal.size.ReflectionSingleObjectSizer;
+
+/**
+ * The queue of the tombstones a {@link TombstoneService} sweeper has not yet expired. Instead of
+ * one Tombstone object and one queue node per tombstone, the entry, region, member, versions and
+ * timestamp of each tombstone are stored in chunks of parallel arrays, so millions of tombstones
+ * cost the garbage collector a few thousand arrays to trace. Tombstone objects are created only
+ * for the tombstones that are looked at, and are short lived.
+ * <p>
+ * Any number of threads may offer tombstones concurrently. Polling, and removing through an
+ * iterator, must be done by one thread at a time, which the sweepers ensure with their queue head
+ * lock. Removal never holds the lock that offer needs, so it is safe to call into the region map
+ * while removing.
+ *
+ * @since Geode 1.12
+ */
+class CompactTombstoneQueue extends AbstractQueue<Tombstone> {
+  static final int MIN_CHUNK_SIZE = 64;
+  static final int MAX_CHUNK_SIZE = 4096;
+
+  /** Bytes per tombstone of the arrays of a chunk: three references, two longs and an int. */
+  static final int BYTES_PER_TOMBSTONE = 3 * ReflectionSingleObjectSizer.REFERENCE_SIZE + 20;
+
+  private final Object offerLock = new Object();
+
+  /** The chunk polling starts from; only changed by the removing thread. */
+  private volatile Chunk head;
+
+  /** The chunk tombstones are added to; guarded by offerLock. */
+  private Chunk tail;
+
+  private final AtomicInteger size = new AtomicInteger();
+
+  /** Number of tombstones the allocated chunks can hold. */
+  private final AtomicLong capacity = new AtomicLong();
+
+  CompactTombstoneQueue() {
+    head = tail = newChunk(MIN_CHUNK_SIZE);
+  }
+
+  @Override
+  public boolean offer(Tombstone tombstone) {
+    synchronized (offerLock) {
+      Chunk chunk = tail;
+      int index = chunk.count;
+      if (index == chunk.entries.length) {
+        Chunk next = newChunk(Math.min(chunk.entries.length << 1, MAX_CHUNK_SIZE));
+        chunk.next = next;
+        tail = chunk = next;
+        index = 0;
+      }
+      chunk.set(index, tombstone);
+      size.incrementAndGet();
+      // publishes the slot to the removing thread
+      chunk.count = index + 1;
+    }
+    return true;
+  }
+
+  @Override
+  public Tombstone peek() {
+    Chunk chunk = firstChunk();
+    return chunk == null ? null : chunk.get(chunk.head);
+  }
+
+  @Override
+  public Tombstone poll() {
+    Chunk chunk = firstChunk();
+    if (chunk == null) {
+      return null;
+    }
+    Tombstone tombstone = chunk.get(chunk.head);
+    clear(chunk, chunk.head);
+    chunk.head++;
+    return tombstone;
+  }
+
+  @Override
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Returns the number of bytes of the arrays that hold the tombstones, including the slots that
+   * are not used.
+   */
+  long getMemoryFootprint() {
+    return capacity.get() * BYTES_PER_TOMBSTONE;
+  }
+
+  /**
+   * Returns an iterator over the tombstones from oldest to newest. Only the thread that removes
+   * tombstones may use its remove method.
+   */
+  @Override
+  public Iterator<Tombstone> iterator() {
+    return new Itr();
+  }
+
+  /**
+   * Returns the number of tombstones only. Walking the chunks is not safe while the sweeper
+   * removes tombstones, and the sweepers are printed without holding their queue head lock.
+   */
+  @Override
+  public String toString() {
+    return "CompactTombstoneQueue[size=" + size() + "]";
+  }
+
+  private Chunk newChunk(int chunkSize) {
+    capacity.addAndGet(chunkSize);
+    return new Chunk(chunkSize);
+  }
+
+  /**
+   * Returns the chunk whose head slot holds the oldest tombstone, unlinking the chunks that have
+   * been used up, or null if there are no tombstones.
+   */
+  private Chunk firstChunk() {
+    for (;;) {
+      Chunk chunk = head;
+      int count = chunk.count;
+      while (chunk.head < count && chunk.entries[chunk.head] == null) {
+        // removed through an iterator
+        chunk.head++;
+      }
+      if (chunk.head < count) {
+        return chunk;
+      }
+      Chunk next = chunk.next;
+      if (chunk.head < chunk.entries.length || next == null) {
+        return null;
+      }
+      head = next;
+      capacity.addAndGet(-chunk.entries.length);
+    }
+  }
+
+  private void clear(Chunk chunk, int index) {
+    chunk.clear(index);
+    size.decrementAndGet();
+  }
+
+  private class Itr implements Iterator<Tombstone> {
+    /** The chunk linked to the current chunk, or null if that is the first one. */
+    private Chunk previousChunk;
+    private Chunk chunk;
+    private int index;
+    private Tombstone next;
+    private Chunk lastChunk;
+    private Chunk lastPreviousChunk;
+    private int lastIndex = -1;
+
+    Itr() {
+      chunk = head;
+      index = chunk.head;
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (chunk != null) {
+        int count = chunk.count;
+        while (index < count) {
+          if (chunk.entries[index] != null) {
+            next = chunk.get(index);
+            return;
+          }
+          index++;
+        }
+        if (count < chunk.entries.length) {
+          // the chunk is the tail
+          return;
+        }
+        previousChunk = chunk;
+        chunk = chunk.next;
+        index = 0;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Tombstone next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      Tombstone result = next;
+      lastChunk = chunk;
+      lastPreviousChunk = previousChunk;
+      lastIndex = index++;
+      advance();
+      return result;
+    }
+
+    @Override
+    public void remove() {
+      if (lastIndex < 0) {
+        throw new IllegalStateException();
+      }
+      clear(lastChunk, lastIndex);
+      lastIndex = -1;
+      if (lastChunk.removed == lastChunk.entries.length && lastChunk.next != null
+          && lastChunk != head && lastPreviousChunk != null
+          && lastPreviousChunk.next == lastChunk) {
+        // unlink the used up chunk; the head chunk is unlinked by firstChunk instead
+        lastPreviousChunk.next = lastChunk.next;
+        capacity.addAndGet(-lastChunk.entries.length);
+        if (previousChunk == lastChunk) {
+          previousChunk = lastPreviousChunk;
+        }
+      }
+    }
+  }
+
+  private static class Chunk {
+    final RegionEntry[] entries;
+    final LocalRegion[] regions;
+    final VersionSource<?>[] members;
+    final long[] regionVersions;
+    final long[] timestamps;
+    /** the entry version in the low three bytes and the distributed system id in the high byte */
+    final int[] entryVersions;
+
+    /** Number of slots filled; written while holding offerLock. */
+    volatile int count;
+
+    /** The first slot that has not been polled; only used by the removing thread. */
+    int head;
+
+    /** Number of slots that have been cleared; only used by the removing thread. */
+    int removed;
+
+    volatile Chunk next;
+
+    Chunk(int chunkSize) {
+      entries = new RegionEntry[chunkSize];
+      regions = new LocalRegion[chunkSize];
+      members = new VersionSource<?>[chunkSize];
+      regionVersions = new long[chunkSize];
+      timestamps = new long[chunkSize];
+      entryVersions = new int[chunkSize];
+    }
+
+    void set(int index, Tombstone tombstone) {
+      entries[index] = tombstone.entry;
+      regions[index] = tombstone.region;
+      members[index] = tombstone.getMemberID();
+      regionVersions[index] = tombstone.getRegionVersion();
+      timestamps[index] = tombstone.getVersionTimeStamp();
+      entryVersions[index] = (tombstone.getDistributedSystemId() << 24)
+          | (tombstone.getEntryVersion() & 0xffffff);
+    }
+
+    Tombstone get(int index) {
+      int entryVersion = entryVersions[index];
+      return new Tombstone(entries[index], regions[index], members[index],
+          entryVersion & 0xffffff, regionVersions[index], timestamps[index], entryVersion >> 24);
+    }
+
+    void clear(int index) {
+      entries[index] = null;
+      regions[index] = null;
+      members[index] = null;
+      removed++;
+    }
+  }
+}
@@ -33,4 +33,19 @@ public interface CompactableOplog {
   BytesAndBits getBytesAndBits(DiskRegionView dr, DiskId id, boolean faultIn, boolean bitOnly);
 
   BytesAndBits getNoBuffer(DiskRegion dr, DiskId id);
+
+  /**
+   * Returns the fraction, from 0 to 1, of the records written to this oplog that no longer hold the
+   * most recent value of their entry.
+   *
+   * @since Geode 1.12
+   */
+  double getGarbageRatio();
+
+  /**
+   * Returns the number of bytes written to the files of this oplog.
+   *
+   * @since Geode 1.12
+   */
+  long getOplogSize();
 }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+import org.apache.geode.annotations.VisibleForTesting;
+
+/**
+ * Limits the rate at which the compactor threads of a disk store copy live entries forward, so that
+ * compaction does not take all the disk bandwidth from the writes of the application.
+ * <p>
+ * Every copied byte reserves its share of the allowed rate, and a thread that copies bytes sleeps
+ * until the bytes reserved before them would have been copied at that rate. Unused time is not
+ * saved up, so a compactor that was idle does not burst above the rate. Compactors wait once per
+ * {@linkplain #getBatchBytes() batch} of copied bytes, since they must release their locks to wait.
+ *
+ * @since Geode 1.12
+ */
+class CompactionThrottle {
+
+  private static final long MAX_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  /**
+   * The number of batches copied per second at the allowed rate.
+   */
+  private static final int BATCHES_PER_SECOND = 10;
+
+  private final long bytesPerSecond;
+  private final LongSupplier clock;
+
+  /**
+   * The time at which all the bytes reserved so far will have been copied. Guarded by this.
+   */
+  private long reservedUntil;
+
+  CompactionThrottle(long bytesPerSecond) {
+    this(bytesPerSecond, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  CompactionThrottle(long bytesPerSecond, LongSupplier clock) {
+    if (bytesPerSecond <= 0) {
+      throw new IllegalArgumentException("bytesPerSecond must be positive: " + bytesPerSecond);
+    }
+    this.bytesPerSecond = bytesPerSecond;
+    this.clock = clock;
+    this.reservedUntil = clock.getAsLong();
+  }
+
+  /**
+   * Returns the number of bytes that a compactor copies before it waits for the rate, a tenth of a
+   * second's worth.
+   */
+  long getBatchBytes() {
+    return Math.max(1, bytesPerSecond / BATCHES_PER_SECOND);
+  }
+
+  /**
+   * Reserves the rate for the given number of bytes.
+   *
+   * @return the number of nanoseconds to wait before copying the bytes
+   */
+  synchronized long reserve(long bytes) {
+    long now = clock.getAsLong();
+    if (reservedUntil - now < 0) {
+      reservedUntil = now;
+    }
+    long wait = reservedUntil - now;
+    reservedUntil += TimeUnit.SECONDS.toNanos(bytes) / bytesPerSecond;
+    return wait;
+  }
+
+  /**
+   * Waits until the given number of bytes may be copied, or until the given condition no longer
+   * holds.
+   *
+   * @return the number of nanoseconds waited
+   */
+  long acquire(long bytes, BooleanSupplier keepWaiting) {
+    long wait = reserve(bytes);
+    if (wait <= 0) {
+      return 0;
+    }
+    long start = clock.getAsLong();
+    long deadline = start + wait;
+    long remaining = wait;
+    while (remaining > 0 && keepWaiting.getAsBoolean()) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(Math.min(remaining, MAX_SLEEP_NANOS));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      remaining = deadline - clock.getAsLong();
+    }
+    return clock.getAsLong() - start;
+  }
+}
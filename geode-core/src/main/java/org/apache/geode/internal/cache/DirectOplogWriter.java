@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * Writes the records appended to an oplog file with direct I/O, bypassing the file system cache, so
+ * that appending to oplogs does not evict the cached pages of the files that values are read from.
+ * <p>
+ * Direct I/O requires the position and length of every write, and the address of the memory it
+ * writes from, to be multiples of the block size of the file store. The writer keeps the bytes of
+ * the last partial block it wrote at the start of its aligned buffer, and writes that block again,
+ * padded with zeros, together with the bytes appended after it. Zeros are read as the end of the
+ * oplog during recovery, and the padding is truncated when the oplog is closed.
+ * <p>
+ * Direct I/O is only available on Java 10 or later, through {@code ExtendedOpenOption.DIRECT}, and
+ * only on file systems that support it.
+ *
+ * @since Geode 1.12
+ */
+class DirectOplogWriter implements Closeable {
+  private static final Logger logger = LogService.getLogger();
+
+  @Immutable
+  private static final OpenOption DIRECT = findDirectOption();
+
+  private final FileChannel channel;
+  private final int blockSize;
+  private final ByteBuffer buffer;
+
+  /**
+   * The position in the file of the block whose bytes are at the start of the buffer.
+   */
+  private long tailPosition = -1;
+
+  /**
+   * The number of bytes of the partial block at the start of the buffer.
+   */
+  private int tailLength;
+
+  @VisibleForTesting
+  DirectOplogWriter(FileChannel channel, int blockSize, ByteBuffer buffer) {
+    if (buffer.capacity() == 0 || buffer.capacity() % blockSize != 0) {
+      throw new IllegalArgumentException(
+          "buffer capacity " + buffer.capacity() + " is not a multiple of " + blockSize);
+    }
+    this.channel = channel;
+    this.blockSize = blockSize;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Opens the given file for direct I/O.
+   *
+   * @param bufferSize the minimum number of bytes to write at once
+   * @param sync true if the writes should not complete before they are on disk
+   * @return the writer, or null if direct I/O is not available for the file
+   */
+  static DirectOplogWriter open(File file, int bufferSize, boolean sync) {
+    if (DIRECT == null) {
+      return null;
+    }
+    FileChannel channel = null;
+    try {
+      Path path = file.toPath();
+      int blockSize = getBlockSize(Files.getFileStore(path));
+      List<OpenOption> options = new ArrayList<>();
+      options.add(StandardOpenOption.READ);
+      options.add(StandardOpenOption.WRITE);
+      options.add(DIRECT);
+      if (sync) {
+        options.add(StandardOpenOption.DSYNC);
+      }
+      channel = FileChannel.open(path, options.toArray(new OpenOption[0]));
+      int capacity = Math.max(blockSize, (bufferSize + blockSize - 1) / blockSize * blockSize);
+      return new DirectOplogWriter(channel, blockSize, allocateAligned(capacity, blockSize));
+    } catch (IOException | RuntimeException | ReflectiveOperationException e) {
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException ignore) {
+        }
+      }
+      logger.info("Could not open {} for direct I/O. It will be written through the file system "
+          + "cache: {}", file, e.toString());
+      return null;
+    }
+  }
+
+  /**
+   * Writes the remaining bytes of the given buffer at the given position of the file.
+   */
+  void write(ByteBuffer src, long position) throws IOException {
+    if (position != tailPosition + tailLength) {
+      readTail(position);
+    }
+    while (src.hasRemaining()) {
+      int count = Math.min(src.remaining(), buffer.capacity() - tailLength);
+      ByteBuffer chunk = src.duplicate();
+      chunk.limit(chunk.position() + count);
+      buffer.clear();
+      buffer.position(tailLength);
+      buffer.put(chunk);
+      src.position(src.position() + count);
+      writeBuffer(tailLength + count);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Writes the given number of bytes from the start of the buffer, padded with zeros to a whole
+   * number of blocks, and keeps the bytes of the last partial block at the start of the buffer.
+   */
+  private void writeBuffer(int length) throws IOException {
+    int alignedLength = (length + blockSize - 1) / blockSize * blockSize;
+    buffer.limit(alignedLength);
+    buffer.position(length);
+    while (buffer.hasRemaining()) {
+      buffer.put((byte) 0);
+    }
+    buffer.position(0);
+    long writePosition = tailPosition;
+    while (buffer.hasRemaining()) {
+      writePosition += channel.write(buffer, writePosition);
+    }
+
+    int fullBlocksLength = length - length % blockSize;
+    tailPosition += fullBlocksLength;
+    tailLength = length - fullBlocksLength;
+    if (tailLength > 0 && fullBlocksLength > 0) {
+      buffer.limit(length);
+      buffer.position(fullBlocksLength);
+      buffer.compact();
+    }
+  }
+
+  /**
+   * Reads the bytes before the given position of the block it is in into the start of the buffer.
+   */
+  private void readTail(long position) throws IOException {
+    tailPosition = position - position % blockSize;
+    tailLength = (int) (position - tailPosition);
+    if (tailLength > 0) {
+      buffer.clear();
+      buffer.limit(blockSize);
+      int count = channel.read(buffer, tailPosition);
+      if (count < tailLength) {
+        throw new IOException("Could not read the " + tailLength + " bytes at position "
+            + tailPosition + " to append to them");
+      }
+    }
+  }
+
+  private static OpenOption findDirectOption() {
+    try {
+      Class<?> extendedOpenOption = Class.forName("com.sun.nio.file.ExtendedOpenOption");
+      for (Object option : extendedOpenOption.getEnumConstants()) {
+        if ("DIRECT".equals(((Enum<?>) option).name())) {
+          return (OpenOption) option;
+        }
+      }
+    } catch (ClassNotFoundException ignore) {
+      // direct I/O is not available
+    }
+    return null;
+  }
+
+  private static int getBlockSize(FileStore fileStore) throws ReflectiveOperationException {
+    // FileStore.getBlockSize() was added with ExtendedOpenOption.DIRECT in Java 10
+    return Math.toIntExact((Long) FileStore.class.getMethod("getBlockSize").invoke(fileStore));
+  }
+
+  private static ByteBuffer allocateAligned(int capacity, int alignment)
+      throws ReflectiveOperationException {
+    // ByteBuffer.alignedSlice(int) was added in Java 9
+    ByteBuffer unaligned = ByteBuffer.allocateDirect(capacity + alignment);
+    ByteBuffer aligned = (ByteBuffer) ByteBuffer.class.getMethod("alignedSlice", int.class)
+        .invoke(unaligned, alignment);
+    aligned.limit(capacity);
+    return aligned.slice();
+  }
+}
@@ -262,6 +262,67 @@ public class DiskStoreImpl implements DiskStore {
   static final boolean SYNC_IF_WRITES =
       Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "syncMetaDataWrites");
 
+  /**
+   * This system property makes values be read from oplogs that are no longer written to through a
+   * memory mapping of their crf file, instead of with a seek and read of the file per value.
+   */
+  @MutableForTesting
+  static boolean MAPPED_OPLOG_READS =
+      Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "disk.mappedOplogReads");
+
+  /**
+   * This system property makes the synchronous writes to an oplog be written and forced to disk as
+   * a group by one of the writers, instead of every writer writing its own record while holding
+   * the oplog lock. A write completes once its record has been forced to disk.
+   */
+  @MutableForTesting
+  static boolean GROUP_COMMIT =
+      Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "disk.groupCommit");
+
+  /**
+   * This system property sets the number of threads that read and parse the oplog files of a disk
+   * store ahead of the thread recovering them, so that it does not have to wait for the disk, and
+   * that recover the entries of different regions concurrently. Files are not read ahead if it is
+   * zero.
+   */
+  @MutableForTesting
+  static int RECOVERY_READ_AHEAD_THREADS =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "disk.recoveryReadAheadThreads", 0);
+
+  /**
+   * This system property sets the size in bytes of the largest oplog file that is read into memory
+   * ahead of its recovery. Larger files are only read into the file system cache.
+   */
+  @MutableForTesting
+  static long RECOVERY_READ_AHEAD_MAX_FILE_SIZE = Long.getLong(
+      GeodeGlossary.GEMFIRE_PREFIX + "disk.recoveryReadAheadMaxFileSize", 32 * 1024 * 1024);
+
+  /**
+   * This system property sets the number of threads that compact the oplogs of a disk store
+   * concurrently. If it is more than one, each compaction takes at least that many oplogs, starting
+   * with the ones with the largest fraction of garbage, instead of the oldest ones.
+   */
+  @MutableForTesting
+  static int COMPACTION_THREADS =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "disk.compactionThreads", 1);
+
+  /**
+   * This system property limits the number of bytes per second that the compaction of a disk store
+   * copies forward to its active oplog, so that it leaves disk bandwidth to the other writes.
+   * Compactions are not limited if it is zero.
+   */
+  @MutableForTesting
+  static long COMPACTION_BYTES_PER_SECOND =
+      Long.getLong(GeodeGlossary.GEMFIRE_PREFIX + "disk.compactionBytesPerSecond", 0L);
+
+  /**
+   * This system property makes the persistent oplogs of a disk store write their crf files with
+   * direct I/O, bypassing the file system cache, where the JVM and the file system support it.
+   */
+  @MutableForTesting
+  static boolean DIRECT_OPLOG_WRITES =
+      Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "disk.directOplogWrites");
+
   /**
    * For testing - to keep track of files for which fallocate happened
    */
@@ -507,9 +568,10 @@ public class DiskStoreImpl implements DiskStore {
     }
 
     this.diskStoreTaskPool = LoggingExecutors.newFixedThreadPoolWithFeedSize("Idle OplogCompactor",
-        MAX_CONCURRENT_COMPACTIONS, Integer.MAX_VALUE);
+        Math.max(MAX_CONCURRENT_COMPACTIONS, COMPACTION_THREADS), Integer.MAX_VALUE);
     this.delayedWritePool =
         LoggingExecutors.newFixedThreadPoolWithFeedSize("Oplog Delete Task", 1, MAX_PENDING_TASKS);
+    this.stats.setCompactionBacklogBytesSupplier(this::getCompactionBacklogBytes);
   }
 
   // //////////////////// Instance Methods //////////////////////
@@ -2768,11 +2830,27 @@ public class DiskStoreImpl implements DiskStore {
     if (!all && max > MAX_OPLOGS_PER_COMPACTION && MAX_OPLOGS_PER_COMPACTION > 0) {
       max = MAX_OPLOGS_PER_COMPACTION;
     }
-    getPersistentOplogs().getCompactableOplogs(l, max);
+    if (COMPACTION_THREADS > 1) {
+      // consider every oplog so that the ones with the most garbage are compacted first
+      int batch = Math.max(max, COMPACTION_THREADS);
+      getPersistentOplogs().getCompactableOplogs(l, Integer.MAX_VALUE);
+      overflowOplogs.getCompactableOplogs(l, Integer.MAX_VALUE);
+      // the ratios change while sorting so sort by a snapshot of them
+      Map<CompactableOplog, Double> garbageRatios = new HashMap<>();
+      for (CompactableOplog oplog : l) {
+        garbageRatios.put(oplog, oplog.getGarbageRatio());
+      }
+      l.sort((o1, o2) -> Double.compare(garbageRatios.get(o2), garbageRatios.get(o1)));
+      if (l.size() > batch) {
+        l.subList(batch, l.size()).clear();
+      }
+    } else {
+      getPersistentOplogs().getCompactableOplogs(l, max);
 
-    // Note this always puts overflow oplogs on the end of the list.
-    // They may get starved.
-    overflowOplogs.getCompactableOplogs(l, max);
+      // Note this always puts overflow oplogs on the end of the list.
+      // They may get starved.
+      overflowOplogs.getCompactableOplogs(l, max);
+    }
 
     if (l.isEmpty()) {
       return null;
@@ -2781,6 +2859,20 @@ public class DiskStoreImpl implements DiskStore {
     return l.toArray(new CompactableOplog[0]);
   }
 
+  /**
+   * Returns the number of bytes written to the oplogs that are ready to be compacted.
+   */
+  private long getCompactionBacklogBytes() {
+    CompactableOplog[] oplogs = getOplogsToBeCompacted(true);
+    long bytes = 0;
+    if (oplogs != null) {
+      for (CompactableOplog oplog : oplogs) {
+        bytes += oplog.getOplogSize();
+      }
+    }
+    return bytes;
+  }
+
   /**
    * Get all of the oplogs
    */
@@ -2822,9 +2914,16 @@ public class DiskStoreImpl implements DiskStore {
 
     private final boolean compactionCompletionRequired;
 
+    /**
+     * Limits the rate at which live entries are copied forward, or null if it is not limited.
+     */
+    private final CompactionThrottle throttle;
+
     OplogCompactor() {
       this.compactionCompletionRequired =
           Boolean.getBoolean(COMPLETE_COMPACTION_BEFORE_TERMINATION_PROPERTY_NAME);
+      this.throttle = COMPACTION_BYTES_PER_SECOND > 0
+          ? new CompactionThrottle(COMPACTION_BYTES_PER_SECOND) : null;
     }
 
     /** Creates a new thread and starts the thread* */
@@ -2893,8 +2992,12 @@ public class DiskStoreImpl implements DiskStore {
       long compactionStart = getStats().startCompaction();
       long start = System.nanoTime();
       try {
-        for (int i = 0; i < oplogs.length && keepCompactorRunning(); i++) {
-          totalCount += oplogs[i].compact(this);
+        if (COMPACTION_THREADS > 1 && oplogs.length > 1) {
+          totalCount = new ConcurrentCompaction(oplogs).compact();
+        } else {
+          for (int i = 0; i < oplogs.length && keepCompactorRunning(); i++) {
+            totalCount += oplogs[i].compact(this);
+          }
         }
 
       } finally {
@@ -3019,6 +3122,113 @@ public class DiskStoreImpl implements DiskStore {
     boolean keepCompactorRunning() {
       return this.compactorEnabled || this.compactionCompletionRequired;
     }
+
+    /**
+     * Returns the number of bytes that an oplog being compacted copies forward before it releases
+     * its locks and {@linkplain #throttle(long) waits}, or zero if compaction is not rate limited.
+     */
+    long getThrottleBatchBytes() {
+      return this.throttle != null ? this.throttle.getBatchBytes() : 0;
+    }
+
+    /**
+     * Called by an oplog being compacted after it copied the given number of bytes forward. Waits
+     * until the bytes may be written if compaction is rate limited. Must not be called while
+     * holding the compactor lock of the disk store or of the oplog, so that regions can be closed
+     * and cleared and the compactor stopped while the oplog waits.
+     */
+    void throttle(long bytes) {
+      if (this.throttle != null && bytes > 0) {
+        long waited = this.throttle.acquire(bytes, this::keepCompactorRunning);
+        if (waited > 0) {
+          getStats().incCompactionThrottleTime(waited);
+        }
+      }
+    }
+
+    /**
+     * Reserves the rate for the given number of bytes that an oplog copied forward at the end of
+     * its compaction, without waiting. The next thread that waits for the rate waits for them too.
+     */
+    void reserveThrottle(long bytes) {
+      if (this.throttle != null && bytes > 0) {
+        this.throttle.reserve(bytes);
+      }
+    }
+
+    /**
+     * Compacts the scheduled oplogs with the compactor thread and threads of the disk store task
+     * pool, up to {@link #COMPACTION_THREADS} in all. Each thread takes the next oplog that no
+     * other thread has taken, so the compactor thread only waits for the threads that took one.
+     */
+    private class ConcurrentCompaction implements Runnable {
+      private final CompactableOplog[] oplogs;
+      private final AtomicInteger next = new AtomicInteger();
+      private final AtomicInteger totalCount = new AtomicInteger();
+      private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+      /**
+       * The number of threads compacting. Guarded by this.
+       */
+      private int active;
+
+      ConcurrentCompaction(CompactableOplog[] oplogs) {
+        this.oplogs = oplogs;
+      }
+
+      int compact() {
+        int threads = Math.min(COMPACTION_THREADS, this.oplogs.length);
+        for (int i = 1; i < threads; i++) {
+          if (executeTask(this, diskStoreTaskPool) == null) {
+            break;
+          }
+        }
+        run();
+
+        boolean interrupted = false;
+        synchronized (this) {
+          while (this.active > 0) {
+            try {
+              wait();
+            } catch (InterruptedException ignore) {
+              interrupted = true;
+            }
+          }
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+
+        Throwable t = this.failure.get();
+        if (t instanceof RuntimeException) {
+          throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+          throw (Error) t;
+        }
+        return this.totalCount.get();
+      }
+
+      @Override
+      public void run() {
+        synchronized (this) {
+          this.active++;
+        }
+        try {
+          int i;
+          while (this.failure.get() == null && keepCompactorRunning()
+              && (i = this.next.getAndIncrement()) < this.oplogs.length) {
+            this.totalCount.addAndGet(this.oplogs[i].compact(OplogCompactor.this));
+          }
+        } catch (RuntimeException | Error e) {
+          this.failure.compareAndSet(null, e);
+        } finally {
+          synchronized (this) {
+            this.active--;
+            notifyAll();
+          }
+        }
+      }
+    }
   }
 
   /**
@@ -81,6 +81,20 @@ public class DiskStoreStats {
 
   private static final int oplogReadsId;
   private static final int oplogSeeksId;
+  private static final int mappedOplogsId;
+  private static final int mappedOplogReadsId;
+  private static final int mappedOplogReadBytesId;
+  private static final int groupCommitsId;
+  private static final int groupCommitWritesId;
+  private static final int groupCommitTimeId;
+  private static final int recoveryDrfTimeId;
+  private static final int recoveryCrfTimeId;
+  private static final int recoveryRegionInitTimeId;
+  private static final int recoveryReadAheadsId;
+  private static final int recoveryReadAheadBytesId;
+  private static final int compactionBacklogBytesId;
+  private static final int compactionReclaimedBytesId;
+  private static final int compactionThrottleTimeId;
 
   private static final int uncreatedRecoveredRegionsId;
   private static final int backupsInProgress;
@@ -190,6 +204,44 @@ public class DiskStoreStats {
                 "oplogs"),
             f.createLongCounter("oplogReads", "Total number of oplog reads", "reads"),
             f.createLongCounter("oplogSeeks", "Total number of oplog seeks", "seeks"),
+            f.createIntGauge("mappedOplogs",
+                "Current number of oplogs that values are read from through a memory mapping",
+                "oplogs"),
+            f.createLongCounter("mappedOplogReads",
+                "Total number of oplog reads served from a memory mapping", "reads"),
+            f.createLongCounter("mappedOplogReadBytes",
+                "Total number of bytes read from oplogs through a memory mapping", "bytes"),
+            f.createLongCounter("groupCommits",
+                "Total number of times the records of synchronous writes were written and forced to disk as a group",
+                "commits"),
+            f.createLongCounter("groupCommitWrites",
+                "Total number of synchronous writes whose records were committed as part of a group",
+                "writes"),
+            f.createLongCounter("groupCommitTime",
+                "Total amount of time, in nanoseconds, spent writing and forcing groups of records to disk",
+                "nanoseconds"),
+            f.createLongCounter("recoveryDrfTime",
+                "The total amount of time spent reading the drf files of oplogs during a recovery",
+                "nanoseconds"),
+            f.createLongCounter("recoveryCrfTime",
+                "The total amount of time spent reading the krf or crf files of oplogs during a recovery",
+                "nanoseconds"),
+            f.createLongCounter("recoveryRegionInitTime",
+                "The total amount of time spent initializing the recovered regions and oplogs after their files were read",
+                "nanoseconds"),
+            f.createLongCounter("recoveryReadAheads",
+                "The total number of oplog files read ahead of being recovered", "files"),
+            f.createLongCounter("recoveryReadAheadBytes",
+                "The total number of bytes of oplog files read ahead of being recovered", "bytes"),
+            f.createLongGauge("compactionBacklogBytes",
+                "Current number of bytes written to the oplogs that are ready to be compacted",
+                "bytes"),
+            f.createLongCounter("compactionReclaimedBytes",
+                "Total number of bytes of disk space freed by deleting oplogs that were compacted",
+                "bytes"),
+            f.createLongCounter("compactionThrottleTime",
+                "Total amount of time, in nanoseconds, compactions waited to stay under their rate limit",
+                "nanoseconds"),
             f.createIntGauge("uncreatedRecoveredRegions",
                 "The current number of regions that have been recovered but have not yet been created.",
                 "regions"),
@@ -235,6 +287,20 @@ public class DiskStoreStats {
     compactUpdateTimeId = type.nameToId("compactUpdateTime");
     oplogReadsId = type.nameToId("oplogReads");
     oplogSeeksId = type.nameToId("oplogSeeks");
+    mappedOplogsId = type.nameToId("mappedOplogs");
+    mappedOplogReadsId = type.nameToId("mappedOplogReads");
+    mappedOplogReadBytesId = type.nameToId("mappedOplogReadBytes");
+    groupCommitsId = type.nameToId("groupCommits");
+    groupCommitWritesId = type.nameToId("groupCommitWrites");
+    groupCommitTimeId = type.nameToId("groupCommitTime");
+    recoveryDrfTimeId = type.nameToId("recoveryDrfTime");
+    recoveryCrfTimeId = type.nameToId("recoveryCrfTime");
+    recoveryRegionInitTimeId = type.nameToId("recoveryRegionInitTime");
+    recoveryReadAheadsId = type.nameToId("recoveryReadAheads");
+    recoveryReadAheadBytesId = type.nameToId("recoveryReadAheadBytes");
+    compactionBacklogBytesId = type.nameToId("compactionBacklogBytes");
+    compactionReclaimedBytesId = type.nameToId("compactionReclaimedBytes");
+    compactionThrottleTimeId = type.nameToId("compactionThrottleTime");
 
     openOplogsId = type.nameToId("openOplogs");
     inactiveOplogsId = type.nameToId("inactiveOplogs");
@@ -468,6 +534,23 @@ public class DiskStoreStats {
     this.stats.incLong(oplogRecoveredBytesId, bytesRead);
   }
 
+  public void endRecoveryDrfs(long start) {
+    this.stats.incLong(recoveryDrfTimeId, getTime() - start);
+  }
+
+  public void endRecoveryCrfs(long start) {
+    this.stats.incLong(recoveryCrfTimeId, getTime() - start);
+  }
+
+  public void endRecoveryRegionInit(long start) {
+    this.stats.incLong(recoveryRegionInitTimeId, getTime() - start);
+  }
+
+  public void incRecoveryReadAheads(long bytes) {
+    this.stats.incLong(recoveryReadAheadsId, 1);
+    this.stats.incLong(recoveryReadAheadBytesId, bytes);
+  }
+
   public void incRecoveredEntryCreates() {
     this.stats.incLong(recoveredEntryCreatesId, 1);
   }
@@ -519,6 +602,33 @@ public class DiskStoreStats {
     this.stats.incLong(oplogSeeksId, 1);
   }
 
+  public void incMappedOplogs(int delta) {
+    this.stats.incInt(mappedOplogsId, delta);
+  }
+
+  public void incMappedOplogReads(int bytes) {
+    this.stats.incLong(mappedOplogReadsId, 1);
+    this.stats.incLong(mappedOplogReadBytesId, bytes);
+  }
+
+  public void endGroupCommit(long writes, long start) {
+    this.stats.incLong(groupCommitsId, 1);
+    this.stats.incLong(groupCommitWritesId, writes);
+    this.stats.incLong(groupCommitTimeId, getStatTime() - start);
+  }
+
+  public void setCompactionBacklogBytesSupplier(LongSupplier supplier) {
+    this.stats.setLongSupplier(compactionBacklogBytesId, supplier);
+  }
+
+  public void incCompactionReclaimedBytes(long bytes) {
+    this.stats.incLong(compactionReclaimedBytesId, bytes);
+  }
+
+  public void incCompactionThrottleTime(long nanos) {
+    this.stats.incLong(compactionThrottleTimeId, nanos);
+  }
+
   public void incInactiveOplogs(int delta) {
     this.stats.incInt(inactiveOplogsId, delta);
   }
@@ -291,6 +291,80 @@ public class EntryEventImpl implements InternalEntryEvent, InternalCacheEvent,
     this.distributedMember = distributedMember;
   }
 
+  /**
+   * Initializes a recycled event the same way the constructor that takes a new value does. The
+   * KeyInfo of a previous use is kept and updated, so this must only be used for regions whose
+   * KeyInfo carries no value or bucket id. Only events without an off-heap lock can be reused.
+   *
+   * @see RecycledEntryEvents
+   */
+  void reinitialize(InternalRegion region, Operation op, Object key, Object newVal,
+      Object callbackArgument, boolean originRemote, DistributedMember distributedMember,
+      boolean generateCallbacks) {
+    assert this.offHeapLock == null;
+    this.region = region;
+    this.op = op;
+    if (this.keyInfo == null) {
+      this.keyInfo = region.getKeyInfo(key, newVal, callbackArgument);
+    } else {
+      this.keyInfo.setKey(key);
+      this.keyInfo.setCallbackArg(callbackArgument);
+    }
+    if (!Token.isInvalid(newVal)) {
+      basicSetNewValue(newVal, false);
+    }
+    this.txId = region.getTXId();
+    if (newVal == Token.LOCAL_INVALID) {
+      setLocalInvalid(true);
+    }
+    setOriginRemote(originRemote);
+    setGenerateCallbacks(generateCallbacks);
+    this.distributedMember = distributedMember;
+  }
+
+  /**
+   * Resets every field to the value it has in a newly constructed event so that this event does not
+   * keep its region, key or values reachable while it waits to be reused.
+   *
+   * @see RecycledEntryEvents
+   */
+  void clearForReuse() {
+    assert this.offHeapLock == null;
+    this.region = null;
+    this.re = null;
+    if (this.keyInfo != null) {
+      this.keyInfo.setKey(null);
+      this.keyInfo.setCallbackArg(null);
+    }
+    this.eventID = null;
+    this.newValue = null;
+    this.cachedSerializedNewValue = null;
+    this.oldValue = null;
+    this.eventFlags = 0x0000;
+    this.txId = null;
+    this.op = null;
+    this.eventType = null;
+    this.putAllOp = null;
+    this.removeAllOp = null;
+    this.distributedMember = null;
+    this.causedByMessage = null;
+    this.context = null;
+    this.deltaBytes = null;
+    this.filterInfo = null;
+    this.newValueBytes = null;
+    this.oldValueBytes = null;
+    this.versionTag = null;
+    this.isEvicted = false;
+    this.isPendingSecondaryExpireDestroy = false;
+    this.hasRetried = false;
+    this.readOldValueFromDisk = false;
+    this.newValueBucketSize = 0;
+    this.tailKey = -1L;
+    this.nextRegionVersion = -1L;
+    this.invokeCallbacksThread = null;
+    this.offHeapOk = true;
+  }
+
   /**
    * Called by BridgeEntryEventImpl to use existing EventID
    */
@@ -19,6 +19,7 @@ package org.apache.geode.internal.cache;
  * EntryExpiryTask represents a timeout event for a region entry.
  */
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.Lock;
 
 import org.apache.logging.log4j.Logger;
@@ -46,6 +47,17 @@ public class EntryExpiryTask extends ExpiryTask {
    */
   private RegionEntry re; // not final so cancel can null it out see bug 37574
 
+  /**
+   * The node of this task on the ExpirationTimingWheel it was added to, or
+   * {@link ExpirationTimingWheel#CANCELLED} once this task has been cancelled. Null until either
+   * happens, and always null while the timer schedules this task.
+   */
+  private volatile ExpirationTimingWheel.Node wheelNode;
+
+  private static final AtomicReferenceFieldUpdater<EntryExpiryTask, ExpirationTimingWheel.Node> WHEEL_NODE_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(EntryExpiryTask.class,
+          ExpirationTimingWheel.Node.class, "wheelNode");
+
   /*
    * This was added to accommodate a session replication requirement where an empty client has a
    * need to access the expired entry so that additional processing can be performed on it.
@@ -359,6 +371,28 @@ public class EntryExpiryTask extends ExpiryTask {
     return entry.getKey();
   }
 
+  ExpirationTimingWheel.Node getWheelNode() {
+    return wheelNode;
+  }
+
+  /**
+   * Sets the node of this task on a wheel. Returns false if this task was cancelled first.
+   */
+  boolean initWheelNode(ExpirationTimingWheel.Node node) {
+    return WHEEL_NODE_UPDATER.compareAndSet(this, null, node);
+  }
+
+  @Override
+  boolean cancelScheduled() {
+    // a concurrent ExpirationTimingWheel.add either sees CANCELLED or its node is returned here
+    ExpirationTimingWheel.Node node = WHEEL_NODE_UPDATER.getAndSet(this,
+        ExpirationTimingWheel.CANCELLED);
+    if (node != null && node != ExpirationTimingWheel.CANCELLED) {
+      return node.wheel.cancel(node);
+    }
+    return super.cancelScheduled();
+  }
+
   @Override
   public boolean cancel() {
     boolean superCancel = super.cancel();
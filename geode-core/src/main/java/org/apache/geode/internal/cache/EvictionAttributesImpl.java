@@ -29,6 +29,8 @@ import org.apache.geode.cache.configuration.RegionAttributesType;
 import org.apache.geode.cache.util.ObjectSizer;
 import org.apache.geode.internal.ClassPathLoader;
 import org.apache.geode.internal.InternalDataSerializer;
+import org.apache.geode.internal.serialization.StaticSerialization;
+import org.apache.geode.internal.serialization.Version;
 
 /**
  * Defines the attributes for configuring the eviction controller associated with a
@@ -129,7 +131,13 @@ public class EvictionAttributesImpl extends EvictionAttributes implements DataSe
   public void toData(DataOutput out) throws IOException {
     out.writeInt(this.maximum);
     DataSerializer.writeObject(this.action, out);
-    DataSerializer.writeObject(this.algorithm, out);
+    EvictionAlgorithm algorithm = this.algorithm;
+    if (algorithm.isTinyLFU()
+        && StaticSerialization.getVersionForDataStream(out).compareTo(Version.GEODE_1_12_0) < 0) {
+      // older members do not know TINY_LFU_ENTRY; entry LRU evicts on the same maximum
+      algorithm = EvictionAlgorithm.LRU_ENTRY;
+    }
+    DataSerializer.writeObject(algorithm, out);
   }
 
   @Override
@@ -173,6 +181,8 @@ public class EvictionAttributesImpl extends EvictionAttributes implements DataSe
       evictionAttributes.setAlgorithm(EvictionAlgorithm.LRU_HEAP);
     } else if (configAttributes.getLruEntryCount() != null) {
       evictionAttributes.setAlgorithm(EvictionAlgorithm.LRU_ENTRY);
+    } else if (configAttributes.getTinyLfuEntryCount() != null) {
+      evictionAttributes.setAlgorithm(EvictionAlgorithm.TINY_LFU_ENTRY);
     } else if (configAttributes.getLruMemorySize() != null) {
       evictionAttributes.setAlgorithm(EvictionAlgorithm.LRU_MEMORY);
     } else {
@@ -205,6 +215,9 @@ public class EvictionAttributesImpl extends EvictionAttributes implements DataSe
     } else if (configAttributes.getLruEntryCount() != null) {
       evictionAttributes
           .setMaximum(Integer.valueOf(configAttributes.getLruEntryCount().getMaximum()));
+    } else if (configAttributes.getTinyLfuEntryCount() != null) {
+      evictionAttributes
+          .setMaximum(Integer.valueOf(configAttributes.getTinyLfuEntryCount().getMaximum()));
     } else {
       evictionAttributes.setMaximum(0);
     }
@@ -217,6 +230,9 @@ public class EvictionAttributesImpl extends EvictionAttributes implements DataSe
       evictionAttributes
           .setAction(EvictionAction.parseAction(configAttributes.getLruEntryCount().getAction()
               .value()));
+    } else if (configAttributes.getTinyLfuEntryCount() != null) {
+      evictionAttributes.setAction(EvictionAction
+          .parseAction(configAttributes.getTinyLfuEntryCount().getAction().value()));
     } else if (configAttributes.getLruHeapPercentage() != null) {
       evictionAttributes
           .setAction(EvictionAction.parseAction(configAttributes.getLruHeapPercentage().getAction()
@@ -18,6 +18,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.Logger;
 
+import org.apache.geode.StatisticsFactory;
 import org.apache.geode.cache.EntryNotFoundException;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.internal.SystemTimer;
@@ -27,18 +28,51 @@ import org.apache.geode.util.internal.GeodeGlossary;
 /**
  * ExpirationScheduler uses a single instance of java.util.Timer (and therefore a single thread) per
  * VM to schedule and execute region and entry expiration tasks.
+ * <p>
+ * If {@link #TIMING_WHEEL_TICK_PROPERTY} is set to a positive number of milliseconds when the cache
+ * is created, entry expiration tasks are instead scheduled on an {@link ExpirationTimingWheel} with
+ * buckets of that many milliseconds, which the timer thread advances every tick.
  */
 
 public class ExpirationScheduler {
   private static final Logger logger = LogService.getLogger();
 
+  /**
+   * The tick, in milliseconds, of the timing wheel that schedules entry expiration. Zero, the
+   * default, schedules entry expiration tasks on the timer.
+   */
+  static final String TIMING_WHEEL_TICK_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "EXPIRATION_TIMING_WHEEL_TICK";
+
   private final SystemTimer timer;
+  private final ExpirationTimingWheel timingWheel;
+  private final ExpirationTimingWheelStats timingWheelStats;
   private final AtomicInteger pendingCancels = new AtomicInteger();
-  private static final int MAX_PENDING_CANCELS = Integer
+  static final int MAX_PENDING_CANCELS = Integer
       .getInteger(GeodeGlossary.GEMFIRE_PREFIX + "MAX_PENDING_CANCELS", 10000).intValue();
 
   public ExpirationScheduler(InternalDistributedSystem ds) {
-    this.timer = new SystemTimer(ds, true);
+    this(ds, new SystemTimer(ds, true), Long.getLong(TIMING_WHEEL_TICK_PROPERTY, 0));
+  }
+
+  ExpirationScheduler(StatisticsFactory statisticsFactory, SystemTimer timer,
+      long timingWheelTickMillis) {
+    this.timer = timer;
+    if (timingWheelTickMillis > 0) {
+      this.timingWheelStats = new ExpirationTimingWheelStats(statisticsFactory);
+      this.timingWheel = new ExpirationTimingWheel(timingWheelTickMillis,
+          System::currentTimeMillis, timingWheelStats);
+      timer.scheduleAtFixedRate(new ExpirationTimingWheel.TickTask(timingWheel),
+          timingWheelTickMillis, timingWheelTickMillis);
+    } else {
+      this.timingWheelStats = null;
+      this.timingWheel = null;
+    }
+  }
+
+  /** Returns the timing wheel that schedules entry expiration tasks, or null if not used. */
+  ExpirationTimingWheel getTimingWheel() {
+    return timingWheel;
   }
 
   public void forcePurge() {
@@ -69,6 +103,16 @@ public class ExpirationScheduler {
     }
   }
 
+  /**
+   * Called when we have cancelled a scheduled entry expiration task. Only the cancels of tasks on
+   * the timer are counted, because the timing wheel unlinks a cancelled task right away.
+   */
+  public void incEntryCancels() {
+    if (timingWheel == null) {
+      incCancels();
+    }
+  }
+
   /** schedules the given expiration task */
   public ExpiryTask addExpiryTask(ExpiryTask task) {
     try {
@@ -91,11 +135,28 @@ public class ExpirationScheduler {
 
   /** schedules the given entry expiration task and returns true; returns false if not scheduled */
   public boolean addEntryExpiryTask(EntryExpiryTask task) {
-    return addExpiryTask(task) != null;
+    if (timingWheel == null) {
+      return addExpiryTask(task) != null;
+    }
+    try {
+      if (logger.isTraceEnabled()) {
+        logger.trace("Scheduling  {}  on the timing wheel to fire in  {}  ms", task,
+            task.getExpiryMillis());
+      }
+      return timingWheel.add(task, task.getExpiryMillis());
+    } catch (EntryNotFoundException e) {
+      // ignore - there are unsynchronized paths that allow an entry to
+      // be destroyed out from under us.
+      return false;
+    }
   }
 
   /** @see java.util.Timer#cancel() */
   public void cancel() {
     timer.cancel();
+    if (timingWheel != null) {
+      timingWheel.clear();
+      timingWheelStats.close();
+    }
   }
 }
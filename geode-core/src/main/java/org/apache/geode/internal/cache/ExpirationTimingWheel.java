@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.internal.SystemTimer;
+
+/**
+ * A hierarchical timing wheel that schedules {@link EntryExpiryTask}s in buckets of
+ * {@code tickMillis}. Unlike a {@link java.util.Timer}, whose queue is a binary heap, adding and
+ * cancelling a task take constant time, and a cancelled task is unlinked right away instead of
+ * staying in the queue until the next purge.
+ * <p>
+ * The wheel has {@link #LEVELS} levels of {@link #WHEEL_SIZE} buckets. A bucket of level n holds
+ * the tasks that are due within the {@code WHEEL_SIZE^n} ticks that it covers, and its tasks are
+ * moved to the lower levels when the wheel reaches it. Tasks fire at most one tick after their
+ * expiration time and never before it.
+ * <p>
+ * The wheel is advanced by a {@link SystemTimer.SystemTimerTask} that the
+ * {@link ExpirationScheduler} runs every tick, and the tasks that are due are run inline on that
+ * thread, like the tasks of a {@link SystemTimer}.
+ *
+ * @since Geode 1.12
+ */
+class ExpirationTimingWheel {
+  private static final int WHEEL_BITS = 8;
+
+  static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+  static final int LEVELS = 4;
+
+  /** The number of ticks covered by all levels. Later tasks are moved down more than once. */
+  private static final long MAX_TICKS = 1L << (WHEEL_BITS * LEVELS);
+
+  /** The node of a task that was cancelled. It is never linked into a wheel. */
+  @Immutable
+  static final Node CANCELLED = new Node(null, null);
+
+  private final long tickMillis;
+
+  private final LongSupplier clock;
+
+  private final long startMillis;
+
+  private final ExpirationTimingWheelStats stats;
+
+  /** The heads of the doubly linked lists of task nodes, indexed by level and slot */
+  private final Node[] buckets = new Node[LEVELS * WHEEL_SIZE];
+
+  /** The number of ticks the wheel has advanced since it was created. Guarded by this. */
+  private long currentTick;
+
+  private volatile int size;
+
+  /**
+   * The tasks that became due in the current advance, reused to avoid allocating a list every tick.
+   * Only used by the thread that advances the wheel.
+   */
+  private final List<Node> due = new ArrayList<>();
+
+  ExpirationTimingWheel(long tickMillis, LongSupplier clock, ExpirationTimingWheelStats stats) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("tickMillis must be positive but was " + tickMillis);
+    }
+    this.tickMillis = tickMillis;
+    this.clock = clock;
+    this.startMillis = clock.getAsLong();
+    this.stats = stats;
+    if (stats != null) {
+      stats.setTasksSupplier(this::size);
+    }
+  }
+
+  long getTickMillis() {
+    return tickMillis;
+  }
+
+  /** Returns the number of tasks that are scheduled on this wheel. */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Schedules the given task to run after delayMillis. Returns false, without scheduling it, if the
+   * task was cancelled before it could be scheduled.
+   */
+  boolean add(EntryExpiryTask task, long delayMillis) {
+    long deadline = clock.getAsLong() + delayMillis;
+    synchronized (this) {
+      Node node = task.getWheelNode();
+      if (node == null) {
+        node = new Node(task, this);
+        if (!task.initWheelNode(node)) {
+          // cancelled concurrently
+          return false;
+        }
+      } else if (node == CANCELLED || node.slot >= 0) {
+        return false;
+      }
+      node.deadline = deadline;
+      node.deadlineTick = toTick(deadline);
+      link(node, Math.max(node.deadlineTick, currentTick + 1));
+      size++;
+    }
+    return true;
+  }
+
+  /**
+   * Removes the task of the given node from this wheel. Returns true if it was scheduled and has not
+   * run yet.
+   */
+  synchronized boolean cancel(Node node) {
+    if (node.slot < 0) {
+      return false;
+    }
+    unlink(node);
+    size--;
+    return true;
+  }
+
+  /**
+   * Advances the wheel to the current time and runs every task that became due.
+   */
+  void advance() {
+    collectDueTasks();
+    if (due.isEmpty()) {
+      return;
+    }
+    try {
+      long now = clock.getAsLong();
+      for (Node node : due) {
+        if (stats != null) {
+          stats.endTask(now - node.deadline);
+        }
+        node.task.run();
+      }
+    } finally {
+      due.clear();
+    }
+  }
+
+  /** Removes all tasks from this wheel without running them. */
+  synchronized void clear() {
+    for (int i = 0; i < buckets.length; i++) {
+      Node node = buckets[i];
+      while (node != null) {
+        Node next = node.next;
+        node.prev = null;
+        node.next = null;
+        node.slot = -1;
+        node = next;
+      }
+      buckets[i] = null;
+    }
+    size = 0;
+  }
+
+  private synchronized void collectDueTasks() {
+    long targetTick = (clock.getAsLong() - startMillis) / tickMillis;
+    while (currentTick < targetTick) {
+      currentTick++;
+      for (int level = LEVELS - 1; level > 0; level--) {
+        if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+          cascade(level);
+        }
+      }
+      Node node = removeBucket((int) (currentTick & WHEEL_MASK));
+      while (node != null) {
+        Node next = node.next;
+        node.next = null;
+        if (node.deadlineTick > currentTick) {
+          // only happens to tasks that were due beyond the range of the wheel
+          link(node, node.deadlineTick);
+        } else {
+          size--;
+          due.add(node);
+        }
+        node = next;
+      }
+    }
+  }
+
+  /** Moves the tasks of the current bucket of the given level to the lower levels. */
+  private void cascade(int level) {
+    int slot = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    Node node = removeBucket(level * WHEEL_SIZE + slot);
+    while (node != null) {
+      Node next = node.next;
+      node.next = null;
+      if (node.deadlineTick <= currentTick) {
+        size--;
+        due.add(node);
+      } else {
+        link(node, node.deadlineTick);
+      }
+      node = next;
+    }
+  }
+
+  /** Detaches the list of the given bucket and marks its tasks as no longer scheduled. */
+  private Node removeBucket(int index) {
+    Node head = buckets[index];
+    buckets[index] = null;
+    for (Node node = head; node != null; node = node.next) {
+      node.prev = null;
+      node.slot = -1;
+    }
+    return head;
+  }
+
+  private long toTick(long millis) {
+    long elapsed = millis - startMillis;
+    if (elapsed <= 0) {
+      return 0;
+    }
+    // round up so that a task never fires before its deadline
+    return (elapsed + tickMillis - 1) / tickMillis;
+  }
+
+  /** Links the node into the bucket that the wheel reaches at, or before, the given tick. */
+  private void link(Node node, long tick) {
+    long delta = Math.min(tick - currentTick, MAX_TICKS - 1);
+    long placement = currentTick + delta;
+    int level = 0;
+    while (delta >= 1L << (WHEEL_BITS * (level + 1))) {
+      level++;
+    }
+    int index = level * WHEEL_SIZE + (int) ((placement >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    Node head = buckets[index];
+    node.slot = index;
+    node.prev = null;
+    node.next = head;
+    if (head != null) {
+      head.prev = node;
+    }
+    buckets[index] = node;
+  }
+
+  private void unlink(Node node) {
+    Node prev = node.prev;
+    Node next = node.next;
+    if (prev == null) {
+      buckets[node.slot] = next;
+    } else {
+      prev.next = next;
+    }
+    if (next != null) {
+      next.prev = prev;
+    }
+    node.prev = null;
+    node.next = null;
+    node.slot = -1;
+  }
+
+  /**
+   * The bookkeeping of an {@link EntryExpiryTask} on a wheel. It is created when the task is first
+   * added to a wheel, so that tasks scheduled on the timer do not carry it. Apart from the final
+   * fields it is guarded by the wheel.
+   */
+  static class Node {
+    final EntryExpiryTask task;
+    final ExpirationTimingWheel wheel;
+    Node prev;
+    Node next;
+    int slot = -1;
+    long deadline;
+    long deadlineTick;
+
+    Node(EntryExpiryTask task, ExpirationTimingWheel wheel) {
+      this.task = task;
+      this.wheel = wheel;
+    }
+  }
+
+  /**
+   * Advances a timing wheel. Scheduled at a fixed rate of one tick on the expiration timer.
+   */
+  static class TickTask extends SystemTimer.SystemTimerTask {
+    private final ExpirationTimingWheel wheel;
+
+    TickTask(ExpirationTimingWheel wheel) {
+      this.wheel = wheel;
+    }
+
+    @Override
+    public void run2() {
+      wheel.advance();
+    }
+  }
+}
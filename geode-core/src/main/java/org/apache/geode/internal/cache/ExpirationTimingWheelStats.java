@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.function.LongSupplier;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsFactory;
+import org.apache.geode.StatisticsType;
+
+/**
+ * Statistics of an {@link ExpirationTimingWheel}.
+ *
+ * @since Geode 1.12
+ */
+class ExpirationTimingWheelStats {
+  static final String TASKS = "tasks";
+  static final String TASKS_RUN = "tasksRun";
+  static final String EXPIRATION_LAG = "expirationLag";
+
+  private final int tasksRunId;
+  private final int expirationLagId;
+  private final Statistics statistics;
+
+  ExpirationTimingWheelStats(StatisticsFactory statisticsFactory) {
+    final StatisticsType statisticsType = statisticsFactory.createType("ExpirationTimingWheel",
+        "Statistics about the timing wheel that schedules entry expiration.",
+        new StatisticDescriptor[] {
+            statisticsFactory.createLongGauge(TASKS,
+                "Number of entry expiration tasks scheduled on the wheel.", "tasks"),
+            statisticsFactory.createLongCounter(TASKS_RUN,
+                "Number of entry expiration tasks the wheel has run.", "tasks"),
+            statisticsFactory.createLongCounter(EXPIRATION_LAG,
+                "Total milliseconds by which the tasks run by the wheel were late.",
+                "milliseconds")});
+
+    tasksRunId = statisticsType.nameToId(TASKS_RUN);
+    expirationLagId = statisticsType.nameToId(EXPIRATION_LAG);
+
+    statistics = statisticsFactory.createAtomicStatistics(statisticsType, "expirationTimingWheel");
+  }
+
+  void setTasksSupplier(LongSupplier tasks) {
+    statistics.setLongSupplier(TASKS, tasks);
+  }
+
+  void endTask(long lagMillis) {
+    statistics.incLong(tasksRunId, 1);
+    statistics.incLong(expirationLagId, Math.max(lagMillis, 0));
+  }
+
+  void close() {
+    statistics.close();
+  }
+}
@@ -306,7 +306,7 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
    */
   @Override
   public boolean cancel() {
-    boolean superCancel = super.cancel();
+    boolean superCancel = cancelScheduled();
     LocalRegion lr = getLocalRegion();
     if (lr != null) {
       if (superCancel) {
@@ -316,6 +316,14 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
     return superCancel;
   }
 
+  /**
+   * Removes this task from the scheduler it was added to. Returns true if that prevented it from
+   * running.
+   */
+  boolean cancelScheduled() {
+    return super.cancel();
+  }
+
   /**
    * An ExpiryTask is sent run() to perform its task. Note that this run() method should never throw
    * an exception - otherwise, it takes out the java.util.Timer thread, causing an exception
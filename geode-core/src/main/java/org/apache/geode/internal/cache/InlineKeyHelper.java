@@ -29,6 +29,14 @@ public class InlineKeyHelper {
    */
   public static final int MAX_LONGS_USED_FOR_STRING_KEY = 2;
 
+  /**
+   * The maximum number of characters of a string key that is too long to be encoded into longs but
+   * can still be stored inline as a byte array, one byte per character. Zero disables this
+   * encoding.
+   */
+  public static final int MAX_INLINE_BYTE_ARRAY_STRING_KEY =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "MAX_INLINE_BYTE_ARRAY_STRING_KEY", 128);
+
   /**
    * Given the number of longs used to encode the inline string return the maximum number of
    * characters that can be encoded into that many longs.
@@ -56,6 +64,22 @@ public class InlineKeyHelper {
     }
   }
 
+  /**
+   * Return true if the given string can be encoded inline as a byte array. This is only the case if
+   * every char of the string is Latin-1 (<= 0xff) so that it fits into a single byte.
+   */
+  public static boolean canStringBeInlineByteArrayEncoded(String skey) {
+    if (skey.length() > MAX_INLINE_BYTE_ARRAY_STRING_KEY) {
+      return false;
+    }
+    for (int i = 0; i < skey.length(); i++) {
+      if (skey.charAt(i) > 0xff) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private static boolean isByteEncodingOk(String skey) {
     for (int i = 0; i < skey.length(); i++) {
       if (skey.charAt(i) > 0x7f) {
@@ -39,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
@@ -49,6 +50,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import javax.transaction.RollbackException;
@@ -1624,6 +1626,9 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       return validatedPut(event, startPut);
     } finally {
       event.release();
+      if (RecycledEntryEvents.ENABLED) {
+        RecycledEntryEvents.recycle(event);
+      }
     }
   }
 
@@ -1668,9 +1673,15 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     // an id will be generated by default. Null was passed in anyway.
     // generate EventID
     @Retained
-    final EntryEventImpl event =
-        entryEventFactory.create(this, Operation.UPDATE, key, value,
-            aCallbackArgument, false, getMyId());
+    EntryEventImpl event = null;
+    if (canRecycleEntryEvents()) {
+      event = RecycledEntryEvents.acquire(this, Operation.UPDATE, key, value, aCallbackArgument,
+          getMyId());
+    }
+    if (event == null) {
+      event = entryEventFactory.create(this, Operation.UPDATE, key, value,
+          aCallbackArgument, false, getMyId());
+    }
     boolean eventReturned = false;
     try {
       extractDeltaIntoEvent(value, event);
@@ -1679,6 +1690,9 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     } finally {
       if (!eventReturned) {
         event.release();
+        if (RecycledEntryEvents.ENABLED) {
+          RecycledEntryEvents.recycle(event);
+        }
       }
     }
   }
@@ -7430,6 +7444,21 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     return listeners != null && listeners.length > 0;
   }
 
+  /**
+   * Returns true if the event of an operation on this region can only be seen by the calling
+   * thread, so that it can be reused once the operation is done: the region is local, has no
+   * listener, writer, gateway sender or async event queue, is not served to clients, is not
+   * off-heap and the thread is not in a transaction.
+   *
+   * @see RecycledEntryEvents
+   */
+  boolean canRecycleEntryEvents() {
+    return RecycledEntryEvents.ENABLED && getScope().isLocal() && !isInternalRegion()
+        && !getOffHeap() && !hasListener() && basicGetWriter() == null
+        && getAllGatewaySenderIds().isEmpty() && !hasServerProxy()
+        && cache.getCacheServers().isEmpty() && !isTX();
+  }
+
   private final DiskStoreImpl diskStoreImpl;
 
   @Override
@@ -7908,7 +7937,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       ExpirationScheduler scheduler = cache.getExpirationScheduler();
       if (oldTask != null) {
         if (oldTask.cancel()) {
-          scheduler.incCancels();
+          scheduler.incEntryCancels();
         }
       }
       if (!scheduler.addEntryExpiryTask(newTask)) {
@@ -7934,13 +7963,13 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     if (expiryTask != null) {
       entryExpiryTasks.remove(regionEntry, expiryTask);
       if (expiryTask.cancel()) {
-        cache.getExpirationScheduler().incCancels();
+        cache.getExpirationScheduler().incEntryCancels();
       }
     } else {
       EntryExpiryTask oldTask = entryExpiryTasks.remove(regionEntry);
       if (oldTask != null) {
         if (oldTask.cancel()) {
-          cache.getExpirationScheduler().incCancels();
+          cache.getExpirationScheduler().incEntryCancels();
         }
       }
     }
@@ -8602,6 +8631,122 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
         "Region interest registration is only supported for PartitionedRegions");
   }
 
+  /**
+   * Returns true if the asynchronous region methods can pipeline their operations to the servers,
+   * which they can when nothing but the server operation has to happen for them.
+   */
+  private boolean canExecuteAsync() {
+    return hasServerProxy() && getServerProxy().supportsAsync()
+        && getDataPolicy() == DataPolicy.EMPTY && basicGetLoader() == null
+        && basicGetWriter() == null && !hasListener() && !isTX();
+  }
+
+  private static <T> CompletableFuture<T> completeAsync(Supplier<T> operation) {
+    try {
+      return CompletableFuture.completedFuture(operation.get());
+    } catch (RuntimeException e) {
+      return failedAsync(e);
+    }
+  }
+
+  private static <T> CompletableFuture<T> failedAsync(RuntimeException exception) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.completeExceptionally(exception);
+    return future;
+  }
+
+  @Override
+  public CompletableFuture getAsync(Object key) {
+    if (!canExecuteAsync()) {
+      return completeAsync(() -> get(key));
+    }
+    long start = startGet();
+    CompletableFuture<Object> future;
+    try {
+      validateKey(key);
+      checkReadiness();
+      checkForNoAccess();
+      future = getServerProxy().getAsync(key, null);
+    } catch (RuntimeException e) {
+      return failedAsync(e);
+    }
+    return future.thenApply(value -> Token.isInvalidOrRemoved(value) ? null : value)
+        .whenComplete((value, exception) -> endGet(start, value == null));
+  }
+
+  @Override
+  public CompletableFuture putAsync(Object key, Object value) {
+    if (!canExecuteAsync()) {
+      return completeAsync(() -> {
+        put(key, value);
+        return null;
+      });
+    }
+    long startPut = getStatisticsClock().getTime();
+    CompletableFuture<Object> future;
+    @Released
+    EntryEventImpl event = null;
+    try {
+      validateArguments(key, value, null);
+      if (value == null) {
+        throw new NullPointerException("value must not be null");
+      }
+      checkReadiness();
+      checkForLimitedOrNoAccess();
+      event = entryEventFactory.create(this, Operation.UPDATE, key, value, null, false, getMyId());
+      event.setNewEventId(cache.getDistributedSystem());
+      future = getServerProxy().putAsync(key, event.getRawNewValue(), event, null);
+    } catch (RuntimeException e) {
+      if (event != null) {
+        event.release();
+      }
+      return failedAsync(e);
+    }
+    EntryEventImpl putEvent = event;
+    return future.whenComplete((oldValue, exception) -> {
+      putEvent.release();
+      if (exception == null) {
+        getCachePerfStats().endPut(startPut, false);
+      }
+    }).thenApply(oldValue -> null);
+  }
+
+  @Override
+  public CompletableFuture getAllAsync(Collection keys) {
+    if (!canExecuteAsync()) {
+      return completeAsync(() -> getAll(keys));
+    }
+    List keysList;
+    try {
+      if (keys == null) {
+        throw new NullPointerException("The collection of keys for getAll cannot be null");
+      }
+      checkReadiness();
+      checkForLimitedOrNoAccess();
+      keysList = new ArrayList(keys);
+    } catch (RuntimeException e) {
+      return failedAsync(e);
+    }
+    if (keysList.isEmpty()) {
+      return CompletableFuture.completedFuture(new HashMap());
+    }
+    return getServerProxy().getAllAsync(keysList, null).thenApply(remoteResults -> {
+      Map allResults = new HashMap();
+      for (VersionedObjectList.Iterator it = remoteResults.iterator(); it.hasNext();) {
+        VersionedObjectList.Entry entry = it.next();
+        if (entry.isKeyNotOnServer()) {
+          allResults.put(entry.getKey(), null);
+          continue;
+        }
+        Object value = entry.getObject();
+        if (!(value instanceof Throwable)) {
+          allResults.put(entry.getKey(), Token.isInvalidOrRemoved(value) ? null : value);
+        }
+      }
+      return allResults;
+    });
+  }
+
   // TODO: refactor basicGetAll
   @Override
   Map basicGetAll(Collection keys, Object callback) {
@@ -9087,6 +9232,8 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
           }
         };
 
+        // discover the JTA transaction once for the whole bulk op instead of once per key
+        discoverJTA();
         syncBulkOp(task, eventId);
         if (partialKeys.hasFailure()) {
           // Now succeeded contains an order key list, may be missing the version tags.
@@ -9310,6 +9457,8 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
           }
         };
 
+        // discover the JTA transaction once for the whole bulk op instead of once per key
+        discoverJTA();
         syncBulkOp(task, eventId);
         if (partialKeys.hasFailure()) {
           // Now succeeded contains an order key list, may be missing the version tags.
@@ -9482,9 +9631,6 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
         event.setEventId(new EventID(putallOp.getBaseEvent().getEventId(), offset));
       }
 
-      // TODO: could be called once for the entire putAll instead of calling it for every key
-      discoverJTA();
-
       /*
        * If this is tx, do putEntry, unless it is a local region?
        */
@@ -9518,9 +9664,6 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
         event.setEventId(new EventID(op.getBaseEvent().getEventId(), offset));
       }
 
-      // TODO: could be called once for the entire removeAll instead of calling it for every key
-      discoverJTA();
-
       /*
        * If this is tx, do destroyEntry, unless it is a local region?
        */
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * A read only memory mapping of the first bytes of an oplog file that is no longer written to.
+ * Reads are served from the page cache without a system call, and can be done concurrently since
+ * they do not move a shared file pointer.
+ * <p>
+ * The mapped bytes must not change, and the file must not be truncated below the mapped length,
+ * while the mapping is in use. The mapping does not keep the file open. Readers
+ * {@linkplain #retain() retain} the mapping while they copy bytes out of it, and it is unmapped
+ * when it has been {@linkplain #close() closed} and the last reader has released it. If the JVM
+ * does not allow a mapping to be unmapped explicitly, it is unmapped when it is garbage collected.
+ *
+ * @since Geode 1.12
+ */
+class MappedOplogFile {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * The largest number of bytes mapped by a single buffer.
+   */
+  private static final int SEGMENT_SIZE = 1 << 30;
+
+  @Immutable
+  private static final Unmapper UNMAPPER = createUnmapper();
+
+  private final File file;
+  private final long length;
+  private final int segmentSize;
+  private final ByteBuffer[] segments;
+
+  /**
+   * The number of readers that have retained the mapping, plus one until it is closed.
+   */
+  private final AtomicInteger references = new AtomicInteger(1);
+
+  /**
+   * True once the mapping has been released. Guarded by this.
+   */
+  private boolean unmapped;
+
+  private MappedOplogFile(File file, long length, int segmentSize, ByteBuffer[] segments) {
+    this.file = file;
+    this.length = length;
+    this.segmentSize = segmentSize;
+    this.segments = segments;
+  }
+
+  /**
+   * Maps the first length bytes of the file.
+   */
+  static MappedOplogFile map(File file, long length) throws IOException {
+    return map(file, length, SEGMENT_SIZE);
+  }
+
+  @VisibleForTesting
+  static MappedOplogFile map(File file, long length, int segmentSize) throws IOException {
+    ByteBuffer[] segments = new ByteBuffer[(int) ((length + segmentSize - 1) / segmentSize)];
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      for (int i = 0; i < segments.length; i++) {
+        long position = (long) i * segmentSize;
+        segments[i] = channel.map(MapMode.READ_ONLY, position,
+            Math.min(segmentSize, length - position));
+      }
+    }
+    return new MappedOplogFile(file, length, segmentSize, segments);
+  }
+
+  long getLength() {
+    return length;
+  }
+
+  /**
+   * Keeps the mapping from being unmapped until {@link #release()} is called.
+   *
+   * @return false if the mapping has been closed and must not be read
+   */
+  boolean retain() {
+    int count;
+    do {
+      count = references.get();
+      if (count == 0) {
+        return false;
+      }
+    } while (!references.compareAndSet(count, count + 1));
+    return true;
+  }
+
+  /**
+   * Releases a mapping retained by a reader, unmapping it if it has been closed and this was the
+   * last reader.
+   */
+  void release() {
+    if (references.decrementAndGet() == 0) {
+      unmap();
+    }
+  }
+
+  /**
+   * Closes the mapping and waits until the readers that retained it have released it, so that it
+   * has been unmapped when this method returns. Must be called once.
+   */
+  void close() {
+    release();
+    boolean interrupted = false;
+    synchronized (this) {
+      while (!unmapped) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns true if the bytes from offset to offset + count have been mapped.
+   */
+  boolean contains(long offset, int count) {
+    return offset >= 0 && count >= 0 && offset + count <= length;
+  }
+
+  /**
+   * Copies count bytes starting at offset out of the mapping. The caller must have
+   * {@linkplain #retain() retained} the mapping.
+   *
+   * @throws IndexOutOfBoundsException if the bytes have not all been mapped
+   */
+  byte[] read(long offset, int count) {
+    if (!contains(offset, count)) {
+      throw new IndexOutOfBoundsException(
+          "Cannot read " + count + " bytes at " + offset + " from the " + length
+              + " mapped bytes of " + file);
+    }
+    byte[] bytes = new byte[count];
+    int copied = 0;
+    while (copied < count) {
+      long position = offset + copied;
+      ByteBuffer segment = segments[(int) (position / segmentSize)].duplicate();
+      segment.position((int) (position % segmentSize));
+      int size = Math.min(count - copied, segment.remaining());
+      segment.get(bytes, copied, size);
+      copied += size;
+    }
+    return bytes;
+  }
+
+  private void unmap() {
+    try {
+      if (UNMAPPER != null) {
+        for (ByteBuffer segment : segments) {
+          UNMAPPER.unmap(segment);
+        }
+      }
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      logger.debug("Could not unmap {}. It will be unmapped when it is garbage collected.", this,
+          e);
+    } finally {
+      synchronized (this) {
+        unmapped = true;
+        notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Releases the memory that a buffer returned by {@link FileChannel#map} maps, without waiting for
+   * the buffer to be garbage collected.
+   */
+  @FunctionalInterface
+  interface Unmapper {
+    void unmap(ByteBuffer buffer) throws ReflectiveOperationException;
+  }
+
+  private static Unmapper createUnmapper() {
+    try {
+      // sun.misc.Unsafe.invokeCleaner(ByteBuffer) was added in Java 9
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      Object unsafe = theUnsafe.get(null);
+      return buffer -> invokeCleaner.invoke(unsafe, buffer);
+    } catch (ReflectiveOperationException | RuntimeException ignore) {
+      // try the cleaner of the buffer of Java 8
+    }
+    try {
+      Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      return buffer -> {
+        Object bufferCleaner = cleaner.invoke(buffer);
+        if (bufferCleaner != null) {
+          clean.invoke(bufferCleaner);
+        }
+      };
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      logger.info("Memory mapped oplogs cannot be unmapped explicitly on this JVM. They will be "
+          + "unmapped when they are garbage collected: {}", e.toString());
+      return null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MappedOplogFile[" + file + ", length=" + length + "]";
+  }
+}
@@ -16,6 +16,7 @@ package org.apache.geode.internal.cache;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
@@ -26,9 +27,11 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -36,6 +39,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -126,6 +130,9 @@ public class Oplog implements CompactableOplog, Flushable {
   public static final String DRF_FILE_EXT = ".drf";
   public static final String KRF_FILE_EXT = ".krf";
 
+  /** The number of krf entries that are read and then recovered at once */
+  private static final int KRF_RECOVERY_BATCH_SIZE = 10000;
+
   /** The file which will be created on disk * */
   private File diskFile;
 
@@ -517,6 +524,12 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   final Object lock = new Object();
 
+  /**
+   * Commits the synchronous writes of entry operations as groups, if
+   * {@link DiskStoreImpl#GROUP_COMMIT} is set. Null otherwise, and for recovered oplogs.
+   */
+  private final OplogGroupCommit groupCommit;
+
   final ByteBuffer[] bbArray = new ByteBuffer[2];
 
   private boolean lockedForKRFcreate = false;
@@ -573,6 +586,7 @@ public class Oplog implements CompactableOplog, Flushable {
     setMaxCrfDrfSize();
     this.stats = getParent().getStats();
     this.compactOplogs = getParent().getAutoCompact();
+    this.groupCommit = createGroupCommit();
 
     this.closed = false;
     String n = getParent().getName();
@@ -634,6 +648,7 @@ public class Oplog implements CompactableOplog, Flushable {
     setMaxCrfDrfSize();
     this.stats = prevOplog.stats;
     this.compactOplogs = prevOplog.compactOplogs;
+    this.groupCommit = createGroupCommit();
     // copy over the previous Oplog's data version since data is not being
     // transformed at this point
     this.dataVersion = prevOplog.getDataVersionIfOld();
@@ -661,6 +676,25 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  private OplogGroupCommit createGroupCommit() {
+    if (!DiskStoreImpl.GROUP_COMMIT) {
+      return null;
+    }
+    return new OplogGroupCommit(this.lock, new OplogGroupCommit.Log() {
+      @Override
+      public void write() throws IOException {
+        flush(Oplog.this.drf, false);
+        flush(Oplog.this.crf, false);
+      }
+
+      @Override
+      public void force() throws IOException {
+        Oplog.this.force(Oplog.this.drf);
+        Oplog.this.force(Oplog.this.crf);
+      }
+    }, this.stats);
+  }
+
   public Object getLock() {
     return lock;
   }
@@ -834,6 +868,7 @@ public class Oplog implements CompactableOplog, Flushable {
     setMaxCrfDrfSize();
     this.stats = getParent().getStats();
     this.compactOplogs = getParent().getAutoCompact();
+    this.groupCommit = null;
     this.closed = true;
     this.crf.RAFClosed = true;
     this.deleted.set(true);
@@ -984,6 +1019,7 @@ public class Oplog implements CompactableOplog, Flushable {
       return;
     }
 
+    closeDirectWriter(olf);
     if (olf.raf != null) {
       try {
         olf.raf.close();
@@ -1078,6 +1114,9 @@ public class Oplog implements CompactableOplog, Flushable {
     logger.info("Created {} {} for disk store {}.",
         new Object[] {toString(), getFileType(this.crf), getParent().getName()});
     this.crf.channel = this.crf.raf.getChannel();
+    if (DiskStoreImpl.DIRECT_OPLOG_WRITES) {
+      this.crf.directWriter = DirectOplogWriter.open(f, this.crf.writeBuf.capacity(), SYNC_WRITES);
+    }
 
     this.stats.incOpenOplogs();
     writeDiskStoreRecord(this.crf, OPLOG_TYPE.CRF);
@@ -1446,6 +1485,16 @@ public class Oplog implements CompactableOplog, Flushable {
    * Return bytes read.
    */
   long recoverDrf(OplogEntryIdSet deletedIds, boolean alreadyRecoveredOnce, boolean latestOplog) {
+    return recoverDrf(deletedIds, alreadyRecoveredOnce, latestOplog, null);
+  }
+
+  /**
+   * Return bytes read.
+   *
+   * @param readAhead the read ahead of the drf, if any
+   */
+  long recoverDrf(OplogEntryIdSet deletedIds, boolean alreadyRecoveredOnce, boolean latestOplog,
+      OplogReadAhead readAhead) {
     File drfFile = this.drf.f;
     if (drfFile == null) {
       this.haveRecoveredDrf = true;
@@ -1468,9 +1517,16 @@ public class Oplog implements CompactableOplog, Flushable {
         boolean foundDiskStoreRecord = false;
         FileInputStream fis = null;
         try {
-          fis = new FileInputStream(drfFile);
-          dis = new CountingDataInputStream(new BufferedInputStream(fis, 32 * 1024),
-              drfFile.length());
+          OplogReadAhead.ReadAheadFile readAheadFile =
+              readAhead != null ? readAhead.take(drfFile) : null;
+          if (readAheadFile != null) {
+            dis = new CountingDataInputStream(new ByteArrayInputStream(readAheadFile.getBytes()),
+                readAheadFile.getBytes().length);
+          } else {
+            fis = new FileInputStream(drfFile);
+            dis = new CountingDataInputStream(new BufferedInputStream(fis, 32 * 1024),
+                drfFile.length());
+          }
           boolean endOfLog = false;
           while (!endOfLog) {
             if (dis.atEndOfFile()) {
@@ -1611,7 +1667,8 @@ public class Oplog implements CompactableOplog, Flushable {
   private OplogEntryIdMap skippedKeyBytes;
 
   private boolean readKrf(OplogEntryIdSet deletedIds, boolean recoverValues,
-      boolean recoverValuesSync, Set<Oplog> oplogsNeedingValueRecovery, boolean latestOplog) {
+      boolean recoverValuesSync, Set<Oplog> oplogsNeedingValueRecovery, boolean latestOplog,
+      OplogReadAhead readAhead) {
     File f = new File(this.diskFile.getPath() + KRF_FILE_EXT);
     if (!f.exists()) {
       return false;
@@ -1631,13 +1688,21 @@ public class Oplog implements CompactableOplog, Flushable {
       return false;
     }
 
-    FileInputStream fis;
-    try {
-      fis = new FileInputStream(f);
-    } catch (FileNotFoundException ignore) {
-      return false;
+    OplogReadAhead.ReadAheadFile readAheadFile = readAhead != null ? readAhead.take(f) : null;
+    InputStream is;
+    if (readAheadFile == null) {
+      try {
+        is = new BufferedInputStream(new FileInputStream(f), 1024 * 1024);
+      } catch (FileNotFoundException ignore) {
+        return false;
+      }
+    } else if (readAheadFile.getKrf() != null) {
+      is = new ByteArrayInputStream(readAheadFile.getKrf().header);
+    } else {
+      is = new ByteArrayInputStream(readAheadFile.getBytes());
     }
-    try {
+    // fix for bug 42776
+    try (DataInputStream dis = new DataInputStream(is)) {
       if (getParent().isOffline() && !getParent().FORCE_KRF_RECOVERY) {
         return false;
       }
@@ -1648,140 +1713,33 @@ public class Oplog implements CompactableOplog, Flushable {
       this.recoverModEntryIdHWM = DiskStoreImpl.INVALID_ID;
       long oplogKeyIdHWM = DiskStoreImpl.INVALID_ID;
       int krfEntryCount = 0;
-      DataInputStream dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
-      final Version version = getProductVersionIfOld();
-      final ByteArrayDataInput in = new ByteArrayDataInput();
       try {
-        try {
-          validateOpcode(dis, OPLOG_MAGIC_SEQ_ID);
-          readOplogMagicSeqRecord(dis, f, OPLOG_TYPE.KRF);
-
-          validateOpcode(dis, OPLOG_DISK_STORE_ID);
-          readDiskStoreRecord(dis, f);
-        } catch (DiskAccessException ignore) {
-          // Failed to read the file. There are two possibilities. Either this
-          // file is in old format which does not have a magic seq in the
-          // beginning or this is not a valid file at all. Try reading it as a
-          // file in old format
-          fis.close();
-          fis = new FileInputStream(f);
-          dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
-          readDiskStoreRecord(dis, f);
-        } catch (IllegalStateException ignore) {
-          // Failed to read the file. There are two possibilities. Either this
-          // is in new format which has a magic seq in the beginning or this is
-          // not a valid file at all
-          fis.close();
-          fis = new FileInputStream(f);
-          dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
-          readDiskStoreRecord(dis, f);
-        }
-
-        readGemfireVersionRecord(dis, f);
-        readTotalCountRecord(dis, f);
-        readRVVRecord(dis, f, false, latestOplog);
-        long lastOffset = 0;
-        byte[] keyBytes = DataSerializer.readByteArray(dis);
-        while (keyBytes != null) {
-          byte userBits = dis.readByte();
-          int valueLength = InternalDataSerializer.readArrayLength(dis);
-          byte[] valueBytes = null;
-          long drId = DiskInitFile.readDiskRegionID(dis);
-          DiskRecoveryStore drs = getOplogSet().getCurrentlyRecovering(drId);
-
-          // read version
-          VersionTag tag = null;
-          if (EntryBits.isWithVersions(userBits)) {
-            tag = readVersionsFromOplog(dis);
-            if (drs != null && !drs.getDiskRegionView().getFlags()
-                .contains(DiskRegionFlag.IS_WITH_VERSIONING)) {
-              // 50044 Remove version tag from entry if we don't want versioning
-              // for this region
-              tag = null;
-              userBits = EntryBits.setWithVersions(userBits, false);
-            } else {
-              // Update the RVV with the new entry
-              if (drs != null) {
-                drs.recordRecoveredVersionTag(tag);
-              }
+        KrfEntryReader reader = new KrfEntryReader(dis, readKrfHeader(dis, f, true, latestOplog));
+        List<RecoveredKrfEntry> entries;
+        boolean moreEntries;
+        if (readAheadFile != null && readAheadFile.getKrf() != null) {
+          entries = readAheadFile.getKrf().entries;
+          moreEntries = false;
+        } else {
+          // recover the entries in batches, without keeping all of them in memory
+          entries = new ArrayList<>(KRF_RECOVERY_BATCH_SIZE);
+          moreEntries = reader.read(KRF_RECOVERY_BATCH_SIZE, entries);
+        }
+        while (true) {
+          for (RecoveredKrfEntry entry : entries) {
+            if (entry.oplogKeyId > oplogKeyIdHWM) {
+              oplogKeyIdHWM = entry.oplogKeyId;
             }
           }
-
-          long oplogKeyId = InternalDataSerializer.readVLOld(dis);
-          long oplogOffset;
-          if (EntryBits.isAnyInvalid(userBits) || EntryBits.isTombstone(userBits)) {
-            oplogOffset = -1;
-          } else {
-            oplogOffset = lastOffset + InternalDataSerializer.readVLOld(dis);
-            lastOffset = oplogOffset;
-          }
-
-          if (oplogKeyId > oplogKeyIdHWM) {
-            oplogKeyIdHWM = oplogKeyId;
-          }
-          if (okToSkipModifyRecord(deletedIds, drId, drs, oplogKeyId, true, tag).skip()) {
-            if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY_VERBOSE)) {
-              logger.trace(LogMarker.PERSIST_RECOVERY_VERBOSE,
-                  "readNewEntry skipping oplogKeyId=<{}> drId={} userBits={} oplogOffset={} valueLen={}",
-                  oplogKeyId, drId, userBits, oplogOffset, valueLength);
-            }
-            this.stats.incRecoveryRecordsSkipped();
-            incSkipped();
-          } else {
-            if (EntryBits.isAnyInvalid(userBits)) {
-              if (EntryBits.isInvalid(userBits)) {
-                valueBytes = DiskEntry.INVALID_BYTES;
-              } else {
-                valueBytes = DiskEntry.LOCAL_INVALID_BYTES;
-              }
-            } else if (EntryBits.isTombstone(userBits)) {
-              valueBytes = DiskEntry.TOMBSTONE_BYTES;
-            }
-            Object key = deserializeKey(keyBytes, version, in);
-            {
-              Object oldValue = getRecoveryMap().put(oplogKeyId, key);
-              if (oldValue != null) {
-                throw new AssertionError(
-                    String.format(
-                        "Oplog::readNewEntry: Create is present in more than one Oplog. This should not be possible. The Oplog Key ID for this entry is %s.",
-                        oplogKeyId));
-              }
-            }
-            DiskEntry de = drs.getDiskEntry(key);
-            if (de == null) {
-              if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY_VERBOSE)) {
-                logger.trace(LogMarker.PERSIST_RECOVERY_VERBOSE,
-                    "readNewEntry oplogKeyId=<{}> drId={} userBits={} oplogOffset={} valueLen={}",
-                    oplogKeyId, drId, userBits, oplogOffset, valueLength);
-              }
-              DiskEntry.RecoveredEntry re = createRecoveredEntry(valueBytes, valueLength, userBits,
-                  getOplogId(), oplogOffset, oplogKeyId, false, version, in);
-              if (tag != null) {
-                re.setVersionTag(tag);
-              }
-              initRecoveredEntry(drs.getDiskRegionView(), drs.initializeRecoveredEntry(key, re));
-              drs.getDiskRegionView().incRecoveredEntryCount();
-              this.stats.incRecoveredEntryCreates();
-              krfEntryCount++;
-            } else {
-              DiskId curdid = de.getDiskId();
-              // assert curdid.getOplogId() != getOplogId();
-              if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY_VERBOSE)) {
-                logger.trace(LogMarker.PERSIST_RECOVERY_VERBOSE,
-                    "ignore readNewEntry because getOplogId()={} != curdid.getOplogId()={} for drId={} key={}",
-                    getOplogId(), curdid.getOplogId(), drId, key);
-              }
-            }
+          krfEntryCount += recoverKrfEntries(entries, deletedIds, readAhead);
+          if (!moreEntries) {
+            break;
           }
-          keyBytes = DataSerializer.readByteArray(dis);
-        } // while
+          entries.clear();
+          moreEntries = reader.read(KRF_RECOVERY_BATCH_SIZE, entries);
+        }
         setRecoverNewEntryId(oplogKeyIdHWM);
       } catch (IOException ex) {
-        try {
-          fis.close();
-          fis = null;
-        } catch (IOException ignore) {
-        }
         throw new DiskAccessException("Unable to recover from krf file for oplogId=" + oplogId
             + ", file=" + f.getName() + ". This file is corrupt, but may be safely deleted.", ex,
             getParent());
@@ -1801,17 +1759,184 @@ public class Oplog implements CompactableOplog, Flushable {
         // Defer faulting in values until all oplogs for the ds have been
         // recovered.
       }
-    } finally {
-      // fix for bug 42776
-      if (fis != null) {
-        try {
-          fis.close();
-          fis = null;
-        } catch (IOException ignore) {
+    } catch (IOException ignore) {
+      // only thrown when closing the file
+    }
+    return true;
+  }
+
+  /**
+   * Parses the entries of the krf of this oplog from its contents, without recovering anything, so
+   * that a read ahead thread can do it before the recovery thread reaches this oplog.
+   */
+  ParsedKrf parseKrf(File f, byte[] bytes) throws IOException {
+    ByteArrayInputStream is = new ByteArrayInputStream(bytes);
+    DataInputStream dis = new DataInputStream(is);
+    KrfEntryReader reader = new KrfEntryReader(dis, readKrfHeader(dis, f, false, false));
+    byte[] header = Arrays.copyOf(bytes, bytes.length - is.available());
+    List<RecoveredKrfEntry> entries = new ArrayList<>();
+    reader.read(Integer.MAX_VALUE, entries);
+    return new ParsedKrf(header, entries);
+  }
+
+  /**
+   * Reads the header records of a krf, which precede its entries.
+   *
+   * @param recover false to only read the records, without recovering this oplog from them
+   * @return the product version of the oplog
+   */
+  private Version readKrfHeader(DataInputStream dis, File f, boolean recover, boolean latestOplog)
+      throws IOException {
+    dis.mark(1024);
+    try {
+      validateOpcode(dis, OPLOG_MAGIC_SEQ_ID);
+      readOplogMagicSeqRecord(dis, f, OPLOG_TYPE.KRF);
+
+      validateOpcode(dis, OPLOG_DISK_STORE_ID);
+      readDiskStoreRecord(dis, f);
+    } catch (DiskAccessException ignore) {
+      // Failed to read the file. There are two possibilities. Either this
+      // file is in old format which does not have a magic seq in the
+      // beginning or this is not a valid file at all. Try reading it as a
+      // file in old format
+      dis.reset();
+      readDiskStoreRecord(dis, f);
+    } catch (IllegalStateException ignore) {
+      // Failed to read the file. There are two possibilities. Either this
+      // is in new format which has a magic seq in the beginning or this is
+      // not a valid file at all
+      dis.reset();
+      readDiskStoreRecord(dis, f);
+    }
+
+    Version recoveredGFVersion = readGemfireVersionRecord(dis, f, recover);
+    readTotalCountRecord(dis, f, recover);
+    readRVVRecord(dis, f, false, latestOplog, recover);
+    return recoveredGFVersion;
+  }
+
+  /**
+   * Recovers the given entries of the krf of this oplog. The entries of different regions are
+   * recovered concurrently if the given read ahead has threads to recover them with.
+   *
+   * @return the number of entries created
+   */
+  private int recoverKrfEntries(List<RecoveredKrfEntry> entries, OplogEntryIdSet deletedIds,
+      OplogReadAhead readAhead) {
+    AtomicInteger created = new AtomicInteger();
+    AtomicInteger skipped = new AtomicInteger();
+    Map<Long, List<RecoveredKrfEntry>> entriesByRegion = null;
+    if (readAhead != null && readAhead.isEnabled()) {
+      entriesByRegion = new LinkedHashMap<>();
+      for (RecoveredKrfEntry entry : entries) {
+        entriesByRegion.computeIfAbsent(entry.drId, drId -> new ArrayList<>()).add(entry);
+      }
+    }
+    if (entriesByRegion == null || entriesByRegion.size() < 2) {
+      recoverKrfEntries(entries, deletedIds, created, skipped);
+    } else {
+      List<Runnable> tasks = new ArrayList<>(entriesByRegion.size());
+      for (List<RecoveredKrfEntry> regionEntries : entriesByRegion.values()) {
+        tasks.add(() -> recoverKrfEntries(regionEntries, deletedIds, created, skipped));
+      }
+      readAhead.runConcurrently(tasks);
+    }
+    this.recordsSkippedDuringRecovery += skipped.get();
+    return created.get();
+  }
+
+  /**
+   * Recovers the given entries of the krf of this oplog, which are either all of the same region or
+   * recovered by a single thread.
+   */
+  private void recoverKrfEntries(List<RecoveredKrfEntry> entries, OplogEntryIdSet deletedIds,
+      AtomicInteger created, AtomicInteger skipped) {
+    final Version version = getProductVersionIfOld();
+    final ByteArrayDataInput in = new ByteArrayDataInput();
+    for (RecoveredKrfEntry entry : entries) {
+      byte userBits = entry.userBits;
+      long drId = entry.drId;
+      long oplogKeyId = entry.oplogKeyId;
+      long oplogOffset = entry.offsetInOplog;
+      int valueLength = entry.valueLength;
+      byte[] valueBytes = null;
+      DiskRecoveryStore drs = getOplogSet().getCurrentlyRecovering(drId);
+
+      VersionTag tag = entry.tag;
+      if (EntryBits.isWithVersions(userBits)) {
+        if (drs != null && !drs.getDiskRegionView().getFlags()
+            .contains(DiskRegionFlag.IS_WITH_VERSIONING)) {
+          // 50044 Remove version tag from entry if we don't want versioning
+          // for this region
+          tag = null;
+          userBits = EntryBits.setWithVersions(userBits, false);
+        } else {
+          // Update the RVV with the new entry
+          if (drs != null) {
+            drs.recordRecoveredVersionTag(tag);
+          }
+        }
+      }
+
+      if (okToSkipModifyRecord(deletedIds, drId, drs, oplogKeyId, true, tag).skip()) {
+        if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY_VERBOSE)) {
+          logger.trace(LogMarker.PERSIST_RECOVERY_VERBOSE,
+              "readNewEntry skipping oplogKeyId=<{}> drId={} userBits={} oplogOffset={} valueLen={}",
+              oplogKeyId, drId, userBits, oplogOffset, valueLength);
+        }
+        this.stats.incRecoveryRecordsSkipped();
+        skipped.incrementAndGet();
+      } else {
+        if (EntryBits.isAnyInvalid(userBits)) {
+          if (EntryBits.isInvalid(userBits)) {
+            valueBytes = DiskEntry.INVALID_BYTES;
+          } else {
+            valueBytes = DiskEntry.LOCAL_INVALID_BYTES;
+          }
+        } else if (EntryBits.isTombstone(userBits)) {
+          valueBytes = DiskEntry.TOMBSTONE_BYTES;
+        }
+        Object key = deserializeKey(entry.keyBytes, version, in);
+        {
+          OplogEntryIdMap recoveryMap = getRecoveryMap();
+          Object oldValue;
+          synchronized (recoveryMap) {
+            oldValue = recoveryMap.put(oplogKeyId, key);
+          }
+          if (oldValue != null) {
+            throw new AssertionError(
+                String.format(
+                    "Oplog::readNewEntry: Create is present in more than one Oplog. This should not be possible. The Oplog Key ID for this entry is %s.",
+                    oplogKeyId));
+          }
+        }
+        DiskEntry de = drs.getDiskEntry(key);
+        if (de == null) {
+          if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY_VERBOSE)) {
+            logger.trace(LogMarker.PERSIST_RECOVERY_VERBOSE,
+                "readNewEntry oplogKeyId=<{}> drId={} userBits={} oplogOffset={} valueLen={}",
+                oplogKeyId, drId, userBits, oplogOffset, valueLength);
+          }
+          DiskEntry.RecoveredEntry re = createRecoveredEntry(valueBytes, valueLength, userBits,
+              getOplogId(), oplogOffset, oplogKeyId, false, version, in);
+          if (tag != null) {
+            re.setVersionTag(tag);
+          }
+          initRecoveredEntry(drs.getDiskRegionView(), drs.initializeRecoveredEntry(key, re));
+          drs.getDiskRegionView().incRecoveredEntryCount();
+          this.stats.incRecoveredEntryCreates();
+          created.incrementAndGet();
+        } else {
+          DiskId curdid = de.getDiskId();
+          // assert curdid.getOplogId() != getOplogId();
+          if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY_VERBOSE)) {
+            logger.trace(LogMarker.PERSIST_RECOVERY_VERBOSE,
+                "ignore readNewEntry because getOplogId()={} != curdid.getOplogId()={} for drId={} key={}",
+                getOplogId(), curdid.getOplogId(), drId, key);
+          }
         }
       }
     }
-    return true;
   }
 
   private void validateOpcode(DataInputStream dis, byte expect) throws IOException {
@@ -1827,7 +1952,8 @@ public class Oplog implements CompactableOplog, Flushable {
   /**
    * Return number of bytes read
    */
-  private long readCrf(OplogEntryIdSet deletedIds, boolean recoverValues, boolean latestOplog) {
+  private long readCrf(OplogEntryIdSet deletedIds, boolean recoverValues, boolean latestOplog,
+      OplogReadAhead readAhead) {
     this.recoverNewEntryId = DiskStoreImpl.INVALID_ID;
     this.recoverModEntryId = DiskStoreImpl.INVALID_ID;
     this.recoverModEntryIdHWM = DiskStoreImpl.INVALID_ID;
@@ -1842,9 +1968,16 @@ public class Oplog implements CompactableOplog, Flushable {
       boolean foundDiskStoreRecord = false;
       FileInputStream fis = null;
       try {
-        fis = new FileInputStream(this.crf.f);
-        dis = new CountingDataInputStream(new BufferedInputStream(fis, 1024 * 1024),
-            this.crf.f.length());
+        OplogReadAhead.ReadAheadFile readAheadFile =
+            readAhead != null ? readAhead.take(this.crf.f) : null;
+        if (readAheadFile != null) {
+          dis = new CountingDataInputStream(new ByteArrayInputStream(readAheadFile.getBytes()),
+              readAheadFile.getBytes().length);
+        } else {
+          fis = new FileInputStream(this.crf.f);
+          dis = new CountingDataInputStream(new BufferedInputStream(fis, 1024 * 1024),
+              this.crf.f.length());
+        }
         boolean endOfLog = false;
         while (!endOfLog) {
           if (dis.atEndOfFile()) {
@@ -2034,6 +2167,16 @@ public class Oplog implements CompactableOplog, Flushable {
    * @throws DiskAccessException if this file does not belong to our parent
    */
   private void readGemfireVersionRecord(DataInput dis, File f) throws IOException {
+    readGemfireVersionRecord(dis, f, true);
+  }
+
+  /**
+   * @param recover false to only read the record, without recovering the versions of this oplog
+   * @return the product version of the oplog
+   * @throws DiskAccessException if this file does not belong to our parent
+   */
+  private Version readGemfireVersionRecord(DataInput dis, File f, boolean recover)
+      throws IOException {
     Version recoveredGFVersion = readProductVersionRecord(dis, f);
     final boolean hasDataVersion;
     if ((hasDataVersion = (recoveredGFVersion == Version.TOKEN))) {
@@ -2047,10 +2190,13 @@ public class Oplog implements CompactableOplog, Flushable {
       }
       recoveredGFVersion = readProductVersionRecord(dis, f);
     }
-    if (this.gfversion == null) {
-      this.gfversion = recoveredGFVersion;
-    } else {
-      assert this.gfversion == recoveredGFVersion;
+    final Version productVersion = recoveredGFVersion;
+    if (recover) {
+      if (this.gfversion == null) {
+        this.gfversion = recoveredGFVersion;
+      } else {
+        assert this.gfversion == recoveredGFVersion;
+      }
     }
     if (hasDataVersion) {
       byte opCode = dis.readByte();
@@ -2061,12 +2207,15 @@ public class Oplog implements CompactableOplog, Flushable {
             getParent());
       }
       recoveredGFVersion = readProductVersionRecord(dis, f);
-      if (this.dataVersion == null) {
-        this.dataVersion = recoveredGFVersion;
-      } else {
-        assert this.dataVersion == recoveredGFVersion;
+      if (recover) {
+        if (this.dataVersion == null) {
+          this.dataVersion = recoveredGFVersion;
+        } else {
+          assert this.dataVersion == recoveredGFVersion;
+        }
       }
     }
+    return productVersion;
   }
 
   private Version readProductVersionRecord(DataInput dis, File f) throws IOException {
@@ -2086,18 +2235,29 @@ public class Oplog implements CompactableOplog, Flushable {
     return recoveredGFVersion;
   }
 
-  private void readTotalCountRecord(DataInput dis, File f) throws IOException {
+  private void readTotalCountRecord(DataInput dis, File f, boolean recover) throws IOException {
     long recoveredCount = InternalDataSerializer.readUnsignedVL(dis);
-    this.totalCount.set(recoveredCount);
+    if (recover) {
+      this.totalCount.set(recoveredCount);
+    }
 
     if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY_VERBOSE)) {
-      logger.trace(LogMarker.PERSIST_RECOVERY_VERBOSE, "totalCount={}", totalCount);
+      logger.trace(LogMarker.PERSIST_RECOVERY_VERBOSE, "totalCount={}", recoveredCount);
     }
     readEndOfRecord(dis);
   }
 
   private void readRVVRecord(DataInput dis, File f, boolean gcRVV, boolean latestOplog)
       throws IOException {
+    readRVVRecord(dis, f, gcRVV, latestOplog, true);
+  }
+
+  /**
+   * @param recover false to only read the record, without recovering the version vectors of the
+   *        regions from it
+   */
+  private void readRVVRecord(DataInput dis, File f, boolean gcRVV, boolean latestOplog,
+      boolean recover) throws IOException {
     final boolean isPersistRecoveryDebugEnabled =
         logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY_VERBOSE);
 
@@ -2109,7 +2269,7 @@ public class Oplog implements CompactableOplog, Flushable {
       long drId = InternalDataSerializer.readUnsignedVL(dis);
       // Get the drs. This may be null if this region is not currently
       // recovering
-      DiskRecoveryStore drs = getOplogSet().getCurrentlyRecovering(drId);
+      DiskRecoveryStore drs = recover ? getOplogSet().getCurrentlyRecovering(drId) : null;
       if (isPersistRecoveryDebugEnabled) {
         logger.trace(LogMarker.PERSIST_RECOVERY_VERBOSE, "readRVV drId={} region={}", drId, drs);
       }
@@ -2185,6 +2345,19 @@ public class Oplog implements CompactableOplog, Flushable {
    */
   long recoverCrf(OplogEntryIdSet deletedIds, boolean recoverValues, boolean recoverValuesSync,
       boolean alreadyRecoveredOnce, Set<Oplog> oplogsNeedingValueRecovery, boolean latestOplog) {
+    return recoverCrf(deletedIds, recoverValues, recoverValuesSync, alreadyRecoveredOnce,
+        oplogsNeedingValueRecovery, latestOplog, null);
+  }
+
+  /**
+   * Recovers one oplog
+   *
+   * @param latestOplog - true if this oplog is the latest oplog in the disk store.
+   * @param readAhead the read ahead of the krf or crf, if any
+   */
+  long recoverCrf(OplogEntryIdSet deletedIds, boolean recoverValues, boolean recoverValuesSync,
+      boolean alreadyRecoveredOnce, Set<Oplog> oplogsNeedingValueRecovery, boolean latestOplog,
+      OplogReadAhead readAhead) {
     // crf might not exist; but drf always will
     this.diskFile = new File(this.drf.f.getParentFile(),
         oplogSet.getPrefix() + getParent().getName() + "_" + this.oplogId);
@@ -2209,10 +2382,10 @@ public class Oplog implements CompactableOplog, Flushable {
       // if we have a KRF then read it and delay reading the CRF.
       // Unless we are in synchronous recovery mode
       if (!readKrf(deletedIds, recoverValues, recoverValuesSync, oplogsNeedingValueRecovery,
-          latestOplog)) {
+          latestOplog, readAhead)) {
         logger.info("Recovering {} {} for disk store {}.",
             new Object[] {toString(), crfFile.getAbsolutePath(), getParent().getName()});
-        byteCount = readCrf(deletedIds, recoverValues, latestOplog);
+        byteCount = readCrf(deletedIds, recoverValues, latestOplog, readAhead);
       } else {
         byteCount = this.crf.f.length();
       }
@@ -2267,7 +2440,7 @@ public class Oplog implements CompactableOplog, Flushable {
       if (getOplogSet().getChild() == null) {
         getOplogSet().initChild();
       }
-      readCrf(deletedIds, true, latestOplog);
+      readCrf(deletedIds, true, latestOplog, null);
       this.deleted.set(false);
       destroyCrfOnly();
     } else {
@@ -2351,7 +2524,12 @@ public class Oplog implements CompactableOplog, Flushable {
   }
 
   private VersionTag readVersionsFromOplog(DataInput dis) throws IOException {
-    if (Version.GFE_70.compareTo(currentRecoveredGFVersion()) <= 0) {
+    return readVersionsFromOplog(dis, currentRecoveredGFVersion());
+  }
+
+  private VersionTag readVersionsFromOplog(DataInput dis, Version recoveredGFVersion)
+      throws IOException {
+    if (Version.GFE_70.compareTo(recoveredGFVersion) <= 0) {
       // this version format is for gemfire 7.0
       // if we have different version format in 7.1, it will be handled in
       // "else if"
@@ -3198,6 +3376,7 @@ public class Oplog implements CompactableOplog, Flushable {
    * Close the files of a oplog but don't set any state. Used by unit tests
    */
   public void testClose() {
+    closeDirectWriter(this.crf);
     try {
       this.crf.channel.close();
     } catch (IOException ignore) {
@@ -3220,11 +3399,14 @@ public class Oplog implements CompactableOplog, Flushable {
 
   private void basicClose(boolean forceDelete) {
     flushAll();
+    forceGroupCommit();
     // No need to get the backup lock prior to synchronizing (correct lock order) since the
     // synchronized block does not attempt to get the backup lock (incorrect lock order)
     synchronized (this.lock/* crf */) {
+      unmapCrf();
       unpreblow(this.crf, getMaxCrfSize());
       if (!this.crf.RAFClosed) {
+        closeDirectWriter(this.crf);
         try {
           this.crf.channel.close();
         } catch (IOException ignore) {
@@ -3439,6 +3621,7 @@ public class Oplog implements CompactableOplog, Flushable {
           userBits = EntryBits.setWithVersions(userBits, true);
         }
         basicCreate(region.getDiskRegion(), entry, value, userBits, async);
+        awaitGroupCommit();
       } catch (IOException ex) {
         exceptionOccurred = true;
         region.getCancelCriterion().checkCancelInProgress(ex);
@@ -3552,7 +3735,7 @@ public class Oplog implements CompactableOplog, Flushable {
           id.setOplogId(getOplogId());
           // do the io while holding lock so that switch can set doneAppending
           // Write the data to the opLog for the synch mode
-          startPosForSynchOp = writeOpLogBytes(this.crf, async, true);
+          startPosForSynchOp = writeEntryOpLogBytes(this.crf, async);
           // if (this.crf.currSize != startPosForSynchOp) {
           // assert false;
           // }
@@ -3683,6 +3866,7 @@ public class Oplog implements CompactableOplog, Flushable {
       drName = getParent().getName();
     }
     flushAll(); // needed in case of async
+    forceGroupCommit();
     lengthOfOperationCausingSwitch += 20; // for worstcase overhead of writing
                                           // first record
 
@@ -4267,7 +4451,10 @@ public class Oplog implements CompactableOplog, Flushable {
         if (entry.getDiskId().isPendingAsync()) {
           entry.getDiskId().setPendingAsync(false);
           try {
-            getOplogSet().getChild().basicRemove(dr, entry, false, false);
+            Oplog child = getOplogSet().getChild();
+            child.basicRemove(dr, entry, false, false);
+            // the oplog being compacted does not commit in groups, the one written to might
+            child.awaitGroupCommit();
           } catch (IOException ex) {
             getParent().getCancelCriterion().checkCancelInProgress(ex);
             throw new DiskAccessException(String.format("Failed writing key to %s",
@@ -4330,6 +4517,7 @@ public class Oplog implements CompactableOplog, Flushable {
           userBits = EntryBits.setWithVersions(userBits, true);
         }
         basicModify(region.getDiskRegion(), entry, value, userBits, async, false);
+        awaitGroupCommit();
       } catch (IOException ex) {
         exceptionOccurred = true;
         region.getCancelCriterion().checkCancelInProgress(ex);
@@ -4376,6 +4564,7 @@ public class Oplog implements CompactableOplog, Flushable {
         userBits = EntryBits.setWithVersions(userBits, true);
       }
       basicModify(drv, entry, vw, userBits, false, false);
+      awaitGroupCommit();
     } catch (IOException ex) {
       throw new DiskAccessException(
           String.format("Failed writing key to %s", this.diskFile.getPath()),
@@ -4396,6 +4585,7 @@ public class Oplog implements CompactableOplog, Flushable {
     } else {
       try {
         basicSaveConflictVersionTag(region.getDiskRegion(), tag, async);
+        awaitGroupCommit();
       } catch (IOException ex) {
         region.getCancelCriterion().checkCancelInProgress(ex);
         throw new DiskAccessException(String.format("Failed writing conflict version tag to %s",
@@ -4521,7 +4711,7 @@ public class Oplog implements CompactableOplog, Flushable {
             long oldOplogId;
             // do the io while holding lock so that switch can set doneAppending
             // Write the data to the opLog for the synch mode
-            startPosForSynchOp = writeOpLogBytes(this.crf, async, true);
+            startPosForSynchOp = writeEntryOpLogBytes(this.crf, async);
             this.crf.currSize = temp;
             startPosForSynchOp += getOpStateValueOffset();
             if (logger.isTraceEnabled(LogMarker.PERSIST_WRITES_VERBOSE)) {
@@ -4646,7 +4836,7 @@ public class Oplog implements CompactableOplog, Flushable {
               throw cce;
             }
             this.firstRecord = false;
-            writeOpLogBytes(this.crf, async, true);
+            writeEntryOpLogBytes(this.crf, async);
             this.crf.currSize = temp;
             if (logger.isTraceEnabled(LogMarker.PERSIST_WRITES_VERBOSE)) {
               logger.trace(LogMarker.PERSIST_WRITES_VERBOSE,
@@ -4809,6 +4999,7 @@ public class Oplog implements CompactableOplog, Flushable {
       int len = did.getValueLength();
       try {
         basicRemove(dr, entry, async, isClear);
+        awaitGroupCommit();
       } catch (IOException ex) {
         exceptionOccurred = true;
         getParent().getCancelCriterion().checkCancelInProgress(ex);
@@ -4994,7 +5185,7 @@ public class Oplog implements CompactableOplog, Flushable {
             // before we flush the crf.
             // However we can't have removes by async if we are doing a sync write
             // because we might be killed right after we do this write.
-            startPosForSynchOp = writeOpLogBytes(this.drf, async, true);
+            startPosForSynchOp = writeEntryOpLogBytes(this.drf, async);
             setHasDeletes(true);
             if (logger.isDebugEnabled(LogMarker.PERSIST_WRITES_VERBOSE)) {
               logger.debug("basicRemove: id=<{}> key=<{}> drId={} oplog#{}", abs(id.getKeyId()),
@@ -5089,7 +5280,11 @@ public class Oplog implements CompactableOplog, Flushable {
           bb.flip();
           int flushed = 0;
           int numChannelRetries = 0;
-          do {
+          while (bb.hasRemaining()) {
+            if (olf.directWriter != null) {
+              flushed += writeDirect(olf, bb);
+              continue;
+            }
             int channelBytesWritten = 0;
             final int bbStartPos = bb.position();
             final long channelStartPos = olf.channel.position();
@@ -5113,7 +5308,7 @@ public class Oplog implements CompactableOplog, Flushable {
               }
             }
             flushed += channelBytesWritten;
-          } while (bb.hasRemaining());
+          }
           // update bytesFlushed after entire writeBuffer is flushed to fix bug
           // 41201
           olf.bytesFlushed += flushed;
@@ -5147,9 +5342,14 @@ public class Oplog implements CompactableOplog, Flushable {
         this.bbArray[1] = b2;
         b1.flip();
         long flushed = 0;
-        do {
-          flushed += olf.channel.write(this.bbArray);
-        } while (b2.hasRemaining());
+        if (olf.directWriter != null) {
+          flushed += writeDirect(olf, b1);
+          flushed += writeDirect(olf, b2);
+        } else {
+          do {
+            flushed += olf.channel.write(this.bbArray);
+          } while (b2.hasRemaining());
+        }
         this.bbArray[0] = null;
         this.bbArray[1] = null;
         // update bytesFlushed after entire writeBuffer is flushed to fix bug 41201
@@ -5165,6 +5365,28 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Writes the remaining bytes of the given buffer at the position of the channel of the given file
+   * with its direct writer, and moves the position of the channel past them.
+   */
+  private int writeDirect(OplogFile olf, ByteBuffer bb) throws IOException {
+    long position = olf.channel.position();
+    int count = bb.remaining();
+    olf.directWriter.write(bb, position);
+    olf.channel.position(position + count);
+    return count;
+  }
+
+  private void closeDirectWriter(OplogFile olf) {
+    if (olf.directWriter != null) {
+      try {
+        olf.directWriter.close();
+      } catch (IOException ignore) {
+      }
+      olf.directWriter = null;
+    }
+  }
+
   public void flushAll() {
     flushAll(false);
   }
@@ -5190,6 +5412,70 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Writes the record of an entry operation. If this oplog commits synchronous writes as groups,
+   * the record is only buffered, and the operation must {@linkplain #awaitGroupCommit() wait} for
+   * it to be committed once it has released the oplog lock.
+   */
+  private long writeEntryOpLogBytes(OplogFile olf, boolean async) throws IOException {
+    if (async || this.groupCommit == null) {
+      return writeOpLogBytes(olf, async, true);
+    }
+    long startPos = writeOpLogBytes(olf, false, false);
+    this.groupCommit.append();
+    return startPos;
+  }
+
+  /**
+   * Waits until the record that the current thread wrote for a synchronous entry operation has been
+   * committed, if this oplog commits synchronous writes as groups. Must not be called while holding
+   * the oplog lock.
+   */
+  private void awaitGroupCommit() throws IOException {
+    if (this.groupCommit != null) {
+      OplogGroupCommit.awaitPending();
+    }
+  }
+
+  /**
+   * Writes the buffered records to disk and releases all the operations waiting for a group commit.
+   * Called before this oplog stops being appended to or is closed.
+   */
+  private void forceGroupCommit() {
+    if (this.groupCommit == null) {
+      return;
+    }
+    // No need to get the backup lock prior to synchronizing (correct lock order) since the
+    // synchronized block does not attempt to get the backup lock (incorrect lock order)
+    synchronized (this.lock) {
+      long appended = this.groupCommit.getAppended();
+      try {
+        flush(this.drf, false);
+        flush(this.crf, false);
+        force(this.drf);
+        force(this.crf);
+      } catch (IOException ex) {
+        getParent().getCancelCriterion().checkCancelInProgress(ex);
+        throw new DiskAccessException(
+            String.format("Failed writing key to %s", this.diskFile.getPath()),
+            ex, getParent());
+      }
+      this.groupCommit.committed(appended);
+    }
+  }
+
+  private void force(OplogFile olf) throws IOException {
+    if (olf.RAFClosed) {
+      return;
+    }
+    try {
+      // Synch Meta Data as well as content
+      olf.channel.force(true);
+    } catch (ClosedChannelException ignore) {
+      // The channel was closed after the oplog forced it, see forceGroupCommit
+    }
+  }
+
   /**
    * Since the ByteBuffer being writen to can have additional bytes which are used for extending the
    * size of the file, it is necessary that the ByteBuffer provided should have limit which is set
@@ -5264,6 +5550,7 @@ public class Oplog implements CompactableOplog, Flushable {
       if (this.crf.RAFClosed) {
         return false;
       } else {
+        closeDirectWriter(this.crf);
         try {
           this.crf.raf.close();
         } catch (IOException ignore) {
@@ -5300,8 +5587,93 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * The memory mapping of the crf that values are read from once this oplog is done appending, if
+   * {@link DiskStoreImpl#MAPPED_OPLOG_READS} is set.
+   */
+  private volatile MappedOplogFile mappedCrf;
+
+  /**
+   * True once the mapping of the crf has been closed, after which the crf is not mapped again.
+   */
+  private boolean mappedCrfClosed;
+
+  /**
+   * Maps the crf if this oplog is done appending and it has not been mapped yet.
+   *
+   * @return the mapping of the crf or null if it cannot be mapped
+   */
+  private MappedOplogFile getMappedCrf() throws IOException {
+    MappedOplogFile result = this.mappedCrf;
+    if (result == null) {
+      // No need to get the backup lock prior to synchronizing (correct lock order) since the
+      // synchronized block does not attempt to get the backup lock (incorrect lock order)
+      synchronized (this.lock/* crf */) {
+        result = this.mappedCrf;
+        if (result == null && this.doneAppending && !this.closed && !this.mappedCrfClosed
+            && this.crf.f != null) {
+          if (this.crf.bytesFlushed < this.crf.currSize) {
+            flushAllNoSync(true);
+          }
+          result = MappedOplogFile.map(this.crf.f, this.crf.bytesFlushed);
+          this.mappedCrf = result;
+          this.stats.incMappedOplogs(1);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Unmaps the crf, once the reads in progress are done, and keeps it from being mapped again.
+   * Called before the crf is closed or deleted.
+   */
+  private void unmapCrf() {
+    synchronized (this.lock/* crf */) {
+      this.mappedCrfClosed = true;
+      MappedOplogFile mapped = this.mappedCrf;
+      if (mapped != null) {
+        this.mappedCrf = null;
+        mapped.close();
+        this.stats.incMappedOplogs(-1);
+      }
+    }
+  }
+
+  /**
+   * Reads a value from the memory mapping of the crf, without seeking and reading the file.
+   *
+   * @return the value or null if it cannot be read from a mapping
+   */
+  private BytesAndBits attemptMappedGet(long offsetInOplog, int valueLength, byte userBits)
+      throws IOException {
+    MappedOplogFile mapped = getMappedCrf();
+    if (mapped == null || !mapped.contains(offsetInOplog, valueLength) || !mapped.retain()) {
+      return null;
+    }
+    BytesAndBits bb;
+    try {
+      bb = new BytesAndBits(mapped.read(offsetInOplog, valueLength), userBits);
+    } finally {
+      mapped.release();
+    }
+    this.stats.incMappedOplogReads(valueLength);
+    // also set the product version for an older product
+    final Version version = getProductVersionIfOld();
+    if (version != null) {
+      bb.setVersion(version);
+    }
+    return bb;
+  }
+
   private BytesAndBits attemptGet(DiskRegionView dr, long offsetInOplog, boolean bitOnly,
       int valueLength, byte userBits) throws IOException {
+    if (DiskStoreImpl.MAPPED_OPLOG_READS && !bitOnly && this.doneAppending) {
+      BytesAndBits bb = attemptMappedGet(offsetInOplog, valueLength, userBits);
+      if (bb != null) {
+        return bb;
+      }
+    }
     boolean didReopen = false;
     boolean accessedInactive = false;
     try {
@@ -5642,8 +6014,14 @@ public class Oplog implements CompactableOplog, Flushable {
     // No need to get the backup lock prior to synchronizing (correct lock order) since the
     // synchronized block does not attempt to get the backup lock (incorrect lock order)
     synchronized (this.lock) {
+      if (olf == this.crf) {
+        unmapCrf();
+      }
       if (olf.currSize != 0) {
         this.dirHolder.decrementTotalOplogSize(olf.currSize);
+        if (calledByCompactorThread()) {
+          getStats().incCompactionReclaimedBytes(olf.currSize);
+        }
         olf.currSize = 0;
       }
       if (olf.f == null)
@@ -5703,7 +6081,8 @@ public class Oplog implements CompactableOplog, Flushable {
    *
    * @return long value indicating the current size of the oplog.
    */
-  long getOplogSize() {
+  @Override
+  public long getOplogSize() {
     return this.crf.currSize + this.drf.currSize;
   }
 
@@ -5762,20 +6141,17 @@ public class Oplog implements CompactableOplog, Flushable {
     if (parent.getCompactionThreshold() == 0)
       return false;
     // otherwise check if we have enough garbage to collect with a compact
-    long rvHWMtmp = this.totalCount.get();
-    if (rvHWMtmp > 0) {
-      long tlc = this.totalLiveCount.get();
-      if (tlc < 0) {
-        tlc = 0;
-      }
-      double rv = tlc;
-      if (((rv / (double) rvHWMtmp) * 100) <= parent.getCompactionThreshold()) {
-        return true;
-      }
-    } else {
-      return true;
+    return getGarbageRatio() * 100 >= 100 - parent.getCompactionThreshold();
+  }
+
+  @Override
+  public double getGarbageRatio() {
+    long total = this.totalCount.get();
+    if (total <= 0) {
+      return 1.0;
     }
-    return false;
+    long live = Math.min(Math.max(this.totalLiveCount.get(), 0), total);
+    return (double) (total - live) / (double) total;
   }
 
   public boolean hadLiveEntries() {
@@ -5964,11 +6340,17 @@ public class Oplog implements CompactableOplog, Flushable {
                                  * getParent().getOwner().isDestroyed ||
                                  */!compactor.keepCompactorRunning();
         int totalCount = 0;
+        long throttleBatchBytes = compactor.getThrottleBatchBytes();
+        long unthrottledBytes = 0;
         for (DiskRegionInfo dri : this.regionMap.values()) {
+          if (compactFailed) {
+            break;
+          }
           final DiskRegionView dr = dri.getDiskRegion();
           if (dr == null)
             continue;
           boolean didCompact = false;
+          int compactedBytes = 0;
           while ((de = dri.getNextLiveEntry()) != null) {
             if (/*
                  * getParent().getOwner().isDestroyed ||
@@ -6008,6 +6390,7 @@ public class Oplog implements CompactableOplog, Flushable {
                   getOplogSet().getChild().copyForwardModifyForCompact(dr, de, wrapper);
                   // the did's oplogId will now be set to the current active oplog
                   didCompact = true;
+                  compactedBytes = did.getValueLength();
                 }
               } // did
             } // de
@@ -6025,9 +6408,20 @@ public class Oplog implements CompactableOplog, Flushable {
               if (!wrapper.isReusable()) {
                 wrapper = new BytesAndBitsForCompactor();
               }
+              unthrottledBytes += compactedBytes;
+              if (throttleBatchBytes > 0 && unthrottledBytes >= throttleBatchBytes) {
+                throttleCompaction(compactor, unthrottledBytes);
+                unthrottledBytes = 0;
+                if (isDeleted()) {
+                  // destroyed while the locks were released
+                  compactFailed = true;
+                  break;
+                }
+              }
             }
           }
         }
+        compactor.reserveThrottle(unthrottledBytes);
 
         cleanupAfterCompaction(compactFailed);
         return totalCount;
@@ -6041,6 +6435,21 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Waits for the rate limit of compaction without holding the compactor locks, so that regions can
+   * be closed or cleared, and the compactor stopped, while this oplog waits.
+   */
+  private void throttleCompaction(OplogCompactor compactor, long bytes) {
+    unlockCompactor();
+    getParent().releaseCompactorReadLock();
+    try {
+      compactor.throttle(bytes);
+    } finally {
+      getParent().acquireCompactorReadLock();
+      lockCompactor();
+    }
+  }
+
   void cleanupAfterCompaction(boolean compactFailed) {
     if (!compactFailed) {
       // all data has been copied forward to new oplog so no live entries remain
@@ -6480,6 +6889,96 @@ public class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * An entry read from a krf, before it is recovered.
+   */
+  private static class RecoveredKrfEntry {
+    private final byte[] keyBytes;
+    private final byte userBits;
+    private final int valueLength;
+    private final long drId;
+    private final VersionTag tag;
+    private final long oplogKeyId;
+    private final long offsetInOplog;
+
+    RecoveredKrfEntry(byte[] keyBytes, byte userBits, int valueLength, long drId, VersionTag tag,
+        long oplogKeyId, long offsetInOplog) {
+      this.keyBytes = keyBytes;
+      this.userBits = userBits;
+      this.valueLength = valueLength;
+      this.drId = drId;
+      this.tag = tag;
+      this.oplogKeyId = oplogKeyId;
+      this.offsetInOplog = offsetInOplog;
+    }
+  }
+
+  /**
+   * The entries of a krf parsed ahead of its recovery, and the bytes of the header records that
+   * precede them, which are only recovered once the recovery thread reaches the oplog.
+   */
+  static class ParsedKrf {
+    private final byte[] header;
+    private final List<RecoveredKrfEntry> entries;
+
+    private ParsedKrf(byte[] header, List<RecoveredKrfEntry> entries) {
+      this.header = header;
+      this.entries = entries;
+    }
+  }
+
+  /**
+   * Reads the entries of a krf that follow its header records.
+   */
+  private class KrfEntryReader {
+    private final DataInputStream dis;
+    private final Version recoveredGFVersion;
+    /**
+     * The offset of the last entry read; the offset of each entry is written relative to it.
+     */
+    private long lastOffset;
+
+    KrfEntryReader(DataInputStream dis, Version recoveredGFVersion) {
+      this.dis = dis;
+      this.recoveredGFVersion = recoveredGFVersion;
+    }
+
+    /**
+     * Reads at most the given number of entries into the given list.
+     *
+     * @return false if the last entry of the krf was read
+     */
+    boolean read(int maxEntries, List<RecoveredKrfEntry> entries) throws IOException {
+      for (int i = 0; i < maxEntries; i++) {
+        byte[] keyBytes = DataSerializer.readByteArray(dis);
+        if (keyBytes == null) {
+          return false;
+        }
+        byte userBits = dis.readByte();
+        int valueLength = InternalDataSerializer.readArrayLength(dis);
+        long drId = DiskInitFile.readDiskRegionID(dis);
+
+        // read version
+        VersionTag tag = null;
+        if (EntryBits.isWithVersions(userBits)) {
+          tag = readVersionsFromOplog(dis, recoveredGFVersion);
+        }
+
+        long oplogKeyId = InternalDataSerializer.readVLOld(dis);
+        long oplogOffset;
+        if (EntryBits.isAnyInvalid(userBits) || EntryBits.isTombstone(userBits)) {
+          oplogOffset = -1;
+        } else {
+          oplogOffset = lastOffset + InternalDataSerializer.readVLOld(dis);
+          lastOffset = oplogOffset;
+        }
+        entries.add(new RecoveredKrfEntry(keyBytes, userBits, valueLength, drId, tag, oplogKeyId,
+            oplogOffset));
+      }
+      return true;
+    }
+  }
+
   private static class OplogFile {
     public File f;
     public UninterruptibleRandomAccessFile raf;
@@ -6489,6 +6988,7 @@ public class Oplog implements CompactableOplog, Flushable {
     public long currSize;
     public long bytesFlushed;
     public boolean unpreblown;
+    public DirectOplogWriter directWriter;
   }
 
   private static class KRFile {
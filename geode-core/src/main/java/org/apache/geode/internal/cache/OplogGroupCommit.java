@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.IOException;
+
+/**
+ * Commits the records that synchronous writers append to the write buffers of an oplog in groups.
+ * <p>
+ * A writer {@linkplain #append() appends} its record while holding the oplog lock, and
+ * {@linkplain #awaitPending() waits} for a commit of the record once it has released the lock. The
+ * first waiting writer leads the next commit: it writes all the buffered records to the oplog files
+ * while holding the oplog lock, and forces the files to disk without holding it, so that other
+ * writers can append the records of the following commit in the meantime. The writers of all the
+ * records that were buffered when the leader wrote them are released together.
+ *
+ * @since Geode 1.12
+ */
+class OplogGroupCommit {
+
+  /**
+   * The files of an oplog that records are committed to.
+   */
+  interface Log {
+    /**
+     * Writes the buffered records to the files. Called while holding the oplog lock.
+     */
+    void write() throws IOException;
+
+    /**
+     * Forces the records written to the files to disk.
+     */
+    void force() throws IOException;
+  }
+
+  private static final ThreadLocal<Pending> pending = ThreadLocal.withInitial(Pending::new);
+
+  private final Object lock;
+  private final Log log;
+  private final DiskStoreStats stats;
+
+  /**
+   * The sequence number of the last appended record. Guarded by the oplog lock.
+   */
+  private long appended;
+
+  /**
+   * The sequence number of the last committed record. Guarded by this.
+   */
+  private long committed;
+
+  /**
+   * True while a leader is committing records. Guarded by this.
+   */
+  private boolean committing;
+
+  /**
+   * @param lock the oplog lock that records are appended and written while holding
+   * @param log the files of the oplog
+   * @param stats the stats that commits are recorded in
+   */
+  OplogGroupCommit(Object lock, Log log, DiskStoreStats stats) {
+    this.lock = lock;
+    this.log = log;
+    this.stats = stats;
+  }
+
+  /**
+   * Records that the current thread has appended a record that must be committed before its
+   * operation completes. Must be called while holding the oplog lock.
+   */
+  void append() {
+    Pending p = pending.get();
+    p.groupCommit = this;
+    p.sequence = ++appended;
+  }
+
+  /**
+   * Returns the sequence number of the last appended record. Must be called while holding the
+   * oplog lock.
+   */
+  long getAppended() {
+    return appended;
+  }
+
+  /**
+   * Waits until the record that the current thread appended last, if any, has been committed.
+   * Must not be called while holding the oplog lock.
+   */
+  static void awaitPending() throws IOException {
+    Pending p = pending.get();
+    OplogGroupCommit groupCommit = p.groupCommit;
+    if (groupCommit != null) {
+      p.groupCommit = null;
+      groupCommit.await(p.sequence);
+    }
+  }
+
+  /**
+   * Waits until the record with the given sequence number has been committed, committing it and
+   * the other buffered records if no other thread is doing so.
+   */
+  void await(long sequence) throws IOException {
+    boolean interrupted = false;
+    try {
+      synchronized (this) {
+        while (committed < sequence && committing) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        if (committed >= sequence) {
+          return;
+        }
+        committing = true;
+      }
+      commit();
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void commit() throws IOException {
+    long start = stats.getStatTime();
+    long sequence = -1;
+    try {
+      long appendedBeforeWrite;
+      synchronized (lock) {
+        appendedBeforeWrite = appended;
+        log.write();
+      }
+      log.force();
+      sequence = appendedBeforeWrite;
+    } finally {
+      long writes;
+      synchronized (this) {
+        writes = committed(sequence);
+        committing = false;
+        notifyAll();
+      }
+      if (writes > 0) {
+        stats.endGroupCommit(writes, start);
+      }
+    }
+  }
+
+  /**
+   * Records that all the records up to the given sequence number have been committed, by a leader
+   * or by the oplog forcing its files to disk, and releases the writers waiting for them.
+   *
+   * @return the number of records that had not been committed before
+   */
+  synchronized long committed(long sequence) {
+    long writes = 0;
+    if (sequence > committed) {
+      writes = sequence - committed;
+      committed = sequence;
+      notifyAll();
+    }
+    return writes;
+  }
+
+  private static class Pending {
+    private OplogGroupCommit groupCommit;
+    private long sequence;
+  }
+}
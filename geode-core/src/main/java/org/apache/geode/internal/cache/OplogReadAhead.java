@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.Oplog.ParsedKrf;
+import org.apache.geode.logging.internal.executors.LoggingExecutors;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * Reads the oplog files that are about to be recovered into memory on a pool of threads, and
+ * parses the entries of krf files, so that the recovery thread does not wait for the disk.
+ * <p>
+ * The records of the oplogs must still be recovered one oplog after the other, in the order of
+ * their ids, because the region version vectors recovered from them depend on which oplog is the
+ * latest. While one file is recovered, the files that follow it in the given list are read, at
+ * most one per read ahead thread. Files larger than the given size are not kept in memory, only
+ * read into the file system cache.
+ * <p>
+ * The entries of a krf are recovered with a second pool of threads, concurrently for each region.
+ *
+ * @since Geode 1.12
+ */
+class OplogReadAhead implements AutoCloseable {
+  private static final Logger logger = LogService.getLogger();
+
+  private static final int BUFFER_SIZE = 1024 * 1024;
+
+  private static final long CLOSE_TIMEOUT_SECONDS = 60;
+
+  private final List<File> files;
+  private final Map<File, Oplog> oplogs;
+  private final int threads;
+  private final long maxFileSize;
+  private final DiskStoreStats stats;
+  private final ExecutorService executor;
+
+  /**
+   * The read aheads of the files from the one being recovered on. Only used by the recovery thread.
+   */
+  private final List<Future<ReadAheadFile>> readAheads = new ArrayList<>();
+
+  /**
+   * The index of the file being recovered. Only used by the recovery thread.
+   */
+  private int current;
+
+  /**
+   * The threads that recover the entries of different regions concurrently, created once they are
+   * needed. Only used by the recovery thread.
+   */
+  private ExecutorService regionExecutor;
+
+  private volatile boolean closed;
+
+  /**
+   * @param oplogs the files in the order they will be recovered in, and the oplogs they belong to
+   * @param threads the number of threads to read ahead with; nothing is read ahead if less than one
+   * @param maxFileSize the size of the largest file that is read into memory
+   * @param stats the stats that read aheads are recorded in
+   */
+  OplogReadAhead(Map<File, Oplog> oplogs, int threads, long maxFileSize, DiskStoreStats stats) {
+    this.files = new ArrayList<>(oplogs.keySet());
+    this.oplogs = oplogs;
+    this.threads = threads;
+    this.maxFileSize = maxFileSize;
+    this.stats = stats;
+    if (threads > 0 && !files.isEmpty()) {
+      executor = LoggingExecutors.newFixedThreadPool("Oplog Recovery Read Ahead", true, threads);
+      while (readAheads.size() <= threads && readAheads.size() < files.size()) {
+        schedule(files.get(readAheads.size()));
+      }
+    } else {
+      executor = null;
+    }
+  }
+
+  /**
+   * Returns true if files are read ahead and the entries of regions can be recovered concurrently.
+   */
+  boolean isEnabled() {
+    return executor != null;
+  }
+
+  /**
+   * Called by the recovery thread to get the contents of the given file, which must be the next
+   * file in the list, waiting for them to be read if needed.
+   *
+   * @return the contents of the file, or null if it must be read from disk
+   */
+  ReadAheadFile take(File file) {
+    if (executor == null || current >= files.size() || !files.get(current).equals(file)) {
+      return null;
+    }
+    Future<ReadAheadFile> readAhead = readAheads.set(current, null);
+    if (readAhead == null) {
+      return null;
+    }
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          return readAhead.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException | CancellationException e) {
+          // the recovery thread reports any failure to read the file when it reads it itself
+          if (logger.isDebugEnabled()) {
+            logger.debug("Could not read ahead oplog file {}", file, e);
+          }
+          return null;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Called by the recovery thread once it has recovered the next file in the list.
+   */
+  void recovered() {
+    if (executor == null || current >= files.size()) {
+      return;
+    }
+    Future<ReadAheadFile> readAhead = readAheads.set(current, null);
+    if (readAhead != null) {
+      readAhead.cancel(false);
+    }
+    current++;
+    if (readAheads.size() < files.size()) {
+      schedule(files.get(readAheads.size()));
+    }
+  }
+
+  /**
+   * Runs the given tasks concurrently, one of them on the calling thread, and waits for all of them
+   * to complete.
+   *
+   * @throws RuntimeException the first exception thrown by a task, once all of them are complete
+   */
+  void runConcurrently(List<Runnable> tasks) {
+    if (regionExecutor == null) {
+      regionExecutor = LoggingExecutors.newFixedThreadPool("Oplog Recovery Region", true, threads);
+    }
+    List<Future<?>> futures = new ArrayList<>(tasks.size() - 1);
+    for (Runnable task : tasks.subList(1, tasks.size())) {
+      futures.add(regionExecutor.submit(task));
+    }
+    Throwable failure = null;
+    try {
+      tasks.get(0).run();
+    } catch (RuntimeException | Error e) {
+      failure = e;
+    }
+    boolean interrupted = false;
+    for (Future<?> future : futures) {
+      while (true) {
+        try {
+          future.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new IllegalStateException(failure);
+    }
+  }
+
+  /**
+   * Stops reading ahead, and waits for the files being read to be closed.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    boolean interrupted = false;
+    for (ExecutorService service : new ExecutorService[] {executor, regionExecutor}) {
+      if (service == null) {
+        continue;
+      }
+      service.shutdownNow();
+      try {
+        if (!service.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+          logger.warn("Timed out waiting for the oplog recovery read ahead threads to stop");
+        }
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void schedule(File file) {
+    readAheads.add(executor.submit(() -> read(file)));
+  }
+
+  /**
+   * Reads the given file into memory, or only into the file system cache if it is too large.
+   */
+  private ReadAheadFile read(File file) throws IOException {
+    long length = file.length();
+    if (length > maxFileSize || length > Integer.MAX_VALUE) {
+      long bytes = readThrough(file);
+      stats.incRecoveryReadAheads(bytes);
+      return null;
+    }
+    byte[] bytes = readFully(file, (int) length);
+    ReadAheadFile readAheadFile = null;
+    Oplog oplog = oplogs.get(file);
+    if (oplog != null && file.getName().endsWith(Oplog.KRF_FILE_EXT)) {
+      try {
+        readAheadFile = new ReadAheadFile(null, oplog.parseKrf(file, bytes));
+      } catch (IOException | RuntimeException e) {
+        // the recovery thread reports the failure when it parses the krf itself
+        if (logger.isDebugEnabled()) {
+          logger.debug("Could not parse krf file {} ahead of its recovery", file, e);
+        }
+      }
+    }
+    if (readAheadFile == null) {
+      readAheadFile = new ReadAheadFile(bytes, null);
+    }
+    stats.incRecoveryReadAheads(bytes.length);
+    return readAheadFile;
+  }
+
+  private byte[] readFully(File file, int length) throws IOException {
+    byte[] bytes = new byte[length];
+    try (InputStream in = Files.newInputStream(file.toPath())) {
+      int position = 0;
+      while (position < length) {
+        checkClosed(file);
+        int count = in.read(bytes, position, Math.min(BUFFER_SIZE, length - position));
+        if (count < 0) {
+          throw new EOFException("Oplog file " + file + " is shorter than " + length + " bytes");
+        }
+        position += count;
+      }
+    }
+    return bytes;
+  }
+
+  private long readThrough(File file) throws IOException {
+    long bytes = 0;
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      int count;
+      while ((count = channel.read(buffer)) > 0) {
+        checkClosed(file);
+        bytes += count;
+        buffer.clear();
+      }
+    }
+    return bytes;
+  }
+
+  private void checkClosed(File file) throws IOException {
+    if (closed) {
+      throw new IOException("Stopped reading oplog file " + file + " ahead of its recovery");
+    }
+  }
+
+  /**
+   * The contents of an oplog file read ahead of its recovery.
+   */
+  static class ReadAheadFile {
+    private final byte[] bytes;
+    private final ParsedKrf krf;
+
+    private ReadAheadFile(byte[] bytes, ParsedKrf krf) {
+      this.bytes = bytes;
+      this.krf = krf;
+    }
+
+    /**
+     * Returns the bytes of the file, or null if it is a parsed krf.
+     */
+    byte[] getBytes() {
+      return bytes;
+    }
+
+    /**
+     * Returns the parsed entries of the file if it is a krf that could be parsed, or null.
+     */
+    ParsedKrf getKrf() {
+      return krf;
+    }
+  }
+}
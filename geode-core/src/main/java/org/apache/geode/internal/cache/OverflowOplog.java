@@ -374,6 +374,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
   private void basicClose() {
     flushAll();
     synchronized (this.crf) {
+      unmapCrf();
       if (!this.crf.RAFClosed) {
         try {
           this.crf.channel.close();
@@ -804,8 +805,86 @@ class OverflowOplog implements CompactableOplog, Flushable {
     return startPos;
   }
 
+  /**
+   * The memory mapping of the crf that values are read from once this oplog is done appending, if
+   * {@link DiskStoreImpl#MAPPED_OPLOG_READS} is set.
+   */
+  private volatile MappedOplogFile mappedCrf;
+
+  /**
+   * True once the mapping of the crf has been closed, after which the crf is not mapped again.
+   */
+  private boolean mappedCrfClosed;
+
+  /**
+   * Maps the crf if this oplog is done appending and it has not been mapped yet.
+   *
+   * @return the mapping of the crf or null if it cannot be mapped
+   */
+  private MappedOplogFile getMappedCrf() throws IOException {
+    MappedOplogFile result = this.mappedCrf;
+    if (result == null) {
+      synchronized (this.crf) {
+        result = this.mappedCrf;
+        if (result == null && this.doneAppending && !this.closed && !this.mappedCrfClosed
+            && this.crf.f != null) {
+          if (this.crf.bytesFlushed < this.crf.currSize) {
+            flushAll();
+          }
+          result = MappedOplogFile.map(this.crf.f, this.crf.bytesFlushed);
+          this.mappedCrf = result;
+          this.stats.incMappedOplogs(1);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Unmaps the crf, once the reads in progress are done, and keeps it from being mapped again.
+   * Called before the crf is closed or deleted.
+   */
+  private void unmapCrf() {
+    synchronized (this.crf) {
+      this.mappedCrfClosed = true;
+      MappedOplogFile mapped = this.mappedCrf;
+      if (mapped != null) {
+        this.mappedCrf = null;
+        mapped.close();
+        this.stats.incMappedOplogs(-1);
+      }
+    }
+  }
+
+  /**
+   * Reads a value from the memory mapping of the crf, without seeking and reading the file.
+   *
+   * @return the value or null if it cannot be read from a mapping
+   */
+  private BytesAndBits attemptMappedGet(long offsetInOplog, int valueLength, byte userBits)
+      throws IOException {
+    MappedOplogFile mapped = getMappedCrf();
+    if (mapped == null || !mapped.contains(offsetInOplog, valueLength) || !mapped.retain()) {
+      return null;
+    }
+    BytesAndBits bb;
+    try {
+      bb = new BytesAndBits(mapped.read(offsetInOplog, valueLength), userBits);
+    } finally {
+      mapped.release();
+    }
+    this.stats.incMappedOplogReads(valueLength);
+    return bb;
+  }
+
   private BytesAndBits attemptGet(DiskRegionView dr, long offsetInOplog, int valueLength,
       byte userBits) throws IOException {
+    if (DiskStoreImpl.MAPPED_OPLOG_READS && this.doneAppending) {
+      BytesAndBits bb = attemptMappedGet(offsetInOplog, valueLength, userBits);
+      if (bb != null) {
+        return bb;
+      }
+    }
     synchronized (this.crf) {
       assert offsetInOplog >= 0;
       RandomAccessFile myRAF = this.crf.raf;
@@ -932,8 +1011,12 @@ class OverflowOplog implements CompactableOplog, Flushable {
 
   private void deleteFile() {
     final OplogFile olf = getOLF();
+    unmapCrf();
     if (this.maxOplogSize != 0) {
       this.dirHolder.decrementTotalOplogSize(this.maxOplogSize);
+      if (calledByCompactorThread()) {
+        getStats().incCompactionReclaimedBytes(this.maxOplogSize);
+      }
       this.maxOplogSize = 0;
       olf.currSize = 0;
     }
@@ -971,7 +1054,8 @@ class OverflowOplog implements CompactableOplog, Flushable {
    *
    * @return long value indicating the current size of the oplog.
    */
-  long getOplogSize() {
+  @Override
+  public long getOplogSize() {
     return this.crf.currSize;
   }
 
@@ -1037,20 +1121,17 @@ class OverflowOplog implements CompactableOplog, Flushable {
     if (getParent().getCompactionThreshold() == 0)
       return false;
     // otherwise check if we have enough garbage to collect with a compact
-    long rvHWMtmp = this.totalCount.get();
-    if (rvHWMtmp > 0) {
-      long tlc = this.totalLiveCount.get();
-      if (tlc < 0) {
-        tlc = 0;
-      }
-      double rv = tlc;
-      if (((rv / (double) rvHWMtmp) * 100) <= parent.getCompactionThreshold()) {
-        return true;
-      }
-    } else {
-      return true;
+    return getGarbageRatio() * 100 >= 100 - getParent().getCompactionThreshold();
+  }
+
+  @Override
+  public double getGarbageRatio() {
+    long total = this.totalCount.get();
+    if (total <= 0) {
+      return 1.0;
     }
-    return false;
+    long live = Math.min(Math.max(this.totalLiveCount.get(), 0), total);
+    return (double) (total - live) / (double) total;
   }
 
   public boolean hasNoLiveValues() {
@@ -1251,7 +1332,10 @@ class OverflowOplog implements CompactableOplog, Flushable {
         DiskEntry lastDe = null;
         boolean compactFailed = !compactor.keepCompactorRunning();
         int totalCount = 0;
+        long throttleBatchBytes = compactor.getThrottleBatchBytes();
+        long unthrottledBytes = 0;
         boolean didCompact = false;
+        int compactedBytes = 0;
         while ((de = getNextLiveEntry()) != null) {
           if (!compactor.keepCompactorRunning()) {
             compactFailed = true;
@@ -1306,6 +1390,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
                 getOplogSet().copyForwardForOverflowCompact(de, valueBytes, length, userBits);
                 // the did's oplogId will now be set to the current active oplog
                 didCompact = true;
+                compactedBytes = length;
               }
             } // did
           } // de
@@ -1321,8 +1406,19 @@ class OverflowOplog implements CompactableOplog, Flushable {
             if (!wrapper.isReusable()) {
               wrapper = new BytesAndBitsForCompactor();
             }
+            unthrottledBytes += compactedBytes;
+            if (throttleBatchBytes > 0 && unthrottledBytes >= throttleBatchBytes) {
+              throttleCompaction(compactor, unthrottledBytes);
+              unthrottledBytes = 0;
+              if (this.deleted.get()) {
+                // destroyed while the locks were released
+                compactFailed = true;
+                break;
+              }
+            }
           }
         }
+        compactor.reserveThrottle(unthrottledBytes);
 
         if (!compactFailed) {
           // Need to still remove the oplog even if it had nothing to compact.
@@ -1338,6 +1434,21 @@ class OverflowOplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Waits for the rate limit of compaction without holding the compactor locks, so that regions can
+   * be closed, and the compactor stopped, while this oplog waits.
+   */
+  private void throttleCompaction(OplogCompactor compactor, long bytes) {
+    unlockCompactor();
+    getParent().releaseCompactorReadLock();
+    try {
+      compactor.throttle(bytes);
+    } finally {
+      getParent().acquireCompactorReadLock();
+      lockCompactor();
+    }
+  }
+
   /**
    * This function retrieves the value for an entry being compacted subject to entry referencing the
    * oplog being compacted. Attempt is made to retrieve the value from in memory , if available,
@@ -457,36 +457,51 @@ public class PersistentOplogSet implements OplogSet {
       long startOpLogRecovery = System.currentTimeMillis();
 
       // first figure out all entries that have been destroyed
-      boolean latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        byteCount += oplog.recoverDrf(deletedIds, getAlreadyRecoveredOnce().get(), latestOplog);
-        latestOplog = false;
-        if (!getAlreadyRecoveredOnce().get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+      long startDrfRecovery = parent.getStats().getStatTime();
+      try (OplogReadAhead readAhead = createReadAhead(getDrfFilesToRecover(oplogSet))) {
+        boolean latestOplog = true;
+        for (Oplog oplog : oplogSet) {
+          byteCount += oplog.recoverDrf(deletedIds, getAlreadyRecoveredOnce().get(), latestOplog,
+              readAhead);
+          latestOplog = false;
+          if (!getAlreadyRecoveredOnce().get()) {
+            updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+          }
+          if (oplog.getDrfFile() != null) {
+            readAhead.recovered();
+          }
         }
       }
+      parent.getStats().endRecoveryDrfs(startDrfRecovery);
 
       parent.incDeadRecordCount(deletedIds.size());
 
       // now figure out live entries
-      latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        long startOpLogRead = parent.getStats().startOplogRead();
-        long bytesRead = oplog.recoverCrf(deletedIds, recoverValues(), recoverValuesSync(),
-            getAlreadyRecoveredOnce().get(), oplogsNeedingValueRecovery, latestOplog);
-        latestOplog = false;
-        if (!getAlreadyRecoveredOnce().get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
-        }
-        byteCount += bytesRead;
-        parent.getStats().endOplogRead(startOpLogRead, bytesRead);
+      long startCrfRecovery = parent.getStats().getStatTime();
+      try (OplogReadAhead readAhead = createReadAhead(getCrfFilesToRecover(oplogSet))) {
+        boolean latestOplog = true;
+        for (Oplog oplog : oplogSet) {
+          long startOpLogRead = parent.getStats().startOplogRead();
+          long bytesRead = oplog.recoverCrf(deletedIds, recoverValues(), recoverValuesSync(),
+              getAlreadyRecoveredOnce().get(), oplogsNeedingValueRecovery, latestOplog, readAhead);
+          latestOplog = false;
+          if (!getAlreadyRecoveredOnce().get()) {
+            updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+          }
+          byteCount += bytesRead;
+          parent.getStats().endOplogRead(startOpLogRead, bytesRead);
+          if (oplog.getCrfFile() != null) {
+            readAhead.recovered();
+          }
 
-        // Callback to the disk regions to indicate the oplog is recovered
-        // Used for offline export
-        for (DiskRecoveryStore drs : currentRecoveryMap.values()) {
-          drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+          // Callback to the disk regions to indicate the oplog is recovered
+          // Used for offline export
+          for (DiskRecoveryStore drs : currentRecoveryMap.values()) {
+            drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+          }
         }
       }
+      parent.getStats().endRecoveryCrfs(startCrfRecovery);
 
       long endOpLogRecovery = System.currentTimeMillis();
       long elapsed = endOpLogRecovery - startOpLogRecovery;
@@ -495,6 +510,7 @@ public class PersistentOplogSet implements OplogSet {
 
     if (!parent.isOfflineCompacting()) {
       long startRegionInit = System.currentTimeMillis();
+      long startRegionInitStat = parent.getStats().getStatTime();
 
       // create the oplogs now so that loadRegionData can have them available
       // Create an array of Oplogs so that we are able to add it in a single shot
@@ -533,10 +549,56 @@ public class PersistentOplogSet implements OplogSet {
         long endRegionInit = System.currentTimeMillis();
         logger.info("recovery region initialization took {} ms", endRegionInit - startRegionInit);
       }
+      parent.getStats().endRecoveryRegionInit(startRegionInitStat);
     }
     return byteCount;
   }
 
+  /**
+   * Returns a read ahead of the given files if this is the first recovery of the disk store, which
+   * reads every file. Later recoveries only read the files of oplogs with records of the regions
+   * being recovered, if any.
+   */
+  private OplogReadAhead createReadAhead(Map<File, Oplog> files) {
+    int threads = getAlreadyRecoveredOnce().get() ? 0 : DiskStoreImpl.RECOVERY_READ_AHEAD_THREADS;
+    return new OplogReadAhead(files, threads, DiskStoreImpl.RECOVERY_READ_AHEAD_MAX_FILE_SIZE,
+        parent.getStats());
+  }
+
+  private Map<File, Oplog> getDrfFilesToRecover(TreeSet<Oplog> oplogSet) {
+    Map<File, Oplog> files = new LinkedHashMap<>();
+    for (Oplog oplog : oplogSet) {
+      if (oplog.getDrfFile() != null) {
+        files.put(oplog.getDrfFile(), oplog);
+      }
+    }
+    return files;
+  }
+
+  /**
+   * Returns the krf files that the live entries of the given oplogs will be recovered from or, for
+   * oplogs without one or if values are recovered synchronously, their crf files, and the oplogs
+   * they belong to.
+   */
+  private Map<File, Oplog> getCrfFilesToRecover(TreeSet<Oplog> oplogSet) {
+    boolean readKrfs = !recoverValuesSync() && (!parent.isOffline() || parent.FORCE_KRF_RECOVERY);
+    Map<File, Oplog> files = new LinkedHashMap<>();
+    for (Oplog oplog : oplogSet) {
+      File crfFile = oplog.getCrfFile();
+      if (crfFile == null) {
+        continue;
+      }
+      if (readKrfs && parent.getDiskInitFile().hasKrf(oplog.getOplogId())) {
+        String path = crfFile.getPath();
+        files.put(new File(path.substring(0, path.length() - Oplog.CRF_FILE_EXT.length())
+            + Oplog.KRF_FILE_EXT), oplog);
+      } else {
+        files.put(crfFile, oplog);
+      }
+    }
+    return files;
+  }
+
   private boolean recoverValuesSync() {
     return parent.RECOVER_VALUES_SYNC;
   }
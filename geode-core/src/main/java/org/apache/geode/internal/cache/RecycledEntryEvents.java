@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.distributed.DistributedMember;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Hands out one reusable {@link EntryEventImpl} per thread for operations whose event can not be
+ * seen by anything but the calling thread, which {@link LocalRegion#canRecycleEntryEvents()}
+ * decides. An event that is still in use when the same thread starts another operation, for
+ * example from inside a cache loader, is not handed out again; {@link #acquire} returns null and
+ * the caller creates a new event instead.
+ * <p>
+ * Disabled unless {@link #ENABLED_PROPERTY} is set to true.
+ *
+ * @since Geode 1.12
+ */
+class RecycledEntryEvents {
+
+  static final String ENABLED_PROPERTY = GeodeGlossary.GEMFIRE_PREFIX + "RECYCLE_ENTRY_EVENTS";
+
+  static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+  private static final ThreadLocal<RecycledEntryEvents> EVENTS =
+      ThreadLocal.withInitial(RecycledEntryEvents::new);
+
+  private final EntryEventImpl event = new EntryEventImpl();
+
+  private boolean inUse;
+
+  private RecycledEntryEvents() {}
+
+  /**
+   * Returns this thread's event initialized for the given operation, or null if it is already in
+   * use.
+   */
+  static EntryEventImpl acquire(InternalRegion region, Operation op, Object key, Object newValue,
+      Object callbackArgument, DistributedMember distributedMember) {
+    RecycledEntryEvents events = EVENTS.get();
+    if (events.inUse) {
+      return null;
+    }
+    events.inUse = true;
+    events.event.reinitialize(region, op, key, newValue, callbackArgument, false,
+        distributedMember, true);
+    return events.event;
+  }
+
+  /**
+   * Makes the given event available to the next {@link #acquire} on this thread if it came from
+   * {@link #acquire}. Events created any other way are ignored.
+   */
+  static void recycle(EntryEventImpl event) {
+    RecycledEntryEvents events = EVENTS.get();
+    if (events.inUse && events.event == event) {
+      event.clearForReuse();
+      events.inUse = false;
+    }
+  }
+}
@@ -86,6 +86,12 @@ public interface RegionMap extends EvictableMap {
 
     /** whether "api" statistics are enabled */
     boolean statisticsEnabled = false;
+
+    /**
+     * If not null then every key is of this class ({@link Long} or {@link Integer}) and the map
+     * keeps the entries in an open-addressing table hashed on the primitive key value.
+     */
+    Class<?> primitiveKeyClass = null;
   }
 
   RegionEntryFactory getEntryFactory();
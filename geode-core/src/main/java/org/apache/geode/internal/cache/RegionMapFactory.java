@@ -15,7 +15,8 @@
 
 package org.apache.geode.internal.cache;
 
-
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.internal.util.concurrent.PrimitiveKeyConcurrentHashMap;
 
 /**
  * Used to produce instances of RegionMap
@@ -33,6 +34,9 @@ class RegionMapFactory {
    */
   public static RegionMap createVM(LocalRegion owner, RegionMap.Attributes attrs,
       InternalRegionArguments internalRegionArgs) {
+    if (usePrimitiveKeyMap(owner)) {
+      attrs.primitiveKeyClass = owner.getKeyConstraint();
+    }
     // final boolean isNotPartitionedRegion = !(owner.getPartitionAttributes() != null || owner
     // .getDataPolicy().withPartitioning());
     if (owner.isProxy() /* || owner instanceof PartitionedRegion */) { // TODO enabling this causes
@@ -65,4 +69,19 @@ class RegionMapFactory {
       return new VMRegionMap(owner, ma, internalRegionArgs);
     }
   }
+
+  /**
+   * Returns true if the region's entries should be kept in a
+   * {@link PrimitiveKeyConcurrentHashMap}. This requires that the feature is enabled with the
+   * {@link SystemPropertyHelper#PRIMITIVE_KEY_REGION_MAP} system property and that the region has
+   * a key constraint of {@link Long} or {@link Integer}, which guarantees every key can be stored
+   * unboxed.
+   */
+  static boolean usePrimitiveKeyMap(LocalRegion owner) {
+    if (!SystemPropertyHelper
+        .getProductBooleanProperty(SystemPropertyHelper.PRIMITIVE_KEY_REGION_MAP).orElse(false)) {
+      return false;
+    }
+    return PrimitiveKeyConcurrentHashMap.isSupportedKeyClass(owner.getKeyConstraint());
+  }
 }
@@ -26,7 +26,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -147,6 +146,17 @@ public class TombstoneService {
   @MutableForTesting
   public static boolean IDLE_EXPIRATION = IDLE_EXPIRATION_DEFAULT;
 
+  @VisibleForTesting
+  public static final int EXPIRATION_BATCH_SIZE_DEFAULT =
+      Integer.getInteger(GEMFIRE_PREFIX + "tombstone-expiration-batch-size", 1000);
+
+  /**
+   * The max number of tombstones a sweeper expires each time it finds the oldest ones expired,
+   * while holding the queue head lock once. The default is 1,000 tombstones.
+   */
+  @MutableForTesting
+  public static int EXPIRATION_BATCH_SIZE = EXPIRATION_BATCH_SIZE_DEFAULT;
+
   /**
    * two sweepers, one for replicated regions (including PR buckets) and one for other regions. They
    * have different timeout intervals.
@@ -373,7 +383,7 @@ public class TombstoneService {
     return this.replicatedTombstoneSweeper.getBlockGCLock();
   }
 
-  private static class Tombstone extends CompactVersionHolder {
+  static class Tombstone extends CompactVersionHolder {
     // tombstone overhead size
     public static final int PER_TOMBSTONE_OVERHEAD =
         ReflectionSingleObjectSizer.REFERENCE_SIZE // queue's reference to the tombstone
@@ -391,6 +401,15 @@ public class TombstoneService {
       this.region = region;
     }
 
+    /** Creates a tombstone from the values stored by {@link CompactTombstoneQueue}. */
+    @SuppressWarnings("unchecked")
+    Tombstone(RegionEntry entry, LocalRegion region, VersionSource memberID, int entryVersion,
+        long regionVersion, long versionTimeStamp, int distributedSystemId) {
+      super(memberID, entryVersion, regionVersion, versionTimeStamp, distributedSystemId);
+      this.entry = entry;
+      this.region = region;
+    }
+
     public int getSize() {
       return Tombstone.PER_TOMBSTONE_OVERHEAD // includes per-entry overhead
           + ObjectSizer.DEFAULT.sizeof(entry.getKey());
@@ -420,6 +439,7 @@ public class TombstoneService {
     @Override
     protected void updateStatistics() {
       stats.setNonReplicatedTombstonesSize(getMemoryEstimate());
+      stats.setNonReplicatedTombstoneQueueSize(getQueueFootprint());
     }
 
     @Override
@@ -685,6 +705,7 @@ public class TombstoneService {
     @Override
     protected void updateStatistics() {
       stats.setReplicatedTombstonesSize(getMemoryEstimate());
+      stats.setReplicatedTombstoneQueueSize(getQueueFootprint());
     }
 
     private void checkIfBatchExpirationShouldBeForced() {
@@ -805,7 +826,7 @@ public class TombstoneService {
      * are left in this queue and the sweeper thread figures out that they are no longer valid
      * tombstones.
      */
-    private final Queue<Tombstone> tombstones;
+    private final CompactTombstoneQueue tombstones;
     /**
      * Estimate of the amount of memory used by this sweeper
      */
@@ -834,7 +855,7 @@ public class TombstoneService {
       this.cancelCriterion = cancelCriterion;
       this.EXPIRY_TIME = expiryTime;
       this.PURGE_INTERVAL = Math.min(DEFUNCT_TOMBSTONE_SCAN_INTERVAL, expiryTime);
-      this.tombstones = new ConcurrentLinkedQueue<Tombstone>();
+      this.tombstones = new CompactTombstoneQueue();
       this.memoryUsedEstimate = new AtomicLong();
       this.queueHeadLock = new StoppableReentrantLock(cancelCriterion);
       this.sweeperThread = new LoggingThread(threadName, this);
@@ -918,6 +939,13 @@ public class TombstoneService {
       this.memoryUsedEstimate.addAndGet(delta);
     }
 
+    /**
+     * Returns the number of bytes allocated to hold the unexpired tombstones.
+     */
+    public long getQueueFootprint() {
+      return this.tombstones.getMemoryFootprint();
+    }
+
     protected Queue<Tombstone> getQueue() {
       return this.tombstones;
     }
@@ -1019,35 +1047,42 @@ public class TombstoneService {
     }
 
     /**
-     * See if the oldest unexpired tombstone should be expired.
+     * See if the oldest unexpired tombstones should be expired, and expire up to
+     * {@link #EXPIRATION_BATCH_SIZE} of them.
      */
     private void checkOldestUnexpired(long now) {
       sleepTime = 0;
       lockQueueHead();
-      Tombstone oldest = tombstones.peek();
       try {
-        if (oldest == null) {
-          if (logger.isTraceEnabled(LogMarker.TOMBSTONE_VERBOSE)) {
-            logger.trace(LogMarker.TOMBSTONE_VERBOSE, "queue is empty - will sleep");
+        for (int expired = 0; expired < EXPIRATION_BATCH_SIZE; expired++) {
+          Tombstone oldest = tombstones.peek();
+          if (oldest == null) {
+            if (logger.isTraceEnabled(LogMarker.TOMBSTONE_VERBOSE)) {
+              logger.trace(LogMarker.TOMBSTONE_VERBOSE, "queue is empty - will sleep");
+            }
+            handleNoUnexpiredTombstones();
+            if (expired == 0) {
+              sleepTime = EXPIRY_TIME;
+            }
+            return;
           }
-          handleNoUnexpiredTombstones();
-          sleepTime = EXPIRY_TIME;
-        } else {
           if (logger.isTraceEnabled(LogMarker.TOMBSTONE_VERBOSE)) {
             logger.trace(LogMarker.TOMBSTONE_VERBOSE, "oldest unexpired tombstone is {}", oldest);
           }
           long msTillHeadTombstoneExpires = oldest.getVersionTimeStamp() + EXPIRY_TIME - now;
-          if (hasExpired(msTillHeadTombstoneExpires)) {
-            try {
-              tombstones.remove();
-              expireTombstone(oldest);
-            } catch (CancelException ignore) {
-              // nothing needed
-            } catch (Exception e) {
-              logger.warn("Unexpected exception while processing tombstones", e);
+          if (!hasExpired(msTillHeadTombstoneExpires)) {
+            if (expired == 0) {
+              sleepTime = msTillHeadTombstoneExpires;
             }
-          } else {
-            sleepTime = msTillHeadTombstoneExpires;
+            return;
+          }
+          try {
+            tombstones.remove();
+            expireTombstone(oldest);
+          } catch (CancelException ignore) {
+            // nothing needed
+          } catch (Exception e) {
+            logger.warn("Unexpected exception while processing tombstones", e);
           }
         }
       } finally {
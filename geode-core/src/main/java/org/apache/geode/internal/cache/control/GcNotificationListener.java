@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.control;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * Listens for the notification that the JVM sends after each garbage collection and reports how
+ * much memory the tenured pool still uses afterwards, which is the closest estimate of its live
+ * set. Unlike the collection usage threshold on the tenured pool, this is also notified after young
+ * collections, which is when objects are promoted into the tenured pool.
+ * <p>
+ * The notification is read as open MBean data so that no JVM specific classes are needed. JVMs
+ * that do not send it are left to the other mechanisms of the {@link HeapMemoryMonitor}.
+ *
+ * @since Geode 1.12
+ */
+class GcNotificationListener implements NotificationListener {
+  private static final Logger logger = LogService.getLogger();
+
+  /** The type of the notification, as in com.sun.management.GarbageCollectionNotificationInfo */
+  static final String GARBAGE_COLLECTION_NOTIFICATION = "com.sun.management.gc.notification";
+
+  private final String tenuredPoolName;
+  private final LongConsumer liveBytesConsumer;
+  private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+  GcNotificationListener(String tenuredPoolName, LongConsumer liveBytesConsumer) {
+    this.tenuredPoolName = tenuredPoolName;
+    this.liveBytesConsumer = liveBytesConsumer;
+  }
+
+  /**
+   * Registers with every garbage collector that sends notifications and returns true if there was
+   * at least one.
+   */
+  synchronized boolean start() {
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (collector instanceof NotificationEmitter) {
+        NotificationEmitter emitter = (NotificationEmitter) collector;
+        emitter.addNotificationListener(this,
+            notification -> GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()), null);
+        emitters.add(emitter);
+      }
+    }
+    return !emitters.isEmpty();
+  }
+
+  synchronized void stop() {
+    for (NotificationEmitter emitter : emitters) {
+      try {
+        emitter.removeNotificationListener(this);
+      } catch (ListenerNotFoundException ignore) {
+        // already removed
+      }
+    }
+    emitters.clear();
+  }
+
+  @Override
+  public void handleNotification(Notification notification, Object handback) {
+    if (!GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+      return;
+    }
+    try {
+      long liveBytes = getUsedAfterGc((CompositeData) notification.getUserData(), tenuredPoolName);
+      if (liveBytes >= 0) {
+        liveBytesConsumer.accept(liveBytes);
+      }
+    } catch (RuntimeException e) {
+      logger.debug("Unable to read garbage collection notification {}", notification, e);
+    }
+  }
+
+  /**
+   * Returns the bytes the given pool used after the collection described by the user data of a
+   * garbage collection notification, or -1 if the pool is not part of it.
+   */
+  static long getUsedAfterGc(CompositeData notificationInfo, String poolName) {
+    CompositeData gcInfo = (CompositeData) notificationInfo.get("gcInfo");
+    TabularData usageAfterGc = (TabularData) gcInfo.get("memoryUsageAfterGc");
+    CompositeData row = usageAfterGc.get(new Object[] {poolName});
+    if (row == null) {
+      return -1;
+    }
+    return MemoryUsage.from((CompositeData) row.get("value")).getUsed();
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.control;
+
+/**
+ * Estimates how fast the tenured heap fills up from the successive amounts of memory that the
+ * {@link HeapMemoryMonitor} sees in use. The estimate is a moving average that weighs the latest
+ * interval as much as all earlier ones together, so it follows a sudden spike within a few polls.
+ * An interval in which the amount used drops, because a collection ran, does not count as negative
+ * allocation and is skipped.
+ *
+ * @since Geode 1.12
+ */
+class HeapAllocationRate {
+  private static final double WEIGHT = 0.5;
+
+  private long lastBytesUsed = -1;
+  private long lastNanos;
+  private double bytesPerSecond;
+
+  synchronized void sample(long bytesUsed, long nanos) {
+    if (lastBytesUsed >= 0 && nanos > lastNanos && bytesUsed >= lastBytesUsed) {
+      double rate = (bytesUsed - lastBytesUsed) * 1_000_000_000.0 / (nanos - lastNanos);
+      bytesPerSecond = WEIGHT * rate + (1 - WEIGHT) * bytesPerSecond;
+    }
+    lastBytesUsed = bytesUsed;
+    lastNanos = nanos;
+  }
+
+  synchronized long getBytesPerSecond() {
+    return (long) bytesPerSecond;
+  }
+}
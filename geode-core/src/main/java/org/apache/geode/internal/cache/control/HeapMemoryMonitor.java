@@ -60,6 +60,13 @@ import org.apache.geode.util.internal.GeodeGlossary;
  * the thresholds are crossed. Gathering memory usage information from the JVM is done using a
  * listener on the MemoryMXBean, by polling the JVM and as a listener on GemFire Statistics output
  * in order to accommodate differences in the various JVMs.
+ * <p>
+ * If {@link #GC_NOTIFICATIONS_PROP} is set the monitor also listens for the notification the JVM
+ * sends after each garbage collection, young collections included, and checks the thresholds
+ * against the memory the tenured pool uses afterwards. It then forecasts usage: each amount of
+ * memory used is increased by what the tenured pool is expected to grow by within the forecast
+ * window at the current rate, so the eviction and critical states are entered before the heap
+ * actually reaches their thresholds.
  *
  * @since Geode 1.0
  */
@@ -77,6 +84,19 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
   // Internal for polling the JVM for changes in heap memory usage.
   private static final int POLLER_INTERVAL = Integer.getInteger(POLLER_INTERVAL_PROP, 500);
 
+  // Property for listening for garbage collection notifications and forecasting usage
+  public static final String GC_NOTIFICATIONS_PROP =
+      GeodeGlossary.GEMFIRE_PREFIX + "heapGcNotifications";
+
+  private static final boolean GC_NOTIFICATIONS = Boolean.getBoolean(GC_NOTIFICATIONS_PROP);
+
+  // Property for setting how many milliseconds ahead usage is forecast (below)
+  public static final String FORECAST_WINDOW_PROP =
+      GeodeGlossary.GEMFIRE_PREFIX + "heapForecastWindow";
+
+  private static final int FORECAST_WINDOW =
+      Integer.getInteger(FORECAST_WINDOW_PROP, 2 * POLLER_INTERVAL);
+
   // This holds a new event as it transitions from updateStateAndSendEvent(...) to fillInProfile()
   private ThreadLocal<MemoryEvent> upcomingEvent = new ThreadLocal<MemoryEvent>();
 
@@ -143,6 +163,12 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
   private final InternalCache cache;
   private final ResourceManagerStats stats;
 
+  private final HeapAllocationRate allocationRate = new HeapAllocationRate();
+
+  private volatile long forecastWindowMillis = GC_NOTIFICATIONS ? FORECAST_WINDOW : 0;
+
+  private GcNotificationListener gcNotificationListener;
+
   @MutableForTesting
   private static boolean testDisableMemoryUpdates = false;
   @MutableForTesting
@@ -246,6 +272,10 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
 
       startJVMThresholdListener();
 
+      if (GC_NOTIFICATIONS) {
+        startGcNotificationListener();
+      }
+
       this.started = true;
     }
   }
@@ -276,6 +306,12 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
         }
       }
 
+      // Stop the garbage collection listener
+      if (this.gcNotificationListener != null) {
+        this.gcNotificationListener.stop();
+        this.gcNotificationListener = null;
+      }
+
       // Stop the stats listener
       final GemFireStatSampler sampler = this.cache.getInternalDistributedSystem().getStatSampler();
       if (sampler != null) {
@@ -347,6 +383,39 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
     }
   }
 
+  /**
+   * Start listening for the notifications the JVM sends after each garbage collection.
+   */
+  private void startGcNotificationListener() {
+    if (tenuredMemoryPoolMXBean == null) {
+      return;
+    }
+
+    this.gcNotificationListener = new GcNotificationListener(tenuredMemoryPoolMXBean.getName(),
+        this::handleGcNotification);
+    if (!this.gcNotificationListener.start()) {
+      logger.info("No garbage collection notifications are available; heap usage is only polled");
+      this.gcNotificationListener = null;
+    }
+  }
+
+  private void handleGcNotification(final long liveBytes) {
+    this.stats.changeTenuredHeapLive(liveBytes);
+    try {
+      this.resourceManager.runWithNotifyExecutor(() -> {
+        if (!testDisableMemoryUpdates) {
+          updateStateAndSendEvent(liveBytes, "garbage collection");
+        }
+      });
+    } catch (RejectedExecutionException ignore) {
+      if (!this.resourceManager.isClosed()) {
+        logger.warn("No memory events will be delivered because of RejectedExecutionException");
+      }
+    } catch (CacheClosedException ignore) {
+      // nothing to do
+    }
+  }
+
   void setCriticalThreshold(final float criticalThreshold) {
     synchronized (this) {
       // If the threshold isn't changing then don't do anything.
@@ -457,6 +526,8 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
    */
   public void updateStateAndSendEvent(long bytesUsed, String eventOrigin) {
     this.stats.changeTenuredHeapUsed(bytesUsed);
+    this.allocationRate.sample(bytesUsed, System.nanoTime());
+    bytesUsed = forecastBytesUsed(bytesUsed);
     synchronized (this) {
       MemoryState oldState = this.mostRecentEvent.getState();
       MemoryState newState = this.thresholds.computeNextState(oldState, bytesUsed);
@@ -484,6 +555,24 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
     }
   }
 
+  /**
+   * Returns the given number of bytes used increased by the growth expected within the forecast
+   * window, or the number of bytes used itself if usage is not forecast.
+   */
+  long forecastBytesUsed(long bytesUsed) {
+    long window = this.forecastWindowMillis;
+    if (window <= 0) {
+      return bytesUsed;
+    }
+    long forecast = bytesUsed + this.allocationRate.getBytesPerSecond() * window / 1000;
+    this.stats.changeTenuredHeapForecast(forecast);
+    return forecast;
+  }
+
+  void setForecastWindowMillis(long forecastWindowMillis) {
+    this.forecastWindowMillis = forecastWindowMillis;
+  }
+
   /**
    * Update resource manager stats based upon the given event.
    *
@@ -579,6 +668,15 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
     return getTenuredMemoryPoolMXBean().getUsage().getUsed();
   }
 
+  /**
+   * Returns the estimated number of bytes per second by which the tenured pool currently grows.
+   *
+   * @since Geode 1.12
+   */
+  public long getAllocationRate() {
+    return this.allocationRate.getBytesPerSecond();
+  }
+
   public static long getTenuredPoolMaxMemory() {
     return tenuredPoolMaxMemory;
   }
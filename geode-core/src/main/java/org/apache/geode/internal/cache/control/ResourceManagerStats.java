@@ -70,6 +70,8 @@ public class ResourceManagerStats {
   private static final int evictionThresholdId;
   private static final int offHeapEvictionThresholdId;
   private static final int tenuredHeapUsageId;
+  private static final int tenuredHeapLiveId;
+  private static final int tenuredHeapForecastId;
   private static final int resourceEventsDeliveredId;
   private static final int resourceEventQueueSizeId;
   private static final int thresholdEventProcessorThreadJobsId;
@@ -180,6 +182,12 @@ public class ResourceManagerStats {
                 "The currently set off-heap eviction threshold value in bytes", "bytes"),
             f.createLongGauge("tenuredHeapUsed", "Total memory used in the tenured/old space",
                 "bytes"),
+            f.createLongGauge("tenuredHeapLive",
+                "Memory used in the tenured/old space after the latest garbage collection",
+                "bytes"),
+            f.createLongGauge("tenuredHeapForecast",
+                "Tenured/old space memory use forecast for the end of the forecast window",
+                "bytes"),
             f.createIntCounter("resourceEventsDelivered",
                 "Total number of resource events delivered to listeners", "events"),
             f.createIntGauge("resourceEventQueueSize",
@@ -228,6 +236,8 @@ public class ResourceManagerStats {
     evictionThresholdId = type.nameToId("evictionThreshold");
     offHeapEvictionThresholdId = type.nameToId("offHeapEvictionThreshold");
     tenuredHeapUsageId = type.nameToId("tenuredHeapUsed");
+    tenuredHeapLiveId = type.nameToId("tenuredHeapLive");
+    tenuredHeapForecastId = type.nameToId("tenuredHeapForecast");
     resourceEventsDeliveredId = type.nameToId("resourceEventsDelivered");
     resourceEventQueueSizeId = type.nameToId("resourceEventQueueSize");
     thresholdEventProcessorThreadJobsId = type.nameToId("thresholdEventProcessorThreadJobs");
@@ -511,6 +521,22 @@ public class ResourceManagerStats {
     return this.stats.getLong(tenuredHeapUsageId);
   }
 
+  public void changeTenuredHeapLive(long newValue) {
+    this.stats.setLong(tenuredHeapLiveId, newValue);
+  }
+
+  public long getTenuredHeapLive() {
+    return this.stats.getLong(tenuredHeapLiveId);
+  }
+
+  public void changeTenuredHeapForecast(long newValue) {
+    this.stats.setLong(tenuredHeapForecastId, newValue);
+  }
+
+  public long getTenuredHeapForecast() {
+    return this.stats.getLong(tenuredHeapForecastId);
+  }
+
   public void incResourceEventQueueSize(int delta) {
     this.stats.incInt(resourceEventQueueSizeId, delta);
   }
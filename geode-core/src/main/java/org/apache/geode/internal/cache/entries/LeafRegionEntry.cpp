@@ -23,12 +23,15 @@ package org.apache.geode.internal.cache.entries;
 #define KEY_TYPE long
 #elif defined(KEY_UUID)
 #define KEY_TYPE UUID
-#elif defined(KEY_STRING1) || defined(KEY_STRING2)
+#elif defined(KEY_STRING1) || defined(KEY_STRING2) || defined(KEY_STRING_BYTES)
 #define KEY_TYPE String
 #else
 #error the KEY_TYPE macro must be defined    
 #endif
 
+#ifdef KEY_STRING_BYTES
+import java.nio.charset.StandardCharsets;
+#endif
 #ifdef KEY_UUID
 import java.util.UUID;
 #endif
@@ -90,6 +93,11 @@ import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.Ha
  * key uuid: KEY_UUID
  * key string1: KEY_STRING1
  * key string2: KEY_STRING2
+ * key string bytes: KEY_STRING_BYTES
+ *
+ * KEY_STRING_BYTES stores a Latin-1 string key that is too long for KEY_STRING2 as a byte array,
+ * one byte per char. This only saves memory on Java 8; since JDK 9 the compact strings of an
+ * ObjectKey entry already store Latin-1 strings one byte per char.
  */
 
 /**
@@ -199,6 +207,11 @@ public class LEAF_CLASS extends PARENT_CLASS {
    * bits2 encodes character data
    */
   private final long bits2;
+#elif defined(KEY_STRING_BYTES)
+  /**
+   * the key's characters, each of which is <= 0xff, stored one per byte
+   */
+  private final byte[] keyBytes;
 #endif
 
   public LEAF_CLASS (final RegionEntryContext context, final KEY_TYPE key,
@@ -280,6 +293,9 @@ public class LEAF_CLASS extends PARENT_CLASS {
     tempBits1 |= key.length();
     this.bits1 = tempBits1;
     this.bits2 = tempBits2;
+#elif defined(KEY_STRING_BYTES)
+    // caller has already confirmed that each char of the key is <= 0xff
+    this.keyBytes = key.getBytes(StandardCharsets.ISO_8859_1);
 #endif
   }
 
@@ -942,6 +958,31 @@ public class LEAF_CLASS extends PARENT_CLASS {
     }
     return false;
   }
+
+#elif defined(KEY_STRING_BYTES)
+  @Override
+  public Object getKey() {
+    return new String(this.keyBytes, StandardCharsets.ISO_8859_1);
+  }
+
+  // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
+
+  @Override
+  public boolean isKeyEqual(final Object key) {
+    if (key instanceof String) {
+      String stringKey = (String) key;
+      final byte[] bytes = this.keyBytes;
+      if (stringKey.length() == bytes.length) {
+        for (int i = 0; i < bytes.length; i++) {
+          if (stringKey.charAt(i) != (char) (bytes[i] & 0xff)) {
+            return false;
+          }
+        }
+        return true;
+      }
+    }
+    return false;
+  }
 #endif
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
@@ -40,7 +40,11 @@ import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.Ha
  * One of the following key macros must be defined:
  *
  * key object: KEY_OBJECT key int: KEY_INT key long: KEY_LONG key uuid: KEY_UUID key string1:
- * KEY_STRING1 key string2: KEY_STRING2
+ * KEY_STRING1 key string2: KEY_STRING2 key string bytes: KEY_STRING_BYTES
+ *
+ * KEY_STRING_BYTES stores a Latin-1 string key that is too long for KEY_STRING2 as a byte array,
+ * one byte per char. This only saves memory on Java 8; since JDK 9 the compact strings of an
+ * ObjectKey entry already store Latin-1 strings one byte per char.
  */
 /**
  * Do not modify this class. It was generated. Instead modify LeafRegionEntry.cpp and then run
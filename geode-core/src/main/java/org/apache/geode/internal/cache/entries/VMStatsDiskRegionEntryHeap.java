@@ -55,6 +55,8 @@ public abstract class VMStatsDiskRegionEntryHeap extends VMStatsDiskRegionEntry
             } else {
               return new VMStatsDiskRegionEntryHeapStringKey2(context, skey, value, byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VMStatsDiskRegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VMStatsDiskRegionEntryHeapUUIDKey(context, (UUID) key, value);
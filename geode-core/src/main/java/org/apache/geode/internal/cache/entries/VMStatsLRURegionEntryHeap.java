@@ -55,6 +55,8 @@ public abstract class VMStatsLRURegionEntryHeap extends VMStatsLRURegionEntry {
             } else {
               return new VMStatsLRURegionEntryHeapStringKey2(context, skey, value, byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VMStatsLRURegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VMStatsLRURegionEntryHeapUUIDKey(context, (UUID) key, value);
@@ -54,6 +54,8 @@ public abstract class VMStatsRegionEntryHeap extends VMStatsRegionEntry {
             } else {
               return new VMStatsRegionEntryHeapStringKey2(context, skey, value, byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VMStatsRegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VMStatsRegionEntryHeapUUIDKey(context, (UUID) key, value);
@@ -55,6 +55,8 @@ public abstract class VMThinDiskLRURegionEntryHeap extends VMThinDiskLRURegionEn
             } else {
               return new VMThinDiskLRURegionEntryHeapStringKey2(context, skey, value, byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VMThinDiskLRURegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VMThinDiskLRURegionEntryHeapUUIDKey(context, (UUID) key, value);
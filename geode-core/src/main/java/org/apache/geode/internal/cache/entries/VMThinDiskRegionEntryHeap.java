@@ -55,6 +55,8 @@ public abstract class VMThinDiskRegionEntryHeap extends VMThinDiskRegionEntry {
             } else {
               return new VMThinDiskRegionEntryHeapStringKey2(context, skey, value, byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VMThinDiskRegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VMThinDiskRegionEntryHeapUUIDKey(context, (UUID) key, value);
@@ -55,6 +55,8 @@ public abstract class VMThinLRURegionEntryHeap extends VMThinLRURegionEntry {
             } else {
               return new VMThinLRURegionEntryHeapStringKey2(context, skey, value, byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VMThinLRURegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VMThinLRURegionEntryHeapUUIDKey(context, (UUID) key, value);
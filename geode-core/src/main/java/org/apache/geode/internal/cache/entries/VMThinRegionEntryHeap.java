@@ -54,6 +54,8 @@ public abstract class VMThinRegionEntryHeap extends VMThinRegionEntry {
             } else {
               return new VMThinRegionEntryHeapStringKey2(context, skey, value, byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VMThinRegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VMThinRegionEntryHeapUUIDKey(context, (UUID) key, value);
@@ -58,6 +58,8 @@ public abstract class VersionedStatsDiskLRURegionEntryHeap
               return new VersionedStatsDiskLRURegionEntryHeapStringKey2(context, skey, value,
                   byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VersionedStatsDiskLRURegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VersionedStatsDiskLRURegionEntryHeapUUIDKey(context, (UUID) key, value);
@@ -57,6 +57,8 @@ public abstract class VersionedStatsDiskRegionEntryHeap extends VersionedStatsDi
               return new VersionedStatsDiskRegionEntryHeapStringKey2(context, skey, value,
                   byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VersionedStatsDiskRegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VersionedStatsDiskRegionEntryHeapUUIDKey(context, (UUID) key, value);
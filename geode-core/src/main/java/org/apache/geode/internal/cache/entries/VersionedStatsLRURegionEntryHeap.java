@@ -57,6 +57,8 @@ public abstract class VersionedStatsLRURegionEntryHeap extends VersionedStatsLRU
               return new VersionedStatsLRURegionEntryHeapStringKey2(context, skey, value,
                   byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VersionedStatsLRURegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VersionedStatsLRURegionEntryHeapUUIDKey(context, (UUID) key, value);
@@ -55,6 +55,8 @@ public abstract class VersionedStatsRegionEntryHeap extends VersionedStatsRegion
             } else {
               return new VersionedStatsRegionEntryHeapStringKey2(context, skey, value, byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VersionedStatsRegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VersionedStatsRegionEntryHeapUUIDKey(context, (UUID) key, value);
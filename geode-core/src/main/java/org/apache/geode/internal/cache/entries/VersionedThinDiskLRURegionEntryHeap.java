@@ -57,6 +57,8 @@ public abstract class VersionedThinDiskLRURegionEntryHeap extends VersionedThinD
               return new VersionedThinDiskLRURegionEntryHeapStringKey2(context, skey, value,
                   byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VersionedThinDiskLRURegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VersionedThinDiskLRURegionEntryHeapUUIDKey(context, (UUID) key, value);
@@ -57,6 +57,8 @@ public abstract class VersionedThinDiskRegionEntryHeap extends VersionedThinDisk
               return new VersionedThinDiskRegionEntryHeapStringKey2(context, skey, value,
                   byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VersionedThinDiskRegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VersionedThinDiskRegionEntryHeapUUIDKey(context, (UUID) key, value);
@@ -57,6 +57,8 @@ public abstract class VersionedThinLRURegionEntryHeap extends VersionedThinLRURe
               return new VersionedThinLRURegionEntryHeapStringKey2(context, skey, value,
                   byteEncoded);
             }
+          } else if (InlineKeyHelper.canStringBeInlineByteArrayEncoded(skey)) {
+            return new VersionedThinLRURegionEntryHeapStringKeyBytes(context, skey, value);
           }
         } else if (keyClass == UUID.class) {
           return new VersionedThinLRURegionEntryHeapUUIDKey(context, (UUID) key, value);
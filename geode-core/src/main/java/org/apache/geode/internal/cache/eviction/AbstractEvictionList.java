@@ -47,7 +47,7 @@ abstract class AbstractEvictionList implements EvictionList {
     return size.get();
   }
 
-  private void incrementSize() {
+  void incrementSize() {
     size.incrementAndGet();
   }
 
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+import org.apache.geode.internal.logging.log4j.LogMarker;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * ClockEvictionList approximates LRU with the CLOCK algorithm. The list is treated as a circle that
+ * a hand sweeps over. A recently used entry that the hand passes loses its recently used bit but,
+ * unlike in {@link LRUListWithSyncSorting} and {@link LRUListWithAsyncSorting}, stays where it is,
+ * so neither an access nor an eviction ever moves an entry in the list and no background scan is
+ * needed. New entries are added just behind the hand so that they are considered last.
+ * <p>
+ * The hand gives up after one full sweep, or after
+ * {@link SystemPropertyHelper#EVICTION_SEARCH_MAX_ENTRIES} entries if that is set, and then evicts
+ * the entry it is on even if it was recently used.
+ *
+ * @since Geode 1.12
+ */
+public class ClockEvictionList extends AbstractEvictionList {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private final int maxEntries;
+
+  /** The next node the hand considers; null or the tail mean the head of the list. */
+  private EvictionNode hand;
+
+  ClockEvictionList(EvictionController controller) {
+    super(controller);
+    this.maxEntries = SystemPropertyHelper
+        .getProductIntegerProperty(SystemPropertyHelper.EVICTION_SEARCH_MAX_ENTRIES).orElse(-1);
+  }
+
+  @Override
+  public void clear(RegionVersionVector regionVersionVector, BucketRegion bucketRegion) {
+    synchronized (this) {
+      super.clear(regionVersionVector, bucketRegion);
+      if (regionVersionVector == null) {
+        hand = null;
+      }
+    }
+  }
+
+  /**
+   * Adds a node just behind the hand.
+   */
+  @Override
+  public synchronized void appendEntry(EvictionNode evictionNode) {
+    if (evictionNode.next() != null) {
+      // already in the list
+      return;
+    }
+
+    if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
+      logger.trace(LogMarker.LRU_CLOCK_VERBOSE, "adding a Node to clock list: {}", evictionNode);
+    }
+
+    EvictionNode successor = hand != null ? hand : tail;
+    EvictionNode previous = successor.previous();
+    evictionNode.setNext(successor);
+    evictionNode.setPrevious(previous);
+    previous.setNext(evictionNode);
+    successor.setPrevious(evictionNode);
+
+    incrementSize();
+  }
+
+  @Override
+  protected synchronized void unlinkEntry(EvictionNode evictionNode) {
+    if (evictionNode == hand) {
+      hand = evictionNode.next();
+    }
+    super.unlinkEntry(evictionNode);
+  }
+
+  /**
+   * Returns the node under the hand and moves the hand past it, or returns null if the list is
+   * empty.
+   */
+  private synchronized EvictionNode advanceHand() {
+    EvictionNode evictionNode = hand;
+    if (evictionNode == null || evictionNode == tail) {
+      evictionNode = head.next();
+    }
+    if (evictionNode == tail) {
+      hand = null;
+      return null;
+    }
+    hand = evictionNode.next();
+    return evictionNode;
+  }
+
+  @Override
+  public EvictableEntry getEvictableEntry() {
+    long numEvals = 0;
+    int maxEvals = maxEntries > 0 ? maxEntries : size();
+
+    for (;;) {
+      EvictionNode evictionNode = advanceHand();
+      if (evictionNode == null) {
+        getStatistics().incEvaluations(numEvals);
+        return null;
+      }
+
+      if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
+        logger.trace(LogMarker.LRU_CLOCK_VERBOSE, "clock considering {}", evictionNode);
+      }
+
+      numEvals++;
+
+      if (!isEvictable(evictionNode)) {
+        removeEntry(evictionNode);
+        continue;
+      }
+
+      boolean greedy = false;
+      if (evictionNode.isRecentlyUsed()) {
+        if (numEvals <= maxEvals) {
+          evictionNode.unsetRecentlyUsed();
+          recentlyUsedCleared(evictionNode);
+          continue;
+        }
+        greedy = true;
+      }
+
+      evictionNode = selectVictim(evictionNode);
+      if (!removeEntry(evictionNode)) {
+        // concurrently removed
+        continue;
+      }
+
+      if (logger.isTraceEnabled(LogMarker.LRU_CLOCK_VERBOSE)) {
+        logger.trace(LogMarker.LRU_CLOCK_VERBOSE, "returning entry: {}", evictionNode);
+      }
+      if (greedy) {
+        getStatistics().incGreedyReturns(1);
+      }
+      getStatistics().incEvaluations(numEvals);
+      return (EvictableEntry) evictionNode;
+    }
+  }
+
+  /**
+   * Called after the hand has cleared the recently used bit of a node.
+   */
+  protected void recentlyUsedCleared(EvictionNode evictionNode) {
+    // nothing needed
+  }
+
+  /**
+   * Returns the node to evict in place of the one the hand chose, which is returned by default.
+   */
+  protected EvictionNode selectVictim(EvictionNode evictionNode) {
+    return evictionNode;
+  }
+
+  @Override
+  public void incrementRecentlyUsed() {
+    // nothing needed
+  }
+}
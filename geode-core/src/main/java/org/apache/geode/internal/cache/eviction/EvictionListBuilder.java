@@ -22,6 +22,8 @@ public class EvictionListBuilder {
 
   private final boolean evictionScanAsync;
 
+  private final boolean evictionClock;
+
   private final EvictionController controller;
 
   public EvictionListBuilder(EvictionController evictionController) {
@@ -29,13 +31,19 @@ public class EvictionListBuilder {
     Optional<Boolean> asyncScan =
         SystemPropertyHelper.getProductBooleanProperty(SystemPropertyHelper.EVICTION_SCAN_ASYNC);
     evictionScanAsync = asyncScan.orElse(true);
+    evictionClock = SystemPropertyHelper
+        .getProductBooleanProperty(SystemPropertyHelper.EVICTION_CLOCK).orElse(false);
   }
 
   public EvictionList create() {
     if (this.controller.getEvictionAlgorithm().isLIFO()) {
       return new LIFOList(this.controller);
+    } else if (this.controller.getEvictionAlgorithm().isTinyLFU()) {
+      return new TinyLfuEvictionList(this.controller);
     } else {
-      if (evictionScanAsync) {
+      if (evictionClock) {
+        return new ClockEvictionList(this.controller);
+      } else if (evictionScanAsync) {
         return new LRUListWithAsyncSorting(this.controller);
       } else {
         return new LRUListWithSyncSorting(this.controller);
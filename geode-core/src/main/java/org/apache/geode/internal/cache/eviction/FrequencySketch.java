@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+/**
+ * A count-min sketch that estimates how often a key was seen recently. Each key is counted in four
+ * 4-bit counters, sixteen of which are packed into a long, and its frequency is the smallest of
+ * them, so it can be overestimated but never underestimated. Counters saturate at 15.
+ * <p>
+ * Once ten increments per long of the table have been made all counters are halved, so that the
+ * sketch forgets keys that were popular a long time ago.
+ * <p>
+ * A FrequencySketch is not thread safe; callers must synchronize.
+ *
+ * @since Geode 1.12
+ */
+class FrequencySketch {
+  private static final int MAXIMUM_CAPACITY = 1 << 24;
+
+  private static final long[] SEEDS =
+      {0x97cb3127L, 0xab3a57e9L, 0xc3a5c85cL, 0x9ae16a3bL};
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  private long[] table;
+  private int tableMask;
+  private int sampleSize;
+  private int additions;
+
+  FrequencySketch(int capacity) {
+    ensureCapacity(Math.max(capacity, 1));
+  }
+
+  /**
+   * Grows the table so that it has at least one long per key. The counts are lost when the table
+   * grows, but this only happens while the region is filling up.
+   */
+  void ensureCapacity(int capacity) {
+    int length = tableSizeFor(Math.min(capacity, MAXIMUM_CAPACITY));
+    if (table != null && table.length >= length) {
+      return;
+    }
+    table = new long[length];
+    tableMask = length - 1;
+    sampleSize = length * 10;
+    additions = 0;
+  }
+
+  int capacity() {
+    return table.length;
+  }
+
+  /**
+   * Returns the estimated number of times the key was counted, between 0 and 15.
+   */
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int frequency = Integer.MAX_VALUE;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int counter = counterIndex(hash, i);
+      int count = (int) ((table[counter >>> 4] >>> ((counter & 15) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Counts the key once more, halving all counters if the sample size has been reached.
+   */
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      int counter = counterIndex(hash, i);
+      int index = counter >>> 4;
+      int offset = (counter & 15) << 2;
+      long mask = 0xfL << offset;
+      if ((table[index] & mask) != mask) {
+        table[index] += 1L << offset;
+        added = true;
+      }
+    }
+    if (added && ++additions == sampleSize) {
+      reset();
+    }
+  }
+
+  /**
+   * Halves every counter.
+   */
+  void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    additions /= 2;
+  }
+
+  private int counterIndex(int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h += h >>> 32;
+    return (int) h & ((tableMask << 4) | 15);
+  }
+
+  private static int spread(int hash) {
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+    return (hash >>> 16) ^ hash;
+  }
+
+  private static int tableSizeFor(int capacity) {
+    int n = Integer.highestOneBit(capacity);
+    return n == capacity ? n : n << 1;
+  }
+}
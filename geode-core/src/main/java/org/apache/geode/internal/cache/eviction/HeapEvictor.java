@@ -23,6 +23,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -47,6 +49,11 @@ import org.apache.geode.logging.internal.log4j.api.LogService;
 /**
  * Triggers centralized eviction(asynchronously) when the ResourceManager sends an eviction event
  * for on-heap regions. This is registered with the ResourceManager.
+ * <p>
+ * If {@link #PARALLEL_EVICTION} is set each eviction pass is a {@link ParallelEvictionTask} that
+ * spreads the regions and buckets over a fork join pool, and a pass evicts not only the eviction
+ * burst but also the memory that the {@link HeapMemoryMonitor} predicts will be allocated before
+ * the next pass.
  *
  * @since GemFire 6.0
  *
@@ -69,6 +76,15 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
   public static final int BUCKET_SORTING_INTERVAL = Integer.getInteger(
       GEMFIRE_PREFIX + "HeapLRUCapacityController.higherEntryCountBucketCalculationInterval", 100);
 
+  /**
+   * If true, eviction passes are split by bucket across a fork join pool and sized by the rate at
+   * which memory is being allocated.
+   *
+   * @since Geode 1.12
+   */
+  public static final boolean PARALLEL_EVICTION =
+      Boolean.getBoolean(GEMFIRE_PREFIX + "HeapLRUCapacityController.parallelEviction");
+
   private static final boolean DISABLE_HEAP_EVICTOR_THREAD_POOL = Boolean
       .getBoolean(GEMFIRE_PREFIX + "HeapLRUCapacityController.DISABLE_HEAP_EVICTOR_THREAD_POOL");
 
@@ -84,6 +100,10 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
 
   private final ExecutorService evictorThreadPool;
 
+  private final ForkJoinPool evictorForkJoinPool;
+
+  private final ParallelEvictionStats parallelEvictionStats;
+
   private final InternalCache cache;
 
   private final AtomicBoolean isRunning = new AtomicBoolean(true);
@@ -92,6 +112,8 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
 
   private volatile int testAbortAfterLoopCount = Integer.MAX_VALUE;
 
+  private volatile long evictionStartTime;
+
   /*
    * Since the amount of memory used is to a large degree dependent upon when garbage collection is
    * run, it's difficult to determine when to stop evicting. So, an initial calculation is done to
@@ -122,6 +144,21 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
       this.evictorThreadPool = null;
     }
 
+    if (!DISABLE_HEAP_EVICTOR_THREAD_POOL && PARALLEL_EVICTION) {
+      this.evictorForkJoinPool =
+          new ForkJoinPool(Math.max(1, MAX_EVICTOR_THREADS - 1), pool -> {
+            ForkJoinWorkerThread thread =
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(threadName + "-" + thread.getPoolIndex());
+            return thread;
+          }, null, false);
+      this.parallelEvictionStats =
+          new ParallelEvictionStats(cache.getInternalDistributedSystem(), threadName);
+    } else {
+      this.evictorForkJoinPool = null;
+      this.parallelEvictionStats = null;
+    }
+
     this.statisticsClock = statisticsClock;
   }
 
@@ -210,6 +247,53 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
     }
   }
 
+  /**
+   * Runs one pass of eviction across all regions in the fork join pool and waits for it to finish.
+   */
+  private void evictInParallel() {
+    List<LocalRegion> allRegionList = getAllRegionList();
+    long[] bytesToEvict = new long[allRegionList.size()];
+    long numEntries = 0;
+    for (int i = 0; i < bytesToEvict.length; i++) {
+      LocalRegion region = allRegionList.get(i);
+      bytesToEvict[i] = region instanceof BucketRegion
+          ? ((BucketRegion) region).getSizeForEviction() : region.getRegionMap().sizeInVM();
+      numEntries += bytesToEvict[i];
+    }
+    if (numEntries == 0) {
+      return;
+    }
+
+    long allocationRate = getAllocationRate();
+    long bytesToEvictInPass =
+        getTotalBytesToEvict() + allocationRate * getEvictionLoopDelayTime() / 1000;
+    for (int i = 0; i < bytesToEvict.length; i++) {
+      bytesToEvict[i] = (long) (bytesToEvictInPass * ((double) bytesToEvict[i] / numEntries));
+    }
+
+    parallelEvictionStats.startPass(bytesToEvictInPass, allocationRate);
+    long start = statisticsClock.getTime();
+    try {
+      long bytesEvicted = evictorForkJoinPool.invoke(new ParallelEvictionTask(this,
+          cache.getCachePerfStats(), statisticsClock, allRegionList, bytesToEvict, 0,
+          bytesToEvict.length));
+      parallelEvictionStats.endPass(bytesEvicted, statisticsClock.getTime() - start);
+    } catch (RejectedExecutionException e) {
+      // ignore rejection if evictor no longer running
+      if (isRunning()) {
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Returns the estimated number of bytes per second being allocated in the memory this evictor
+   * evicts from.
+   */
+  protected long getAllocationRate() {
+    return cache.getInternalResourceManager().getHeapMonitor().getAllocationRate();
+  }
+
   public ExecutorService getEvictorThreadPool() {
     if (isRunning()) {
       return evictorThreadPool;
@@ -344,6 +428,7 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
           return;
         }
 
+        evictionStartTime = System.currentTimeMillis();
         numEvictionLoopsCompleted = 0;
         numFastLoops =
             (int) ((event.getBytesUsed() - event.getThresholds().getEvictionThresholdClearBytes()
@@ -360,7 +445,9 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
             if (numEvictionLoopsCompleted < getTestAbortAfterLoopCount()) {
               try {
                 // Submit tasks into the queue to do the evictions
-                if (EVICT_HIGH_ENTRY_COUNT_BUCKETS_FIRST) {
+                if (evictorForkJoinPool != null) {
+                  evictInParallel();
+                } else if (EVICT_HIGH_ENTRY_COUNT_BUCKETS_FIRST) {
                   createAndSubmitWeightedRegionEvictionTasks();
                 } else {
                   for (RegionEvictorTask task : createRegionEvictionTasks()) {
@@ -409,8 +496,8 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
         // Submit the first pass at eviction into the pool
         executeInThreadPool(evictionManagerTask);
 
-      } else {
-        this.mustEvict.set(false);
+      } else if (this.mustEvict.getAndSet(false) && parallelEvictionStats != null) {
+        parallelEvictionStats.incEvictionLagTime(System.currentTimeMillis() - evictionStartTime);
       }
     }
   }
@@ -433,6 +520,10 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
   public void close() {
     if (isRunning.compareAndSet(true, false)) {
       evictorThreadPool.shutdownNow();
+      if (evictorForkJoinPool != null) {
+        evictorForkJoinPool.shutdownNow();
+        parallelEvictionStats.close();
+      }
     }
   }
 
@@ -78,6 +78,12 @@ public class OffHeapEvictor extends HeapEvictor {
         && region.getAttributes().getOffHeap();
   }
 
+  @Override
+  protected long getAllocationRate() {
+    // off-heap allocation is not sampled, so only the eviction burst is evicted in each pass
+    return 0;
+  }
+
   @Override
   public long getTotalBytesToEvict() {
     return bytesToEvictWithEachBurst;
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsFactory;
+import org.apache.geode.StatisticsType;
+import org.apache.geode.StatisticsTypeFactory;
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
+
+/**
+ * Statistics of the parallel eviction done by a {@link HeapEvictor}.
+ *
+ * @since Geode 1.12
+ */
+class ParallelEvictionStats {
+  @Immutable
+  private static final StatisticsType statType;
+  private static final int passesId;
+  private static final int passTimeId;
+  private static final int bytesEvictedId;
+  private static final int bytesToEvictId;
+  private static final int allocationRateId;
+  private static final int evictionLagTimeId;
+
+  static {
+    StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
+
+    statType = f.createType("ParallelEvictionStats",
+        "Statistics related to eviction that is split by bucket across a fork join pool",
+        new StatisticDescriptor[] {
+            f.createLongCounter("passes", "Number of eviction passes completed.", "operations"),
+            f.createLongCounter("passTime", "Total time spent in eviction passes.",
+                "nanoseconds"),
+            f.createLongCounter("bytesEvicted", "Number of bytes evicted by eviction passes.",
+                "bytes"),
+            f.createLongGauge("bytesToEvict",
+                "Number of bytes the latest eviction pass was asked to evict.", "bytes"),
+            f.createLongGauge("allocationRate",
+                "Estimated rate at which memory was allocated when the latest pass started.",
+                "bytes/second"),
+            f.createLongCounter("evictionLagTime",
+                "Total time memory use stayed above the eviction threshold.", "milliseconds")});
+
+    passesId = statType.nameToId("passes");
+    passTimeId = statType.nameToId("passTime");
+    bytesEvictedId = statType.nameToId("bytesEvicted");
+    bytesToEvictId = statType.nameToId("bytesToEvict");
+    allocationRateId = statType.nameToId("allocationRate");
+    evictionLagTimeId = statType.nameToId("evictionLagTime");
+  }
+
+  private final Statistics stats;
+
+  ParallelEvictionStats(StatisticsFactory factory, String name) {
+    this.stats = factory.createAtomicStatistics(statType, "ParallelEvictionStats-" + name);
+  }
+
+  void startPass(long bytesToEvict, long allocationRate) {
+    this.stats.setLong(bytesToEvictId, bytesToEvict);
+    this.stats.setLong(allocationRateId, allocationRate);
+  }
+
+  void endPass(long bytesEvicted, long passTime) {
+    this.stats.incLong(passesId, 1);
+    this.stats.incLong(bytesEvictedId, bytesEvicted);
+    this.stats.incLong(passTimeId, passTime);
+  }
+
+  void incEvictionLagTime(long millis) {
+    this.stats.incLong(evictionLagTimeId, millis);
+  }
+
+  void close() {
+    this.stats.close();
+  }
+}
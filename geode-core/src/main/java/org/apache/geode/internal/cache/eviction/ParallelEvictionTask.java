@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.cache.RegionDestroyedException;
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.statistics.StatisticsClock;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * Evicts from a range of regions, usually the buckets of partitioned regions, in a fork join pool.
+ * The range is split in halves until each task has a single region, so idle pool threads steal the
+ * buckets of busy ones instead of waiting for a fixed set of regions assigned to them. Each region
+ * is asked to evict its share of the bytes, in proportion to the number of entries it holds, and
+ * the task returns the number of bytes evicted.
+ *
+ * @since Geode 1.12
+ */
+class ParallelEvictionTask extends RecursiveTask<Long> {
+  private static final Logger logger = LogService.getLogger();
+
+  private final HeapEvictor evictor;
+  private final CachePerfStats stats;
+  private final StatisticsClock statisticsClock;
+  private final List<LocalRegion> regions;
+  private final long[] bytesToEvict;
+  private final int from;
+  private final int to;
+
+  ParallelEvictionTask(HeapEvictor evictor, CachePerfStats stats, StatisticsClock statisticsClock,
+      List<LocalRegion> regions, long[] bytesToEvict, int from, int to) {
+    this.evictor = evictor;
+    this.stats = stats;
+    this.statisticsClock = statisticsClock;
+    this.regions = regions;
+    this.bytesToEvict = bytesToEvict;
+    this.from = from;
+    this.to = to;
+  }
+
+  @Override
+  protected Long compute() {
+    if (to - from <= 1) {
+      return from < to ? evict(regions.get(from), bytesToEvict[from]) : 0L;
+    }
+    int middle = (from + to) >>> 1;
+    ParallelEvictionTask left = new ParallelEvictionTask(evictor, stats, statisticsClock, regions,
+        bytesToEvict, from, middle);
+    ParallelEvictionTask right = new ParallelEvictionTask(evictor, stats, statisticsClock, regions,
+        bytesToEvict, middle, to);
+    left.fork();
+    return right.compute() + left.join();
+  }
+
+  private long evict(LocalRegion region, long bytes) {
+    stats.incEvictorJobsStarted();
+    final long start = statisticsClock.getTime();
+    long bytesEvicted = 0;
+    try {
+      while (bytesEvicted < bytes && evictor.mustEvict()) {
+        long evicted = region.getRegionMap().centralizedLruUpdateCallback();
+        if (evicted == 0) {
+          break;
+        }
+        bytesEvicted += evicted;
+      }
+    } catch (RegionDestroyedException e) {
+      region.getCache().getCancelCriterion().checkCancelInProgress(e);
+    } catch (RuntimeException e) {
+      region.getCache().getCancelCriterion().checkCancelInProgress(e);
+      logger.warn(String.format("Exception: %s occurred during eviction ",
+          new Object[] {e.getMessage()}), e);
+    } finally {
+      stats.incEvictWorkTime(statisticsClock.getTime() - start);
+      stats.incEvictorJobsCompleted();
+    }
+    return bytesEvicted;
+  }
+}
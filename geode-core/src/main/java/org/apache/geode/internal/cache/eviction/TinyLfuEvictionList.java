@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import org.apache.geode.cache.EvictionAlgorithm;
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+
+/**
+ * TinyLfuEvictionList is the list of the {@link EvictionAlgorithm#TINY_LFU_ENTRY} algorithm. It
+ * layers a TinyLFU admission filter over a {@link ClockEvictionList}: a {@link FrequencySketch}
+ * counts each key when its entry is added and whenever the hand finds it recently used, and when
+ * an entry has to be evicted the entry added last competes with the one the hand chose. Unless
+ * the newcomer has been seen more often than that victim, the newcomer is evicted instead and the
+ * victim stays. Keys that are only used once, such as those of a scan, are therefore evicted right
+ * away instead of pushing out the entries that are used often.
+ * <p>
+ * The sketch remembers keys after their entries are evicted, so a key that keeps coming back is
+ * admitted once it is used more often than the entries it would replace.
+ *
+ * @since Geode 1.12
+ */
+public class TinyLfuEvictionList extends ClockEvictionList {
+
+  private final FrequencySketch sketch = new FrequencySketch(16);
+
+  /** The node added last, which has not yet had to compete with a victim. */
+  private EvictionNode candidate;
+
+  TinyLfuEvictionList(EvictionController controller) {
+    super(controller);
+  }
+
+  @Override
+  public void clear(RegionVersionVector regionVersionVector, BucketRegion bucketRegion) {
+    synchronized (this) {
+      super.clear(regionVersionVector, bucketRegion);
+      if (regionVersionVector == null) {
+        candidate = null;
+      }
+    }
+  }
+
+  @Override
+  public synchronized void appendEntry(EvictionNode evictionNode) {
+    if (evictionNode.next() != null) {
+      // already in the list
+      return;
+    }
+    super.appendEntry(evictionNode);
+    sketch.ensureCapacity(size());
+    sketch.increment(keyOf(evictionNode));
+    candidate = evictionNode;
+  }
+
+  @Override
+  protected synchronized void unlinkEntry(EvictionNode evictionNode) {
+    if (evictionNode == candidate) {
+      candidate = null;
+    }
+    super.unlinkEntry(evictionNode);
+  }
+
+  @Override
+  protected synchronized void recentlyUsedCleared(EvictionNode evictionNode) {
+    sketch.increment(keyOf(evictionNode));
+  }
+
+  @Override
+  protected EvictionNode selectVictim(EvictionNode victim) {
+    EvictionNode newcomer;
+    synchronized (this) {
+      newcomer = candidate;
+      candidate = null;
+      if (newcomer == null || newcomer == victim || newcomer.next() == null) {
+        return victim;
+      }
+      if (sketch.frequency(keyOf(newcomer)) > sketch.frequency(keyOf(victim))) {
+        return victim;
+      }
+    }
+    if (!isEvictable(newcomer)) {
+      return victim;
+    }
+    return newcomer;
+  }
+
+  synchronized int frequency(EvictionNode evictionNode) {
+    return sketch.frequency(keyOf(evictionNode));
+  }
+
+  private static Object keyOf(EvictionNode evictionNode) {
+    Object key = ((RegionEntry) evictionNode).getKey();
+    return key != null ? key : evictionNode;
+  }
+}
@@ -55,6 +55,7 @@ import org.apache.geode.internal.cache.EntryEventImpl;
 import org.apache.geode.internal.cache.EnumListenerEvent;
 import org.apache.geode.internal.cache.EventID;
 import org.apache.geode.internal.cache.ForceReattemptException;
+import org.apache.geode.internal.cache.InternalDataView;
 import org.apache.geode.internal.cache.InternalRegion;
 import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.PartitionedRegionDataStore;
@@ -444,18 +445,24 @@ public class PutAllPRMessage extends PartitionMessageWithDirectReply {
           }
           locked = bucketRegion.waitUntilLocked(keys);
           boolean lockedForPrimary = false;
-          final HashMap succeeded = new HashMap();
+          // the succeeded keys and values are only logged so only collect them when debugging
+          final boolean isDebugEnabled = logger.isDebugEnabled();
+          final HashMap succeeded = isDebugEnabled ? new HashMap() : null;
           PutAllPartialResult partialKeys = new PutAllPartialResult(putAllPRDataSize);
           Object key = keys[0];
           try {
             bucketRegion.doLockForPrimary(false);
             lockedForPrimary = true;
+            final InternalDataView dataView = r.getDataView();
 
             /*
              * The real work to be synchronized, it will take long time. We don't worry about
              * another thread to send any msg which has the same key in this request, because these
              * request will be blocked by foundKey
              */
+            // Each entry is applied through the region map with an event and version tag of its
+            // own. The region map does not take the version vector lock for the entries, because
+            // their events are part of a bulk op and a bucket has a replicate data policy.
             for (int i = 0; i < putAllPRDataSize; i++) {
               @Released
               EntryEventImpl ev = getEventFromEntry(r, myId, eventSender, i, putAllPRData,
@@ -474,14 +481,14 @@ public class PutAllPRMessage extends PartitionMessageWithDirectReply {
                 // oldValue and real operation will be modified into ev in putLocally()
                 // then in basicPutPart3(), the ev is added into dpao
                 try {
-                  didPut = r.getDataView().putEntryOnRemote(ev, false, false, null, false,
+                  didPut = dataView.putEntryOnRemote(ev, false, false, null, false,
                       lastModified, true);
-                  if (didPut && logger.isDebugEnabled()) {
+                  if (didPut && isDebugEnabled) {
                     logger.debug("PutAllPRMessage.doLocalPutAll:putLocally success for {}", ev);
                   }
                 } catch (ConcurrentCacheModificationException e) {
                   didPut = true;
-                  if (logger.isDebugEnabled()) {
+                  if (isDebugEnabled) {
                     logger.debug(
                         "PutAllPRMessage.doLocalPutAll:putLocally encountered concurrent cache modification for {}",
                         ev, e);
@@ -495,7 +502,10 @@ public class PutAllPRMessage extends PartitionMessageWithDirectReply {
                   fre.setHash(ev.getKey().hashCode());
                   throw fre;
                 } else {
-                  succeeded.put(putAllPRData[i].getKey(), putAllPRData[i].getValue(r.getCache()));
+                  if (isDebugEnabled) {
+                    succeeded.put(putAllPRData[i].getKey(),
+                        putAllPRData[i].getValue(r.getCache()));
+                  }
                   this.versions.addKeyAndVersion(putAllPRData[i].getKey(), ev.getVersionTag());
                 }
               } finally {
@@ -513,7 +523,7 @@ public class PutAllPRMessage extends PartitionMessageWithDirectReply {
           }
           if (partialKeys.hasFailure()) {
             partialKeys.addKeysAndVersions(this.versions);
-            if (logger.isDebugEnabled()) {
+            if (isDebugEnabled) {
               logger.debug(
                   "PutAllPRMessage: partial keys applied, map to bucket {}'s keys: {}. Applied {}",
                   bucketId, Arrays.toString(keys), succeeded);
@@ -17,6 +17,7 @@ package org.apache.geode.internal.cache.tier.sockets;
 import static org.apache.geode.distributed.ConfigurationProperties.SECURITY_CLIENT_ACCESSOR_PP;
 import static org.apache.geode.internal.cache.tier.CommunicationMode.ClientToServerForQueue;
 import static org.apache.geode.internal.cache.tier.sockets.Handshake.REPLY_REFUSED;
+import static org.apache.geode.util.internal.GeodeGlossary.GEMFIRE_PREFIX;
 
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -56,6 +57,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
+import javax.net.ssl.SSLEngine;
+
 import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.logging.log4j.Logger;
 
@@ -92,6 +95,9 @@ import org.apache.geode.internal.cache.wan.GatewayReceiverStats;
 import org.apache.geode.internal.inet.LocalHostUtil;
 import org.apache.geode.internal.logging.CoreLoggingExecutors;
 import org.apache.geode.internal.monitoring.ThreadsMonitoring;
+import org.apache.geode.internal.net.BufferPool;
+import org.apache.geode.internal.net.NioSslEngine;
+import org.apache.geode.internal.net.NioSslSocket;
 import org.apache.geode.internal.net.SocketCreator;
 import org.apache.geode.internal.security.SecurityService;
 import org.apache.geode.internal.serialization.Version;
@@ -123,6 +129,19 @@ public class AcceptorImpl implements Acceptor, Runnable {
   private final int maxThreads;
 
   private final ExecutorService pool;
+  /**
+   * Records how the virtual threads of {@link #pool} use their carrier threads, if it has virtual
+   * threads.
+   */
+  private final VirtualThreadMonitor virtualThreadMonitor;
+  /**
+   * True if {@link #pool} runs each server connection on a virtual thread.
+   */
+  private boolean virtualThreads;
+  /**
+   * The buffers of the SSL connections that are read by the selector.
+   */
+  private final BufferPool sslBufferPool;
   /**
    * A pool used to process handshakes.
    */
@@ -218,6 +237,18 @@ public class AcceptorImpl implements Acceptor, Runnable {
   private final int acceptTimeout =
       Integer.getInteger(ACCEPT_TIMEOUT_PROPERTY_NAME, DEFAULT_ACCEPT_TIMEOUT_MS);
 
+  /**
+   * The name of a system property that makes a cache server that does not use a selector run each
+   * server connection on a virtual thread, if the JVM has virtual threads. A virtual thread that
+   * waits for the next message from its client does not hold a platform thread, so idle client
+   * connections cost little more than their sockets.
+   */
+  public static final String VIRTUAL_THREADS_PROPERTY_NAME =
+      GEMFIRE_PREFIX + "CacheServer.VIRTUAL_THREADS";
+
+  private static final boolean useVirtualThreads =
+      Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY_NAME);
+
   /**
    * The minimum value of max-connections
    */
@@ -513,8 +544,9 @@ public class AcceptorImpl implements Acceptor, Runnable {
 
       if (isSelector()) {
         if (socketCreator.useSSL()) {
-          throw new IllegalArgumentException(
-              "Selector thread pooling can not be used with client/server SSL. The selector can be disabled by setting max-threads=0.");
+          sslBufferPool = new BufferPool(internalCache.getDistributionManager().getStats());
+        } else {
+          sslBufferPool = null;
         }
         ServerSocketChannel channel = ServerSocketChannel.open();
         serverSock = channel.socket();
@@ -554,6 +586,7 @@ public class AcceptorImpl implements Acceptor, Runnable {
         } // for
       } // isSelector
       else { // !isSelector
+        sslBufferPool = null;
         // fix for bug 36617. If BindException is thrown, retry after
         // sleeping. The server may have been stopped and then
         // immediately restarted, which sometimes results in a bind exception
@@ -629,6 +662,12 @@ public class AcceptorImpl implements Acceptor, Runnable {
         clientNotifier.getStats());
 
     pool = initializeServerConnectionThreadPool();
+    if (isVirtualThreads()) {
+      virtualThreadMonitor = new VirtualThreadMonitor(stats);
+      virtualThreadMonitor.start();
+    } else {
+      virtualThreadMonitor = null;
+    }
     hsPool = initializeHandshakerThreadPool();
     clientQueueInitPool = initializeClientQueueInitializerThreadPool();
 
@@ -687,6 +726,25 @@ public class AcceptorImpl implements Acceptor, Runnable {
             commandWrapper, maxThreads,
             getStats().getCnxPoolHelper(), Integer.MAX_VALUE, getThreadMonitorObj());
       }
+      if (useVirtualThreads) {
+        ExecutorService virtualThreadPool =
+            VirtualThreadExecutors.newVirtualThreadPerTaskExecutor(threadName, command -> {
+              getStats().incConnectionThreadsCreated();
+              getStats().incConnectionThreads();
+              try {
+                commandWrapper.invoke(command);
+              } finally {
+                getStats().decConnectionThreads();
+              }
+            });
+        if (virtualThreadPool != null) {
+          virtualThreads = true;
+          return virtualThreadPool;
+        }
+        logger.warn("Server connections run on platform threads because this JVM does not "
+            + "support virtual threads. Unset {} to avoid this warning.",
+            VIRTUAL_THREADS_PROPERTY_NAME);
+      }
       return CoreLoggingExecutors.newThreadPoolWithSynchronousFeed(threadName, threadInitializer,
           commandWrapper,
           MINIMUM_MAX_CONNECTIONS, maxConnections, 0L);
@@ -723,6 +781,13 @@ public class AcceptorImpl implements Acceptor, Runnable {
     return maxThreads > 0;
   }
 
+  /**
+   * Returns true if this acceptor runs each server connection on its own virtual thread.
+   */
+  boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
   /**
    * This system property is only used if max-threads == 0. This is for 5.0.2 backwards
    * compatibility.
@@ -1406,17 +1471,29 @@ public class AcceptorImpl implements Acceptor, Runnable {
     return notifyBySubscription;
   }
 
-  private void handleNewClientConnection(final Socket socket,
+  private void handleNewClientConnection(final Socket acceptedSocket,
       final ServerConnectionFactory serverConnectionFactory) throws IOException {
     // Read the first byte. If this socket is being used for 'client to server'
     // communication, create a ServerConnection. If this socket is being used
     // for 'server to client' communication, send it to the CacheClientNotifier
     // for processing.
+    final Socket socket;
     final CommunicationMode communicationMode;
     try {
-      if (isSelector()) {
+      if (isSelector() && sslBufferPool != null) {
+        socket = handshakeSslSocketChannel(acceptedSocket);
+        try {
+          communicationMode = getCommunicationModeForSslSelector(socket);
+        } catch (IOException | RuntimeException e) {
+          // closing the accepted socket would not release the buffers of the SSL socket
+          closeSocket(socket);
+          throw e;
+        }
+      } else if (isSelector()) {
+        socket = acceptedSocket;
         communicationMode = getCommunicationModeForSelector(socket);
       } else {
+        socket = acceptedSocket;
         communicationMode = getCommunicationModeForNonSelector(socket);
       }
       socket.setTcpNoDelay(tcpNoDelay);
@@ -1553,6 +1630,51 @@ public class AcceptorImpl implements Acceptor, Runnable {
     return CommunicationMode.fromModeNumber(communicationModeByte);
   }
 
+  /**
+   * Performs the SSL handshake on a socket accepted by the selector's server socket channel.
+   *
+   * @return a socket that encrypts what is written to it and decrypts what is read from it
+   */
+  private Socket handshakeSslSocketChannel(Socket socket) throws IOException {
+    InetSocketAddress address = (InetSocketAddress) socket.getRemoteSocketAddress();
+    SSLEngine engine =
+        socketCreator.createServerSSLEngine(address.getHostString(), address.getPort());
+    int packetBufferSize = engine.getSession().getPacketBufferSize();
+    if (socket.getReceiveBufferSize() < packetBufferSize) {
+      socket.setReceiveBufferSize(packetBufferSize);
+    }
+    if (socket.getSendBufferSize() < packetBufferSize) {
+      socket.setSendBufferSize(packetBufferSize);
+    }
+    ByteBuffer peerNetData = sslBufferPool.acquireDirectReceiveBuffer(packetBufferSize);
+    try {
+      NioSslEngine nioSslEngine = socketCreator.handshakeSSLSocketChannel(socket.getChannel(),
+          engine, acceptTimeout, false, peerNetData, sslBufferPool);
+      return new NioSslSocket(socket.getChannel(), nioSslEngine, peerNetData, sslBufferPool);
+    } catch (IOException | RuntimeException e) {
+      sslBufferPool.releaseReceiveBuffer(peerNetData);
+      throw e;
+    }
+  }
+
+  private CommunicationMode getCommunicationModeForSslSelector(Socket socket)
+      throws IOException {
+    int communicationModeByte;
+    socket.setSoTimeout(acceptTimeout);
+    try {
+      communicationModeByte = socket.getInputStream().read();
+    } catch (SocketTimeoutException e) {
+      logger.warn("Cache server: timed out waiting for handshake from {}",
+          socket.getRemoteSocketAddress());
+      throw new EOFException();
+    }
+    socket.setSoTimeout(0);
+    if (communicationModeByte == -1) {
+      throw new EOFException();
+    }
+    return CommunicationMode.fromModeNumber((byte) communicationModeByte);
+  }
+
   private CommunicationMode getCommunicationModeForSelector(Socket socket) throws IOException {
     ByteBuffer byteBuffer = ByteBuffer.allocateDirect(1);
     final SocketChannel socketChannel = socket.getChannel();
@@ -1671,6 +1793,9 @@ public class AcceptorImpl implements Acceptor, Runnable {
   }
 
   private void shutdownPools() {
+    if (virtualThreadMonitor != null) {
+      virtualThreadMonitor.close();
+    }
     pool.shutdown();
     try {
       if (!pool.awaitTermination(PoolImpl.SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
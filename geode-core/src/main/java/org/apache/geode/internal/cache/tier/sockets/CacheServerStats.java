@@ -14,6 +14,8 @@
  */
 package org.apache.geode.internal.cache.tier.sockets;
 
+import java.util.function.LongSupplier;
+
 import org.apache.geode.StatisticDescriptor;
 import org.apache.geode.Statistics;
 import org.apache.geode.StatisticsFactory;
@@ -214,6 +216,10 @@ public class CacheServerStats implements MessageStats {
   int acceptThreadStartsId;
   int connectionThreadStartsId;
   int connectionThreadsId;
+  int virtualThreadCarriersId;
+  int virtualThreadCarrierCpuTimeId;
+  int pinnedVirtualThreadsId;
+  int pinnedVirtualThreadTimeId;
 
   // Load callback stats
   int connectionLoadId;
@@ -466,6 +472,17 @@ public class CacheServerStats implements MessageStats {
             "starts"),
         statisticsFactory.createIntGauge("connectionThreads",
             "Current number of threads dealing with a client connection.", "threads"),
+        statisticsFactory.createIntGauge("virtualThreadCarriers",
+            "Number of platform threads that carry the virtual threads dealing with client connections.",
+            "threads"),
+        statisticsFactory.createLongCounter("virtualThreadCarrierCpuTime",
+            "Total CPU time of the platform threads that carry virtual threads. Its rate divided by virtualThreadCarriers is the utilization of the carriers.",
+            "nanoseconds"),
+        statisticsFactory.createLongCounter("pinnedVirtualThreads",
+            "Total number of times a virtual thread stayed pinned to its carrier thread, so that the carrier could not run other virtual threads.",
+            "operations"),
+        statisticsFactory.createLongCounter("pinnedVirtualThreadTime",
+            "Total time virtual threads stayed pinned to their carrier threads.", "nanoseconds"),
         statisticsFactory.createDoubleGauge("connectionLoad",
             "The load from client to server connections as reported by the load probe installed in this server",
             "load"),
@@ -595,6 +612,10 @@ public class CacheServerStats implements MessageStats {
     acceptThreadStartsId = this.stats.nameToId("acceptThreadStarts");
     connectionThreadStartsId = this.stats.nameToId("connectionThreadStarts");
     connectionThreadsId = this.stats.nameToId("connectionThreads");
+    virtualThreadCarriersId = this.stats.nameToId("virtualThreadCarriers");
+    virtualThreadCarrierCpuTimeId = this.stats.nameToId("virtualThreadCarrierCpuTime");
+    pinnedVirtualThreadsId = this.stats.nameToId("pinnedVirtualThreads");
+    pinnedVirtualThreadTimeId = this.stats.nameToId("pinnedVirtualThreadTime");
 
     connectionLoadId = this.stats.nameToId("connectionLoad");
     queueLoadId = this.stats.nameToId("queueLoad");
@@ -626,6 +647,19 @@ public class CacheServerStats implements MessageStats {
     this.stats.incInt(connectionThreadsId, -1);
   }
 
+  public void setVirtualThreadCarriers(int carriers) {
+    this.stats.setInt(virtualThreadCarriersId, carriers);
+  }
+
+  public void setVirtualThreadCarrierCpuTimeSupplier(LongSupplier supplier) {
+    this.stats.setLongSupplier(virtualThreadCarrierCpuTimeId, supplier);
+  }
+
+  public void incPinnedVirtualThreads(long pinnedTime) {
+    this.stats.incLong(pinnedVirtualThreadsId, 1);
+    this.stats.incLong(pinnedVirtualThreadTimeId, pinnedTime);
+  }
+
   public void incAbandonedWriteRequests() {
     this.stats.incInt(abandonedWriteRequestsId, 1);
   }
@@ -460,6 +460,21 @@ public class Message {
     return this.numberOfParts;
   }
 
+  /**
+   * Returns the number of bytes that sending this message from a client writes to its socket,
+   * including the header and the secure part.
+   */
+  public long getSendLength() {
+    long length = FIXED_LENGTH;
+    for (int i = 0; i < this.numberOfParts; i++) {
+      length += PART_HEADER_SIZE + this.partsList[i].getLength();
+    }
+    if (this.securePart != null) {
+      length += PART_HEADER_SIZE + this.securePart.getLength();
+    }
+    return length;
+  }
+
   public int getTransactionId() {
     return this.transactionId;
   }
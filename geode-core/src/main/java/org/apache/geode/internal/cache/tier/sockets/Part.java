@@ -394,9 +394,9 @@ public class Part {
             if (buf.remaining() == 0) {
               HeapDataOutputStream.flushStream(out, buf);
             }
-            buf.put(AddressableMemoryManager.readByte(addr));
-            addr++;
-            bytesToSend--;
+            int bytesCopied = copyOffHeapToBuffer(addr, bytesToSend, buf);
+            addr += bytesCopied;
+            bytesToSend -= bytesCopied;
           }
         }
       } else {
@@ -422,12 +422,7 @@ public class Part {
           buf.put(bb);
         } else {
           int bytesToSend = c.getDataSize();
-          long addr = c.getAddressForReadingData(0, bytesToSend);
-          while (bytesToSend > 0) {
-            buf.put(AddressableMemoryManager.readByte(addr));
-            addr++;
-            bytesToSend--;
-          }
+          copyOffHeapToBuffer(c.getAddressForReadingData(0, bytesToSend), bytesToSend, buf);
         }
       } else {
         HeapDataOutputStream hdos = (HeapDataOutputStream) this.part;
@@ -478,16 +473,9 @@ public class Part {
           long addr = c.getAddressForReadingData(0, len);
           buf.clear();
           while (len > 0) {
-            int bytesThisTime = len;
-            if (bytesThisTime > BUF_MAX) {
-              bytesThisTime = BUF_MAX;
-            }
-            len -= bytesThisTime;
-            while (bytesThisTime > 0) {
-              buf.put(AddressableMemoryManager.readByte(addr));
-              addr++;
-              bytesThisTime--;
-            }
+            int bytesCopied = copyOffHeapToBuffer(addr, len, buf);
+            addr += bytesCopied;
+            len -= bytesCopied;
             buf.flip();
             while (buf.remaining() > 0) {
               sc.write(buf);
@@ -503,6 +491,36 @@ public class Part {
     }
   }
 
+  /**
+   * Copies off-heap memory into buf with a single bulk copy instead of reading it a byte at a time.
+   * This is used when a direct ByteBuffer can not be created over the off-heap memory itself. The
+   * caller must keep the off-heap object retained until the copy is done.
+   *
+   * @param addr the address of the first off-heap byte to copy
+   * @param size the number of bytes left to copy
+   * @return the number of bytes copied, which is limited by the space remaining in buf
+   */
+  static int copyOffHeapToBuffer(long addr, int size, ByteBuffer buf) {
+    final int bytesThisTime = Math.min(size, buf.remaining());
+    if (bytesThisTime <= 0) {
+      return 0;
+    }
+    final int position = buf.position();
+    final long bufAddress = AddressableMemoryManager.getDirectByteBufferAddress(buf);
+    if (bufAddress != 0L) {
+      AddressableMemoryManager.copyMemory(addr, bufAddress + position, bytesThisTime);
+    } else if (buf.hasArray()) {
+      AddressableMemoryManager.readBytes(addr, buf.array(), buf.arrayOffset() + position,
+          bytesThisTime);
+    } else {
+      for (int i = 0; i < bytesThisTime; i++) {
+        buf.put(position + i, AddressableMemoryManager.readByte(addr + i));
+      }
+    }
+    buf.position(position + bytesThisTime);
+    return bytesThisTime;
+  }
+
   private static String typeCodeToString(byte c) {
     switch (c) {
       case BYTE_CODE:
@@ -65,6 +65,7 @@ import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.cache.tier.ServerSideHandshake;
 import org.apache.geode.internal.cache.tier.sockets.command.Default;
 import org.apache.geode.internal.logging.InternalLogWriter;
+import org.apache.geode.internal.net.NioSslSocket;
 import org.apache.geode.internal.security.AuthorizeRequest;
 import org.apache.geode.internal.security.AuthorizeRequestPP;
 import org.apache.geode.internal.security.SecurityService;
@@ -1179,6 +1180,10 @@ public abstract class ServerConnection implements Runnable {
         if (!isTerminated()) {
           getAcceptor().setTLCommBuffer();
           doOneMessage();
+          while (processMessages && !crHelper.isShutdown() && hasBufferedInput()) {
+            unsetRequestSpecificTimeout();
+            doOneMessage();
+          }
           if (processMessages && !crHelper.isShutdown()) {
             // finished message so reregister
             registerWithSelector();
@@ -1239,9 +1244,20 @@ public abstract class ServerConnection implements Runnable {
   }
 
   SelectableChannel getSelectableChannel() {
+    if (theSocket instanceof NioSslSocket) {
+      return ((NioSslSocket) theSocket).getSocketChannel();
+    }
     return theSocket.getChannel();
   }
 
+  /**
+   * Returns true if input from the client has been read off the socket that a selector can no
+   * longer see, because it was read and decrypted along with an earlier message.
+   */
+  private boolean hasBufferedInput() throws IOException {
+    return theSocket instanceof NioSslSocket && ((NioSslSocket) theSocket).hasBufferedInput();
+  }
+
   void registerWithSelector2(Selector s) throws ClosedChannelException {
     getSelectableChannel().register(s, SelectionKey.OP_READ, this);
   }
@@ -1250,7 +1266,7 @@ public abstract class ServerConnection implements Runnable {
    * Switch this connection to blocking mode so we can use oldIO to read and write messages.
    */
   void makeBlocking() throws IOException {
-    SelectableChannel c = theSocket.getChannel();
+    SelectableChannel c = getSelectableChannel();
     c.configureBlocking(true);
   }
 
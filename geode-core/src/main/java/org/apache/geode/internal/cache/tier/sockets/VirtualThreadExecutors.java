@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.geode.logging.internal.executors.LoggingThreadFactory.CommandWrapper;
+
+/**
+ * Creates executors that run each task on a new virtual thread. Geode is built for JVMs that do
+ * not have virtual threads, so they are looked up by reflection and the executors are only
+ * available when the JVM running Geode has them.
+ *
+ * @since Geode 1.12
+ */
+class VirtualThreadExecutors {
+
+  private VirtualThreadExecutors() {
+    // no instances
+  }
+
+  /**
+   * Returns true if the JVM can run tasks on virtual threads.
+   */
+  static boolean isSupported() {
+    return newVirtualThreadFactory("VirtualThreadExecutors test ") != null;
+  }
+
+  /**
+   * Creates an executor that runs each task on a new virtual thread.
+   *
+   * @param threadName the prefix of the names of the virtual threads
+   * @param commandWrapper wraps each task that the executor runs
+   * @return the executor, or null if the JVM has no virtual threads
+   */
+  static ExecutorService newVirtualThreadPerTaskExecutor(String threadName,
+      CommandWrapper commandWrapper) {
+    ThreadFactory virtualThreadFactory = newVirtualThreadFactory(threadName);
+    if (virtualThreadFactory == null) {
+      return null;
+    }
+    ThreadFactory threadFactory =
+        command -> virtualThreadFactory.newThread(() -> commandWrapper.invoke(command));
+    try {
+      return (ExecutorService) Executors.class
+          .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+          .invoke(null, threadFactory);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static ThreadFactory newVirtualThreadFactory(String threadName) {
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderClass.getMethod("name", String.class, long.class)
+          .invoke(builder, threadName, 1L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.apache.geode.util.internal.GeodeGlossary.GEMFIRE_PREFIX;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * Records in {@link CacheServerStats} how the virtual threads of a cache server use the platform
+ * threads that carry them: the CPU time of the carrier threads, and how often and how long a
+ * virtual thread stays pinned to its carrier, for example while it blocks in a synchronized block,
+ * so that the carrier cannot run other virtual threads.
+ * <p>
+ * Pinned virtual threads are found with a JFR event stream, which the JVM may not have; they are
+ * not recorded then.
+ *
+ * @since Geode 1.12
+ */
+class VirtualThreadMonitor implements AutoCloseable {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * The name of a system property that sets how long a virtual thread must stay pinned to its
+   * carrier, in milliseconds, to be recorded.
+   */
+  static final String PINNED_THRESHOLD_PROPERTY_NAME =
+      GEMFIRE_PREFIX + "CacheServer.VIRTUAL_THREAD_PINNED_THRESHOLD";
+
+  private static final long PINNED_THRESHOLD_MS = Long.getLong(PINNED_THRESHOLD_PROPERTY_NAME, 20);
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private static final String CARRIER_THREAD_CLASS = "jdk.internal.misc.CarrierThread";
+
+  /** How often to look for carrier threads that the scheduler started since the last look. */
+  private static final long CARRIER_REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+  private final CacheServerStats stats;
+  private final ThreadMXBean threadMXBean;
+  private final Supplier<Collection<Thread>> carrierThreads;
+  private final LongSupplier nanoTime;
+
+  /** The last CPU time of each live carrier thread, by thread id. */
+  private final Map<Long, Long> carrierCpuTimes = new HashMap<>();
+  /** The CPU time of the carrier threads that have terminated. */
+  private long terminatedCarrierCpuTime;
+  private long nextCarrierRefresh;
+
+  private AutoCloseable pinnedEventStream;
+
+  VirtualThreadMonitor(CacheServerStats stats) {
+    this(stats, ManagementFactory.getThreadMXBean(), VirtualThreadMonitor::findCarrierThreads,
+        System::nanoTime);
+  }
+
+  VirtualThreadMonitor(CacheServerStats stats, ThreadMXBean threadMXBean,
+      Supplier<Collection<Thread>> carrierThreads, LongSupplier nanoTime) {
+    this.stats = stats;
+    this.threadMXBean = threadMXBean;
+    this.carrierThreads = carrierThreads;
+    this.nanoTime = nanoTime;
+    nextCarrierRefresh = nanoTime.getAsLong();
+  }
+
+  /**
+   * Starts recording the carrier threads and the pinned virtual threads.
+   */
+  void start() {
+    stats.setVirtualThreadCarriers(Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+        Runtime.getRuntime().availableProcessors()));
+    if (threadMXBean.isThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled()) {
+      stats.setVirtualThreadCarrierCpuTimeSupplier(this::getCarrierCpuTime);
+    }
+    pinnedEventStream = startPinnedEventStream();
+  }
+
+  @Override
+  public void close() {
+    if (pinnedEventStream != null) {
+      try {
+        pinnedEventStream.close();
+      } catch (Exception e) {
+        logger.debug("Unable to close the event stream of pinned virtual threads", e);
+      }
+      pinnedEventStream = null;
+    }
+  }
+
+  /**
+   * Returns the total CPU time, in nanoseconds, of the threads that have carried virtual threads.
+   */
+  synchronized long getCarrierCpuTime() {
+    long now = nanoTime.getAsLong();
+    if (now - nextCarrierRefresh >= 0) {
+      nextCarrierRefresh = now + CARRIER_REFRESH_INTERVAL;
+      for (Thread thread : carrierThreads.get()) {
+        carrierCpuTimes.putIfAbsent(thread.getId(), 0L);
+      }
+    }
+    long cpuTime = 0;
+    for (Iterator<Map.Entry<Long, Long>> iterator = carrierCpuTimes.entrySet().iterator(); iterator
+        .hasNext();) {
+      Map.Entry<Long, Long> entry = iterator.next();
+      long threadCpuTime = threadMXBean.getThreadCpuTime(entry.getKey());
+      if (threadCpuTime < 0) {
+        // the carrier has terminated, so its last CPU time is all it will ever have
+        terminatedCarrierCpuTime += entry.getValue();
+        iterator.remove();
+      } else {
+        entry.setValue(threadCpuTime);
+        cpuTime += threadCpuTime;
+      }
+    }
+    return terminatedCarrierCpuTime + cpuTime;
+  }
+
+  void pinned(Duration duration) {
+    stats.incPinnedVirtualThreads(duration.toNanos());
+  }
+
+  private AutoCloseable startPinnedEventStream() {
+    try {
+      Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+      Class<?> settingsClass = Class.forName("jdk.jfr.EventSettings");
+      Method getDuration = Class.forName("jdk.jfr.consumer.RecordedEvent").getMethod("getDuration");
+      Object stream = streamClass.getConstructor().newInstance();
+      try {
+        Object settings =
+            streamClass.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+        settingsClass.getMethod("withThreshold", Duration.class)
+            .invoke(settings, Duration.ofMillis(PINNED_THRESHOLD_MS));
+        settingsClass.getMethod("withoutStackTrace").invoke(settings);
+        Consumer<Object> handler = event -> {
+          try {
+            pinned((Duration) getDuration.invoke(event));
+          } catch (ReflectiveOperationException e) {
+            logger.debug("Unable to read the duration of a pinned virtual thread", e);
+          }
+        };
+        streamClass.getMethod("onEvent", String.class, Consumer.class)
+            .invoke(stream, PINNED_EVENT, handler);
+        streamClass.getMethod("startAsync").invoke(stream);
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        ((AutoCloseable) stream).close();
+        throw e;
+      }
+      return (AutoCloseable) stream;
+    } catch (Exception e) {
+      logger.info("Pinned virtual threads are not recorded because JFR event streaming is "
+          + "not available: {}", e.toString());
+      return null;
+    }
+  }
+
+  private static Collection<Thread> findCarrierThreads() {
+    return Thread.getAllStackTraces().keySet().stream()
+        .filter(thread -> CARRIER_THREAD_CLASS.equals(thread.getClass().getName()))
+        .collect(Collectors.toList());
+  }
+}
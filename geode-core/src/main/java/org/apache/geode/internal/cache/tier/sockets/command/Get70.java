@@ -212,6 +212,8 @@ public class Get70 extends BaseCommand {
             serverConnection);
       }
     } finally {
+      // the response parts write an off-heap value straight from its off-heap memory so it must
+      // stay retained until the response has been sent
       OffHeapHelper.release(originalData);
     }
 
@@ -45,6 +45,20 @@ public class CompactVersionHolder<T extends VersionSource> implements VersionHol
     this.memberID = tag.getMemberID();
   }
 
+  /**
+   * Creates a holder from the values of another one that were stored separately.
+   */
+  public CompactVersionHolder(T memberID, int entryVersion, long regionVersion,
+      long versionTimeStamp, int distributedSystemId) {
+    this.entryVersionLowBytes = (short) (entryVersion & 0xffff);
+    this.entryVersionHighByte = (byte) ((entryVersion & 0xff0000) >> 16);
+    this.regionVersionHighBytes = (short) (regionVersion >> 32);
+    this.regionVersionLowBytes = (int) regionVersion;
+    this.versionTimeStamp = versionTimeStamp;
+    this.distributedSystemId = (byte) (distributedSystemId & 0xff);
+    this.memberID = memberID;
+  }
+
 
 
   @Override
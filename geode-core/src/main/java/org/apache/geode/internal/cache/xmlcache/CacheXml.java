@@ -671,6 +671,8 @@ public abstract class CacheXml implements EntityResolver2, ErrorHandler {
   protected static final String LRU_MEMORY_SIZE = "lru-memory-size";
   /** Eviction Controller eviction based on used heap */
   protected static final String LRU_HEAP_PERCENTAGE = "lru-heap-percentage";
+  /** Eviction Controller eviction on a per Entry basis with a TinyLFU admission filter */
+  protected static final String TINY_LFU_ENTRY_COUNT = "tiny-lfu-entry-count";
   /** Eviction Controller maximum allowed value for the enclosing Eviction Controller */
   protected static final String MAXIMUM = "maximum";
 
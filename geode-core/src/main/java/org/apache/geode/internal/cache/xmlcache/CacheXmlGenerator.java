@@ -2188,6 +2188,16 @@ public class CacheXmlGenerator extends CacheXml implements XMLReader {
       atts.addAttribute("", "", MAXIMUM, "", String.valueOf(ea.getMaximum()));
       handler.startElement("", LRU_ENTRY_COUNT, LRU_ENTRY_COUNT, atts);
       handler.endElement("", LRU_ENTRY_COUNT, LRU_ENTRY_COUNT);
+    } else if (ea.getAlgorithm() == EvictionAlgorithm.TINY_LFU_ENTRY) {
+      atts.addAttribute("", "", MAXIMUM, "", String.valueOf(ea.getMaximum()));
+      if (version.compareTo(CacheXmlVersion.GEODE_1_0) >= 0) {
+        handler.startElement("", TINY_LFU_ENTRY_COUNT, TINY_LFU_ENTRY_COUNT, atts);
+        handler.endElement("", TINY_LFU_ENTRY_COUNT, TINY_LFU_ENTRY_COUNT);
+      } else {
+        // older schemas only know entry LRU, which evicts on the same maximum
+        handler.startElement("", LRU_ENTRY_COUNT, LRU_ENTRY_COUNT, atts);
+        handler.endElement("", LRU_ENTRY_COUNT, LRU_ENTRY_COUNT);
+      }
     } else if (ea.getAlgorithm() == EvictionAlgorithm.LRU_MEMORY) {
       atts.addAttribute("", "", MAXIMUM, "", String.valueOf(ea.getMaximum()));
       handler.startElement("", LRU_MEMORY_SIZE, LRU_MEMORY_SIZE, atts);
@@ -2127,6 +2127,26 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
     regAttrs.setEvictionAttributes(EvictionAttributes.createLRUEntryAttributes(max, action));
   }
 
+  /**
+   * Create a <code>tiny-lfu-entry-count</code> eviction controller, assigning it to the enclosed
+   * <code>region-attributes</code>. Allow any combination of attributes to be provided. Use the
+   * default values for any attribute that is not provided.
+   */
+  private void startTinyLFUEntryCount(Attributes atts) {
+    final String maximum = atts.getValue(MAXIMUM);
+    int max = EvictionAttributes.DEFAULT_ENTRIES_MAXIMUM;
+    if (maximum != null) {
+      max = parseInt(maximum);
+    }
+    final String lruAction = atts.getValue(ACTION);
+    EvictionAction action = EvictionAction.DEFAULT_EVICTION_ACTION;
+    if (lruAction != null) {
+      action = EvictionAction.parseAction(lruAction);
+    }
+    RegionAttributesCreation regAttrs = peekRegionAttributesContext(TINY_LFU_ENTRY_COUNT);
+    regAttrs.setEvictionAttributes(EvictionAttributes.createTinyLFUEntryAttributes(max, action));
+  }
+
   /**
    * Start the configuration of a <code>lru-memory-size</code> eviction controller. Allow for any of
    * the attributes to be missing. Store the attributes on the stack anticipating the declaration of
@@ -2716,6 +2736,8 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
     } else if (qName.equals(EVICTION_ATTRIBUTES)) {
     } else if (qName.equals(LRU_ENTRY_COUNT)) {
       startLRUEntryCount(atts); // internal to eviction-attributes
+    } else if (qName.equals(TINY_LFU_ENTRY_COUNT)) {
+      startTinyLFUEntryCount(atts); // internal to eviction-attributes
     } else if (qName.equals(LRU_MEMORY_SIZE)) {
       // internal to eviction-attributes
       // Visit endLRUMemorySize() to know the completion
@@ -3016,6 +3038,8 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
       } else if (qName.equals(EVICTION_ATTRIBUTES)) {
       } else if (qName.equals(LRU_ENTRY_COUNT)) {
         // internal to eviction-attributes
+      } else if (qName.equals(TINY_LFU_ENTRY_COUNT)) {
+        // internal to eviction-attributes
       } else if (qName.equals(LRU_MEMORY_SIZE)) {
         endLRUMemorySize(); // internal to eviction-attributes
       } else if (qName.equals(LRU_HEAP_PERCENTAGE)) {
@@ -56,6 +56,15 @@ public class SystemPropertyHelper {
    */
   public static final String EVICTION_SCAN_THRESHOLD_PERCENT = "EvictionScanThresholdPercent";
 
+  /**
+   * When set to "true" LRU eviction uses the CLOCK algorithm instead of a sorted LRU list (defaults
+   * to false). Takes precedence over {@link #EVICTION_SCAN_ASYNC}. For more details see
+   * {@link org.apache.geode.internal.cache.eviction.ClockEvictionList}.
+   *
+   * @since Geode 1.12
+   */
+  public static final String EVICTION_CLOCK = "EvictionClock";
+
   public static final String EVICTION_SEARCH_MAX_ENTRIES = "lru.maxSearchEntries";
 
   public static final String EARLY_ENTRY_EVENT_SERIALIZATION = "earlyEntryEventSerialization";
@@ -81,6 +90,15 @@ public class SystemPropertyHelper {
    */
   public static final String PACKAGES_TO_SCAN = "packagesToScan";
 
+  /**
+   * When set to "true" regions whose key constraint is Long or Integer keep their entries directly
+   * in an open-addressing table hashed on the primitive key value (defaults to false). For more
+   * details see {@link org.apache.geode.internal.util.concurrent.PrimitiveKeyConcurrentHashMap}.
+   *
+   * @since Geode 1.12
+   */
+  public static final String PRIMITIVE_KEY_REGION_MAP = "PrimitiveKeyRegionMap";
+
   /**
    * This method will try to look up "geode." and "gemfire." versions of the system property. It
    * will check and prefer "geode." setting first, then try to check "gemfire." setting.
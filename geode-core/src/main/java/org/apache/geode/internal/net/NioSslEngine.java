@@ -369,28 +369,7 @@ public class NioSslEngine implements NioFilter {
       return;
     }
     try {
-
-      if (!engine.isOutboundDone()) {
-        ByteBuffer empty = ByteBuffer.wrap(new byte[0]);
-        engine.closeOutbound();
-
-        // clear the buffer to receive a CLOSE message from the SSLEngine
-        myNetData.clear();
-
-        // Get close message
-        SSLEngineResult result = engine.wrap(empty, myNetData);
-
-        if (result.getStatus() != SSLEngineResult.Status.CLOSED) {
-          throw new SSLHandshakeException(
-              "Error closing SSL session.  Status=" + result.getStatus());
-        }
-
-        // Send close message to peer
-        myNetData.flip();
-        while (myNetData.hasRemaining()) {
-          socketChannel.write(myNetData);
-        }
-      }
+      writeCloseMessage(socketChannel);
     } catch (ClosedChannelException e) {
       // we can't send a close message if the channel is closed
     } catch (IOException e) {
@@ -402,6 +381,53 @@ public class NioSslEngine implements NioFilter {
     }
   }
 
+  /**
+   * Closes the outbound side of the engine and sends the close message to the peer. Unlike
+   * {@link #close(SocketChannel)} this does not release the buffers of the engine, so data from the
+   * peer can still be unwrapped.
+   */
+  public synchronized void closeOutbound(SocketChannel socketChannel) throws IOException {
+    checkClosed();
+    writeCloseMessage(socketChannel);
+  }
+
+  /**
+   * Closes the inbound side of the engine without waiting for the close message of the peer.
+   */
+  public synchronized void closeInbound() {
+    checkClosed();
+    try {
+      engine.closeInbound();
+    } catch (SSLException e) {
+      // the peer has not sent its close message, which is expected when the caller stops reading
+      logger.debug("Closed the inbound side of the SSL session before the peer closed it", e);
+    }
+  }
+
+  private void writeCloseMessage(SocketChannel socketChannel) throws IOException {
+    if (!engine.isOutboundDone()) {
+      ByteBuffer empty = ByteBuffer.wrap(new byte[0]);
+      engine.closeOutbound();
+
+      // clear the buffer to receive a CLOSE message from the SSLEngine
+      myNetData.clear();
+
+      // Get close message
+      SSLEngineResult result = engine.wrap(empty, myNetData);
+
+      if (result.getStatus() != SSLEngineResult.Status.CLOSED) {
+        throw new SSLHandshakeException(
+            "Error closing SSL session.  Status=" + result.getStatus());
+      }
+
+      // Send close message to peer
+      myNetData.flip();
+      while (myNetData.hasRemaining()) {
+        socketChannel.write(myNetData);
+      }
+    }
+  }
+
   private int expandedCapacity(ByteBuffer sourceBuffer, ByteBuffer targetBuffer) {
     return Math.max(targetBuffer.position() + sourceBuffer.remaining() * 2,
         targetBuffer.capacity() * 2);
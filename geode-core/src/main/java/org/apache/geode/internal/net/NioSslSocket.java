@@ -0,0 +1,598 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketImpl;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * A socket whose streams encrypt and decrypt with an {@link NioSslEngine} what they write to and
+ * read from a {@link SocketChannel}. Code that reads and writes through the streams of a socket
+ * can use an SSL connection this way while the channel can still be registered with a selector,
+ * which an {@link javax.net.ssl.SSLSocket} does not allow.
+ * <p>
+ * Like an SSLSocket, this socket has no {@linkplain #getChannel() channel}, so that nothing reads
+ * or writes the channel without the engine. {@link #getSocketChannel()} returns the channel to
+ * register with a selector. A selector does not see input that was already read off the channel
+ * and decrypted, so {@link #hasBufferedInput()} must be checked before the channel is
+ * registered.
+ * <p>
+ * The channel must be in blocking mode, and not registered with a selector, while the streams are
+ * used. When a read timeout is set, a read waits for data with a selector of its own, like the
+ * socket of a SocketChannel does, and switches the channel to non-blocking mode while it waits.
+ */
+public class NioSslSocket extends Socket {
+  private static final Logger logger = LogService.getLogger();
+
+  private final SocketChannel channel;
+  private final Socket socket;
+  private final NioSslEngine engine;
+  private final BufferPool bufferPool;
+
+  private final Object readLock = new Object();
+  private final Object writeLock = new Object();
+
+  /** Data read off the channel that has not been decrypted yet, ready for writing. */
+  private final ByteBuffer peerNetData;
+
+  /** Decrypted data that has not been read yet, ready for reading. */
+  private ByteBuffer peerAppData;
+
+  private final InputStream inputStream = new SslInputStream();
+  private final OutputStream outputStream = new SslOutputStream();
+
+  private boolean closed;
+
+  /** Whether peerNetData has been released to the buffer pool. Guarded by readLock. */
+  private boolean released;
+
+  /** The selector that reads with a timeout wait with. Created under readLock. */
+  private volatile Selector readSelector;
+
+  /** The selector that writes wait with when the channel is full. Created under writeLock. */
+  private volatile Selector writeSelector;
+
+  /**
+   * The number of reads and writes waiting with a selector. The channel is in non-blocking mode
+   * while this is positive. Guarded by the blocking lock of the channel.
+   */
+  private int selectorWaits;
+
+  /** Whether the channel was in blocking mode before the first waiting read or write. */
+  private boolean restoreBlocking;
+
+  /**
+   * Create a new instance of the NioSslSocket.
+   *
+   * @param channel the channel of the connection
+   * @param engine the engine that completed the SSL handshake on the channel
+   * @param peerNetData the buffer the handshake read from the channel with, which holds any data
+   *        the peer sent after the handshake. It is released to the buffer pool when the socket
+   *        is closed.
+   * @param bufferPool the pool that peerNetData was taken from
+   */
+  public NioSslSocket(SocketChannel channel, NioSslEngine engine, ByteBuffer peerNetData,
+      BufferPool bufferPool) throws SocketException {
+    super((SocketImpl) null);
+    this.channel = channel;
+    this.socket = channel.socket();
+    this.engine = engine;
+    this.peerNetData = peerNetData;
+    this.bufferPool = bufferPool;
+    peerAppData = engine.getUnwrappedBuffer(peerNetData);
+    peerAppData.flip();
+  }
+
+  /**
+   * Returns the channel of the connection, for registering it with a selector.
+   */
+  public SocketChannel getSocketChannel() {
+    return channel;
+  }
+
+  /**
+   * Returns true if data has been read off the channel that a read from the input stream returns
+   * without reading the channel.
+   */
+  public boolean hasBufferedInput() throws IOException {
+    synchronized (readLock) {
+      if (released) {
+        return false;
+      }
+      if (!peerAppData.hasRemaining() && peerNetData.position() > 0) {
+        unwrap();
+      }
+      return peerAppData.hasRemaining();
+    }
+  }
+
+  /**
+   * Decrypts the complete SSL records in {@link #peerNetData}.
+   */
+  private void unwrap() throws IOException {
+    peerNetData.flip();
+    peerAppData.compact();
+    peerAppData = engine.unwrap(peerNetData);
+    peerAppData.flip();
+  }
+
+  private int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    synchronized (readLock) {
+      if (released) {
+        throw new SocketException("Socket is closed");
+      }
+      if (isInputShutdown()) {
+        return -1;
+      }
+      while (!peerAppData.hasRemaining()) {
+        if (peerNetData.position() > 0) {
+          unwrap();
+          if (peerAppData.hasRemaining()) {
+            break;
+          }
+        }
+        if (readChannel() < 0) {
+          return -1;
+        }
+      }
+      int count = Math.min(length, peerAppData.remaining());
+      peerAppData.get(bytes, offset, count);
+      return count;
+    }
+  }
+
+  /**
+   * Reads from the channel into {@link #peerNetData}. Throws SocketTimeoutException if no data
+   * arrives within the read timeout of the socket.
+   */
+  private int readChannel() throws IOException {
+    int timeout = socket.getSoTimeout();
+    if (timeout == 0 && channel.isBlocking()) {
+      return channel.read(peerNetData);
+    }
+    if (readSelector == null) {
+      readSelector = Selector.open();
+    }
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+    SelectionKey key = beginSelectorWait(readSelector, SelectionKey.OP_READ);
+    try {
+      while (true) {
+        int count = channel.read(peerNetData);
+        if (count != 0) {
+          return count;
+        }
+        long waitMillis = 0;
+        if (timeout > 0) {
+          waitMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+          if (waitMillis <= 0) {
+            throw new SocketTimeoutException("Read timed out");
+          }
+        }
+        readSelector.select(waitMillis);
+        readSelector.selectedKeys().clear();
+      }
+    } finally {
+      endSelectorWait(readSelector, key);
+    }
+  }
+
+  private void write(byte[] bytes, int offset, int length) throws IOException {
+    synchronized (writeLock) {
+      if (isOutputShutdown()) {
+        throw new SocketException("Socket output is shutdown");
+      }
+      ByteBuffer wrapped = engine.wrap(ByteBuffer.wrap(bytes, offset, length));
+      while (wrapped.hasRemaining()) {
+        if (channel.write(wrapped) == 0) {
+          // a timed read has put the channel in non-blocking mode
+          waitUntilWritable();
+        }
+      }
+    }
+  }
+
+  private void waitUntilWritable() throws IOException {
+    if (writeSelector == null) {
+      writeSelector = Selector.open();
+    }
+    SelectionKey key = beginSelectorWait(writeSelector, SelectionKey.OP_WRITE);
+    try {
+      writeSelector.select();
+      writeSelector.selectedKeys().clear();
+    } finally {
+      endSelectorWait(writeSelector, key);
+    }
+  }
+
+  /**
+   * Puts the channel in non-blocking mode, unless another read or write is already waiting, and
+   * registers it with the given selector.
+   */
+  private SelectionKey beginSelectorWait(Selector selector, int ops) throws IOException {
+    synchronized (channel.blockingLock()) {
+      if (selectorWaits++ == 0) {
+        restoreBlocking = channel.isBlocking();
+        if (restoreBlocking) {
+          channel.configureBlocking(false);
+        }
+      }
+      try {
+        return channel.register(selector, ops);
+      } catch (IOException | RuntimeException e) {
+        endSelectorWait(selector, null);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Deregisters the channel from the given selector, and puts it back in blocking mode when no
+   * other read or write is waiting.
+   */
+  private void endSelectorWait(Selector selector, SelectionKey key) throws IOException {
+    synchronized (channel.blockingLock()) {
+      try {
+        if (key != null) {
+          key.cancel();
+          // deregisters the channel, which must be done before it can be made blocking again
+          selector.selectNow();
+        }
+      } finally {
+        if (--selectorWaits == 0 && restoreBlocking && channel.isOpen()) {
+          channel.configureBlocking(true);
+        }
+      }
+    }
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    if (isClosed()) {
+      throw new SocketException("Socket is closed");
+    }
+    return inputStream;
+  }
+
+  @Override
+  public OutputStream getOutputStream() throws IOException {
+    if (isClosed()) {
+      throw new SocketException("Socket is closed");
+    }
+    return outputStream;
+  }
+
+  /**
+   * Returns null, like an SSLSocket does, because reading or writing the channel directly would
+   * bypass the SSL engine. Use {@link #getSocketChannel()} to register the channel with a
+   * selector.
+   */
+  @Override
+  public SocketChannel getChannel() {
+    return null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+    try {
+      engine.close(channel);
+    } catch (RuntimeException e) {
+      logger.debug("Unable to close the SSL session of {}", socket, e);
+    } finally {
+      try {
+        channel.close();
+      } finally {
+        // wake up any read or write waiting with a selector; it then finds the channel closed
+        wakeup(readSelector);
+        wakeup(writeSelector);
+        synchronized (readLock) {
+          closeSelector(readSelector);
+          // no read can be using the buffer while the lock is held, and none uses it afterwards
+          released = true;
+          bufferPool.releaseReceiveBuffer(peerNetData);
+        }
+        synchronized (writeLock) {
+          closeSelector(writeSelector);
+        }
+      }
+    }
+  }
+
+  private void wakeup(Selector selector) {
+    if (selector != null) {
+      selector.wakeup();
+    }
+  }
+
+  private void closeSelector(Selector selector) {
+    if (selector != null) {
+      try {
+        selector.close();
+      } catch (IOException e) {
+        logger.debug("Unable to close a selector of {}", socket, e);
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean isClosed() {
+    return closed || socket.isClosed();
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint) throws IOException {
+    throw new SocketException("Already connected");
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint, int timeout) throws IOException {
+    throw new SocketException("Already connected");
+  }
+
+  @Override
+  public void bind(SocketAddress bindpoint) throws IOException {
+    throw new SocketException("Already bound");
+  }
+
+  @Override
+  public InetAddress getInetAddress() {
+    return socket.getInetAddress();
+  }
+
+  @Override
+  public InetAddress getLocalAddress() {
+    return socket.getLocalAddress();
+  }
+
+  @Override
+  public int getPort() {
+    return socket.getPort();
+  }
+
+  @Override
+  public int getLocalPort() {
+    return socket.getLocalPort();
+  }
+
+  @Override
+  public SocketAddress getRemoteSocketAddress() {
+    return socket.getRemoteSocketAddress();
+  }
+
+  @Override
+  public SocketAddress getLocalSocketAddress() {
+    return socket.getLocalSocketAddress();
+  }
+
+  @Override
+  public void setTcpNoDelay(boolean on) throws SocketException {
+    socket.setTcpNoDelay(on);
+  }
+
+  @Override
+  public boolean getTcpNoDelay() throws SocketException {
+    return socket.getTcpNoDelay();
+  }
+
+  @Override
+  public void setSoLinger(boolean on, int linger) throws SocketException {
+    socket.setSoLinger(on, linger);
+  }
+
+  @Override
+  public int getSoLinger() throws SocketException {
+    return socket.getSoLinger();
+  }
+
+  @Override
+  public void sendUrgentData(int data) throws IOException {
+    throw new SocketException("Urgent data is not supported by SSL connections");
+  }
+
+  @Override
+  public void setOOBInline(boolean on) throws SocketException {
+    socket.setOOBInline(on);
+  }
+
+  @Override
+  public boolean getOOBInline() throws SocketException {
+    return socket.getOOBInline();
+  }
+
+  @Override
+  public void setSoTimeout(int timeout) throws SocketException {
+    socket.setSoTimeout(timeout);
+  }
+
+  @Override
+  public int getSoTimeout() throws SocketException {
+    return socket.getSoTimeout();
+  }
+
+  @Override
+  public void setSendBufferSize(int size) throws SocketException {
+    socket.setSendBufferSize(size);
+  }
+
+  @Override
+  public int getSendBufferSize() throws SocketException {
+    return socket.getSendBufferSize();
+  }
+
+  @Override
+  public void setReceiveBufferSize(int size) throws SocketException {
+    socket.setReceiveBufferSize(size);
+  }
+
+  @Override
+  public int getReceiveBufferSize() throws SocketException {
+    return socket.getReceiveBufferSize();
+  }
+
+  @Override
+  public void setKeepAlive(boolean on) throws SocketException {
+    socket.setKeepAlive(on);
+  }
+
+  @Override
+  public boolean getKeepAlive() throws SocketException {
+    return socket.getKeepAlive();
+  }
+
+  @Override
+  public void setTrafficClass(int tc) throws SocketException {
+    socket.setTrafficClass(tc);
+  }
+
+  @Override
+  public int getTrafficClass() throws SocketException {
+    return socket.getTrafficClass();
+  }
+
+  @Override
+  public void setReuseAddress(boolean on) throws SocketException {
+    socket.setReuseAddress(on);
+  }
+
+  @Override
+  public boolean getReuseAddress() throws SocketException {
+    return socket.getReuseAddress();
+  }
+
+  /**
+   * Closes the inbound side of the SSL session and shuts down the input of the channel. Reads
+   * return end of stream afterwards, even if decrypted data has not been read yet.
+   */
+  @Override
+  public void shutdownInput() throws IOException {
+    if (isClosed()) {
+      throw new SocketException("Socket is closed");
+    }
+    engine.closeInbound();
+    // a read waiting for data on the channel returns end of stream
+    channel.shutdownInput();
+    wakeup(readSelector);
+  }
+
+  /**
+   * Sends the close message of the SSL session to the peer and shuts down the output of the
+   * channel.
+   */
+  @Override
+  public void shutdownOutput() throws IOException {
+    if (isClosed()) {
+      throw new SocketException("Socket is closed");
+    }
+    synchronized (writeLock) {
+      engine.closeOutbound(channel);
+      channel.shutdownOutput();
+    }
+  }
+
+  @Override
+  public boolean isConnected() {
+    return socket.isConnected();
+  }
+
+  @Override
+  public boolean isBound() {
+    return socket.isBound();
+  }
+
+  @Override
+  public boolean isInputShutdown() {
+    return socket.isInputShutdown();
+  }
+
+  @Override
+  public boolean isOutputShutdown() {
+    return socket.isOutputShutdown();
+  }
+
+  @Override
+  public String toString() {
+    return "NioSslSocket[" + socket + "]";
+  }
+
+  private class SslInputStream extends InputStream {
+    private final byte[] singleByte = new byte[1];
+
+    @Override
+    public int read() throws IOException {
+      synchronized (readLock) {
+        int count = read(singleByte, 0, 1);
+        return count < 0 ? -1 : singleByte[0] & 0xff;
+      }
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      return NioSslSocket.this.read(bytes, offset, length);
+    }
+
+    @Override
+    public int available() {
+      synchronized (readLock) {
+        return released ? 0 : peerAppData.remaining();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      NioSslSocket.this.close();
+    }
+  }
+
+  private class SslOutputStream extends OutputStream {
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      NioSslSocket.this.write(bytes, offset, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+      NioSslSocket.this.close();
+    }
+  }
+}
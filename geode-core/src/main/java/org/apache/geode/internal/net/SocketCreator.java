@@ -821,6 +821,34 @@ public class SocketCreator {
     return sslContext.createSSLEngine(hostName, port);
   }
 
+  /**
+   * Returns an SSLEngine for a connection accepted by a server socket channel, configured like
+   * the SSL server sockets of this SocketCreator.
+   */
+  public SSLEngine createServerSSLEngine(String hostName, int port) {
+    SSLEngine engine = sslContext.createSSLEngine(hostName, port);
+    engine.setUseClientMode(false);
+    engine.setEnableSessionCreation(true);
+
+    // restrict protocols
+    String[] protocols = this.sslConfig.getProtocolsAsStringArray();
+    if (!"any".equalsIgnoreCase(protocols[0])) {
+      engine.setEnabledProtocols(protocols);
+    }
+    // restrict ciphers
+    String[] ciphers = this.sslConfig.getCiphersAsStringArray();
+    if (!"any".equalsIgnoreCase(ciphers[0])) {
+      engine.setEnabledCipherSuites(ciphers);
+    }
+
+    SSLParameterExtension sslParameterExtension = this.sslConfig.getSSLParameterExtension();
+    if (sslParameterExtension != null) {
+      engine.setSSLParameters(
+          sslParameterExtension.modifySSLServerSocketParameters(engine.getSSLParameters()));
+    }
+    return engine;
+  }
+
   /**
    * @see <a
    *      href=https://docs.oracle.com/javase/8/docs/technotes/guides/security/jsse/JSSERefGuide.html#SSLENG">JSSE
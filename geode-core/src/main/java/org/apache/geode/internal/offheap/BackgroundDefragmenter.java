@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.logging.internal.executors.LoggingExecutors;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Periodically defragments off-heap memory one slab at a time so that allocations rarely have to
+ * fall back to a full, stop-the-world defragmentation. Each step only runs when too much of the
+ * free memory is held in free lists instead of fragments, and only defragments the next slab in
+ * round-robin order, so the pause caused by a single step is bounded by the size of one slab.
+ * <p>
+ * Disabled unless {@link #INTERVAL_PROPERTY} is set to a positive number of milliseconds.
+ *
+ * @since Geode 1.12
+ */
+class BackgroundDefragmenter {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * The number of milliseconds between two defragmentation steps. Zero, the default, disables
+   * background defragmentation.
+   */
+  static final String INTERVAL_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "OFF_HEAP_BACKGROUND_DEFRAGMENT_INTERVAL";
+
+  /**
+   * The percentage of free memory that must be held in free lists, rather than in fragments, for a
+   * step to defragment a slab. Defaults to 50.
+   */
+  static final String THRESHOLD_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "OFF_HEAP_BACKGROUND_DEFRAGMENT_THRESHOLD";
+
+  private final FreeListManager freeListManager;
+
+  private final long intervalMillis;
+
+  private final int thresholdPercent;
+
+  private ScheduledExecutorService executor;
+
+  private int nextSlab;
+
+  BackgroundDefragmenter(FreeListManager freeListManager) {
+    this(freeListManager, Long.getLong(INTERVAL_PROPERTY, 0),
+        Integer.getInteger(THRESHOLD_PROPERTY, 50));
+  }
+
+  BackgroundDefragmenter(FreeListManager freeListManager, long intervalMillis,
+      int thresholdPercent) {
+    this.freeListManager = freeListManager;
+    this.intervalMillis = intervalMillis;
+    this.thresholdPercent = thresholdPercent;
+  }
+
+  boolean isEnabled() {
+    return this.intervalMillis > 0;
+  }
+
+  synchronized void start() {
+    if (!isEnabled() || this.executor != null) {
+      return;
+    }
+    this.executor = LoggingExecutors.newSingleThreadScheduledExecutor("OffHeapDefragmenter");
+    this.executor.scheduleWithFixedDelay(this::runStep, this.intervalMillis, this.intervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the background task and waits for a step in progress to finish so that the caller can
+   * safely free the slabs.
+   */
+  synchronized void stop() {
+    if (this.executor != null) {
+      this.executor.shutdown();
+      try {
+        if (!this.executor.awaitTermination(1, TimeUnit.MINUTES)) {
+          logger.warn("Timed out waiting for background off-heap defragmentation to stop");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      this.executor = null;
+    }
+  }
+
+  /**
+   * Returns true if the share of free memory that is not available as fragments has reached the
+   * threshold.
+   */
+  boolean shouldDefragment() {
+    long freeMemory = this.freeListManager.getFreeMemory();
+    if (freeMemory <= 0) {
+      return false;
+    }
+    long freeListMemory = freeMemory - this.freeListManager.getFreeFragmentMemory();
+    return freeListMemory * 100 >= freeMemory * this.thresholdPercent;
+  }
+
+  /**
+   * Defragments the next slab if the free lists hold too much of the free memory. Exceptions are
+   * logged rather than thrown so that the scheduled task keeps running.
+   */
+  void runStep() {
+    try {
+      if (!shouldDefragment()) {
+        return;
+      }
+      int slabId = this.nextSlab;
+      this.nextSlab = (slabId + 1) % this.freeListManager.getSlabCount();
+      int largest = this.freeListManager.defragmentSlab(slabId);
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "Background defragmentation of off-heap slab {} created a fragment of {} bytes",
+            slabId, largest);
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Background defragmentation of off-heap memory failed", e);
+    }
+  }
+}
@@ -26,6 +26,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.logging.log4j.Logger;
 
@@ -48,6 +49,17 @@ public class FreeListManager {
 
   private final AtomicReferenceArray<OffHeapStoredObjectAddressStack> tinyFreeLists =
       new AtomicReferenceArray<OffHeapStoredObjectAddressStack>(TINY_FREE_LIST_COUNT);
+  /**
+   * Striped copies of tinyFreeLists. Each thread frees to, and first allocates from, the arena
+   * selected by its thread id so that threads on different cores rarely contend on the same free
+   * list. Null if arenas are disabled.
+   */
+  private final Arena[] tinyArenas;
+  /**
+   * The number of chunks of one size an arena keeps. Chunks freed beyond it go to tinyFreeLists,
+   * where threads of every arena can reuse them.
+   */
+  private final int arenaFreeListLimit;
   // hugeChunkSet is sorted by chunk size in ascending order. It will only contain chunks larger
   // than MAX_TINY.
   private final ConcurrentSkipListSet<OffHeapStoredObject> hugeChunkSet =
@@ -117,15 +129,60 @@ public class FreeListManager {
 
   long getFreeTinyMemory() {
     long tinyFree = 0;
-    for (int i = 0; i < this.tinyFreeLists.length(); i++) {
-      OffHeapStoredObjectAddressStack cl = this.tinyFreeLists.get(i);
-      if (cl != null) {
-        tinyFree += cl.computeTotalSize();
+    for (AtomicReferenceArray<OffHeapStoredObjectAddressStack> freeLists : getAllTinyFreeLists()) {
+      for (int i = 0; i < freeLists.length(); i++) {
+        OffHeapStoredObjectAddressStack cl = freeLists.get(i);
+        if (cl != null) {
+          tinyFree += cl.computeTotalSize();
+        }
       }
     }
     return tinyFree;
   }
 
+  /**
+   * Returns the shared tiny free lists followed by the free lists of every arena.
+   */
+  private List<AtomicReferenceArray<OffHeapStoredObjectAddressStack>> getAllTinyFreeLists() {
+    if (this.tinyArenas == null) {
+      return Collections.singletonList(this.tinyFreeLists);
+    }
+    List<AtomicReferenceArray<OffHeapStoredObjectAddressStack>> result =
+        new ArrayList<>(this.tinyArenas.length + 1);
+    result.add(this.tinyFreeLists);
+    for (Arena arena : this.tinyArenas) {
+      result.add(arena.freeLists);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of tiny allocations satisfied by the arena of the allocating thread.
+   */
+  long getArenaHits() {
+    long hits = 0;
+    if (this.tinyArenas != null) {
+      for (Arena arena : this.tinyArenas) {
+        hits += arena.hits.sum();
+      }
+    }
+    return hits;
+  }
+
+  /**
+   * Returns the number of tiny allocations that found nothing in the arena of the allocating
+   * thread.
+   */
+  long getArenaMisses() {
+    long misses = 0;
+    if (this.tinyArenas != null) {
+      for (Arena arena : this.tinyArenas) {
+        misses += arena.misses.sum();
+      }
+    }
+    return misses;
+  }
+
   long getFreeHugeMemory() {
     long hugeFree = 0;
     for (OffHeapStoredObject c : this.hugeChunkSet) {
@@ -142,8 +199,22 @@ public class FreeListManager {
   private final MemoryAllocatorImpl ma;
 
   public FreeListManager(MemoryAllocatorImpl ma, final Slab[] slabs) {
+    this(ma, slabs, TINY_FREE_LIST_ARENA_COUNT, TINY_FREE_LIST_ARENA_LIMIT);
+  }
+
+  FreeListManager(MemoryAllocatorImpl ma, final Slab[] slabs, int arenaCount,
+      int arenaFreeListLimit) {
     this.ma = ma;
     this.slabs = slabs;
+    if (arenaCount > 0) {
+      this.tinyArenas = new Arena[arenaCount];
+      for (int i = 0; i < arenaCount; i++) {
+        this.tinyArenas[i] = new Arena();
+      }
+    } else {
+      this.tinyArenas = null;
+    }
+    this.arenaFreeListLimit = arenaFreeListLimit;
     long total = 0;
     Fragment[] tmp = new Fragment[slabs.length];
     for (int i = 0; i < slabs.length; i++) {
@@ -268,10 +339,12 @@ public class FreeListManager {
   }
 
   private void logTinyState(Logger lw) {
-    for (int i = 0; i < this.tinyFreeLists.length(); i++) {
-      OffHeapStoredObjectAddressStack cl = this.tinyFreeLists.get(i);
-      if (cl != null) {
-        cl.logSizes(lw, "Free tiny of size ");
+    for (AtomicReferenceArray<OffHeapStoredObjectAddressStack> freeLists : getAllTinyFreeLists()) {
+      for (int i = 0; i < freeLists.length(); i++) {
+        OffHeapStoredObjectAddressStack cl = freeLists.get(i);
+        if (cl != null) {
+          cl.logSizes(lw, "Free tiny of size ");
+        }
       }
     }
   }
@@ -322,6 +395,20 @@ public class FreeListManager {
     verifyHugeMultiple(HUGE_MULTIPLE);
   }
   public static final int MAX_TINY = TINY_MULTIPLE * TINY_FREE_LIST_COUNT;
+  /**
+   * Number of arenas the tiny free lists are striped over. Zero, the default, keeps a single set of
+   * shared tiny free lists. Each arena holds its own array of TINY_FREE_LIST_COUNT free list
+   * references so a small multiple of the number of cores is usually enough.
+   */
+  public static final int TINY_FREE_LIST_ARENA_COUNT =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "OFF_HEAP_FREE_LIST_ARENAS", 0);
+  /**
+   * The number of free chunks of each tiny size an arena keeps for the threads that use it. Chunks
+   * freed beyond this go to the shared tiny free lists so that threads that mostly free do not
+   * hoard memory that threads of other arenas need.
+   */
+  public static final int TINY_FREE_LIST_ARENA_LIMIT =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "OFF_HEAP_FREE_LIST_ARENA_LIMIT", 64);
 
   /**
    * Return true if the two chunks have been combined into one. If low and high are adjacent to each
@@ -455,6 +542,101 @@ public class FreeListManager {
     boolean result = false;
     ArrayList<LongStack> freeChunks = new ArrayList<LongStack>();
     collectFreeChunks(freeChunks);
+    ResizableLongArray sorted = combineFreeChunks(freeChunks);
+
+    int largestFragment = 0;
+    this.lastFragmentAllocation.set(0);
+    ArrayList<Fragment> tmp = new ArrayList<Fragment>();
+    for (int i = sorted.size() - 1; i >= 0; i--) {
+      long addr = sorted.get(i);
+      if (addr == 0L)
+        continue;
+      int addrSize = OffHeapStoredObject.getSize(addr);
+      Fragment f = createFragment(addr, addrSize);
+      if (addrSize >= chunkSize) {
+        result = true;
+      }
+      if (addrSize > largestFragment) {
+        largestFragment = addrSize;
+        // TODO it might be better to sort them biggest first
+        tmp.add(0, f);
+      } else {
+        tmp.add(f);
+      }
+    }
+    this.fragmentList.addAll(tmp);
+
+    fillFragments();
+
+    this.ma.getStats().setLargestFragment(largestFragment);
+    this.ma.getStats().setFragments(tmp.size());
+    this.ma.getStats().setFragmentation(getFragmentation());
+
+    return result;
+  }
+
+  /**
+   * Defragments the free memory of a single slab. Unlike defragment, only the free chunks that
+   * live in the given slab are collected and combined, so the time spent holding the
+   * defragmentation lock is bounded by the size of one slab. Free chunks of other slabs stay
+   * available to concurrent allocations. This is used by the {@link BackgroundDefragmenter} to
+   * keep fragments large without stalling an allocating thread.
+   *
+   * @return the size of the largest fragment created in the slab
+   */
+  int defragmentSlab(int slabId) {
+    final OffHeapMemoryStats stats = this.ma.getStats();
+    final long start = stats.startBackgroundDefragmentation();
+    try {
+      synchronized (this) {
+        ArrayList<LongStack> freeChunks = new ArrayList<LongStack>();
+        collectFreeChunksInSlab(this.slabs[slabId], freeChunks);
+        ResizableLongArray sorted = combineFreeChunks(freeChunks);
+
+        int largestCreated = 0;
+        // the fragments of the slab were removed from the list, which shifted the ones after them
+        this.lastFragmentAllocation.set(0);
+        ArrayList<Fragment> tmp = new ArrayList<Fragment>();
+        for (int i = sorted.size() - 1; i >= 0; i--) {
+          long addr = sorted.get(i);
+          if (addr == 0L)
+            continue;
+          int addrSize = OffHeapStoredObject.getSize(addr);
+          Fragment f = createFragment(addr, addrSize);
+          if (this.validateMemoryWithFill) {
+            f.fill();
+          }
+          tmp.add(f);
+          if (addrSize > largestCreated) {
+            largestCreated = addrSize;
+          }
+        }
+        this.fragmentList.addAll(tmp);
+
+        int largestFragment = 0;
+        for (Fragment f : this.fragmentList) {
+          if (f.freeSpace() > largestFragment) {
+            largestFragment = f.freeSpace();
+          }
+        }
+        stats.setLargestFragment(largestFragment);
+        stats.setFragments(this.fragmentList.size());
+        stats.setFragmentation(getFragmentation());
+
+        // Signal any allocation waiting to defragment that free memory changed.
+        this.defragmentationCount.incrementAndGet();
+        return largestCreated;
+      }
+    } finally {
+      stats.endBackgroundDefragmentation(start);
+    }
+  }
+
+  /**
+   * Sorts the chunks on the given stacks by address, combining any that are adjacent. Returns the
+   * sorted addresses; combined away entries are set to 0.
+   */
+  private ResizableLongArray combineFreeChunks(List<LongStack> freeChunks) {
     ResizableLongArray sorted = new ResizableLongArray();
     for (LongStack l : freeChunks) {
       long addr = l.poll();
@@ -490,36 +672,7 @@ public class FreeListManager {
         sorted.set(i, 0L);
       }
     }
-
-    int largestFragment = 0;
-    this.lastFragmentAllocation.set(0);
-    ArrayList<Fragment> tmp = new ArrayList<Fragment>();
-    for (int i = sorted.size() - 1; i >= 0; i--) {
-      long addr = sorted.get(i);
-      if (addr == 0L)
-        continue;
-      int addrSize = OffHeapStoredObject.getSize(addr);
-      Fragment f = createFragment(addr, addrSize);
-      if (addrSize >= chunkSize) {
-        result = true;
-      }
-      if (addrSize > largestFragment) {
-        largestFragment = addrSize;
-        // TODO it might be better to sort them biggest first
-        tmp.add(0, f);
-      } else {
-        tmp.add(f);
-      }
-    }
-    this.fragmentList.addAll(tmp);
-
-    fillFragments();
-
-    this.ma.getStats().setLargestFragment(largestFragment);
-    this.ma.getStats().setFragments(tmp.size());
-    this.ma.getStats().setFragmentation(getFragmentation());
-
-    return result;
+    return sorted;
   }
 
   /**
@@ -622,13 +775,65 @@ public class FreeListManager {
     }
   }
 
+  /**
+   * Removes every free chunk and fragment that lives in the given slab and adds them to l. Chunks
+   * of other slabs stay where they are on the tiny free lists.
+   */
+  private void collectFreeChunksInSlab(Slab slab, List<LongStack> l) {
+    OffHeapStoredObjectAddressStack result = new OffHeapStoredObjectAddressStack();
+    for (Fragment f : this.fragmentList) {
+      if (!isInSlab(f.getAddress(), slab)) {
+        continue;
+      }
+      int offset;
+      int diff;
+      do {
+        offset = f.getFreeIndex();
+        diff = f.getSize() - offset;
+      } while (diff >= OffHeapStoredObject.MIN_CHUNK_SIZE && !f.allocate(offset, offset + diff));
+      this.fragmentList.remove(f);
+      if (diff >= OffHeapStoredObject.MIN_CHUNK_SIZE) {
+        long chunkAddr = f.getAddress() + offset;
+        OffHeapStoredObject.setSize(chunkAddr, diff);
+        result.offer(chunkAddr);
+      }
+    }
+    for (OffHeapStoredObject c : this.hugeChunkSet) {
+      if (isInSlab(c.getAddress(), slab) && this.hugeChunkSet.remove(c)) {
+        result.offer(c.getAddress());
+      }
+    }
+    for (AtomicReferenceArray<OffHeapStoredObjectAddressStack> freeLists : getAllTinyFreeLists()) {
+      for (int i = 0; i < freeLists.length(); i++) {
+        OffHeapStoredObjectAddressStack cl = freeLists.get(i);
+        if (cl != null) {
+          cl.removeInRange(slab.getMemoryAddress(),
+              slab.getMemoryAddress() + slab.getSize(), result);
+        }
+      }
+    }
+    if (!result.isEmpty()) {
+      l.add(result);
+    }
+  }
+
+  private static boolean isInSlab(long addr, Slab slab) {
+    return addr >= slab.getMemoryAddress() && addr < slab.getMemoryAddress() + slab.getSize();
+  }
+
+  int getSlabCount() {
+    return this.slabs.length;
+  }
+
   private void collectFreeTinyChunks(List<LongStack> l) {
-    for (int i = 0; i < this.tinyFreeLists.length(); i++) {
-      OffHeapStoredObjectAddressStack cl = this.tinyFreeLists.get(i);
-      if (cl != null) {
-        long head = cl.clear();
-        if (head != 0L) {
-          l.add(new OffHeapStoredObjectAddressStack(head));
+    for (AtomicReferenceArray<OffHeapStoredObjectAddressStack> freeLists : getAllTinyFreeLists()) {
+      for (int i = 0; i < freeLists.length(); i++) {
+        OffHeapStoredObjectAddressStack cl = freeLists.get(i);
+        if (cl != null) {
+          long head = cl.clear();
+          if (head != 0L) {
+            l.add(new OffHeapStoredObjectAddressStack(head));
+          }
         }
       }
     }
@@ -698,22 +903,50 @@ public class FreeListManager {
     return (int) ((((long) value + (multiple - 1)) / multiple) * multiple);
   }
 
+  /**
+   * Allocates from the free list of the current thread's arena. If it is empty the chunk comes
+   * from the shared free lists or the fragments, which is where the chunks that overflow the other
+   * arenas go, so no other arena has to be searched.
+   */
   private OffHeapStoredObject allocateTiny(int size, boolean useFragments) {
-    return basicAllocate(getNearestTinyMultiple(size), TINY_MULTIPLE, 0, this.tinyFreeLists,
-        useFragments);
+    final int idx = getNearestTinyMultiple(size);
+    if (this.tinyArenas != null) {
+      Arena arena = getArenaForCurrentThread();
+      long memAddr = poll(arena.freeLists, idx);
+      if (memAddr != 0L) {
+        arena.hits.increment();
+        return reuseFreeChunk(memAddr);
+      }
+      arena.misses.increment();
+    }
+    return basicAllocate(idx, TINY_MULTIPLE, 0, this.tinyFreeLists, useFragments);
   }
 
-  private OffHeapStoredObject basicAllocate(int idx, int multiple, int offset,
-      AtomicReferenceArray<OffHeapStoredObjectAddressStack> freeLists, boolean useFragments) {
+  private Arena getArenaForCurrentThread() {
+    return this.tinyArenas[(int) (Thread.currentThread().getId() % this.tinyArenas.length)];
+  }
+
+  private static long poll(AtomicReferenceArray<OffHeapStoredObjectAddressStack> freeLists,
+      int idx) {
     OffHeapStoredObjectAddressStack clq = freeLists.get(idx);
     if (clq != null) {
-      long memAddr = clq.poll();
-      if (memAddr != 0) {
-        OffHeapStoredObject result = new OffHeapStoredObject(memAddr);
-        checkDataIntegrity(result);
-        result.readyForAllocation();
-        return result;
-      }
+      return clq.poll();
+    }
+    return 0L;
+  }
+
+  private OffHeapStoredObject reuseFreeChunk(long memAddr) {
+    OffHeapStoredObject result = new OffHeapStoredObject(memAddr);
+    checkDataIntegrity(result);
+    result.readyForAllocation();
+    return result;
+  }
+
+  private OffHeapStoredObject basicAllocate(int idx, int multiple, int offset,
+      AtomicReferenceArray<OffHeapStoredObjectAddressStack> freeLists, boolean useFragments) {
+    long memAddr = poll(freeLists, idx);
+    if (memAddr != 0) {
+      return reuseFreeChunk(memAddr);
     }
     if (useFragments) {
       return allocateFromFragments(((idx + 1) * multiple) + offset);
@@ -797,7 +1030,26 @@ public class FreeListManager {
   }
 
   private void freeTiny(long addr, int cSize) {
-    basicFree(addr, getNearestTinyMultiple(cSize), this.tinyFreeLists);
+    int idx = getNearestTinyMultiple(cSize);
+    if (this.tinyArenas != null && freeToArena(addr, idx, getArenaForCurrentThread())) {
+      return;
+    }
+    basicFree(addr, idx, this.tinyFreeLists);
+  }
+
+  /**
+   * Returns false, without freeing the chunk, if the arena already holds its limit of chunks of
+   * this size.
+   */
+  private boolean freeToArena(long addr, int idx, Arena arena) {
+    OffHeapStoredObjectAddressStack clq = arena.freeLists.get(idx);
+    if (clq == null) {
+      clq = createFreeListForEmptySlot(arena.freeLists, idx);
+      if (!arena.freeLists.compareAndSet(idx, null, clq)) {
+        clq = arena.freeLists.get(idx);
+      }
+    }
+    return clq.offer(addr, this.arenaFreeListLimit);
   }
 
   private void basicFree(long addr, int idx,
@@ -815,6 +1067,18 @@ public class FreeListManager {
     }
   }
 
+  /**
+   * The tiny free lists of an arena and the allocation counts of the threads that use it. The
+   * counts are summed when the statistics are sampled so that allocating threads of different
+   * arenas do not update the same memory.
+   */
+  private static class Arena {
+    final AtomicReferenceArray<OffHeapStoredObjectAddressStack> freeLists =
+        new AtomicReferenceArray<>(TINY_FREE_LIST_COUNT);
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+  }
+
   /**
    * Tests override this method to simulate concurrent modification
    */
@@ -863,13 +1127,15 @@ public class FreeListManager {
   private List<MemoryBlock> getTinyFreeBlocks() {
     final List<MemoryBlock> value = new ArrayList<MemoryBlock>();
     final MemoryAllocatorImpl sma = this.ma;
-    for (int i = 0; i < this.tinyFreeLists.length(); i++) {
-      if (this.tinyFreeLists.get(i) == null)
-        continue;
-      long addr = this.tinyFreeLists.get(i).getTopAddress();
-      while (addr != 0L) {
-        value.add(new MemoryBlockNode(sma, new TinyMemoryBlock(addr, i)));
-        addr = OffHeapStoredObject.getNext(addr);
+    for (AtomicReferenceArray<OffHeapStoredObjectAddressStack> freeLists : getAllTinyFreeLists()) {
+      for (int i = 0; i < freeLists.length(); i++) {
+        if (freeLists.get(i) == null)
+          continue;
+        long addr = freeLists.get(i).getTopAddress();
+        while (addr != 0L) {
+          value.add(new MemoryBlockNode(sma, new TinyMemoryBlock(addr, i)));
+          addr = OffHeapStoredObject.getNext(addr);
+        }
       }
     }
     return value;
@@ -67,6 +67,8 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
 
   public final FreeListManager freeList;
 
+  private final BackgroundDefragmenter backgroundDefragmenter;
+
   private MemoryInspector memoryInspector;
 
   private volatile MemoryUsageListener[] memoryUsageListeners = new MemoryUsageListener[0];
@@ -204,6 +206,7 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
     this.ooohml = oooml;
     newStats.initialize(this.stats);
     this.stats = newStats;
+    setArenaStatsSuppliers();
   }
 
   private MemoryAllocatorImpl(final OutOfOffHeapMemoryListener oooml,
@@ -219,10 +222,18 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
     this.stats.setLargestFragment(slabs[0].getSize());
 
     this.freeList = new FreeListManager(this, slabs);
+    setArenaStatsSuppliers();
     this.memoryInspector = new MemoryInspectorImpl(this.freeList);
+    this.backgroundDefragmenter = new BackgroundDefragmenter(this.freeList);
 
     this.stats.incMaxMemory(this.freeList.getTotalMemory());
     this.stats.incFreeMemory(this.freeList.getTotalMemory());
+    this.backgroundDefragmenter.start();
+  }
+
+  private void setArenaStatsSuppliers() {
+    this.stats.setArenaHitsSupplier(this.freeList::getArenaHits);
+    this.stats.setArenaMissesSupplier(this.freeList::getArenaMisses);
   }
 
   public List<OffHeapStoredObject> getLostChunks(InternalCache cache) {
@@ -387,6 +398,7 @@ public class MemoryAllocatorImpl implements MemoryAllocator {
   private void realClose() {
     // Removing this memory immediately can lead to a SEGV. See 47885.
     if (setClosed()) {
+      this.backgroundDefragmenter.stop();
       this.freeList.freeSlabs();
       this.stats.close();
       singleton = null;
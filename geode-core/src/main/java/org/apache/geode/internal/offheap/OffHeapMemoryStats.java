@@ -14,6 +14,8 @@
  */
 package org.apache.geode.internal.offheap;
 
+import java.util.function.LongSupplier;
+
 import org.apache.geode.Statistics;
 
 /**
@@ -41,8 +43,16 @@ public interface OffHeapMemoryStats {
 
   void endDefragmentation(long start);
 
+  long startBackgroundDefragmentation();
+
+  void endBackgroundDefragmentation(long start);
+
   void setFragmentation(int value);
 
+  void setArenaHitsSupplier(LongSupplier supplier);
+
+  void setArenaMissesSupplier(LongSupplier supplier);
+
   long getFreeMemory();
 
   long getMaxMemory();
@@ -65,6 +75,14 @@ public interface OffHeapMemoryStats {
 
   long getDefragmentationTime();
 
+  int getBackgroundDefragmentations();
+
+  long getBackgroundDefragmentationTime();
+
+  long getArenaHits();
+
+  long getArenaMisses();
+
   Statistics getStats();
 
   void close();
@@ -15,6 +15,7 @@
 package org.apache.geode.internal.offheap;
 
 import java.lang.reflect.Method;
+import java.util.function.LongSupplier;
 
 import org.apache.geode.StatisticDescriptor;
 import org.apache.geode.Statistics;
@@ -61,6 +62,10 @@ public class OffHeapStorage implements OffHeapMemoryStats {
   private static final int defragmentationTimeId;
   private static final int fragmentationId;
   private static final int defragmentationsInProgressId;
+  private static final int backgroundDefragmentationsId;
+  private static final int backgroundDefragmentationTimeId;
+  private static final int arenaHitsId;
+  private static final int arenaMissesId;
   // NOTE!!!! When adding new stats make sure and update the initialize method on this class
 
   // creates and registers the statistics type
@@ -87,6 +92,15 @@ public class OffHeapStorage implements OffHeapMemoryStats {
         "The total number of reads of off-heap memory. Only reads of a full object increment this statistic. If only a part of the object is read this statistic is not incremented.";
     final String maxMemoryDesc =
         "The maximum amount of off-heap memory, in bytes. This is the amount of memory allocated at startup and does not change.";
+    final String backgroundDefragmentationsDesc =
+        "The total number of slabs defragmented by the background off-heap defragmenter.";
+    final String backgroundDefragmentationTimeDesc =
+        "The total time spent by the background off-heap defragmenter defragmenting slabs.";
+    final String arenaHitsDesc =
+        "The total number of tiny allocations satisfied by the free list arena of the allocating thread.";
+    final String arenaMissesDesc =
+        "The total number of tiny allocations that found nothing in the free list arena of the "
+            + "allocating thread and had to use the shared free lists or a fragment.";
 
     final String usedMemory = "usedMemory";
     final String defragmentations = "defragmentations";
@@ -99,6 +113,10 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     final String objects = "objects";
     final String reads = "reads";
     final String maxMemory = "maxMemory";
+    final String backgroundDefragmentations = "backgroundDefragmentations";
+    final String backgroundDefragmentationTime = "backgroundDefragmentationTime";
+    final String arenaHits = "arenaHits";
+    final String arenaMisses = "arenaMisses";
 
     statsType = f.createType(statsTypeName, statsTypeDescription,
         new StatisticDescriptor[] {f.createLongGauge(usedMemory, usedMemoryDesc, "bytes"),
@@ -112,7 +130,13 @@ public class OffHeapStorage implements OffHeapMemoryStats {
             f.createIntGauge(largestFragment, largestFragmentDesc, "bytes"),
             f.createIntGauge(objects, objectsDesc, "objects"),
             f.createLongCounter(reads, readsDesc, "operations"),
-            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),});
+            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),
+            f.createIntCounter(backgroundDefragmentations, backgroundDefragmentationsDesc,
+                "operations"),
+            f.createLongCounter(backgroundDefragmentationTime, backgroundDefragmentationTimeDesc,
+                "nanoseconds", false),
+            f.createLongCounter(arenaHits, arenaHitsDesc, "operations"),
+            f.createLongCounter(arenaMisses, arenaMissesDesc, "operations"),});
 
     usedMemoryId = statsType.nameToId(usedMemory);
     defragmentationId = statsType.nameToId(defragmentations);
@@ -125,6 +149,10 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     objectsId = statsType.nameToId(objects);
     readsId = statsType.nameToId(reads);
     maxMemoryId = statsType.nameToId(maxMemory);
+    backgroundDefragmentationsId = statsType.nameToId(backgroundDefragmentations);
+    backgroundDefragmentationTimeId = statsType.nameToId(backgroundDefragmentationTime);
+    arenaHitsId = statsType.nameToId(arenaHits);
+    arenaMissesId = statsType.nameToId(arenaMisses);
   }
 
   public static long parseOffHeapMemorySize(String value) {
@@ -387,6 +415,49 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     return this.stats.getInt(fragmentationId);
   }
 
+  @Override
+  public long startBackgroundDefragmentation() {
+    return DistributionStats.getStatTime();
+  }
+
+  @Override
+  public void endBackgroundDefragmentation(long start) {
+    this.stats.incInt(backgroundDefragmentationsId, 1);
+    if (DistributionStats.enableClockStats) {
+      this.stats.incLong(backgroundDefragmentationTimeId, DistributionStats.getStatTime() - start);
+    }
+  }
+
+  @Override
+  public int getBackgroundDefragmentations() {
+    return this.stats.getInt(backgroundDefragmentationsId);
+  }
+
+  @Override
+  public long getBackgroundDefragmentationTime() {
+    return this.stats.getLong(backgroundDefragmentationTimeId);
+  }
+
+  @Override
+  public void setArenaHitsSupplier(LongSupplier supplier) {
+    this.stats.setLongSupplier(arenaHitsId, supplier);
+  }
+
+  @Override
+  public long getArenaHits() {
+    return this.stats.getLong(arenaHitsId);
+  }
+
+  @Override
+  public void setArenaMissesSupplier(LongSupplier supplier) {
+    this.stats.setLongSupplier(arenaMissesId, supplier);
+  }
+
+  @Override
+  public long getArenaMisses() {
+    return this.stats.getLong(arenaMissesId);
+  }
+
   @Override
   public Statistics getStats() {
     return this.stats;
@@ -410,6 +481,10 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     setLargestFragment(oldStats.getLargestFragment());
     setDefragmentationTime(oldStats.getDefragmentationTime());
     setFragmentation(oldStats.getFragmentation());
+    setBackgroundDefragmentations(oldStats.getBackgroundDefragmentations());
+    setBackgroundDefragmentationTime(oldStats.getBackgroundDefragmentationTime());
+    setArenaHits(oldStats.getArenaHits());
+    setArenaMisses(oldStats.getArenaMisses());
 
     oldStats.close();
   }
@@ -426,6 +501,22 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     this.stats.setInt(defragmentationsInProgressId, value);
   }
 
+  private void setBackgroundDefragmentations(int value) {
+    this.stats.setInt(backgroundDefragmentationsId, value);
+  }
+
+  private void setBackgroundDefragmentationTime(long value) {
+    this.stats.setLong(backgroundDefragmentationTimeId, value);
+  }
+
+  private void setArenaHits(long value) {
+    this.stats.setLong(arenaHitsId, value);
+  }
+
+  private void setArenaMisses(long value) {
+    this.stats.setLong(arenaMissesId, value);
+  }
+
   private void setReads(long value) {
     this.stats.setLong(readsId, value);
   }
@@ -26,6 +26,10 @@ import org.apache.geode.internal.offheap.FreeListManager.LongStack;
 public class OffHeapStoredObjectAddressStack implements LongStack {
   // Ok to read without sync but must be synced on write
   private volatile long topAddr;
+  // The number of addresses pushed since the stack was created empty or cleared, less those
+  // polled. A stack created with an address does not count the addresses already linked to it.
+  // Guarded by this.
+  private int size;
 
   public OffHeapStoredObjectAddressStack(long addr) {
     if (addr != 0L)
@@ -47,6 +51,26 @@ public class OffHeapStoredObjectAddressStack implements LongStack {
     synchronized (this) {
       OffHeapStoredObject.setNext(e, this.topAddr);
       this.topAddr = e;
+      this.size++;
+    }
+  }
+
+  /**
+   * Pushes the given address unless the stack already holds limit addresses.
+   *
+   * @return true if the address was pushed
+   */
+  public boolean offer(long e, int limit) {
+    assert e != 0;
+    MemoryAllocatorImpl.validateAddress(e);
+    synchronized (this) {
+      if (this.size >= limit) {
+        return false;
+      }
+      OffHeapStoredObject.setNext(e, this.topAddr);
+      this.topAddr = e;
+      this.size++;
+      return true;
     }
   }
 
@@ -57,6 +81,9 @@ public class OffHeapStoredObjectAddressStack implements LongStack {
       result = this.topAddr;
       if (result != 0L) {
         this.topAddr = OffHeapStoredObject.getNext(result);
+        if (this.size > 0) {
+          this.size--;
+        }
       }
     }
     return result;
@@ -79,11 +106,40 @@ public class OffHeapStoredObjectAddressStack implements LongStack {
       result = this.topAddr;
       if (result != 0L) {
         this.topAddr = 0L;
+        this.size = 0;
       }
     }
     return result;
   }
 
+  /**
+   * Unlinks the addresses in the range [start, end) from this stack and pushes them on the given
+   * stack. The other addresses stay on this stack in the same order.
+   */
+  public void removeInRange(long start, long end, OffHeapStoredObjectAddressStack target) {
+    synchronized (this) {
+      long prev = 0L;
+      long addr = this.topAddr;
+      while (addr != 0L) {
+        long next = OffHeapStoredObject.getNext(addr);
+        if (addr >= start && addr < end) {
+          if (prev == 0L) {
+            this.topAddr = next;
+          } else {
+            OffHeapStoredObject.setNext(prev, next);
+          }
+          if (this.size > 0) {
+            this.size--;
+          }
+          target.offer(addr);
+        } else {
+          prev = addr;
+        }
+        addr = next;
+      }
+    }
+  }
+
   public void logSizes(Logger logger, String msg) {
     long headAddr = this.topAddr;
     long addr;
@@ -28,8 +28,10 @@
  * away. Also added a "removeConditionally" method that allows for evaluation of an arbitrary
  * condition before removal from the map (unlike the normal "remove" that can only check for
  * equality with a provided object). In addition, the segments are now locked using read-write
- * locks. File has been reformatted to conform to GemStone conventions. GemStone additions have been
- * marked with "GemStone addition". GemStone changes have been marked with "GemStone change(s)".
+ * locks, and a segment that outgrows its table is resized a few bins per write instead of all at
+ * once while holding the segment lock. File has been reformatted to conform to GemStone
+ * conventions. GemStone additions have been marked with "GemStone addition". GemStone changes have
+ * been marked with "GemStone change(s)".
  *
  * Original license follows below.
  */
@@ -176,6 +178,13 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
    */
   private static final Object NO_OBJECT_TOKEN = new Object();
 
+  /**
+   * Number of bins that each write moves to the next table of its segment while the segment is
+   * being resized. A resize doubles the table and the threshold, so the transfer is always complete
+   * long before the next resize is needed.
+   */
+  static final int TRANSFER_STRIDE = 16;
+
   // End Geode addition
 
   /* ---------------- Fields -------------- */
@@ -489,6 +498,20 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
      */
     final ReentrantReadWriteLock listUpdateLock;
 
+    /**
+     * The table twice the size of {@link #table} that the entries are being moved to while a resize
+     * is in progress, or null. Instead of moving every bin at once while holding the segment lock,
+     * the writes to the segment move {@link #TRANSFER_STRIDE} bins each, so no write stalls for
+     * the whole resize of a large segment.
+     */
+    transient volatile HashEntry<K, V>[] nextTable;
+
+    /**
+     * The bins of {@link #table} at and above this index have already been moved to
+     * {@link #nextTable}.
+     */
+    transient volatile int transferIndex;
+
     // End Geode addition
 
     Segment(final int initialCapacity, final float lf, final HashEntryCreator<K, V> entryCreator) {
@@ -514,6 +537,8 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
      */
     void setTable(final HashEntry<K, V>[] newTable) {
       this.threshold = (int) (newTable.length * this.loadFactor);
+      this.nextTable = null;
+      this.transferIndex = 0;
       this.table = newTable;
     }
 
@@ -521,10 +546,109 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
      * Returns properly casted first entry of bin for given hash.
      */
     HashEntry<K, V> getFirst(final int hash) {
-      final HashEntry<K, V>[] tab = this.table;
+      final HashEntry<K, V>[] tab = tableFor(hash);
       return tab[hash & (tab.length - 1)];
     }
 
+    // Geode added the methods below
+
+    /**
+     * Returns the table that holds the bin for given hash, which is {@link #nextTable} if the bin
+     * has already been moved there by the resize in progress. Call only while holding lock.
+     */
+    HashEntry<K, V>[] tableFor(final int hash) {
+      final HashEntry<K, V>[] tab = this.table;
+      final HashEntry<K, V>[] next = this.nextTable;
+      if (next != null && (hash & (tab.length - 1)) >= this.transferIndex) {
+        return next;
+      }
+      return tab;
+    }
+
+    /**
+     * Returns the tables that hold the entries of this segment; while a resize is in progress the
+     * entries are split between {@link #table} and {@link #nextTable}, and each of them is in
+     * exactly one of those. Call only while holding lock.
+     */
+    @SuppressWarnings("unchecked")
+    HashEntry<K, V>[][] tables() {
+      final HashEntry<K, V>[] tab = this.table;
+      final HashEntry<K, V>[] next = this.nextTable;
+      if (next == null) {
+        return new HashEntry[][] {tab};
+      }
+      return new HashEntry[][] {tab, next};
+    }
+
+    /**
+     * Adds the entries whose hash modulo given length is given index to the list. The length must
+     * be a power of two no larger than that of {@link #table}, so the same entries are found no
+     * matter how often the segment is resized in between. Call only while holding the read lock
+     * of {@link #listUpdateLock} or the segment lock.
+     */
+    void collectEntries(final int index, final int length,
+        final ArrayList<HashEntry<K, V>> entries) {
+      for (final HashEntry<K, V>[] tab : tables()) {
+        for (int i = index; i < tab.length; i += length) {
+          for (HashEntry<K, V> p = tab[i]; p != null; p = p.getNextEntry()) {
+            entries.add(p);
+          }
+        }
+      }
+    }
+
+    /**
+     * Moves the writer's share of bins to {@link #nextTable} if a resize is in progress, or starts
+     * a resize if the segment has outgrown its table. Call only while holding the segment write
+     * lock.
+     */
+    void helpResize(final int currentCount) {
+      if (currentCount > this.threshold) {
+        rehash();
+      } else if (this.nextTable != null) {
+        transfer(TRANSFER_STRIDE);
+      }
+    }
+
+    /**
+     * Moves up to given number of bins, starting below {@link #transferIndex}, to
+     * {@link #nextTable} and makes that the table once all bins have been moved. The entries are
+     * relinked rather than copied since they may be RegionEntries referenced elsewhere. Call only
+     * while holding the segment write lock.
+     */
+    void transfer(final int bins) {
+      final HashEntry<K, V>[] tab = this.table;
+      final HashEntry<K, V>[] next = this.nextTable;
+      final int sizeMask = next.length - 1;
+      // take the listUpdate write lock before updating the next refs
+      final ReentrantReadWriteLock.WriteLock listWriteLock = this.listUpdateLock.writeLock();
+      listWriteLock.lock();
+      try {
+        int i = this.transferIndex;
+        final int bound = Math.max(i - bins, 0);
+        while (i > bound) {
+          --i;
+          HashEntry<K, V> nextp;
+          for (HashEntry<K, V> p = tab[i]; p != null; p = nextp) {
+            nextp = p.getNextEntry();
+            final int k = p.getEntryHash() & sizeMask;
+            p.setNextEntry(next[k]);
+            next[k] = p;
+          }
+          tab[i] = null;
+        }
+        this.transferIndex = i;
+        if (i == 0) {
+          this.table = next;
+          this.nextTable = null;
+        }
+      } finally {
+        listWriteLock.unlock();
+      }
+    }
+
+    // End Geode additions
+
     /**
      * Reads value field of an entry under lock. Called if value field ever appears to be null. This
      * is possible only if a compiler happens to reorder a HashEntry initialization with its table
@@ -641,25 +765,27 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
         ReentrantReadWriteLock.ReadLock readLock = this.listUpdateLock.readLock();
         RETRYLOOP: for (;;) {
           readLock.lock();
-          final HashEntry<K, V>[] tab = this.table;
-          final int len = tab.length;
-          for (int i = 0; i < len; i++) {
-            for (HashEntry<K, V> e = tab[i]; e != null; e = e.getNextEntry()) {
-              V v = e.getMapValue();
-              if (v == null) {
-                // Geode changes BEGIN
-                // go back and retry from the very start with segment read lock
-                readLock.unlock();
-                readLock = super.readLock();
-                continue RETRYLOOP;
-                /*
-                 * (original code) v = readValueUnderLock(e);
-                 */
-                // Geode changes END
-              }
-              if (equalityCompare(value, v)) {
-                readLock.unlock();
-                return true;
+          // Geode change to also look at the next table of a resize in progress
+          for (final HashEntry<K, V>[] tab : tables()) {
+            final int len = tab.length;
+            for (int i = 0; i < len; i++) {
+              for (HashEntry<K, V> e = tab[i]; e != null; e = e.getNextEntry()) {
+                V v = e.getMapValue();
+                if (v == null) {
+                  // Geode changes BEGIN
+                  // go back and retry from the very start with segment read lock
+                  readLock.unlock();
+                  readLock = super.readLock();
+                  continue RETRYLOOP;
+                  /*
+                   * (original code) v = readValueUnderLock(e);
+                   */
+                  // Geode changes END
+                }
+                if (equalityCompare(value, v)) {
+                  readLock.unlock();
+                  return true;
+                }
               }
             }
           }
@@ -715,10 +841,9 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       writeLock.lock();
       try {
         int c = this.count;
-        if (c++ > this.threshold) {
-          rehash();
-        }
-        final HashEntry<K, V>[] tab = this.table;
+        // Geode change to resize incrementally
+        helpResize(c++);
+        final HashEntry<K, V>[] tab = tableFor(hash);
         final int index = hash & (tab.length - 1);
         final HashEntry<K, V> first = tab[index];
         HashEntry<K, V> e = first;
@@ -781,10 +906,9 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       writeLock.lock();
       try {
         int c = this.count;
-        if (c++ > this.threshold) {
-          rehash();
-        }
-        final HashEntry<K, V>[] tab = this.table;
+        // Geode change to resize incrementally
+        helpResize(c++);
+        final HashEntry<K, V>[] tab = tableFor(hash);
         final int index = hash & (tab.length - 1);
         final HashEntry<K, V> first = tab[index];
         HashEntry<K, V> e = first;
@@ -840,6 +964,11 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
     // End Geode additions
 
     void rehash() {
+      // Geode changes BEGIN
+      // finish the previous resize, if any, before starting the next one
+      if (this.nextTable != null) {
+        transfer(Integer.MAX_VALUE);
+      }
       final HashEntry<K, V>[] oldTable = this.table;
       final int oldCapacity = oldTable.length;
       if (oldCapacity >= MAXIMUM_CAPACITY) {
@@ -847,94 +976,21 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       }
 
       /*
-       * Reclassify nodes in each list to new Map. Because we are using power-of-two expansion, the
-       * elements from each bin must either stay at same index, or move with a power of two offset.
-       * We eliminate unnecessary node creation by catching cases where old nodes can be reused
-       * because their next fields won't change. Statistically, at the default threshold, only about
-       * one-sixth of them need cloning when a table doubles. The nodes they replace will be garbage
-       * collectable as soon as they are no longer referenced by any reader thread that may be in
-       * the midst of traversing table right now.
+       * Because we are using power-of-two expansion, the elements from each bin must either stay at
+       * same index, or move with a power of two offset. Rather than reclassifying all bins while
+       * holding the segment lock, the bins are moved to the new table a stride at a time by this
+       * and the following writes; see transfer. Readers find a bin in the new table once its index
+       * is at or above transferIndex. The entries are relinked instead of cloned since we don't
+       * want to change the underlying RegionEntry that may be used elsewhere; the iterators collect
+       * the entries of a bin under the listUpdateLock, so they need no wrapper entries in the old
+       * table either.
        */
-
       final HashEntry<K, V>[] newTable = newEntryArray(oldCapacity << 1);
       this.threshold = (int) (newTable.length * this.loadFactor);
-      final int sizeMask = newTable.length - 1;
-      for (int i = 0; i < oldCapacity; i++) {
-        // We need to guarantee that any existing reads of old Map can
-        // proceed. So we cannot yet null out each bin.
-        final HashEntry<K, V> e = oldTable[i];
-
-        if (e != null) {
-          final HashEntry<K, V> next = e.getNextEntry();
-          final int idx = e.getEntryHash() & sizeMask;
-
-          // Single node on list
-          if (next == null) {
-            newTable[idx] = e;
-          } else {
-            // Reuse trailing consecutive sequence at same slot
-            HashEntry<K, V> lastRun = e;
-            int lastIdx = idx;
-            for (HashEntry<K, V> last = next; last != null; last = last.getNextEntry()) {
-              final int k = last.getEntryHash() & sizeMask;
-              if (k != lastIdx) {
-                lastIdx = k;
-                lastRun = last;
-              }
-            }
-            newTable[lastIdx] = lastRun;
-
-            // Clone all remaining nodes
-            // Geode changes BEGIN
-            // update the next entry instead of cloning the nodes in newTable;
-            // this is primarily because we don't want to change
-            // the underlying RegionEntry that may be used elsewhere;
-            // however we create new wrapper entries for old table so that
-            // iterators can continue on old table without blocking updates
-            // for indefinite periods
-            HashEntryImpl<K, V> newe, newp = null, newFirst = null;
-            HashEntry<K, V> nextp;
-            // Bug 44155 - we need to clone all of the entries, not just
-            // the entries leading up to lastRun, because the entries
-            // in the last run may have their next pointers changed
-            // by a later rehash.
-            for (HashEntry<K, V> p = e; p != null; p = nextp) {
-              newe = new HashEntryImpl<K, V>(p.getKey(), p.getEntryHash(),
-                  (nextp = p.getNextEntry()), p.getMapValue(), p);
-              if (newp != null) {
-                newp.setNextEntry(newe);
-              } else {
-                newFirst = newe;
-              }
-              newp = newe;
-            }
-            // take the listUpdate write lock before updating the next refs
-            final ReentrantReadWriteLock.WriteLock listWriteLock = this.listUpdateLock.writeLock();
-            listWriteLock.lock();
-            try {
-              if (newFirst != null) {
-                this.table[i] = newFirst; // deliberately using volatile write
-              }
-              for (HashEntry<K, V> p = e; p != lastRun; p = nextp) {
-                final int k = p.getEntryHash() & sizeMask;
-                final HashEntry<K, V> n = newTable[k];
-                nextp = p.getNextEntry();
-                p.setNextEntry(n);
-                newTable[k] = p;
-              }
-            } finally {
-              listWriteLock.unlock();
-            }
-            /*
-             * (original code) for (HashEntry<K, V> p = e; p != lastRun; p = p.next) { final int k =
-             * p.hash & sizeMask; final HashEntry<K, V> n = newTable[k]; newTable[k] =
-             * this.entryCreator.newEntry(p.key, p.hash, n, p.value); }
-             */
-            // Geode changes END
-          }
-        }
-      }
-      this.table = newTable;
+      this.transferIndex = oldCapacity;
+      this.nextTable = newTable;
+      transfer(TRANSFER_STRIDE);
+      // Geode changes END
     }
 
     /**
@@ -949,7 +1005,11 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       writeLock.lock();
       try {
         final int c = this.count - 1;
-        final HashEntry<K, V>[] tab = this.table;
+        // Geode change to resize incrementally
+        if (this.nextTable != null) {
+          transfer(TRANSFER_STRIDE);
+        }
+        final HashEntry<K, V>[] tab = tableFor(hash);
         final int index = hash & (tab.length - 1);
         final HashEntry<K, V> first = tab[index];
         HashEntry<K, V> e = first;
@@ -1016,8 +1076,11 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
         final ReentrantReadWriteLock.WriteLock writeLock = super.writeLock();
         writeLock.lock();
         try {
-          final HashEntry<K, V>[] tab = this.table;
           // Geode changes BEGIN
+          if (this.nextTable != null) {
+            transfer(Integer.MAX_VALUE);
+          }
+          final HashEntry<K, V>[] tab = this.table;
           if (clearedEntries == null) {
             final boolean checkForGatewaySenderEvent =
                 OffHeapRegionEntryHelper.doesClearNeedToCheckForOffHeap();
@@ -1961,8 +2024,9 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
 
     int nextTableIndex;
 
-    // Geode changed HashEntry<K, V>[] currentTable to currentSegment
-    HashEntry<K, V>[] currentTable;
+    // Geode changed HashEntry<K, V>[] currentTable to the length of the table of the current
+    // segment when the iteration of the segment started; the segment may be resized meanwhile
+    int currentTableLength;
 
     HashEntry<K, V> nextEntry;
 
@@ -1992,20 +2056,35 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       }
 
       this.nextEntry = null;
-      if (this.nextTableIndex >= 0) {
+      for (;;) {
+        if (this.nextTableIndex >= 0) {
+          final Segment<K, V> seg =
+              CustomEntryConcurrentHashMap.this.segments[this.currentSegmentIndex];
+          final ReentrantReadWriteLock.ReadLock listLock = seg.listUpdateLock.readLock();
+          listLock.lock();
+          try {
+            do {
+              // copy the entries to a temporary list, so that the read lock can be released
+              this.currentList.clear();
+              this.currentListIndex = 0;
+              seg.collectEntries(this.nextTableIndex--, this.currentTableLength, this.currentList);
+              if (!this.currentList.isEmpty()) {
+                this.nextEntry = this.currentList.get(this.currentListIndex++);
+                return;
+              }
+            } while (this.nextTableIndex >= 0);
+          } finally {
+            listLock.unlock();
+          }
+        }
+        if (this.currentSegmentIndex <= 0) {
+          return;
+        }
         final Segment<K, V> seg =
-            CustomEntryConcurrentHashMap.this.segments[this.currentSegmentIndex];
-        final ReentrantReadWriteLock.ReadLock listLock = seg.listUpdateLock.readLock();
-        listLock.lock();
-        try {
-          do {
-            if ((this.nextEntry = currentTable[this.nextTableIndex--]) != null) {
-              copyEntriesToList();
-              return;
-            }
-          } while (this.nextTableIndex >= 0);
-        } finally {
-          listLock.unlock();
+            CustomEntryConcurrentHashMap.this.segments[--this.currentSegmentIndex];
+        if (seg.count != 0) {
+          this.currentTableLength = seg.table.length;
+          this.nextTableIndex = this.currentTableLength - 1;
         }
       }
       /*
@@ -2014,47 +2093,13 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
        *
        * while (this.nextTableIndex >= 0) { if ((this.nextEntry =
        * this.currentTable[this.nextTableIndex--]) != null) { return; } }
+       *
+       * while (this.currentSegmentIndex > 0) { final Segment<K, V> seg =
+       * this.segments[--this.currentSegmentIndex]; if (seg.count != 0) { this.currentTable =
+       * seg.table; for (int j = this.currentTable.length - 1; j >= 0; --j) { if ((this.nextEntry =
+       * this.currentTable[j]) != null) { this.nextTableIndex = j - 1; return; } } } }
        */
       // Geode changes END
-
-      while (this.currentSegmentIndex > 0) {
-        final Segment<K, V> seg =
-            CustomEntryConcurrentHashMap.this.segments[--this.currentSegmentIndex];
-        if (seg.count != 0) {
-          this.currentTable = seg.table;
-          final ReentrantReadWriteLock.ReadLock listLock = seg.listUpdateLock.readLock();
-          listLock.lock();
-          try {
-            for (int j = currentTable.length - 1; j >= 0; --j) {
-              if ((this.nextEntry = currentTable[j]) != null) {
-                this.nextTableIndex = j - 1;
-                copyEntriesToList();
-                return;
-              }
-            }
-          } finally {
-            listLock.unlock();
-          }
-        }
-      }
-    }
-
-    // Geode added the method below
-    /**
-     * Copy the tail of list of current matched entry ({@link #nextEntry}) to a temporary list, so
-     * that the read lock can be released after the copy.
-     *
-     * Read lock on {@link #currentSegmentIndex}'s listUpdateLock should already be acquired.
-     */
-    private void copyEntriesToList() {
-      assert segments[currentSegmentIndex] != null : "unexpected null currentSegment";
-      assert segments[currentSegmentIndex].listUpdateLock.getReadLockCount() > 0;
-
-      this.currentList.clear();
-      this.currentListIndex = 0;
-      for (HashEntry<K, V> p = this.nextEntry.getNextEntry(); p != null; p = p.getNextEntry()) {
-        this.currentList.add(p);
-      }
     }
 
     public boolean hasNext() {
@@ -2421,11 +2466,12 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       final ReentrantReadWriteLock.ReadLock readLock = seg.readLock();
       readLock.lock();
       try {
-        final HashEntry<K, V>[] tab = seg.table;
-        for (int i = 0; i < tab.length; ++i) {
-          for (HashEntry<K, V> e = tab[i]; e != null; e = e.getNextEntry()) {
-            s.writeObject(e.getKey());
-            s.writeObject(e.getMapValue());
+        for (final HashEntry<K, V>[] tab : seg.tables()) {
+          for (int i = 0; i < tab.length; ++i) {
+            for (HashEntry<K, V> e = tab[i]; e != null; e = e.getNextEntry()) {
+              s.writeObject(e.getKey());
+              s.writeObject(e.getMapValue());
+            }
           }
         }
       } finally {
@@ -0,0 +1,684 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.StampedLock;
+
+import org.apache.geode.CancelException;
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.cache.entries.OffHeapRegionEntry;
+import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.offheap.OffHeapRegionEntryHelper;
+import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.HashEntry;
+import org.apache.geode.logging.internal.executors.LoggingThread;
+
+/**
+ * A concurrent map whose keys are all {@link Long} or all {@link Integer} instances and whose
+ * values are the {@link HashEntry entries} that hold those keys, as region entries are. The entries
+ * are stored directly in an open-addressing table, so the map adds no per-entry object and no copy
+ * of the key: a lookup probes a contiguous array and asks each entry whether it holds the key,
+ * which entries with inline keys answer without boxing.
+ * <p>
+ * The map is split into segments, each guarded by a {@link StampedLock}. Writers take the segment
+ * write lock; readers use an optimistic read that is validated once the probe has finished and
+ * only fall back to the read lock if a writer raced with them. Collisions are resolved by linear
+ * probing. Removed entries leave a marker in their slot until the table is next rebuilt, so an
+ * entry never moves within a table.
+ * <p>
+ * Iterators are weakly consistent: they walk the table of each segment in place, and because
+ * entries do not move, every entry that is in the map for the whole iteration is returned exactly
+ * once. A key that is removed and put again during the iteration may be returned with both its
+ * old and its new entry.
+ *
+ * @since Geode 1.12
+ */
+public class PrimitiveKeyConcurrentHashMap extends AbstractMap<Object, Object>
+    implements ConcurrentMapWithReusableEntries<Object, Object> {
+
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  private static final int MAX_SEGMENTS = 1 << 16;
+
+  private static final float MAX_LOAD_FACTOR = 0.9f;
+
+  /**
+   * Marks the slot of a removed entry so that probes continue past it.
+   */
+  private static final Object REMOVED = new Object();
+
+  private final Class<?> keyClass;
+
+  private final Segment[] segments;
+
+  private final int segmentShift;
+
+  private final float loadFactor;
+
+  private transient Set<Map.Entry<Object, Object>> entrySet;
+
+  /**
+   * Creates a new, empty map.
+   *
+   * @param keyClass either {@link Long} or {@link Integer}; keys of any other class are rejected
+   * @param initialCapacity the initial capacity summed over all segments
+   * @param loadFactor the fraction of a segment's slots that may be used before it is doubled
+   * @param concurrencyLevel the estimated number of concurrently updating threads
+   */
+  public PrimitiveKeyConcurrentHashMap(Class<?> keyClass, int initialCapacity, float loadFactor,
+      int concurrencyLevel) {
+    if (keyClass != Long.class && keyClass != Integer.class) {
+      throw new IllegalArgumentException("keyClass must be Long or Integer but was " + keyClass);
+    }
+    if (!(loadFactor > 0) || initialCapacity < 0 || concurrencyLevel <= 0) {
+      throw new IllegalArgumentException();
+    }
+    this.keyClass = keyClass;
+    this.loadFactor = Math.min(loadFactor, MAX_LOAD_FACTOR);
+    if (concurrencyLevel > MAX_SEGMENTS) {
+      concurrencyLevel = MAX_SEGMENTS;
+    }
+    int sshift = 0;
+    int ssize = 1;
+    while (ssize < concurrencyLevel) {
+      ++sshift;
+      ssize <<= 1;
+    }
+    this.segmentShift = 64 - sshift;
+    this.segments = new Segment[ssize];
+    if (initialCapacity > MAXIMUM_CAPACITY) {
+      initialCapacity = MAXIMUM_CAPACITY;
+    }
+    int perSegment = (int) ((initialCapacity / ssize + 1) / this.loadFactor) + 1;
+    int cap = 2;
+    while (cap < perSegment) {
+      cap <<= 1;
+    }
+    for (int i = 0; i < ssize; i++) {
+      this.segments[i] = new Segment(cap, this.loadFactor);
+    }
+  }
+
+  /**
+   * Returns true if keys of the given class can be stored in this kind of map.
+   */
+  public static boolean isSupportedKeyClass(Class<?> keyClass) {
+    return keyClass == Long.class || keyClass == Integer.class;
+  }
+
+  private static long mix(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return h ^ (h >>> 32);
+  }
+
+  private static long hashOf(Object key) {
+    return mix(((Number) key).longValue());
+  }
+
+  private Segment segmentFor(long hash) {
+    if (this.segments.length == 1) {
+      return this.segments[0];
+    }
+    return this.segments[(int) (hash >>> this.segmentShift)];
+  }
+
+  private boolean isKey(Object key) {
+    return key != null && key.getClass() == this.keyClass;
+  }
+
+  private void checkMapping(Object key, Object value) {
+    if (!isKey(key)) {
+      throw new IllegalArgumentException("expected a key of " + this.keyClass + " but was "
+          + (key == null ? null : key.getClass()));
+    }
+    if (value == null) {
+      throw new NullPointerException();
+    }
+    if (!(value instanceof HashEntry) || !((HashEntry<?, ?>) value).isKeyEqual(key)) {
+      throw new IllegalArgumentException("expected an entry holding the key " + key);
+    }
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (!isKey(key)) {
+      return null;
+    }
+    long hash = hashOf(key);
+    return segmentFor(hash).get(key, hash);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    if (value == null) {
+      throw new NullPointerException();
+    }
+    for (Segment segment : this.segments) {
+      if (segment.containsValue(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Object put(Object key, Object value) {
+    checkMapping(key, value);
+    long hash = hashOf(key);
+    return segmentFor(hash).put(key, hash, value, false);
+  }
+
+  @Override
+  public Object putIfAbsent(Object key, Object value) {
+    checkMapping(key, value);
+    long hash = hashOf(key);
+    return segmentFor(hash).put(key, hash, value, true);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    if (!isKey(key)) {
+      return null;
+    }
+    long hash = hashOf(key);
+    return segmentFor(hash).remove(key, hash, null);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    if (!isKey(key) || value == null) {
+      return false;
+    }
+    long hash = hashOf(key);
+    return segmentFor(hash).remove(key, hash, value) != null;
+  }
+
+  @Override
+  public boolean replace(Object key, Object oldValue, Object newValue) {
+    if (oldValue == null) {
+      throw new NullPointerException();
+    }
+    checkMapping(key, newValue);
+    long hash = hashOf(key);
+    return segmentFor(hash).replace(key, hash, oldValue, newValue) != null;
+  }
+
+  @Override
+  public Object replace(Object key, Object value) {
+    checkMapping(key, value);
+    long hash = hashOf(key);
+    return segmentFor(hash).replace(key, hash, null, value);
+  }
+
+  @Override
+  public int size() {
+    long sum = 0;
+    for (Segment segment : this.segments) {
+      sum += segment.count;
+    }
+    return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (Segment segment : this.segments) {
+      if (segment.count != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    clearWithExecutor(null);
+  }
+
+  @Override
+  public void clearWithExecutor(Executor executor) {
+    List<Object> clearedValues = null;
+    if (OffHeapRegionEntryHelper.doesClearNeedToCheckForOffHeap()) {
+      clearedValues = new ArrayList<>();
+    }
+    for (Segment segment : this.segments) {
+      clearedValues = segment.clear(clearedValues);
+    }
+    if (clearedValues == null || clearedValues.isEmpty()) {
+      return;
+    }
+    final List<Object> toRelease = clearedValues;
+    final boolean checkForGatewaySenderEvent =
+        OffHeapRegionEntryHelper.doesClearNeedToCheckForOffHeap();
+    Runnable runnable = () -> {
+      for (Object value : toRelease) {
+        synchronized (value) {
+          if (checkForGatewaySenderEvent) {
+            if (value instanceof RegionEntry) {
+              GatewaySenderEventImpl.release(((RegionEntry) value).getValue()); // OFFHEAP
+            }
+          } else {
+            ((OffHeapRegionEntry) value).release();
+          }
+        }
+      }
+    };
+    boolean submitted = false;
+    if (executor != null) {
+      try {
+        executor.execute(runnable);
+        submitted = true;
+      } catch (RejectedExecutionException | CancelException e) {
+        // fall through with submitted false
+      }
+    }
+    if (!submitted) {
+      String name = getClass().getSimpleName() + "@" + hashCode() + " Clear Thread";
+      new LoggingThread(name, runnable).start();
+    }
+  }
+
+  @Override
+  public Set<Map.Entry<Object, Object>> entrySet() {
+    Set<Map.Entry<Object, Object>> es = this.entrySet;
+    if (es == null) {
+      es = this.entrySet = new EntrySet(false);
+    }
+    return es;
+  }
+
+  @Override
+  public Set<Map.Entry<Object, Object>> entrySetWithReusableEntries() {
+    return new EntrySet(true);
+  }
+
+
+  /**
+   * The slots of a segment, each holding null, an entry or {@link #REMOVED}. Entries never move
+   * within a table; a segment that needs more room or has too many removed slots gets a new one.
+   */
+  private static class Table {
+    final AtomicReferenceArray<Object> slots;
+
+    Table(int capacity) {
+      this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    int length() {
+      return this.slots.length();
+    }
+  }
+
+  private static class Segment extends StampedLock {
+    private static final long serialVersionUID = -2364283580151429163L;
+
+    private final float loadFactor;
+
+    private volatile Table table;
+
+    volatile int count;
+
+    /**
+     * The number of slots of the table that hold {@link #REMOVED}. Guarded by the write lock.
+     */
+    private int removed;
+
+    private int threshold;
+
+    Segment(int capacity, float loadFactor) {
+      this.loadFactor = loadFactor;
+      setTable(new Table(capacity));
+    }
+
+    private void setTable(Table newTable) {
+      this.threshold = (int) (newTable.length() * this.loadFactor);
+      this.removed = 0;
+      this.table = newTable;
+    }
+
+    private static int indexFor(long hash, int length) {
+      return (int) hash & (length - 1);
+    }
+
+    /**
+     * Probes the table for the entry holding the given key. Returns the slot index or -1 if the key
+     * is not present. Tolerates a concurrently mutating table by bounding the number of probes.
+     */
+    private static int find(Table tab, Object key, long hash) {
+      final AtomicReferenceArray<Object> slots = tab.slots;
+      final int mask = slots.length() - 1;
+      int i = indexFor(hash, slots.length());
+      for (int probes = 0; probes < slots.length(); probes++) {
+        Object e = slots.get(i);
+        if (e == null) {
+          return -1;
+        }
+        if (e != REMOVED && ((HashEntry<?, ?>) e).isKeyEqual(key)) {
+          return i;
+        }
+        i = (i + 1) & mask;
+      }
+      return -1;
+    }
+
+    Object get(Object key, long hash) {
+      long stamp = tryOptimisticRead();
+      if (stamp != 0L) {
+        Table tab = this.table;
+        int i = find(tab, key, hash);
+        Object result = i < 0 ? null : tab.slots.get(i);
+        if (validate(stamp)) {
+          return result;
+        }
+      }
+      stamp = readLock();
+      try {
+        Table tab = this.table;
+        int i = find(tab, key, hash);
+        return i < 0 ? null : tab.slots.get(i);
+      } finally {
+        unlockRead(stamp);
+      }
+    }
+
+    boolean containsValue(Object value) {
+      long stamp = readLock();
+      try {
+        AtomicReferenceArray<Object> slots = this.table.slots;
+        for (int i = 0; i < slots.length(); i++) {
+          Object e = slots.get(i);
+          if (e != null && e != REMOVED && (e == value || e.equals(value))) {
+            return true;
+          }
+        }
+        return false;
+      } finally {
+        unlockRead(stamp);
+      }
+    }
+
+    Object put(Object key, long hash, Object value, boolean onlyIfAbsent) {
+      long stamp = writeLock();
+      try {
+        Table tab = this.table;
+        int i = find(tab, key, hash);
+        if (i >= 0) {
+          Object old = tab.slots.get(i);
+          if (!onlyIfAbsent) {
+            tab.slots.set(i, value);
+          }
+          return old;
+        }
+        if (this.count + this.removed + 1 > this.threshold) {
+          tab = rehash(tab);
+        }
+        final int mask = tab.length() - 1;
+        i = indexFor(hash, tab.length());
+        Object e;
+        while ((e = tab.slots.get(i)) != null && e != REMOVED) {
+          i = (i + 1) & mask;
+        }
+        if (e == REMOVED) {
+          this.removed--;
+        }
+        tab.slots.set(i, value);
+        this.count = this.count + 1;
+        return null;
+      } finally {
+        unlockWrite(stamp);
+      }
+    }
+
+    Object replace(Object key, long hash, Object expected, Object value) {
+      long stamp = writeLock();
+      try {
+        Table tab = this.table;
+        int i = find(tab, key, hash);
+        if (i < 0) {
+          return null;
+        }
+        Object old = tab.slots.get(i);
+        if (expected != null && !(old == expected || old.equals(expected))) {
+          return null;
+        }
+        tab.slots.set(i, value);
+        return old;
+      } finally {
+        unlockWrite(stamp);
+      }
+    }
+
+    Object remove(Object key, long hash, Object expected) {
+      long stamp = writeLock();
+      try {
+        Table tab = this.table;
+        int i = find(tab, key, hash);
+        if (i < 0) {
+          return null;
+        }
+        Object old = tab.slots.get(i);
+        if (expected != null && !(old == expected || old.equals(expected))) {
+          return null;
+        }
+        tab.slots.set(i, REMOVED);
+        this.removed++;
+        this.count = this.count - 1;
+        return old;
+      } finally {
+        unlockWrite(stamp);
+      }
+    }
+
+    /**
+     * Copies the entries into a new table, which is twice as large unless most of the used slots
+     * of the old one only held removed entries. The old table is left as it was for the iterators
+     * that are still walking it.
+     */
+    private Table rehash(Table oldTable) {
+      int oldCapacity = oldTable.length();
+      int newCapacity = oldCapacity;
+      if (this.count + 1 > this.threshold / 2 && oldCapacity < MAXIMUM_CAPACITY) {
+        newCapacity = oldCapacity << 1;
+      }
+      Table newTable = new Table(newCapacity);
+      final int mask = newCapacity - 1;
+      for (int j = 0; j < oldCapacity; j++) {
+        Object e = oldTable.slots.get(j);
+        if (e != null && e != REMOVED) {
+          int i = indexFor(hashOf(((HashEntry<?, ?>) e).getKey()), newCapacity);
+          while (newTable.slots.get(i) != null) {
+            i = (i + 1) & mask;
+          }
+          newTable.slots.set(i, e);
+        }
+      }
+      setTable(newTable);
+      return newTable;
+    }
+
+    /**
+     * Removes every mapping. If clearedValues is not null, or this segment holds off-heap entries,
+     * the removed values are added to the returned list so that they can be released.
+     */
+    List<Object> clear(List<Object> clearedValues) {
+      if (this.count == 0) {
+        return clearedValues;
+      }
+      long stamp = writeLock();
+      try {
+        Table tab = this.table;
+        for (int i = 0; i < tab.length(); i++) {
+          Object e = tab.slots.get(i);
+          if (e == null || e == REMOVED) {
+            continue;
+          }
+          if (clearedValues == null && e instanceof OffHeapRegionEntry) {
+            clearedValues = new ArrayList<>();
+          }
+          if (clearedValues != null) {
+            clearedValues.add(e);
+          }
+        }
+        setTable(new Table(tab.length()));
+        this.count = 0;
+        return clearedValues;
+      } finally {
+        unlockWrite(stamp);
+      }
+    }
+  }
+
+  /**
+   * Walks the tables of the segments in place. A segment's table is read when the iterator reaches
+   * the segment, so entries added after a segment has been rebuilt may not be returned.
+   */
+  private class EntryIterator implements Iterator<Map.Entry<Object, Object>> {
+    private final ReusableEntry reusableEntry;
+    private int nextSegment;
+    private AtomicReferenceArray<Object> slots;
+    private int nextSlot;
+    private HashEntry<?, ?> next;
+    private HashEntry<?, ?> last;
+
+    EntryIterator(boolean reuseEntries) {
+      this.reusableEntry = reuseEntries ? new ReusableEntry() : null;
+    }
+
+    private void advance() {
+      while (this.next == null) {
+        if (this.slots == null || this.nextSlot >= this.slots.length()) {
+          if (this.nextSegment >= PrimitiveKeyConcurrentHashMap.this.segments.length) {
+            return;
+          }
+          this.slots = PrimitiveKeyConcurrentHashMap.this.segments[this.nextSegment++].table.slots;
+          this.nextSlot = 0;
+          continue;
+        }
+        Object e = this.slots.get(this.nextSlot++);
+        if (e != null && e != REMOVED) {
+          this.next = (HashEntry<?, ?>) e;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      advance();
+      return this.next != null;
+    }
+
+    @Override
+    public Map.Entry<Object, Object> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      this.last = this.next;
+      this.next = null;
+      if (this.reusableEntry != null) {
+        this.reusableEntry.entry = this.last;
+        return this.reusableEntry;
+      }
+      return new SimpleImmutableEntry<>(this.last.getKey(), this.last);
+    }
+
+    @Override
+    public void remove() {
+      if (this.last == null) {
+        throw new IllegalStateException();
+      }
+      PrimitiveKeyConcurrentHashMap.this.remove(this.last.getKey(), this.last);
+      this.last = null;
+    }
+  }
+
+  /**
+   * The entry returned by every call to next of an iterator of
+   * {@link #entrySetWithReusableEntries()}.
+   */
+  private static class ReusableEntry implements Map.Entry<Object, Object> {
+    private HashEntry<?, ?> entry;
+
+    @Override
+    public Object getKey() {
+      return this.entry.getKey();
+    }
+
+    @Override
+    public Object getValue() {
+      return this.entry;
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private class EntrySet extends AbstractSet<Map.Entry<Object, Object>> {
+    private final boolean reuseEntries;
+
+    EntrySet(boolean reuseEntries) {
+      this.reuseEntries = reuseEntries;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Object, Object>> iterator() {
+      return new EntryIterator(this.reuseEntries);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      Object v = get(e.getKey());
+      return v != null && v.equals(e.getValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      return PrimitiveKeyConcurrentHashMap.this.remove(e.getKey(), e.getValue());
+    }
+
+    @Override
+    public int size() {
+      return PrimitiveKeyConcurrentHashMap.this.size();
+    }
+
+    @Override
+    public void clear() {
+      PrimitiveKeyConcurrentHashMap.this.clear();
+    }
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.InOrder;
+
+import org.apache.geode.cache.client.NoAvailableServersException;
+import org.apache.geode.cache.client.ServerOperationException;
+import org.apache.geode.cache.client.internal.pooling.ConnectionManager;
+import org.apache.geode.distributed.PoolCancelledException;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+
+@Category({ClientServerTest.class})
+public class AsyncOpExecutorTest {
+
+  private final List<Runnable> tasks = new ArrayList<>();
+  private ExecutablePool pool;
+  private ConnectionManager connectionManager;
+  private Connection connection;
+  private AsyncOpExecutor asyncOpExecutor;
+
+  @Before
+  public void setUp() throws Exception {
+    pool = mock(ExecutablePool.class);
+    connectionManager = mock(ConnectionManager.class);
+    connection = mock(Connection.class);
+    when(connection.getServer()).thenReturn(mock(ServerLocation.class));
+    Socket socket = mock(Socket.class);
+    when(socket.getSendBufferSize()).thenReturn(1024);
+    when(connection.getSocket()).thenReturn(socket);
+    when(connectionManager.borrowConnection(anyLong())).thenReturn(connection);
+    ExecutorService executor = mock(ExecutorService.class);
+    doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(executor).execute(any());
+    asyncOpExecutor = new AsyncOpExecutor(pool, connectionManager, 1000, executor, 2, 64);
+  }
+
+  @Test
+  public void sendsAllOperationsBeforeReadingTheirResponses() throws Exception {
+    AbstractOp op1 = op("one");
+    AbstractOp op2 = op("two");
+    AbstractOp op3 = op("three");
+
+    CompletableFuture<Object> future1 = asyncOpExecutor.execute(op1);
+    CompletableFuture<Object> future2 = asyncOpExecutor.execute(op2);
+    CompletableFuture<Object> future3 = asyncOpExecutor.execute(op3);
+    runTasks();
+
+    assertThat(future1).isCompletedWithValue("one");
+    assertThat(future2).isCompletedWithValue("two");
+    assertThat(future3).isCompletedWithValue("three");
+    InOrder inOrder = inOrder(op1, op2, op3);
+    inOrder.verify(op1).attemptPipelinedSend(connection);
+    inOrder.verify(op2).attemptPipelinedSend(connection);
+    inOrder.verify(op3).attemptPipelinedSend(connection);
+    inOrder.verify(op1).attemptPipelinedReadResponse(connection, 0);
+    inOrder.verify(op2).attemptPipelinedReadResponse(connection, 0);
+    inOrder.verify(op3).attemptPipelinedReadResponse(connection, 0);
+    verify(connectionManager, times(1)).borrowConnection(anyLong());
+    verify(connectionManager).returnConnection(connection);
+  }
+
+  @Test
+  public void readsTheOldestResponseBeforeSendingMoreThanTheSendBuffer() throws Exception {
+    AbstractOp op1 = op("one", 400);
+    AbstractOp op2 = op("two", 400);
+    AbstractOp op3 = op("three", 400);
+
+    CompletableFuture<Object> future1 = asyncOpExecutor.execute(op1);
+    CompletableFuture<Object> future2 = asyncOpExecutor.execute(op2);
+    CompletableFuture<Object> future3 = asyncOpExecutor.execute(op3);
+    runTasks();
+
+    assertThat(future1).isCompletedWithValue("one");
+    assertThat(future2).isCompletedWithValue("two");
+    assertThat(future3).isCompletedWithValue("three");
+    InOrder inOrder = inOrder(op1, op2, op3);
+    inOrder.verify(op1).attemptPipelinedSend(connection);
+    inOrder.verify(op2).attemptPipelinedSend(connection);
+    inOrder.verify(op1).attemptPipelinedReadResponse(connection, 0);
+    inOrder.verify(op3).attemptPipelinedSend(connection);
+    inOrder.verify(op2).attemptPipelinedReadResponse(connection, 0);
+    inOrder.verify(op3).attemptPipelinedReadResponse(connection, 0);
+  }
+
+  @Test
+  public void sendsOperationsLargerThanTheSendBufferOnlyWithNoResponsePending() throws Exception {
+    AbstractOp op1 = op("one", 10);
+    AbstractOp op2 = op("two", 4096);
+    AbstractOp op3 = op("three", 4096);
+
+    CompletableFuture<Object> future1 = asyncOpExecutor.execute(op1);
+    CompletableFuture<Object> future2 = asyncOpExecutor.execute(op2);
+    CompletableFuture<Object> future3 = asyncOpExecutor.execute(op3);
+    runTasks();
+
+    assertThat(future1).isCompletedWithValue("one");
+    assertThat(future2).isCompletedWithValue("two");
+    assertThat(future3).isCompletedWithValue("three");
+    InOrder inOrder = inOrder(op1, op2, op3);
+    inOrder.verify(op1).attemptPipelinedSend(connection);
+    inOrder.verify(op1).attemptPipelinedReadResponse(connection, 0);
+    inOrder.verify(op2).attemptPipelinedSend(connection);
+    inOrder.verify(op2).attemptPipelinedReadResponse(connection, 0);
+    inOrder.verify(op3).attemptPipelinedSend(connection);
+    inOrder.verify(op3).attemptPipelinedReadResponse(connection, 0);
+    verify(connectionManager, times(1)).borrowConnection(anyLong());
+  }
+
+  @Test
+  public void operationsOfAConnectionThatFailsWhileSendingAreRetriedByThePool()
+      throws Exception {
+    AbstractOp op1 = op("one", 400);
+    AbstractOp op2 = op("two", 400);
+    AbstractOp op3 = op("three", 400);
+    when(op3.attemptPipelinedSend(connection)).thenThrow(new IOException());
+    when(pool.execute(op2)).thenReturn("retried two");
+    when(pool.execute(op3)).thenReturn("retried three");
+
+    CompletableFuture<Object> future1 = asyncOpExecutor.execute(op1);
+    CompletableFuture<Object> future2 = asyncOpExecutor.execute(op2);
+    CompletableFuture<Object> future3 = asyncOpExecutor.execute(op3);
+    runTasks();
+
+    assertThat(future1).isCompletedWithValue("one");
+    assertThat(future2).isCompletedWithValue("retried two");
+    assertThat(future3).isCompletedWithValue("retried three");
+    verify(connection).destroy();
+    verify(op2).abandonPipelinedAttempt(connection, 0);
+    verify(op3, never()).abandonPipelinedAttempt(connection, 0);
+    verify(op2.getMessage()).setIsRetry();
+    verify(op3.getMessage()).setIsRetry();
+    verify(pool, never()).execute(op1);
+  }
+
+  @Test
+  public void startsNoMoreThanTheMaximumNumberOfPipelinesPerServer() throws Exception {
+    ServerLocation server = new ServerLocation("localhost", 40404);
+    for (int i = 0; i < 5; i++) {
+      asyncOpExecutor.executeOn(server, op(i));
+      asyncOpExecutor.execute(op(i));
+    }
+
+    assertThat(tasks).hasSize(4);
+  }
+
+  @Test
+  public void serverExceptionFailsOnlyItsOperation() throws Exception {
+    AbstractOp op1 = op("one");
+    AbstractOp op2 = op("two");
+    ServerOperationException exception = new ServerOperationException("failed");
+    when(op1.attemptPipelinedReadResponse(connection, 0)).thenThrow(exception);
+
+    CompletableFuture<Object> future1 = asyncOpExecutor.execute(op1);
+    CompletableFuture<Object> future2 = asyncOpExecutor.execute(op2);
+    runTasks();
+
+    assertThatThrownBy(future1::join).hasCause(exception);
+    assertThat(future2).isCompletedWithValue("two");
+    verify(connection, never()).destroy();
+    verify(pool, never()).execute(any());
+  }
+
+  @Test
+  public void operationsOfAFailedConnectionAreRetriedByThePool() throws Exception {
+    AbstractOp op1 = op("one");
+    AbstractOp op2 = op("two");
+    AbstractOp op3 = op("three");
+    when(op2.attemptPipelinedReadResponse(connection, 0)).thenThrow(new IOException());
+    when(pool.execute(op2)).thenReturn("retried two");
+    when(pool.execute(op3)).thenReturn("retried three");
+
+    CompletableFuture<Object> future1 = asyncOpExecutor.execute(op1);
+    CompletableFuture<Object> future2 = asyncOpExecutor.execute(op2);
+    CompletableFuture<Object> future3 = asyncOpExecutor.execute(op3);
+    runTasks();
+
+    assertThat(future1).isCompletedWithValue("one");
+    assertThat(future2).isCompletedWithValue("retried two");
+    assertThat(future3).isCompletedWithValue("retried three");
+    verify(connection).destroy();
+    verify(connectionManager).returnConnection(connection);
+    verify(op2, never()).abandonPipelinedAttempt(connection, 0);
+    verify(op3).abandonPipelinedAttempt(connection, 0);
+    verify(op2.getMessage()).setIsRetry();
+    verify(op3.getMessage()).setIsRetry();
+    verify(pool, never()).execute(op1);
+  }
+
+  @Test
+  public void operationsAreExecutedByThePoolWithoutAConnection() throws Exception {
+    when(connectionManager.borrowConnection(anyLong()))
+        .thenThrow(new NoAvailableServersException());
+    AbstractOp op = op("one");
+    when(pool.execute(op)).thenReturn("executed");
+
+    CompletableFuture<Object> future = asyncOpExecutor.execute(op);
+    runTasks();
+
+    assertThat(future).isCompletedWithValue("executed");
+    verify(op, never()).attemptPipelinedSend(any());
+  }
+
+  @Test
+  public void operationsAreExecutedByThePoolWhenTheServerRequiresCredentials() throws Exception {
+    ServerLocation server = mock(ServerLocation.class);
+    when(server.getRequiresCredentials()).thenReturn(true);
+    when(connection.getServer()).thenReturn(server);
+    AbstractOp op = op("one");
+    when(pool.execute(op)).thenReturn("executed");
+
+    CompletableFuture<Object> future = asyncOpExecutor.execute(op);
+    runTasks();
+
+    assertThat(future).isCompletedWithValue("executed");
+    verify(op, never()).attemptPipelinedSend(any());
+  }
+
+  @Test
+  public void closeFailsQueuedOperations() throws Exception {
+    CompletableFuture<Object> queued = asyncOpExecutor.execute(op("one"));
+
+    asyncOpExecutor.close();
+    CompletableFuture<Object> afterClose = asyncOpExecutor.execute(op("two"));
+
+    assertThatThrownBy(queued::join).hasCauseInstanceOf(PoolCancelledException.class);
+    assertThatThrownBy(afterClose::join).hasCauseInstanceOf(PoolCancelledException.class);
+  }
+
+  private AbstractOp op(Object result) throws Exception {
+    return op(result, 10);
+  }
+
+  private AbstractOp op(Object result, long length) throws Exception {
+    AbstractOp op = mock(AbstractOp.class);
+    Message message = mock(Message.class);
+    when(message.getSendLength()).thenReturn(length);
+    when(op.getMessage()).thenReturn(message);
+    when(op.attemptPipelinedReadResponse(connection, 0)).thenReturn(result);
+    return op;
+  }
+
+  private void runTasks() {
+    while (!tasks.isEmpty()) {
+      tasks.remove(0).run();
+    }
+  }
+}
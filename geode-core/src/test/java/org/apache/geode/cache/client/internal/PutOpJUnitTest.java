@@ -57,4 +57,20 @@ public class PutOpJUnitTest {
     assertTrue(putOp.getMessage().isRetry());
   }
 
+  @Test
+  public void regularPutShouldBeMultiplexable() {
+    PutOp.PutOpImpl putOp = new PutOp.PutOpImpl("testRegion", "testKey", "testValue", null,
+        getEntryEvent(), Operation.UPDATE,
+        false, false, null, false, false);
+    assertTrue(putOp.isMultiplexable());
+  }
+
+  @Test
+  public void deltaPutShouldNotBeMultiplexable() {
+    PutOp.PutOpImpl putOp = new PutOp.PutOpImpl("testRegion", "testKey", "testValue", new byte[10],
+        getEntryEvent(), Operation.UPDATE,
+        false, false, null, false, false);
+    assertFalse(putOp.isMultiplexable());
+  }
+
 }
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AdaptiveCompressorTest {
+
+  @Test
+  public void smallValuesAreStored() {
+    Compressor delegate = mock(Compressor.class);
+    AdaptiveCompressor compressor = new AdaptiveCompressor(delegate, 64, 0.9);
+    byte[] value = new byte[63];
+
+    byte[] compressed = compressor.compress(value);
+
+    assertThat(AdaptiveCompressor.isStored(compressed)).isTrue();
+    assertThat(compressor.decompress(compressed)).isEqualTo(value);
+    verify(delegate, never()).compress(any());
+    verify(delegate, never()).decompress(any());
+  }
+
+  @Test
+  public void compressibleValuesAreCompressed() {
+    AdaptiveCompressor compressor = new AdaptiveCompressor();
+    byte[] value = new byte[1000];
+
+    byte[] compressed = compressor.compress(value);
+
+    assertThat(AdaptiveCompressor.isStored(compressed)).isFalse();
+    assertThat(compressed.length).isLessThan(100);
+    assertThat(compressor.decompress(compressed)).isEqualTo(value);
+  }
+
+  @Test
+  public void incompressibleValuesAreStored() {
+    AdaptiveCompressor compressor = new AdaptiveCompressor();
+    byte[] value = randomBytes(new Random(1), 1000);
+
+    byte[] compressed = compressor.compress(value);
+
+    assertThat(AdaptiveCompressor.isStored(compressed)).isTrue();
+    assertThat(compressed).hasSize(value.length + 1);
+    assertThat(compressor.decompress(compressed)).isEqualTo(value);
+  }
+
+  @Test
+  public void onlySamplesAreCompressedWhileValuesAreIncompressible() {
+    CountingCompressor delegate = new CountingCompressor();
+    AdaptiveCompressor compressor = new AdaptiveCompressor(delegate, 0, 0.9);
+    Random random = new Random(2);
+
+    for (int i = 0; i < 100 * AdaptiveCompressor.SAMPLE_INTERVAL; i++) {
+      byte[] value = randomBytes(random, 1000);
+      assertThat(compressor.decompress(compressor.compress(value))).isEqualTo(value);
+    }
+
+    assertThat(delegate.compressions).isGreaterThanOrEqualTo(100).isLessThan(150);
+    assertThat(delegate.decompressions).isZero();
+  }
+
+  @Test
+  public void compressionResumesWhenValuesBecomeCompressible() {
+    AdaptiveCompressor compressor = new AdaptiveCompressor();
+    Random random = new Random(3);
+    for (int i = 0; i < 100; i++) {
+      compressor.compress(randomBytes(random, 1000));
+    }
+
+    int stored = 0;
+    for (int i = 0; i < 50 * AdaptiveCompressor.SAMPLE_INTERVAL; i++) {
+      if (AdaptiveCompressor.isStored(compressor.compress(new byte[1000]))) {
+        stored++;
+      }
+    }
+
+    assertThat(AdaptiveCompressor.isStored(compressor.compress(new byte[1000]))).isFalse();
+    assertThat(stored).isLessThan(50 * AdaptiveCompressor.SAMPLE_INTERVAL);
+  }
+
+  @Test
+  public void otherCompressorsCanBeUsed() {
+    Compressor delegate = mock(Compressor.class);
+    when(delegate.compress(any())).thenReturn(new byte[] {1, 2, 3});
+    when(delegate.decompress(any())).thenReturn(new byte[100]);
+    AdaptiveCompressor compressor = new AdaptiveCompressor(delegate, 0, 0.9);
+
+    byte[] compressed = compressor.compress(new byte[100]);
+
+    assertThat(compressed).containsExactly(AdaptiveCompressor.COMPRESSED, 1, 2, 3);
+    assertThat(compressor.decompress(compressed)).isEqualTo(new byte[100]);
+    verify(delegate).decompress(new byte[] {1, 2, 3});
+  }
+
+  @Test
+  public void decompressRejectsUnknownFlags() {
+    AdaptiveCompressor compressor = new AdaptiveCompressor();
+
+    assertThatThrownBy(() -> compressor.decompress(new byte[0]))
+        .isInstanceOf(CompressionException.class);
+    assertThatThrownBy(() -> compressor.decompress(new byte[] {7, 1}))
+        .isInstanceOf(CompressionException.class);
+  }
+
+  @Test
+  public void instancesWithTheSameSettingsAreEqual() {
+    assertThat(new AdaptiveCompressor()).isEqualTo(new AdaptiveCompressor())
+        .hasSameHashCodeAs(new AdaptiveCompressor());
+    assertThat(new AdaptiveCompressor())
+        .isNotEqualTo(new AdaptiveCompressor(new SnappyCompressor(), 64, 0.9))
+        .isNotEqualTo(new AdaptiveCompressor(new Lz4Compressor(), 128, 0.9));
+  }
+
+  private static class CountingCompressor implements Compressor {
+    private final Compressor compressor = new Lz4Compressor();
+    int compressions;
+    int decompressions;
+
+    @Override
+    public byte[] compress(byte[] input) {
+      compressions++;
+      return compressor.compress(input);
+    }
+
+    @Override
+    public byte[] decompress(byte[] input) {
+      decompressions++;
+      return compressor.decompress(input);
+    }
+  }
+
+  private static byte[] randomBytes(Random random, int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+}
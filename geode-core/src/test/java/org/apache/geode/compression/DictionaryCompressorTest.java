@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.Region;
+
+public class DictionaryCompressorTest {
+
+  private final Random random = new Random(1);
+
+  @Test
+  public void trainedDictionaryCompressesSmallSimilarValues() {
+    byte[] dictionary = DictionaryCompressor.train(values(2000), 4096);
+    DictionaryCompressor compressor = new DictionaryCompressor(dictionary);
+    Lz4Compressor lz4 = new Lz4Compressor();
+
+    long length = 0;
+    long lz4Length = 0;
+    long dictionaryLength = 0;
+    for (byte[] value : values(1000)) {
+      byte[] compressed = compressor.compress(value);
+      assertThat(compressor.decompress(compressed)).isEqualTo(value);
+      length += value.length;
+      lz4Length += lz4.compress(value).length;
+      dictionaryLength += compressed.length;
+    }
+
+    assertThat(dictionary).hasSize(4096);
+    assertThat(lz4Length).isGreaterThan(length * 9 / 10);
+    assertThat(dictionaryLength).isLessThan(length / 2);
+  }
+
+  @Test
+  public void roundTripsValuesUnlikeTheDictionary() {
+    DictionaryCompressor compressor =
+        new DictionaryCompressor(DictionaryCompressor.train(values(100), 1024));
+    for (int i = 0; i < 100; i++) {
+      byte[] value = new byte[random.nextInt(i < 50 ? 300 : 100000)];
+      int alphabet = 1 + random.nextInt(256);
+      for (int j = 0; j < value.length; j++) {
+        value[j] = (byte) random.nextInt(alphabet);
+      }
+
+      assertThat(compressor.decompress(compressor.compress(value))).isEqualTo(value);
+    }
+  }
+
+  @Test
+  public void onlyTheEndOfALargeDictionaryIsUsed() {
+    byte[] dictionary = new byte[100000];
+    random.nextBytes(dictionary);
+    DictionaryCompressor compressor = new DictionaryCompressor(dictionary);
+    byte[] value = Arrays.copyOfRange(dictionary, 90000, 100000);
+
+    byte[] compressed = compressor.compress(value);
+
+    assertThat(compressor.getDictionary())
+        .hasSize(DictionaryCompressor.MAX_DICTIONARY_SIZE)
+        .endsWith(value);
+    assertThat(compressed.length).isLessThan(100);
+    assertThat(compressor.decompress(compressed)).isEqualTo(value);
+  }
+
+  @Test
+  public void decompressRejectsValuesCompressedWithAnotherDictionary() {
+    DictionaryCompressor compressor =
+        new DictionaryCompressor(DictionaryCompressor.train(values(100), 1024));
+    byte[] compressed = new DictionaryCompressor(new byte[0]).compress(new byte[100]);
+
+    assertThatThrownBy(() -> compressor.decompress(compressed))
+        .isInstanceOf(CompressionException.class);
+  }
+
+  @Test
+  public void deserializedCompressorDecompressesValues() throws Exception {
+    DictionaryCompressor compressor =
+        new DictionaryCompressor(DictionaryCompressor.train(values(100), 1024));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(compressor);
+    }
+
+    DictionaryCompressor deserialized;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      deserialized = (DictionaryCompressor) in.readObject();
+    }
+
+    byte[] value = values(1).get(0);
+    assertThat(deserialized).isEqualTo(compressor).hasSameHashCodeAs(compressor);
+    assertThat(deserialized.decompress(compressor.compress(value))).isEqualTo(value);
+  }
+
+  @Test
+  public void trainsFromRegionValues() {
+    Region<?, ?> region = mock(Region.class);
+    Collection<Object> regionValues = new ArrayList<>();
+    for (byte[] value : values(200)) {
+      regionValues.add(new String(value, UTF_8));
+    }
+    when(region.values()).thenReturn((Collection) regionValues);
+
+    byte[] dictionary = DictionaryCompressor.train(region, 100, 1024);
+
+    assertThat(dictionary).hasSize(1024);
+  }
+
+  @Test
+  public void trainingWithoutSamplesReturnsAnEmptyDictionary() {
+    assertThat(DictionaryCompressor.train(Collections.emptyList(), 1024)).isEmpty();
+    assertThatThrownBy(() -> DictionaryCompressor.train(Collections.emptyList(), 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * Returns values that look like small serialized objects of one type.
+   */
+  private List<byte[]> values(int count) {
+    String[] cities = {"Portland", "Seattle", "Boston"};
+    List<byte[]> values = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      String value = "com.mybiz.model.Customer\0firstName\0n" + random.nextInt(100000)
+          + "\0lastName\0Smith" + random.nextInt(1000) + "\0address\0" + random.nextInt(9999)
+          + " Main Street\0city\0" + cities[random.nextInt(cities.length)]
+          + "\0status\0ACTIVE\0balance\0" + random.nextDouble() + "\0createdAt\u00002019-"
+          + random.nextInt(12) + "-01T00:00:00Z\0tags\0premium,retail,online";
+      values.add(value.getBytes(UTF_8));
+    }
+    return values;
+  }
+}
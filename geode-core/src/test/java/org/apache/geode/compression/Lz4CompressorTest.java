@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class Lz4CompressorTest {
+
+  private final Lz4Compressor compressor = new Lz4Compressor();
+
+  @Test
+  public void roundTripsEmptyAndShortValues() {
+    for (int length = 0; length < 20; length++) {
+      byte[] value = new byte[length];
+      Arrays.fill(value, (byte) 'a');
+      assertThat(compressor.decompress(compressor.compress(value))).isEqualTo(value);
+    }
+  }
+
+  @Test
+  public void compressesRepetitiveValues() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      builder.append("{\"id\":").append(i).append(",\"name\":\"customer\",\"active\":true}");
+    }
+    byte[] value = builder.toString().getBytes(UTF_8);
+
+    byte[] compressed = compressor.compress(value);
+
+    assertThat(compressed.length).isLessThan(value.length / 4);
+    assertThat(compressor.decompress(compressed)).isEqualTo(value);
+  }
+
+  @Test
+  public void roundTripsLongRunsAndOverlappingMatches() {
+    byte[] value = new byte[100000];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) (i < 50000 ? 7 : i % 3);
+    }
+
+    assertThat(compressor.decompress(compressor.compress(value))).isEqualTo(value);
+  }
+
+  @Test
+  public void roundTripsRandomValuesOfManySizes() {
+    Random random = new Random(42);
+    for (int i = 0; i < 200; i++) {
+      byte[] value = new byte[random.nextInt(200000)];
+      // a small alphabet gives a mix of literals and matches
+      int alphabet = 1 + random.nextInt(256);
+      for (int j = 0; j < value.length; j++) {
+        value[j] = (byte) random.nextInt(alphabet);
+      }
+
+      assertThat(compressor.decompress(compressor.compress(value))).isEqualTo(value);
+    }
+  }
+
+  @Test
+  public void compressLeavesRoomForAHeader() {
+    byte[] value = "Hello, how are you? Hello, how are you?".getBytes(UTF_8);
+
+    byte[] compressed = compressor.compress(value, 3);
+
+    assertThat(Arrays.copyOfRange(compressed, 3, compressed.length))
+        .isEqualTo(compressor.compress(value));
+    assertThat(compressor.decompress(compressed, 3)).isEqualTo(value);
+  }
+
+  @Test
+  public void decompressRejectsMalformedInput() {
+    byte[] compressed = compressor.compress(new byte[1000]);
+
+    assertThatThrownBy(() -> compressor.decompress(Arrays.copyOf(compressed, 2)))
+        .isInstanceOf(CompressionException.class);
+    assertThatThrownBy(
+        () -> compressor.decompress(Arrays.copyOf(compressed, compressed.length - 1)))
+            .isInstanceOf(CompressionException.class);
+    compressed[3]++;
+    assertThatThrownBy(() -> compressor.decompress(compressed))
+        .isInstanceOf(CompressionException.class);
+  }
+
+  @Test
+  public void instancesAreEqual() {
+    assertThat(new Lz4Compressor()).isEqualTo(compressor).hasSameHashCodeAs(compressor);
+    assertThat(compressor).isNotEqualTo(new SnappyCompressor());
+  }
+}
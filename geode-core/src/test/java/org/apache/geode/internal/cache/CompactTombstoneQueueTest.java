@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.TombstoneService.Tombstone;
+import org.apache.geode.internal.cache.versions.VersionSource;
+
+public class CompactTombstoneQueueTest {
+
+  private final CompactTombstoneQueue queue = new CompactTombstoneQueue();
+  private final LocalRegion region = mock(LocalRegion.class);
+  private final VersionSource<?> member = mock(VersionSource.class);
+
+  @Test
+  public void emptyQueueHasNoTombstones() {
+    assertThat(queue.peek()).isNull();
+    assertThat(queue.poll()).isNull();
+    assertThat(queue).isEmpty();
+    assertThat(queue.getMemoryFootprint()).isEqualTo(
+        (long) CompactTombstoneQueue.MIN_CHUNK_SIZE * CompactTombstoneQueue.BYTES_PER_TOMBSTONE);
+  }
+
+  @Test
+  public void pollReturnsTombstonesInOrderWithTheirVersions() {
+    List<RegionEntry> entries = offer(1000);
+
+    assertThat(queue).hasSize(1000);
+    for (int i = 0; i < 1000; i++) {
+      Tombstone tombstone = queue.poll();
+      assertThat(tombstone.entry).isSameAs(entries.get(i));
+      assertThat(tombstone.region).isSameAs(region);
+      assertThat(tombstone.getMemberID()).isSameAs(member);
+      assertThat(tombstone.getEntryVersion()).isEqualTo(i);
+      assertThat(tombstone.getRegionVersion()).isEqualTo(i + (1L << 40));
+      assertThat(tombstone.getVersionTimeStamp()).isEqualTo(1000L + i);
+      assertThat(tombstone.getDistributedSystemId()).isEqualTo(i % 2 == 0 ? -1 : 3);
+    }
+    assertThat(queue.poll()).isNull();
+    assertThat(queue).isEmpty();
+  }
+
+  @Test
+  public void peekDoesNotRemove() {
+    List<RegionEntry> entries = offer(2);
+
+    assertThat(queue.peek().entry).isSameAs(entries.get(0));
+    assertThat(queue.peek().entry).isSameAs(entries.get(0));
+    assertThat(queue).hasSize(2);
+  }
+
+  @Test
+  public void toStringShowsOnlyTheSize() {
+    offer(3);
+
+    assertThat(queue.toString()).isEqualTo("CompactTombstoneQueue[size=3]");
+  }
+
+  @Test
+  public void tombstonesRemovedByIteratorAreSkipped() {
+    List<RegionEntry> entries = offer(500);
+
+    for (Iterator<Tombstone> iterator = queue.iterator(); iterator.hasNext();) {
+      if (iterator.next().getEntryVersion() % 3 != 0) {
+        iterator.remove();
+      }
+    }
+
+    assertThat(queue).hasSize(167);
+    for (int i = 0; i < 500; i += 3) {
+      assertThat(queue.poll().entry).isSameAs(entries.get(i));
+    }
+    assertThat(queue.poll()).isNull();
+  }
+
+  @Test
+  public void chunksAreReleasedOnceAllTheirTombstonesAreRemoved() {
+    long emptyFootprint = queue.getMemoryFootprint();
+    offer(10000);
+    long fullFootprint = queue.getMemoryFootprint();
+    assertThat(fullFootprint).isGreaterThan(emptyFootprint);
+
+    for (Iterator<Tombstone> iterator = queue.iterator(); iterator.hasNext();) {
+      if (iterator.next().getEntryVersion() < 9990) {
+        iterator.remove();
+      }
+    }
+    assertThat(queue).hasSize(10);
+    assertThat(queue.getMemoryFootprint()).isLessThan(fullFootprint / 2);
+
+    assertThat(queue.poll().getEntryVersion()).isEqualTo(9990);
+    for (int i = 0; i < 9; i++) {
+      queue.poll();
+    }
+    assertThat(queue.poll()).isNull();
+    assertThat(queue.getMemoryFootprint()).isEqualTo((long) CompactTombstoneQueue.MAX_CHUNK_SIZE
+        * CompactTombstoneQueue.BYTES_PER_TOMBSTONE);
+  }
+
+  @Test
+  public void offersFromSeveralThreadsAreAllQueued() throws Exception {
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      threads.add(new Thread(() -> offer(5000)));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    int polled = 0;
+    while (polled < 20000) {
+      if (queue.poll() != null) {
+        polled++;
+      }
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(queue).isEmpty();
+  }
+
+  private List<RegionEntry> offer(int count) {
+    List<RegionEntry> entries = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      RegionEntry entry = mock(RegionEntry.class);
+      entries.add(entry);
+      queue.offer(new Tombstone(entry, region, member, i, i + (1L << 40), 1000L + i,
+          i % 2 == 0 ? -1 : 3));
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class CompactionThrottleTest {
+
+  private final AtomicLong clock = new AtomicLong(SECONDS.toNanos(100));
+  private final CompactionThrottle throttle = new CompactionThrottle(1000, clock::get);
+
+  @Test
+  public void firstReservationDoesNotWait() {
+    assertThat(throttle.reserve(1000)).isEqualTo(0);
+  }
+
+  @Test
+  public void reservationWaitsForTheBytesReservedBeforeIt() {
+    throttle.reserve(500);
+
+    assertThat(throttle.reserve(500)).isEqualTo(MILLISECONDS.toNanos(500));
+    assertThat(throttle.reserve(1)).isEqualTo(SECONDS.toNanos(1));
+  }
+
+  @Test
+  public void reservationWaitsLessAsTimePasses() {
+    throttle.reserve(1000);
+    clock.addAndGet(MILLISECONDS.toNanos(400));
+
+    assertThat(throttle.reserve(1000)).isEqualTo(MILLISECONDS.toNanos(600));
+  }
+
+  @Test
+  public void idleTimeIsNotSavedUp() {
+    throttle.reserve(1000);
+    clock.addAndGet(SECONDS.toNanos(5));
+
+    assertThat(throttle.reserve(1000)).isEqualTo(0);
+    assertThat(throttle.reserve(1000)).isEqualTo(SECONDS.toNanos(1));
+  }
+
+  @Test
+  public void acquireDoesNotWaitIfConditionDoesNotHold() {
+    throttle.reserve(1000);
+
+    assertThat(throttle.acquire(1000, () -> false)).isEqualTo(0);
+  }
+
+  @Test
+  public void batchIsATenthOfASecondOfTheRate() {
+    assertThat(throttle.getBatchBytes()).isEqualTo(100);
+    assertThat(new CompactionThrottle(5, clock::get).getBatchBytes()).isEqualTo(1);
+  }
+
+  @Test
+  public void rateMustBePositive() {
+    assertThatThrownBy(() -> new CompactionThrottle(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -16,9 +16,17 @@ package org.apache.geode.internal.cache;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.DataInputStream;
+
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Test;
 
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAlgorithm;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.configuration.RegionAttributesType;
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.serialization.Version;
 import org.apache.geode.internal.util.BlobHelper;
 
 public class EvictionAttributesImplTest {
@@ -41,4 +49,51 @@ public class EvictionAttributesImplTest {
         .isNotSameAs(evictionAttributes)
         .isInstanceOf(EvictionAttributesImpl.class);
   }
+
+  @Test
+  public void tinyLfuIsSentToCurrentMembers() throws Exception {
+    EvictionAttributesImpl read = serializeAndDeserialize(
+        EvictionAttributes.createTinyLFUEntryAttributes(100, EvictionAction.LOCAL_DESTROY),
+        Version.CURRENT);
+
+    assertThat(read.getAlgorithm()).isEqualTo(EvictionAlgorithm.TINY_LFU_ENTRY);
+    assertThat(read.getMaximum()).isEqualTo(100);
+    assertThat(read.getAction()).isEqualTo(EvictionAction.LOCAL_DESTROY);
+  }
+
+  @Test
+  public void tinyLfuIsSentAsEntryLruToOlderMembers() throws Exception {
+    EvictionAttributesImpl read = serializeAndDeserialize(
+        EvictionAttributes.createTinyLFUEntryAttributes(100, EvictionAction.LOCAL_DESTROY),
+        Version.GEODE_1_11_0);
+
+    assertThat(read.getAlgorithm()).isEqualTo(EvictionAlgorithm.LRU_ENTRY);
+    assertThat(read.getMaximum()).isEqualTo(100);
+    assertThat(read.getAction()).isEqualTo(EvictionAction.LOCAL_DESTROY);
+  }
+
+  @Test
+  public void tinyLfuConvertsToAndFromConfig() throws Exception {
+    EvictionAttributes evictionAttributes =
+        EvictionAttributes.createTinyLFUEntryAttributes(100, EvictionAction.OVERFLOW_TO_DISK);
+
+    RegionAttributesType.EvictionAttributes config =
+        evictionAttributes.convertToConfigEvictionAttributes();
+
+    assertThat(config.getLruEntryCount()).isNull();
+    assertThat(config.getTinyLfuEntryCount().getMaximum()).isEqualTo("100");
+    EvictionAttributesImpl converted = EvictionAttributesImpl.fromConfig(config);
+    assertThat(converted.getAlgorithm()).isEqualTo(EvictionAlgorithm.TINY_LFU_ENTRY);
+    assertThat(converted.getMaximum()).isEqualTo(100);
+    assertThat(converted.getAction()).isEqualTo(EvictionAction.OVERFLOW_TO_DISK);
+  }
+
+  private static EvictionAttributesImpl serializeAndDeserialize(
+      EvictionAttributes evictionAttributes, Version version) throws Exception {
+    HeapDataOutputStream out = new HeapDataOutputStream(version);
+    ((EvictionAttributesImpl) evictionAttributes).toData(out);
+    EvictionAttributesImpl read = new EvictionAttributesImpl();
+    read.fromData(new DataInputStream(out.getInputStream()));
+    return read;
+  }
 }
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.mockito.Mockito.RETURNS_MOCKS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Test;
+
+import org.apache.geode.StatisticsFactory;
+import org.apache.geode.internal.SystemTimer;
+
+public class ExpirationSchedulerTest {
+
+  private final StatisticsFactory statisticsFactory = mock(StatisticsFactory.class, RETURNS_MOCKS);
+
+  private final SystemTimer timer = mock(SystemTimer.class);
+
+  @Test
+  public void entryCancelsPurgeTheTimer() {
+    ExpirationScheduler scheduler = new ExpirationScheduler(statisticsFactory, timer, 0);
+
+    for (int i = 0; i <= ExpirationScheduler.MAX_PENDING_CANCELS; i++) {
+      scheduler.incEntryCancels();
+    }
+
+    verify(timer).timerPurge();
+  }
+
+  @Test
+  public void entryCancelsDoNotPurgeTheTimerWithATimingWheel() {
+    ExpirationScheduler scheduler = new ExpirationScheduler(statisticsFactory, timer, 10);
+
+    for (int i = 0; i <= ExpirationScheduler.MAX_PENDING_CANCELS; i++) {
+      scheduler.incEntryCancels();
+    }
+
+    verify(timer, never()).timerPurge();
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExpirationTimingWheelTest {
+
+  private AtomicLong clock;
+  private List<TestTask> ran;
+
+  @Before
+  public void setUp() {
+    clock = new AtomicLong(1_000_000L);
+    ran = new ArrayList<>();
+  }
+
+  @Test
+  public void constructorRejectsNonPositiveTick() {
+    assertThatThrownBy(() -> new ExpirationTimingWheel(0, clock::get, null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void taskRunsNoEarlierThanItsDelayAndWithinOneTick() {
+    ExpirationTimingWheel wheel = new ExpirationTimingWheel(10, clock::get, null);
+    TestTask task = new TestTask();
+
+    assertThat(wheel.add(task, 95)).isTrue();
+    assertThat(wheel.size()).isEqualTo(1);
+
+    advanceTo(wheel, 94);
+    assertThat(ran).isEmpty();
+
+    advanceTo(wheel, 100);
+    assertThat(ran).containsExactly(task);
+    assertThat(task.ranAt).isBetween(1_000_095L, 1_000_105L);
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  public void taskWithoutDelayRunsOnNextTick() {
+    ExpirationTimingWheel wheel = new ExpirationTimingWheel(10, clock::get, null);
+    TestTask task = new TestTask();
+
+    wheel.add(task, 0);
+    wheel.advance();
+    assertThat(ran).isEmpty();
+
+    advanceTo(wheel, 10);
+    assertThat(ran).containsExactly(task);
+  }
+
+  @Test
+  public void cancelledTaskDoesNotRun() {
+    ExpirationTimingWheel wheel = new ExpirationTimingWheel(10, clock::get, null);
+    TestTask task = new TestTask();
+    wheel.add(task, 50);
+
+    assertThat(task.cancel()).isTrue();
+    assertThat(task.cancel()).isFalse();
+    assertThat(wheel.size()).isZero();
+
+    advanceTo(wheel, 100);
+    assertThat(ran).isEmpty();
+  }
+
+  @Test
+  public void cancelAfterRunReturnsFalse() {
+    ExpirationTimingWheel wheel = new ExpirationTimingWheel(10, clock::get, null);
+    TestTask task = new TestTask();
+    wheel.add(task, 10);
+    advanceTo(wheel, 10);
+
+    assertThat(task.cancel()).isFalse();
+  }
+
+  @Test
+  public void taskCancelledBeforeItIsAddedIsNotScheduled() {
+    ExpirationTimingWheel wheel = new ExpirationTimingWheel(10, clock::get, null);
+    TestTask task = new TestTask();
+    task.cancel();
+
+    assertThat(wheel.add(task, 10)).isFalse();
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  public void tasksOnHigherLevelsRunAtTheirTick() {
+    ExpirationTimingWheel wheel = new ExpirationTimingWheel(1, clock::get, null);
+    Random random = new Random(7);
+    List<TestTask> tasks = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      TestTask task = new TestTask();
+      task.delay = random.nextInt(200_000);
+      tasks.add(task);
+      wheel.add(task, task.delay);
+    }
+    // cancel some of them along the way
+    for (int i = 0; i < tasks.size(); i += 10) {
+      tasks.get(i).cancel();
+    }
+
+    for (int millis = 0; millis <= 200_000; millis++) {
+      advanceTo(wheel, millis);
+    }
+
+    for (int i = 0; i < tasks.size(); i++) {
+      TestTask task = tasks.get(i);
+      if (i % 10 == 0) {
+        assertThat(task.ranAt).isZero();
+      } else {
+        assertThat(task.ranAt).isEqualTo(1_000_000L + Math.max(task.delay, 1));
+      }
+    }
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  public void clearRemovesAllTasks() {
+    ExpirationTimingWheel wheel = new ExpirationTimingWheel(10, clock::get, null);
+    TestTask task = new TestTask();
+    wheel.add(task, 10);
+    wheel.add(new TestTask(), 100_000);
+
+    wheel.clear();
+
+    assertThat(wheel.size()).isZero();
+    assertThat(task.cancel()).isFalse();
+    advanceTo(wheel, 100_000);
+    assertThat(ran).isEmpty();
+  }
+
+  private void advanceTo(ExpirationTimingWheel wheel, long elapsedMillis) {
+    clock.set(1_000_000L + elapsedMillis);
+    wheel.advance();
+  }
+
+  private class TestTask extends EntryExpiryTask {
+    long delay;
+    long ranAt;
+
+    TestTask() {
+      super(mock(LocalRegion.class), mock(RegionEntry.class));
+    }
+
+    @Override
+    public void run2() {
+      ranAt = clock.get();
+      ran.add(this);
+    }
+  }
+}
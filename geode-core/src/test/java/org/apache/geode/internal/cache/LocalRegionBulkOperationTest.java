@@ -14,7 +14,12 @@
  */
 package org.apache.geode.internal.cache;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
@@ -25,6 +30,7 @@ import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import org.apache.geode.CancelCriterion;
 import org.apache.geode.cache.CacheClosedException;
@@ -85,4 +91,42 @@ public class LocalRegionBulkOperationTest {
 
     region.basicPutAll(map, putAll, null);
   }
+
+  @Test
+  public void basicPutAllDiscoversJTAOnceBeforeApplyingEntries() {
+    Map map = new HashMap();
+    for (int i = 0; i < 10; i++) {
+      map.put("key" + i, "value" + i);
+    }
+    DistributedPutAllOperation putAll = mock(DistributedPutAllOperation.class);
+    when(putAll.getBaseEvent()).thenReturn(event);
+    when(region.hasServerProxy()).thenReturn(false);
+    when(region.basicPutAll(map, putAll, null)).thenCallRealMethod();
+
+    region.basicPutAll(map, putAll, null);
+
+    verify(region, times(1)).discoverJTA();
+    InOrder inOrder = inOrder(region);
+    inOrder.verify(region).discoverJTA();
+    inOrder.verify(region).syncBulkOp(any(), eq(eventID));
+  }
+
+  @Test
+  public void basicRemoveAllDiscoversJTAOnceBeforeApplyingEntries() {
+    Set keys = new HashSet<>();
+    for (int i = 0; i < 10; i++) {
+      keys.add("key" + i);
+    }
+    DistributedRemoveAllOperation removeAll = mock(DistributedRemoveAllOperation.class);
+    when(removeAll.getBaseEvent()).thenReturn(event);
+    when(region.hasServerProxy()).thenReturn(false);
+    when(region.basicRemoveAll(keys, removeAll, null)).thenCallRealMethod();
+
+    region.basicRemoveAll(keys, removeAll, null);
+
+    verify(region, times(1)).discoverJTA();
+    InOrder inOrder = inOrder(region);
+    inOrder.verify(region).discoverJTA();
+    inOrder.verify(region).syncBulkOp(any(), eq(eventID));
+  }
 }
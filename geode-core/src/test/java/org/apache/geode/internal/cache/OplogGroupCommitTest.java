@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+public class OplogGroupCommitTest {
+
+  private final Object lock = new Object();
+  private final OplogGroupCommit.Log log = mock(OplogGroupCommit.Log.class);
+  private final DiskStoreStats stats = mock(DiskStoreStats.class);
+  private final OplogGroupCommit groupCommit = new OplogGroupCommit(lock, log, stats);
+
+  private void append() {
+    synchronized (lock) {
+      groupCommit.append();
+    }
+  }
+
+  private CompletableFuture<Void> appendAndAwait() {
+    return CompletableFuture.runAsync(() -> {
+      append();
+      try {
+        OplogGroupCommit.awaitPending();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    });
+  }
+
+  @Test
+  public void awaitPendingWritesAndForcesAppendedRecord() throws Exception {
+    append();
+
+    OplogGroupCommit.awaitPending();
+
+    verify(log).write();
+    verify(log).force();
+    verify(stats).endGroupCommit(eq(1L), anyLong());
+  }
+
+  @Test
+  public void awaitPendingDoesNothingIfNothingWasAppended() throws Exception {
+    OplogGroupCommit.awaitPending();
+
+    verify(log, never()).write();
+    verify(log, never()).force();
+  }
+
+  @Test
+  public void awaitPendingDoesNothingOnceRecordIsCommitted() throws Exception {
+    append();
+    synchronized (lock) {
+      assertThat(groupCommit.committed(groupCommit.getAppended())).isEqualTo(1);
+    }
+
+    OplogGroupCommit.awaitPending();
+
+    verify(log, never()).write();
+    verify(log, never()).force();
+  }
+
+  @Test
+  public void recordsAppendedDuringACommitAreCommittedTogether() throws Exception {
+    CountDownLatch forcing = new CountDownLatch(1);
+    CountDownLatch forced = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      forcing.countDown();
+      forced.await();
+      return null;
+    }).doNothing().when(log).force();
+
+    CompletableFuture<Void> leader = appendAndAwait();
+    forcing.await();
+    CompletableFuture<Void> second = appendAndAwait();
+    CompletableFuture<Void> third = appendAndAwait();
+    await().until(() -> {
+      synchronized (lock) {
+        return groupCommit.getAppended() == 3;
+      }
+    });
+    assertThat(second).isNotDone();
+    assertThat(third).isNotDone();
+
+    forced.countDown();
+    CompletableFuture.allOf(leader, second, third).get();
+
+    verify(log, times(2)).write();
+    verify(log, times(2)).force();
+    verify(stats).endGroupCommit(eq(1L), anyLong());
+    verify(stats).endGroupCommit(eq(2L), anyLong());
+  }
+
+  @Test
+  public void failedCommitIsRetriedByNextWriter() throws Exception {
+    doThrow(new IOException("failed")).doNothing().when(log).force();
+    append();
+
+    assertThatThrownBy(OplogGroupCommit::awaitPending).isInstanceOf(IOException.class);
+    append();
+    OplogGroupCommit.awaitPending();
+
+    verify(log, times(2)).write();
+    verify(stats).endGroupCommit(eq(2L), anyLong());
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OplogReadAheadTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final DiskStoreStats stats = mock(DiskStoreStats.class);
+
+  private final Map<File, Oplog> files = new LinkedHashMap<>();
+
+  @Test
+  public void takeReturnsTheContentsOfTheFilesInOrder() throws Exception {
+    File first = createFile("first.drf", 10);
+    File second = createFile("second.drf", 20);
+
+    try (OplogReadAhead readAhead = new OplogReadAhead(files, 1, 1024, stats)) {
+      assertThat(readAhead.take(first).getBytes()).isEqualTo(Files.readAllBytes(first.toPath()));
+      readAhead.recovered();
+      assertThat(readAhead.take(second).getBytes()).isEqualTo(Files.readAllBytes(second.toPath()));
+      readAhead.recovered();
+    }
+
+    verify(stats).incRecoveryReadAheads(10);
+    verify(stats).incRecoveryReadAheads(20);
+  }
+
+  @Test
+  public void takeReturnsNullForAFileThatIsNotNext() throws Exception {
+    createFile("first.drf", 10);
+    File second = createFile("second.drf", 20);
+
+    try (OplogReadAhead readAhead = new OplogReadAhead(files, 1, 1024, stats)) {
+      assertThat(readAhead.take(second)).isNull();
+    }
+  }
+
+  @Test
+  public void takeReturnsNullForAFileThatIsTooLargeToKeepInMemory() throws Exception {
+    File file = createFile("large.drf", 2048);
+
+    try (OplogReadAhead readAhead = new OplogReadAhead(files, 1, 1024, stats)) {
+      assertThat(readAhead.take(file)).isNull();
+    }
+
+    verify(stats).incRecoveryReadAheads(2048);
+  }
+
+  @Test
+  public void failedReadAheadIsNotRecorded() throws Exception {
+    File file = new File(temporaryFolder.getRoot(), "missing.drf");
+    files.put(file, null);
+
+    try (OplogReadAhead readAhead = new OplogReadAhead(files, 1, 1024, stats)) {
+      assertThat(readAhead.take(file)).isNull();
+    }
+
+    verify(stats, never()).incRecoveryReadAheads(anyLong());
+  }
+
+  @Test
+  public void nothingIsReadAheadWithoutThreads() throws Exception {
+    File file = createFile("first.drf", 10);
+
+    try (OplogReadAhead readAhead = new OplogReadAhead(files, 0, 1024, stats)) {
+      assertThat(readAhead.isEnabled()).isFalse();
+      assertThat(readAhead.take(file)).isNull();
+    }
+
+    verify(stats, never()).incRecoveryReadAheads(anyLong());
+  }
+
+  @Test
+  public void runConcurrentlyRunsEveryTaskOnDifferentThreads() throws Exception {
+    createFile("first.drf", 10);
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    List<Runnable> tasks = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      tasks.add(() -> threads.add(Thread.currentThread()));
+    }
+
+    try (OplogReadAhead readAhead = new OplogReadAhead(files, 2, 1024, stats)) {
+      readAhead.runConcurrently(tasks);
+    }
+
+    assertThat(threads).contains(Thread.currentThread()).hasSizeGreaterThan(1);
+  }
+
+  @Test
+  public void runConcurrentlyThrowsTheFailureOfATaskOnceAllTasksAreComplete() throws Exception {
+    createFile("first.drf", 10);
+    AtomicInteger completed = new AtomicInteger();
+    IllegalStateException failure = new IllegalStateException("failed");
+    Runnable slowTask = () -> {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      completed.incrementAndGet();
+    };
+    Runnable failingTask = () -> {
+      throw failure;
+    };
+
+    try (OplogReadAhead readAhead = new OplogReadAhead(files, 2, 1024, stats)) {
+      assertThatThrownBy(() -> readAhead.runConcurrently(Arrays.asList(failingTask, slowTask)))
+          .isSameAs(failure);
+    }
+
+    assertThat(completed.get()).isEqualTo(1);
+  }
+
+  private File createFile(String name, int length) throws IOException {
+    File file = temporaryFolder.newFile(name);
+    byte[] bytes = new byte[length];
+    Arrays.fill(bytes, (byte) name.length());
+    Files.write(file.toPath(), bytes);
+    files.put(file, null);
+    return file;
+  }
+}
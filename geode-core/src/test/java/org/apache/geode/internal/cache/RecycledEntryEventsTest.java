@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.distributed.DistributedMember;
+
+public class RecycledEntryEventsTest {
+
+  private InternalRegion region;
+  private DistributedMember member;
+
+  @Before
+  public void setUp() {
+    region = mock(InternalRegion.class);
+    when(region.getKeyInfo(any(), any(), any()))
+        .thenAnswer(invocation -> new KeyInfo(invocation.getArgument(0), null,
+            invocation.getArgument(2)));
+    member = mock(DistributedMember.class);
+  }
+
+  @Test
+  public void acquireInitializesEvent() {
+    EntryEventImpl event =
+        RecycledEntryEvents.acquire(region, Operation.UPDATE, "key", "value", "arg", member);
+
+    assertThat(event.getRegion()).isSameAs(region);
+    assertThat(event.getOperation()).isEqualTo(Operation.UPDATE);
+    assertThat(event.getKey()).isEqualTo("key");
+    assertThat(event.getRawNewValue()).isEqualTo("value");
+    assertThat(event.getRawCallbackArgument()).isEqualTo("arg");
+    assertThat(event.getDistributedMember()).isSameAs(member);
+    assertThat(event.isOriginRemote()).isFalse();
+    assertThat(event.isGenerateCallbacks()).isTrue();
+
+    RecycledEntryEvents.recycle(event);
+  }
+
+  @Test
+  public void recycledEventIsReusedAndCleared() {
+    EntryEventImpl first =
+        RecycledEntryEvents.acquire(region, Operation.UPDATE, "key1", "value1", null, member);
+    first.setOldValue("old", true);
+    first.setEventId(new EventID(new byte[] {1}, 1, 1));
+    RecycledEntryEvents.recycle(first);
+
+    assertThat(first.getRegion()).isNull();
+    assertThat(first.getRawNewValue()).isNull();
+    assertThat(first.getRawOldValue()).isNull();
+    assertThat(first.getEventId()).isNull();
+
+    EntryEventImpl second =
+        RecycledEntryEvents.acquire(region, Operation.UPDATE, "key2", "value2", null, member);
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.getKey()).isEqualTo("key2");
+    assertThat(second.getRawNewValue()).isEqualTo("value2");
+    assertThat(second.getRawOldValue()).isNull();
+
+    RecycledEntryEvents.recycle(second);
+  }
+
+  @Test
+  public void acquireReturnsNullWhileEventIsInUse() {
+    EntryEventImpl event =
+        RecycledEntryEvents.acquire(region, Operation.UPDATE, "key", "value", null, member);
+
+    assertThat(RecycledEntryEvents.acquire(region, Operation.UPDATE, "nested", "value", null,
+        member)).isNull();
+
+    RecycledEntryEvents.recycle(event);
+  }
+
+  @Test
+  public void recycleIgnoresEventsThatWereNotAcquired() {
+    EntryEventImpl event =
+        RecycledEntryEvents.acquire(region, Operation.UPDATE, "key", "value", null, member);
+
+    RecycledEntryEvents.recycle(new EntryEventImpl());
+
+    assertThat(event.getKey()).isEqualTo("key");
+    assertThat(RecycledEntryEvents.acquire(region, Operation.UPDATE, "other", "value", null,
+        member)).isNull();
+
+    RecycledEntryEvents.recycle(event);
+  }
+
+  @Test
+  public void eventsAreNotSharedBetweenThreads() throws Exception {
+    EntryEventImpl event =
+        RecycledEntryEvents.acquire(region, Operation.UPDATE, "key", "value", null, member);
+    EntryEventImpl[] other = new EntryEventImpl[1];
+
+    Thread thread = new Thread(() -> other[0] =
+        RecycledEntryEvents.acquire(region, Operation.UPDATE, "key", "value", null, member));
+    thread.start();
+    thread.join();
+
+    assertThat(other[0]).isNotNull().isNotSameAs(event);
+
+    RecycledEntryEvents.recycle(event);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.control;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.Notification;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class GcNotificationListenerTest {
+  private static final String TENURED_POOL = "G1 Old Gen";
+
+  private List<Long> liveBytes;
+  private GcNotificationListener listener;
+
+  @Before
+  public void setUp() {
+    liveBytes = new ArrayList<>();
+    listener = new GcNotificationListener(TENURED_POOL, liveBytes::add);
+  }
+
+  @Test
+  public void readsUsageOfTenuredPoolAfterGc() throws Exception {
+    CompositeData info = createNotificationInfo(TENURED_POOL, 1234L);
+
+    assertThat(GcNotificationListener.getUsedAfterGc(info, TENURED_POOL)).isEqualTo(1234L);
+  }
+
+  @Test
+  public void returnsMinusOneIfPoolIsMissing() throws Exception {
+    CompositeData info = createNotificationInfo("G1 Eden Space", 1234L);
+
+    assertThat(GcNotificationListener.getUsedAfterGc(info, TENURED_POOL)).isEqualTo(-1L);
+  }
+
+  @Test
+  public void reportsLiveBytesOfGcNotification() throws Exception {
+    listener.handleNotification(createNotification(
+        GcNotificationListener.GARBAGE_COLLECTION_NOTIFICATION,
+        createNotificationInfo(TENURED_POOL, 5678L)), null);
+
+    assertThat(liveBytes).containsExactly(5678L);
+  }
+
+  @Test
+  public void ignoresOtherNotifications() throws Exception {
+    listener.handleNotification(
+        createNotification("other", createNotificationInfo(TENURED_POOL, 5678L)), null);
+
+    assertThat(liveBytes).isEmpty();
+  }
+
+  @Test
+  public void ignoresMalformedNotifications() {
+    listener.handleNotification(
+        createNotification(GcNotificationListener.GARBAGE_COLLECTION_NOTIFICATION, null), null);
+
+    assertThat(liveBytes).isEmpty();
+  }
+
+  private Notification createNotification(String type, CompositeData userData) {
+    Notification notification = new Notification(type, "collector", 1L);
+    notification.setUserData(userData);
+    return notification;
+  }
+
+  private CompositeData createNotificationInfo(String poolName, long used)
+      throws OpenDataException {
+    String[] usageItems = {"init", "used", "committed", "max"};
+    CompositeType usageType = new CompositeType("java.lang.management.MemoryUsage",
+        "memory usage", usageItems, usageItems,
+        new OpenType<?>[] {SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG});
+    String[] rowItems = {"key", "value"};
+    CompositeType rowType = new CompositeType("row", "pool usage", rowItems, rowItems,
+        new OpenType<?>[] {SimpleType.STRING, usageType});
+    TabularType tableType =
+        new TabularType("usage", "usage by pool", rowType, new String[] {"key"});
+    TabularDataSupport usageAfterGc = new TabularDataSupport(tableType);
+    usageAfterGc.put(new CompositeDataSupport(rowType, rowItems, new Object[] {poolName,
+        new CompositeDataSupport(usageType, usageItems, new Object[] {0L, used, used, used})}));
+
+    String[] gcInfoItems = {"memoryUsageAfterGc"};
+    CompositeType gcInfoType = new CompositeType("gcInfo", "gc info", gcInfoItems, gcInfoItems,
+        new OpenType<?>[] {tableType});
+    CompositeData gcInfo =
+        new CompositeDataSupport(gcInfoType, gcInfoItems, new Object[] {usageAfterGc});
+
+    String[] infoItems = {"gcInfo"};
+    CompositeType infoType = new CompositeType("info", "notification info", infoItems,
+        infoItems, new OpenType<?>[] {gcInfoType});
+    return new CompositeDataSupport(infoType, infoItems, new Object[] {gcInfo});
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.control;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class HeapAllocationRateTest {
+  private static final long SECOND = 1_000_000_000L;
+
+  @Test
+  public void rateIsZeroBeforeTwoSamples() {
+    HeapAllocationRate rate = new HeapAllocationRate();
+    assertThat(rate.getBytesPerSecond()).isZero();
+
+    rate.sample(1000, SECOND);
+    assertThat(rate.getBytesPerSecond()).isZero();
+  }
+
+  @Test
+  public void rateIsAveragedOverIntervals() {
+    HeapAllocationRate rate = new HeapAllocationRate();
+    rate.sample(0, 0);
+    rate.sample(1000, SECOND);
+    assertThat(rate.getBytesPerSecond()).isEqualTo(500);
+
+    rate.sample(2000, 2 * SECOND);
+    assertThat(rate.getBytesPerSecond()).isEqualTo(750);
+  }
+
+  @Test
+  public void dropInUsageIsNotCountedAsNegativeAllocation() {
+    HeapAllocationRate rate = new HeapAllocationRate();
+    rate.sample(0, 0);
+    rate.sample(1000, SECOND);
+
+    rate.sample(100, 2 * SECOND);
+    assertThat(rate.getBytesPerSecond()).isEqualTo(500);
+
+    rate.sample(1100, 3 * SECOND);
+    assertThat(rate.getBytesPerSecond()).isEqualTo(750);
+  }
+
+  @Test
+  public void sampleAtSameTimeOnlyMovesBaseline() {
+    HeapAllocationRate rate = new HeapAllocationRate();
+    rate.sample(0, SECOND);
+    rate.sample(500, SECOND);
+    rate.sample(1500, 2 * SECOND);
+
+    assertThat(rate.getBytesPerSecond()).isEqualTo(500);
+  }
+}
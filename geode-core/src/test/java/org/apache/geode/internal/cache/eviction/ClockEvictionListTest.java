@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+
+import org.apache.geode.internal.cache.RegionEntryContext;
+import org.apache.geode.internal.lang.SystemPropertyHelper;
+
+public class ClockEvictionListTest {
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  private EvictionCounters stats;
+  private EvictionController controller;
+
+  @Before
+  public void setup() {
+    stats = mock(EvictionCounters.class);
+    controller = mock(EvictionController.class);
+    when(controller.getCounters()).thenReturn(stats);
+  }
+
+  @Test
+  public void evictingFromEmptyListReturnsNull() {
+    ClockEvictionList list = new ClockEvictionList(controller);
+
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void evictsInInsertionOrderWhenNothingIsRecentlyUsed() {
+    ClockEvictionList list = new ClockEvictionList(controller);
+    Node first = createNode();
+    Node second = createNode();
+    list.appendEntry(first);
+    list.appendEntry(second);
+
+    assertThat(list.getEvictableEntry()).isSameAs(first);
+    assertThat(list.getEvictableEntry()).isSameAs(second);
+    assertThat(list.getEvictableEntry()).isNull();
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void recentlyUsedNodeGetsSecondChanceWithoutBeingMoved() {
+    ClockEvictionList list = new ClockEvictionList(controller);
+    Node recentlyUsed = createNode();
+    Node notUsed = createNode();
+    list.appendEntry(recentlyUsed);
+    list.appendEntry(notUsed);
+    recentlyUsed.setRecentlyUsed(null);
+
+    assertThat(list.getEvictableEntry()).isSameAs(notUsed);
+    assertThat(recentlyUsed.isRecentlyUsed()).isFalse();
+    assertThat(list.head.next()).isSameAs(recentlyUsed);
+    assertThat(list.size()).isOne();
+  }
+
+  @Test
+  public void handContinuesWhereItStopped() {
+    ClockEvictionList list = new ClockEvictionList(controller);
+    Node a = createNode();
+    Node b = createNode();
+    Node c = createNode();
+    list.appendEntry(a);
+    list.appendEntry(b);
+    list.appendEntry(c);
+    a.setRecentlyUsed(null);
+
+    assertThat(list.getEvictableEntry()).isSameAs(b);
+    // a lost its bit when the hand passed it, but c is next under the hand
+    assertThat(list.getEvictableEntry()).isSameAs(c);
+    assertThat(list.getEvictableEntry()).isSameAs(a);
+  }
+
+  @Test
+  public void newNodesAreAddedBehindTheHand() {
+    ClockEvictionList list = new ClockEvictionList(controller);
+    Node a = createNode();
+    Node b = createNode();
+    Node c = createNode();
+    list.appendEntry(a);
+    list.appendEntry(b);
+    list.appendEntry(c);
+
+    assertThat(list.getEvictableEntry()).isSameAs(a);
+    Node d = createNode();
+    list.appendEntry(d);
+
+    assertThat(list.getEvictableEntry()).isSameAs(b);
+    assertThat(list.getEvictableEntry()).isSameAs(c);
+    assertThat(list.getEvictableEntry()).isSameAs(d);
+  }
+
+  @Test
+  public void destroyingNodeUnderHandMovesHand() {
+    ClockEvictionList list = new ClockEvictionList(controller);
+    Node a = createNode();
+    Node b = createNode();
+    Node c = createNode();
+    list.appendEntry(a);
+    list.appendEntry(b);
+    list.appendEntry(c);
+    assertThat(list.getEvictableEntry()).isSameAs(a);
+
+    list.destroyEntry(b);
+
+    assertThat(list.getEvictableEntry()).isSameAs(c);
+    assertThat(list.size()).isZero();
+    verify(stats).incDestroys();
+  }
+
+  @Test
+  public void skipsAndRemovesNodesInTransactionOrAlreadyEvicted() {
+    ClockEvictionList list = new ClockEvictionList(controller);
+    Node inTransaction = createNode();
+    when(inTransaction.isInUseByTransaction()).thenReturn(true);
+    Node evicted = createNode();
+    when(evicted.isEvicted()).thenReturn(true);
+    Node node = createNode();
+    list.appendEntry(inTransaction);
+    list.appendEntry(evicted);
+    list.appendEntry(node);
+
+    assertThat(list.getEvictableEntry()).isSameAs(node);
+    assertThat(list.size()).isZero();
+  }
+
+  @Test
+  public void allRecentlyUsedEvictsAfterOneSweep() {
+    ClockEvictionList list = new ClockEvictionList(controller);
+    Node a = createNode();
+    Node b = createNode();
+    list.appendEntry(a);
+    list.appendEntry(b);
+    a.setRecentlyUsed(null);
+    b.setRecentlyUsed(null);
+
+    assertThat(list.getEvictableEntry()).isSameAs(a);
+    verify(stats).incEvaluations(3);
+  }
+
+  @Test
+  public void recentlyUsedNodeIsGreedilyEvictedAfterMaxSearchEntries() {
+    System.setProperty("geode." + SystemPropertyHelper.EVICTION_SEARCH_MAX_ENTRIES, "1");
+    ClockEvictionList list = new ClockEvictionList(controller);
+    Node a = createNode();
+    Node b = createNode();
+    list.appendEntry(a);
+    list.appendEntry(b);
+    a.setRecentlyUsed(null);
+    b.setRecentlyUsed(null);
+    // keep b recently used even after the hand clears its bit
+    b.alwaysRecentlyUsed = true;
+
+    assertThat(list.getEvictableEntry()).isSameAs(b);
+    verify(stats).incGreedyReturns(1);
+  }
+
+  private Node createNode() {
+    return mock(Node.class, withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+  }
+
+  abstract static class Node extends LinkableEvictionNode implements EvictableEntry {
+    private boolean recentlyUsed;
+    boolean alwaysRecentlyUsed;
+
+    @Override
+    public boolean isRecentlyUsed() {
+      return recentlyUsed || alwaysRecentlyUsed;
+    }
+
+    @Override
+    public void setRecentlyUsed(RegionEntryContext context) {
+      recentlyUsed = true;
+    }
+
+    @Override
+    public void unsetRecentlyUsed() {
+      recentlyUsed = false;
+    }
+  }
+}
@@ -14,6 +14,7 @@
  */
 package org.apache.geode.internal.cache.eviction;
 
+import static org.apache.geode.internal.lang.SystemPropertyHelper.EVICTION_CLOCK;
 import static org.apache.geode.internal.lang.SystemPropertyHelper.EVICTION_SCAN_ASYNC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -28,9 +29,11 @@ import org.apache.geode.cache.EvictionAlgorithm;
 
 public class EvictionListBuilderTest {
   private static final String EVICTION_PROPERTY_NAME = "geode." + EVICTION_SCAN_ASYNC;
+  private static final String CLOCK_PROPERTY_NAME = "geode." + EVICTION_CLOCK;
 
   @Rule
-  public ClearSystemProperties clearProperties = new ClearSystemProperties(EVICTION_PROPERTY_NAME);
+  public ClearSystemProperties clearProperties =
+      new ClearSystemProperties(EVICTION_PROPERTY_NAME, CLOCK_PROPERTY_NAME);
 
   private EvictionListBuilder builder;
   private EvictionController controller;
@@ -74,4 +77,29 @@ public class EvictionListBuilderTest {
     assertThat(builder.create()).isInstanceOf(LRUListWithSyncSorting.class);
 
   }
+
+  @Test
+  public void createsClockListWhenSystemConfiguredToUseIt() {
+    System.setProperty(CLOCK_PROPERTY_NAME, "true");
+    System.setProperty(EVICTION_PROPERTY_NAME, "false");
+    builder = new EvictionListBuilder(controller);
+
+    assertThat(builder.create()).isInstanceOf(ClockEvictionList.class);
+  }
+
+  @Test
+  public void createsLIFOListWhenAlgorithmIsLifoEvenIfClockIsConfigured() {
+    System.setProperty(CLOCK_PROPERTY_NAME, "true");
+    builder = new EvictionListBuilder(controller);
+    when(controller.getEvictionAlgorithm()).thenReturn(EvictionAlgorithm.LIFO_ENTRY);
+
+    assertThat(builder.create()).isInstanceOf(LIFOList.class);
+  }
+
+  @Test
+  public void createsTinyLfuListWhenAlgorithmIsTinyLfu() {
+    when(controller.getEvictionAlgorithm()).thenReturn(EvictionAlgorithm.TINY_LFU_ENTRY);
+
+    assertThat(builder.create()).isInstanceOf(TinyLfuEvictionList.class);
+  }
 }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class FrequencySketchTest {
+
+  @Test
+  public void unseenKeyHasFrequencyZero() {
+    FrequencySketch sketch = new FrequencySketch(64);
+
+    assertThat(sketch.frequency("key")).isZero();
+  }
+
+  @Test
+  public void incrementCountsKey() {
+    FrequencySketch sketch = new FrequencySketch(64);
+
+    sketch.increment("key");
+    sketch.increment("key");
+    sketch.increment("key");
+
+    assertThat(sketch.frequency("key")).isEqualTo(3);
+  }
+
+  @Test
+  public void frequencySaturatesAtFifteen() {
+    FrequencySketch sketch = new FrequencySketch(64);
+
+    for (int i = 0; i < 20; i++) {
+      sketch.increment("key");
+    }
+
+    assertThat(sketch.frequency("key")).isEqualTo(15);
+  }
+
+  @Test
+  public void frequencyIsNeverUnderestimated() {
+    FrequencySketch sketch = new FrequencySketch(1024);
+    for (int i = 0; i < 1000; i++) {
+      for (int j = 0; j < i % 8; j++) {
+        sketch.increment(i);
+      }
+    }
+
+    for (int i = 0; i < 1000; i++) {
+      assertThat(sketch.frequency(i)).isGreaterThanOrEqualTo(i % 8);
+    }
+  }
+
+  @Test
+  public void resetHalvesCounters() {
+    FrequencySketch sketch = new FrequencySketch(64);
+    for (int i = 0; i < 7; i++) {
+      sketch.increment("key");
+    }
+
+    sketch.reset();
+
+    assertThat(sketch.frequency("key")).isEqualTo(3);
+  }
+
+  @Test
+  public void countersAreHalvedAfterSampleSizeIncrements() {
+    FrequencySketch sketch = new FrequencySketch(16);
+    for (int i = 0; i < 15; i++) {
+      sketch.increment("hot");
+    }
+
+    // the sample size is ten increments per long of the table
+    for (int i = 0; sketch.frequency("hot") == 15 && i < 16 * 10; i++) {
+      sketch.increment(i);
+    }
+
+    assertThat(sketch.frequency("hot")).isLessThanOrEqualTo(7);
+  }
+
+  @Test
+  public void ensureCapacityGrowsTableToPowerOfTwo() {
+    FrequencySketch sketch = new FrequencySketch(10);
+    assertThat(sketch.capacity()).isEqualTo(16);
+
+    sketch.ensureCapacity(100);
+    assertThat(sketch.capacity()).isEqualTo(128);
+
+    sketch.ensureCapacity(50);
+    assertThat(sketch.capacity()).isEqualTo(128);
+  }
+}
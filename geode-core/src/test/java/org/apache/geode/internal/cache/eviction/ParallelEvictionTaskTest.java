@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.CancelCriterion;
+import org.apache.geode.cache.RegionDestroyedException;
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.RegionMap;
+import org.apache.geode.internal.statistics.StatisticsClock;
+
+public class ParallelEvictionTaskTest {
+
+  private HeapEvictor evictor;
+  private CachePerfStats stats;
+  private StatisticsClock statisticsClock;
+  private ForkJoinPool pool;
+
+  @Before
+  public void setUp() {
+    evictor = mock(HeapEvictor.class);
+    when(evictor.mustEvict()).thenReturn(true);
+    stats = mock(CachePerfStats.class);
+    statisticsClock = mock(StatisticsClock.class);
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void evictsShareOfEachRegion() {
+    RegionMap map1 = mock(RegionMap.class);
+    when(map1.centralizedLruUpdateCallback()).thenReturn(100);
+    RegionMap map2 = mock(RegionMap.class);
+    when(map2.centralizedLruUpdateCallback()).thenReturn(100);
+    List<LocalRegion> regions = Arrays.asList(createRegion(map1), createRegion(map2));
+
+    long bytesEvicted = pool.invoke(newTask(regions, new long[] {300, 100}));
+
+    assertThat(bytesEvicted).isEqualTo(400);
+    verify(map1, times(3)).centralizedLruUpdateCallback();
+    verify(map2, times(1)).centralizedLruUpdateCallback();
+    verify(stats, times(2)).incEvictorJobsStarted();
+    verify(stats, times(2)).incEvictorJobsCompleted();
+  }
+
+  @Test
+  public void stopsEvictingRegionWithNothingLeftToEvict() {
+    RegionMap map = mock(RegionMap.class);
+    when(map.centralizedLruUpdateCallback()).thenReturn(100, 0);
+
+    long bytesEvicted =
+        pool.invoke(newTask(Arrays.asList(createRegion(map)), new long[] {1000}));
+
+    assertThat(bytesEvicted).isEqualTo(100);
+    verify(map, times(2)).centralizedLruUpdateCallback();
+  }
+
+  @Test
+  public void stopsEvictingWhenEvictionIsNoLongerNeeded() {
+    when(evictor.mustEvict()).thenReturn(false);
+    RegionMap map = mock(RegionMap.class);
+
+    long bytesEvicted =
+        pool.invoke(newTask(Arrays.asList(createRegion(map)), new long[] {1000}));
+
+    assertThat(bytesEvicted).isZero();
+    verify(map, never()).centralizedLruUpdateCallback();
+  }
+
+  @Test
+  public void destroyedRegionDoesNotStopOtherRegions() {
+    RegionMap destroyed = mock(RegionMap.class);
+    when(destroyed.centralizedLruUpdateCallback())
+        .thenThrow(new RegionDestroyedException("destroyed", "/region"));
+    RegionMap map = mock(RegionMap.class);
+    when(map.centralizedLruUpdateCallback()).thenReturn(100);
+    List<LocalRegion> regions = Arrays.asList(createRegion(destroyed), createRegion(map));
+
+    long bytesEvicted = pool.invoke(newTask(regions, new long[] {100, 100}));
+
+    assertThat(bytesEvicted).isEqualTo(100);
+  }
+
+  @Test
+  public void evictsFromManyBuckets() {
+    List<LocalRegion> regions = new ArrayList<>();
+    List<RegionMap> maps = new ArrayList<>();
+    long[] bytesToEvict = new long[113];
+    for (int i = 0; i < bytesToEvict.length; i++) {
+      RegionMap map = mock(RegionMap.class);
+      when(map.centralizedLruUpdateCallback()).thenReturn(10);
+      maps.add(map);
+      regions.add(createRegion(map));
+      bytesToEvict[i] = 10;
+    }
+
+    long bytesEvicted = pool.invoke(newTask(regions, bytesToEvict));
+
+    assertThat(bytesEvicted).isEqualTo(1130);
+    for (RegionMap map : maps) {
+      verify(map).centralizedLruUpdateCallback();
+    }
+  }
+
+  private ParallelEvictionTask newTask(List<LocalRegion> regions, long[] bytesToEvict) {
+    return new ParallelEvictionTask(evictor, stats, statisticsClock, regions, bytesToEvict, 0,
+        regions.size());
+  }
+
+  private LocalRegion createRegion(RegionMap regionMap) {
+    LocalRegion region = mock(LocalRegion.class);
+    when(region.getRegionMap()).thenReturn(regionMap);
+    InternalCache cache = mock(InternalCache.class);
+    when(cache.getCancelCriterion()).thenReturn(mock(CancelCriterion.class));
+    when(region.getCache()).thenReturn(cache);
+    return region;
+  }
+}
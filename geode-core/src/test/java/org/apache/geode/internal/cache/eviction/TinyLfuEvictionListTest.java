@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.eviction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.RegionEntryContext;
+
+public class TinyLfuEvictionListTest {
+
+  private EvictionController controller;
+  private TinyLfuEvictionList list;
+
+  @Before
+  public void setup() {
+    controller = mock(EvictionController.class);
+    when(controller.getCounters()).thenReturn(mock(EvictionCounters.class));
+    list = new TinyLfuEvictionList(controller);
+  }
+
+  @Test
+  public void addingEntryCountsItsKey() {
+    Node node = createNode("key");
+
+    list.appendEntry(node);
+
+    assertThat(list.frequency(node)).isEqualTo(1);
+  }
+
+  @Test
+  public void newcomerUsedLessOftenThanVictimIsEvicted() {
+    Node hot = createNode("hot");
+    list.appendEntry(hot);
+    hot.setRecentlyUsed(null);
+    // the hand clears the bit and counts the use
+    Node first = createNode("first");
+    list.appendEntry(first);
+    assertThat(list.getEvictableEntry()).isSameAs(first);
+
+    Node newcomer = createNode("newcomer");
+    list.appendEntry(newcomer);
+
+    assertThat(list.getEvictableEntry()).isSameAs(newcomer);
+    assertThat(list.size()).isOne();
+    assertThat(list.head.next()).isSameAs(hot);
+  }
+
+  @Test
+  public void newcomerUsedMoreOftenThanVictimIsKept() {
+    Node victim = createNode("victim");
+    list.appendEntry(victim);
+    // the key was used before, for example by an entry that was evicted
+    Node evicted = createNode("frequent");
+    list.appendEntry(evicted);
+    list.destroyEntry(evicted);
+    Node newcomer = createNode("frequent");
+
+    list.appendEntry(newcomer);
+
+    assertThat(list.frequency(newcomer)).isEqualTo(2);
+    assertThat(list.getEvictableEntry()).isSameAs(victim);
+    assertThat(list.head.next()).isSameAs(newcomer);
+  }
+
+  @Test
+  public void newcomerSeenAsOftenAsVictimIsEvictedFirst() {
+    Node a = createNode("a");
+    Node b = createNode("b");
+    list.appendEntry(a);
+    list.appendEntry(b);
+
+    assertThat(list.getEvictableEntry()).isSameAs(b);
+    assertThat(list.getEvictableEntry()).isSameAs(a);
+    assertThat(list.getEvictableEntry()).isNull();
+  }
+
+  @Test
+  public void destroyedNewcomerDoesNotCompete() {
+    Node a = createNode("a");
+    Node b = createNode("b");
+    list.appendEntry(a);
+    list.appendEntry(b);
+
+    list.destroyEntry(b);
+
+    assertThat(list.getEvictableEntry()).isSameAs(a);
+  }
+
+  @Test
+  public void newcomerThatIsNotEvictableDoesNotCompete() {
+    Node a = createNode("a");
+    Node b = createNode("b");
+    when(b.isInUseByTransaction()).thenReturn(true);
+    list.appendEntry(a);
+    list.appendEntry(b);
+
+    assertThat(list.getEvictableEntry()).isSameAs(a);
+  }
+
+  private Node createNode(Object key) {
+    Node node = mock(Node.class, withSettings().useConstructor().defaultAnswer(CALLS_REAL_METHODS));
+    node.key = key;
+    return node;
+  }
+
+  abstract static class Node extends LinkableEvictionNode implements EvictableEntry {
+    private boolean recentlyUsed;
+    Object key;
+
+    @Override
+    public Object getKey() {
+      return key;
+    }
+
+    @Override
+    public boolean isRecentlyUsed() {
+      return recentlyUsed;
+    }
+
+    @Override
+    public void setRecentlyUsed(RegionEntryContext context) {
+      recentlyUsed = true;
+    }
+
+    @Override
+    public void unsetRecentlyUsed() {
+      recentlyUsed = false;
+    }
+  }
+}
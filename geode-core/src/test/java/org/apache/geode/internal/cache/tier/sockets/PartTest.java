@@ -19,13 +19,18 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import org.apache.geode.internal.offheap.AddressableMemoryManager;
+import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.test.junit.categories.ClientServerTest;
 
 @Category({ClientServerTest.class})
@@ -76,4 +81,111 @@ public class PartTest {
     assertThatThrownBy(() -> part.getCachedString())
         .hasMessageContaining("expected String part to be of type BYTE, part =");
   }
+
+  @Test
+  public void writeToDirectBufferCopiesOffHeapDataWithoutDirectByteBuffer() {
+    byte[] data = createData(100);
+    long addr = allocateOffHeap(data);
+    try {
+      Part part = new Part();
+      part.setPartState(mockStoredObject(addr, data.length), false);
+      ByteBuffer buf = ByteBuffer.allocateDirect(128);
+
+      part.writeTo(buf);
+
+      assertThat(buf.position()).isEqualTo(data.length);
+      assertThat(readBytes(buf)).isEqualTo(data);
+    } finally {
+      AddressableMemoryManager.free(addr);
+    }
+  }
+
+  @Test
+  public void writeToHeapBufferCopiesOffHeapDataWithoutDirectByteBuffer() {
+    byte[] data = createData(100);
+    long addr = allocateOffHeap(data);
+    try {
+      Part part = new Part();
+      part.setPartState(mockStoredObject(addr, data.length), false);
+      ByteBuffer buf = ByteBuffer.allocate(128);
+
+      part.writeTo(buf);
+
+      assertThat(buf.position()).isEqualTo(data.length);
+      assertThat(readBytes(buf)).isEqualTo(data);
+    } finally {
+      AddressableMemoryManager.free(addr);
+    }
+  }
+
+  @Test
+  public void writeToStreamCopiesOffHeapDataLargerThanBuffer() throws Exception {
+    byte[] data = createData(1000);
+    long addr = allocateOffHeap(data);
+    try {
+      Part part = new Part();
+      part.setPartState(mockStoredObject(addr, data.length), false);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ByteBuffer buf = ByteBuffer.allocate(64);
+
+      part.writeTo(out, buf);
+      out.write(buf.array(), 0, buf.position());
+
+      assertThat(out.toByteArray()).isEqualTo(data);
+    } finally {
+      AddressableMemoryManager.free(addr);
+    }
+  }
+
+  @Test
+  public void copyOffHeapToBufferIsLimitedByRemainingSpace() {
+    byte[] data = createData(100);
+    long addr = allocateOffHeap(data);
+    try {
+      ByteBuffer buf = ByteBuffer.allocateDirect(40);
+      buf.position(10);
+
+      int bytesCopied = Part.copyOffHeapToBuffer(addr, data.length, buf);
+
+      assertThat(bytesCopied).isEqualTo(30);
+      assertThat(buf.position()).isEqualTo(40);
+      assertThat(Part.copyOffHeapToBuffer(addr, data.length, buf)).isZero();
+      buf.position(10);
+      byte[] copied = new byte[30];
+      buf.get(copied);
+      assertThat(copied).isEqualTo(Arrays.copyOf(data, 30));
+    } finally {
+      AddressableMemoryManager.free(addr);
+    }
+  }
+
+  private static byte[] createData(int size) {
+    byte[] data = new byte[size];
+    for (int i = 0; i < size; i++) {
+      data[i] = (byte) i;
+    }
+    return data;
+  }
+
+  private static long allocateOffHeap(byte[] data) {
+    long addr = AddressableMemoryManager.allocate(data.length);
+    AddressableMemoryManager.writeBytes(addr, data, 0, data.length);
+    return addr;
+  }
+
+  private static StoredObject mockStoredObject(long addr, int size) {
+    StoredObject storedObject = mock(StoredObject.class);
+    when(storedObject.hasRefCount()).thenReturn(true);
+    when(storedObject.getDataSize()).thenReturn(size);
+    when(storedObject.getAddressForReadingData(0, size)).thenReturn(addr);
+    when(storedObject.createDirectByteBuffer()).thenReturn(null);
+    return storedObject;
+  }
+
+  private static byte[] readBytes(ByteBuffer buf) {
+    buf.flip();
+    byte[] result = new byte[buf.remaining()];
+    buf.get(result);
+    return result;
+  }
 }
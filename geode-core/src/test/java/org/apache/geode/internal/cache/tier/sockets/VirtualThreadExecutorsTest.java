@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.ClientServerTest;
+
+@Category(ClientServerTest.class)
+public class VirtualThreadExecutorsTest {
+
+  @Test
+  public void executorRunsWrappedTasksOnNamedVirtualThreadsIfSupported() throws Exception {
+    AtomicBoolean wrapped = new AtomicBoolean();
+    ExecutorService executor =
+        VirtualThreadExecutors.newVirtualThreadPerTaskExecutor("test thread ", command -> {
+          wrapped.set(true);
+          command.run();
+        });
+
+    if (!VirtualThreadExecutors.isSupported()) {
+      assertThat(executor).isNull();
+      return;
+    }
+
+    CompletableFuture<Thread> thread = new CompletableFuture<>();
+    executor.execute(() -> thread.complete(Thread.currentThread()));
+    executor.shutdown();
+
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+    assertThat(wrapped).isTrue();
+    assertThat(thread.get().getName()).startsWith("test thread ");
+    assertThat(Thread.class.getMethod("isVirtual").invoke(thread.get())).isEqualTo(true);
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.ClientServerTest;
+
+@Category(ClientServerTest.class)
+public class VirtualThreadMonitorTest {
+
+  private final List<Thread> carriers = new ArrayList<>();
+  private long nanoTime;
+  private CacheServerStats stats;
+  private ThreadMXBean threadMXBean;
+  private VirtualThreadMonitor monitor;
+
+  @Before
+  public void setUp() {
+    stats = mock(CacheServerStats.class);
+    threadMXBean = mock(ThreadMXBean.class);
+    monitor = new VirtualThreadMonitor(stats, threadMXBean, this::getCarriers, () -> nanoTime);
+  }
+
+  @Test
+  public void carrierCpuTimeIsTheSumOfTheCpuTimesOfTheCarriers() {
+    Thread carrier1 = carrier();
+    Thread carrier2 = carrier();
+    when(threadMXBean.getThreadCpuTime(carrier1.getId())).thenReturn(100L);
+    when(threadMXBean.getThreadCpuTime(carrier2.getId())).thenReturn(20L);
+
+    assertThat(monitor.getCarrierCpuTime()).isEqualTo(120L);
+  }
+
+  @Test
+  public void carrierCpuTimeKeepsTheCpuTimeOfTerminatedCarriers() {
+    Thread carrier1 = carrier();
+    Thread carrier2 = carrier();
+    when(threadMXBean.getThreadCpuTime(carrier1.getId())).thenReturn(100L, -1L);
+    when(threadMXBean.getThreadCpuTime(carrier2.getId())).thenReturn(20L, 30L);
+
+    monitor.getCarrierCpuTime();
+
+    assertThat(monitor.getCarrierCpuTime()).isEqualTo(130L);
+  }
+
+  @Test
+  public void carriersStartedLaterAreFoundAfterTheRefreshInterval() {
+    Thread carrier1 = carrier();
+    when(threadMXBean.getThreadCpuTime(carrier1.getId())).thenReturn(100L);
+    monitor.getCarrierCpuTime();
+    Thread carrier2 = carrier();
+    when(threadMXBean.getThreadCpuTime(carrier2.getId())).thenReturn(20L);
+
+    assertThat(monitor.getCarrierCpuTime()).isEqualTo(100L);
+
+    nanoTime += TimeUnit.SECONDS.toNanos(10);
+
+    assertThat(monitor.getCarrierCpuTime()).isEqualTo(120L);
+  }
+
+  @Test
+  public void startRecordsCarriersAndCpuTimeWhenSupported() {
+    when(threadMXBean.isThreadCpuTimeSupported()).thenReturn(true);
+    when(threadMXBean.isThreadCpuTimeEnabled()).thenReturn(true);
+
+    monitor.start();
+    monitor.close();
+
+    verify(stats).setVirtualThreadCarriers(any(Integer.class));
+    verify(stats).setVirtualThreadCarrierCpuTimeSupplier(any());
+  }
+
+  @Test
+  public void startDoesNotRecordCpuTimeWhenUnsupported() {
+    monitor.start();
+    monitor.close();
+
+    verify(stats, never()).setVirtualThreadCarrierCpuTimeSupplier(any());
+  }
+
+  @Test
+  public void pinnedVirtualThreadsAreRecorded() {
+    monitor.pinned(Duration.ofMillis(25));
+
+    verify(stats).incPinnedVirtualThreads(TimeUnit.MILLISECONDS.toNanos(25));
+  }
+
+  private Thread carrier() {
+    Thread carrier = new Thread(() -> {
+    });
+    carriers.add(carrier);
+    return carrier;
+  }
+
+  private Collection<Thread> getCarriers() {
+    return new ArrayList<>(carriers);
+  }
+}
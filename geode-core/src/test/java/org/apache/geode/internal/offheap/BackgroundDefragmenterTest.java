@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BackgroundDefragmenterTest {
+
+  private FreeListManager freeListManager;
+
+  @Before
+  public void setUp() {
+    freeListManager = mock(FreeListManager.class);
+    when(freeListManager.getSlabCount()).thenReturn(2);
+  }
+
+  @Test
+  public void isDisabledWithZeroInterval() {
+    BackgroundDefragmenter defragmenter = new BackgroundDefragmenter(freeListManager, 0, 50);
+
+    assertThat(defragmenter.isEnabled()).isFalse();
+  }
+
+  @Test
+  public void doesNotDefragmentWhenFragmentsHoldMostFreeMemory() {
+    when(freeListManager.getFreeMemory()).thenReturn(1000L);
+    when(freeListManager.getFreeFragmentMemory()).thenReturn(900L);
+    BackgroundDefragmenter defragmenter = new BackgroundDefragmenter(freeListManager, 10, 50);
+
+    defragmenter.runStep();
+
+    verify(freeListManager, never()).defragmentSlab(anyInt());
+  }
+
+  @Test
+  public void doesNotDefragmentWhenNoMemoryIsFree() {
+    when(freeListManager.getFreeMemory()).thenReturn(0L);
+    BackgroundDefragmenter defragmenter = new BackgroundDefragmenter(freeListManager, 10, 50);
+
+    assertThat(defragmenter.shouldDefragment()).isFalse();
+  }
+
+  @Test
+  public void defragmentsSlabsInRoundRobinOrderWhenThresholdReached() {
+    when(freeListManager.getFreeMemory()).thenReturn(1000L);
+    when(freeListManager.getFreeFragmentMemory()).thenReturn(400L);
+    BackgroundDefragmenter defragmenter = new BackgroundDefragmenter(freeListManager, 10, 50);
+
+    defragmenter.runStep();
+    defragmenter.runStep();
+    defragmenter.runStep();
+
+    verify(freeListManager, times(2)).defragmentSlab(0);
+    verify(freeListManager).defragmentSlab(1);
+  }
+
+  @Test
+  public void runStepDoesNotThrowIfDefragmentationFails() {
+    when(freeListManager.getFreeMemory()).thenReturn(1000L);
+    when(freeListManager.getFreeFragmentMemory()).thenReturn(0L);
+    when(freeListManager.defragmentSlab(anyInt())).thenThrow(new IllegalStateException("test"));
+    BackgroundDefragmenter defragmenter = new BackgroundDefragmenter(freeListManager, 10, 50);
+
+    defragmenter.runStep();
+
+    verify(freeListManager).defragmentSlab(0);
+  }
+}
@@ -17,6 +17,7 @@ package org.apache.geode.internal.offheap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -64,6 +65,17 @@ public class FreeListManagerTest {
     return new TestableFreeListManager(ma, slabs, maxCombine);
   }
 
+  private static TestableFreeListManager createArenaFreeListManager(MemoryAllocatorImpl ma,
+      Slab[] slabs, int arenaCount) {
+    return createArenaFreeListManager(ma, slabs, arenaCount,
+        FreeListManager.TINY_FREE_LIST_ARENA_LIMIT);
+  }
+
+  private static TestableFreeListManager createArenaFreeListManager(MemoryAllocatorImpl ma,
+      Slab[] slabs, int arenaCount, int arenaFreeListLimit) {
+    return new TestableFreeListManager(ma, slabs, 0, arenaCount, arenaFreeListLimit);
+  }
+
   private void setUpSingleSlabManager() {
     setUpSingleSlabManager(DEFAULT_SLAB_SIZE);
   }
@@ -170,6 +182,112 @@ public class FreeListManagerTest {
     validateChunkSizes(c, dataSize);
   }
 
+  @Test
+  public void allocateTinyChunkFromArenaCountsArenaHit() {
+    this.freeListManager =
+        createArenaFreeListManager(ma, new Slab[] {new SlabImpl(DEFAULT_SLAB_SIZE)}, 4);
+    int dataSize = 10;
+
+    OffHeapStoredObject c = this.freeListManager.allocate(dataSize);
+    long address = c.getAddress();
+    OffHeapStoredObject.release(address, this.freeListManager);
+    c = this.freeListManager.allocate(dataSize);
+
+    validateChunkSizes(c, dataSize);
+    assertThat(c.getAddress()).isEqualTo(address);
+    assertThat(this.freeListManager.getArenaHits()).isEqualTo(1);
+    assertThat(this.freeListManager.getArenaMisses()).isEqualTo(1);
+  }
+
+  @Test
+  public void allocateTinyChunkDoesNotSearchOtherArenas() throws Exception {
+    this.freeListManager =
+        createArenaFreeListManager(ma, new Slab[] {new SlabImpl(DEFAULT_SLAB_SIZE)}, 2);
+    int dataSize = 10;
+    OffHeapStoredObject c = this.freeListManager.allocate(dataSize);
+    final long address = c.getAddress();
+    releaseInOtherArena(address);
+
+    c = this.freeListManager.allocate(dataSize);
+
+    assertThat(c.getAddress()).isNotEqualTo(address);
+    assertThat(this.freeListManager.getArenaMisses()).isEqualTo(2);
+  }
+
+  @Test
+  public void tinyChunkFreedBeyondArenaLimitIsReusedByOtherArena() throws Exception {
+    this.freeListManager =
+        createArenaFreeListManager(ma, new Slab[] {new SlabImpl(DEFAULT_SLAB_SIZE)}, 2, 1);
+    int dataSize = 10;
+    final long address1 = this.freeListManager.allocate(dataSize).getAddress();
+    final long address2 = this.freeListManager.allocate(dataSize).getAddress();
+    releaseInOtherArena(address1);
+    releaseInOtherArena(address2);
+
+    OffHeapStoredObject c = this.freeListManager.allocate(dataSize);
+
+    assertThat(c.getAddress()).isEqualTo(address2);
+    assertThat(this.freeListManager.getArenaHits()).isZero();
+  }
+
+  private void releaseInOtherArena(long address) throws InterruptedException {
+    Thread freeingThread;
+    do {
+      freeingThread =
+          new Thread(() -> OffHeapStoredObject.release(address, this.freeListManager));
+    } while (freeingThread.getId() % 2 == Thread.currentThread().getId() % 2);
+    freeingThread.start();
+    freeingThread.join();
+  }
+
+  @Test
+  public void freeTinyMemoryIncludesArenas() {
+    this.freeListManager =
+        createArenaFreeListManager(ma, new Slab[] {new SlabImpl(DEFAULT_SLAB_SIZE)}, 4);
+    int dataSize = 10;
+
+    OffHeapStoredObject c = this.freeListManager.allocate(dataSize);
+    OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+
+    assertThat(this.freeListManager.getFreeTinyMemory()).isEqualTo(computeExpectedSize(dataSize));
+  }
+
+  @Test
+  public void defragmentCollectsChunksFromArenas() {
+    int slabSize = 256;
+    this.freeListManager = createArenaFreeListManager(ma, new Slab[] {new SlabImpl(slabSize)}, 4);
+    OffHeapStoredObject c1 = this.freeListManager.allocate(slabSize / 2 - 8);
+    OffHeapStoredObject c2 = this.freeListManager.allocate(slabSize / 2 - 8);
+    OffHeapStoredObject.release(c1.getAddress(), this.freeListManager);
+    OffHeapStoredObject.release(c2.getAddress(), this.freeListManager);
+
+    assertThat(this.freeListManager.doDefragment(slabSize)).isTrue();
+    assertThat(this.freeListManager.getFreeTinyMemory()).isZero();
+  }
+
+  @Test
+  public void defragmentSlabOnlyCombinesChunksOfThatSlab() {
+    int slabSize = 256;
+    Slab slab0 = new SlabImpl(slabSize);
+    Slab slab1 = new SlabImpl(slabSize);
+    this.freeListManager = createFreeListManager(ma, new Slab[] {slab0, slab1});
+    OffHeapStoredObject[] chunks = new OffHeapStoredObject[4];
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = this.freeListManager.allocate(slabSize / 2 - 8);
+    }
+    for (OffHeapStoredObject c : chunks) {
+      OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+    }
+
+    int largest = this.freeListManager.defragmentSlab(0);
+
+    assertThat(largest).isEqualTo(slabSize);
+    assertThat(this.freeListManager.getFragmentList()).extracting(Fragment::getAddress)
+        .contains(slab0.getMemoryAddress());
+    assertThat(this.freeListManager.getFreeTinyMemory()).isEqualTo(slabSize);
+    verify(this.stats).endBackgroundDefragmentation(anyLong());
+  }
+
   @Test
   public void freeTinyMemoryDefault() {
     setUpSingleSlabManager();
@@ -928,6 +1046,12 @@ public class FreeListManagerTest {
       this.maxCombine = maxCombine;
     }
 
+    public TestableFreeListManager(MemoryAllocatorImpl ma, Slab[] slabs, int maxCombine,
+        int arenaCount, int arenaFreeListLimit) {
+      super(ma, slabs, arenaCount, arenaFreeListLimit);
+      this.maxCombine = maxCombine;
+    }
+
     @Override
     protected Fragment createFragment(long addr, int size) {
       return new TestableFragment(addr, size);
@@ -129,6 +129,59 @@ public class OffHeapStoredObjectAddressStackJUnitTest {
     }
   }
 
+  @Test
+  public void offerWithLimitOnlyAddsUntilStackHoldsLimit() {
+    SlabImpl slab = new SlabImpl(1024);
+    try {
+      MemoryAllocatorImpl ma =
+          MemoryAllocatorImpl.createForUnitTest(new NullOutOfOffHeapMemoryListener(),
+              new NullOffHeapMemoryStats(), new SlabImpl[] {slab});
+      long addr1 = ((OffHeapStoredObject) ma.allocate(100)).getAddress();
+      long addr2 = ((OffHeapStoredObject) ma.allocate(100)).getAddress();
+
+      OffHeapStoredObjectAddressStack stack = new OffHeapStoredObjectAddressStack();
+      assertEquals(true, stack.offer(addr1, 1));
+      assertEquals(false, stack.offer(addr2, 1));
+      assertEquals(addr1, stack.getTopAddress());
+      assertEquals(addr1, stack.poll());
+      assertEquals(true, stack.offer(addr2, 1));
+      assertEquals(addr2, stack.getTopAddress());
+    } finally {
+      MemoryAllocatorImpl.freeOffHeapMemory();
+    }
+  }
+
+  @Test
+  public void removeInRangeMovesOnlyAddressesInRangeAndKeepsOthersInOrder() {
+    SlabImpl slab = new SlabImpl(1024);
+    try {
+      MemoryAllocatorImpl ma =
+          MemoryAllocatorImpl.createForUnitTest(new NullOutOfOffHeapMemoryListener(),
+              new NullOffHeapMemoryStats(), new SlabImpl[] {slab});
+      long addr1 = ((OffHeapStoredObject) ma.allocate(100)).getAddress();
+      long addr2 = ((OffHeapStoredObject) ma.allocate(100)).getAddress();
+      long addr3 = ((OffHeapStoredObject) ma.allocate(100)).getAddress();
+      long addr4 = ((OffHeapStoredObject) ma.allocate(100)).getAddress();
+
+      OffHeapStoredObjectAddressStack stack = new OffHeapStoredObjectAddressStack();
+      stack.offer(addr1);
+      stack.offer(addr2);
+      stack.offer(addr3);
+      stack.offer(addr4);
+      OffHeapStoredObjectAddressStack target = new OffHeapStoredObjectAddressStack();
+      stack.removeInRange(addr2, addr3 + 1, target);
+
+      assertEquals(addr4, stack.poll());
+      assertEquals(addr1, stack.poll());
+      assertEquals(true, stack.isEmpty());
+      assertEquals(addr2, target.poll());
+      assertEquals(addr3, target.poll());
+      assertEquals(true, target.isEmpty());
+    } finally {
+      MemoryAllocatorImpl.freeOffHeapMemory();
+    }
+  }
+
   @Test
   public void addressZeroOfferCausesFailedAssertion() {
     OffHeapStoredObjectAddressStack stack = new OffHeapStoredObjectAddressStack(0L);
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.Segment;
+
+public class CustomEntryConcurrentHashMapResizeTest {
+
+  private final CustomEntryConcurrentHashMap<Integer, Integer> map =
+      new CustomEntryConcurrentHashMap<>(1, 0.75f, 1);
+
+  @Test
+  public void resizeIsSpreadOverSeveralWrites() {
+    Segment<Integer, Integer> segment = map.segments[0];
+    int key = 0;
+    while (segment.table.length < 4 * CustomEntryConcurrentHashMap.TRANSFER_STRIDE) {
+      map.put(key, key);
+      key++;
+    }
+    while (segment.nextTable == null) {
+      map.put(key, key);
+      key++;
+    }
+
+    assertThat(segment.transferIndex).isEqualTo(
+        segment.table.length - CustomEntryConcurrentHashMap.TRANSFER_STRIDE);
+    for (int i = 0; i < key; i++) {
+      assertThat(map.get(i)).isEqualTo(i);
+    }
+
+    Object[] next = segment.nextTable;
+    while (segment.nextTable != null) {
+      map.put(key, key);
+      key++;
+    }
+
+    assertThat(segment.table).isSameAs(next);
+    assertThat(map.size()).isEqualTo(key);
+    for (int i = 0; i < key; i++) {
+      assertThat(map.get(i)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void operationsSeeEntriesInBothTablesDuringResize() {
+    Segment<Integer, Integer> segment = map.segments[0];
+    int key = 0;
+    while (segment.table.length < 4 * CustomEntryConcurrentHashMap.TRANSFER_STRIDE
+        || segment.nextTable == null) {
+      map.put(key, key);
+      key++;
+    }
+
+    assertThat(map.containsValue(0)).isTrue();
+    assertThat(map.containsValue(key - 1)).isTrue();
+    assertThat(map.keySet()).hasSize(key);
+    assertThat(map.remove(0)).isEqualTo(0);
+    assertThat(map.remove(key - 1)).isEqualTo(key - 1);
+    assertThat(map.size()).isEqualTo(key - 2);
+    assertThat(map.keySet()).hasSize(key - 2);
+
+    map.clear();
+
+    assertThat(map).isEmpty();
+    assertThat(segment.nextTable).isNull();
+    assertThat(map.keySet().iterator().hasNext()).isFalse();
+  }
+
+  @Test
+  public void iteratorReturnsEachExistingEntryOnceWhileSegmentGrows() {
+    for (int i = 0; i < 10000; i++) {
+      map.put(i, i);
+    }
+
+    Set<Integer> seen = new HashSet<>();
+    List<Integer> returned = new ArrayList<>();
+    Iterator<Integer> iterator = map.keySet().iterator();
+    int added = 0;
+    while (iterator.hasNext()) {
+      Integer key = iterator.next();
+      returned.add(key);
+      seen.add(key);
+      if (added < 50000) {
+        map.put(10000 + added, added);
+        added++;
+      }
+    }
+
+    assertThat(returned).hasSameSizeAs(seen);
+    for (int i = 0; i < 10000; i++) {
+      assertThat(seen).contains(i);
+    }
+  }
+
+  @Test
+  public void concurrentPutsDuringResizeAreNotLost() throws Exception {
+    CustomEntryConcurrentHashMap<Integer, Integer> concurrentMap =
+        new CustomEntryConcurrentHashMap<>(1, 0.75f, 4);
+    int threadCount = 4;
+    int keys = 100000;
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      int first = t;
+      threads.add(new Thread(() -> {
+        for (int i = first; i < keys; i += threadCount) {
+          concurrentMap.put(i, i);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(concurrentMap.size()).isEqualTo(keys);
+    assertThat(concurrentMap.keySet()).hasSize(keys);
+    for (int i = 0; i < keys; i++) {
+      assertThat(concurrentMap.get(i)).isEqualTo(i);
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.entries.OffHeapRegionEntry;
+import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.HashEntry;
+import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.HashEntryImpl;
+
+public class PrimitiveKeyConcurrentHashMapJUnitTest {
+
+  @Test
+  public void constructorRejectsUnsupportedKeyClass() {
+    assertThatThrownBy(() -> new PrimitiveKeyConcurrentHashMap(String.class, 16, 0.75f, 16))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void putGetAndRemoveLongKeys() {
+    PrimitiveKeyConcurrentHashMap map = new PrimitiveKeyConcurrentHashMap(Long.class, 16, 0.75f, 4);
+    for (long i = 0; i < 10000; i++) {
+      assertThat(map.put(i, entry(i, "v" + i))).isNull();
+    }
+    assertThat(map.size()).isEqualTo(10000);
+    for (long i = 0; i < 10000; i++) {
+      assertThat(valueOf(map.get(i))).isEqualTo("v" + i);
+    }
+    for (long i = 0; i < 10000; i += 2) {
+      assertThat(valueOf(map.remove(i))).isEqualTo("v" + i);
+    }
+    assertThat(map.size()).isEqualTo(5000);
+    for (long i = 0; i < 10000; i++) {
+      assertThat(valueOf(map.get(i))).isEqualTo(i % 2 == 0 ? null : "v" + i);
+    }
+  }
+
+  @Test
+  public void keysOfOtherClassesAreNotFound() {
+    PrimitiveKeyConcurrentHashMap map =
+        new PrimitiveKeyConcurrentHashMap(Integer.class, 16, 0.75f, 1);
+    map.put(1, entry(1, "one"));
+
+    assertThat(valueOf(map.get(1))).isEqualTo("one");
+    assertThat(map.get(1L)).isNull();
+    assertThat(map.get("1")).isNull();
+    assertThat(map.remove(1L)).isNull();
+    assertThatThrownBy(() -> map.put(1L, entry(1L, "one")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void valuesMustBeEntriesHoldingTheirKey() {
+    PrimitiveKeyConcurrentHashMap map = new PrimitiveKeyConcurrentHashMap(Long.class, 16, 0.75f, 1);
+
+    assertThatThrownBy(() -> map.put(1L, "one")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> map.put(1L, entry(2L, "two")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> map.put(1L, null)).isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  public void conditionalOperationsHonorExpectedValue() {
+    PrimitiveKeyConcurrentHashMap map = new PrimitiveKeyConcurrentHashMap(Long.class, 16, 0.75f, 1);
+    HashEntry<Object, Object> a = entry(7L, "a");
+    HashEntry<Object, Object> b = entry(7L, "b");
+    HashEntry<Object, Object> c = entry(7L, "c");
+    assertThat(map.putIfAbsent(7L, a)).isNull();
+    assertThat(map.putIfAbsent(7L, b)).isSameAs(a);
+    assertThat(map.replace(7L, b, c)).isFalse();
+    assertThat(map.replace(7L, a, c)).isTrue();
+    assertThat(map.replace(8L, entry(8L, "d"))).isNull();
+    assertThat(map.remove(7L, a)).isFalse();
+    assertThat(map.remove(7L, c)).isTrue();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void behavesLikeHashMapUnderRandomOperations() {
+    PrimitiveKeyConcurrentHashMap map = new PrimitiveKeyConcurrentHashMap(Long.class, 4, 0.75f, 8);
+    Map<Object, Object> expected = new HashMap<>();
+    Random random = new Random(17);
+    for (int i = 0; i < 200000; i++) {
+      // spread keys over both halves of the long range to exercise collisions and wrap around
+      Long key = random.nextInt(2000) * (random.nextBoolean() ? 1L : -(1L << 33));
+      switch (random.nextInt(3)) {
+        case 0:
+          HashEntry<Object, Object> e = entry(key, i);
+          assertThat(map.put(key, e)).isEqualTo(expected.put(key, e));
+          break;
+        case 1:
+          assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+          break;
+        default:
+          assertThat(map.get(key)).isEqualTo(expected.get(key));
+      }
+    }
+    assertThat(map.size()).isEqualTo(expected.size());
+    assertThat(new HashMap<>(map)).isEqualTo(expected);
+  }
+
+  @Test
+  public void iteratorRemoveRemovesMapping() {
+    PrimitiveKeyConcurrentHashMap map = new PrimitiveKeyConcurrentHashMap(Long.class, 16, 0.75f, 4);
+    for (long i = 0; i < 100; i++) {
+      map.put(i, entry(i, i));
+    }
+    Iterator<Map.Entry<Object, Object>> it = map.entrySetWithReusableEntries().iterator();
+    while (it.hasNext()) {
+      if (((Long) it.next().getKey()) < 50) {
+        it.remove();
+      }
+    }
+    assertThat(map.size()).isEqualTo(50);
+    assertThat(map.keySet()).allMatch(k -> (Long) k >= 50);
+  }
+
+  @Test
+  public void iteratorReturnsEntriesPresentThroughoutExactlyOnceWhileOthersAreRemoved() {
+    PrimitiveKeyConcurrentHashMap map = new PrimitiveKeyConcurrentHashMap(Long.class, 16, 0.75f, 1);
+    for (long i = 0; i < 1000; i++) {
+      map.put(i, entry(i, i));
+    }
+    Set<Object> seen = new HashSet<>();
+    Iterator<Map.Entry<Object, Object>> it = map.entrySetWithReusableEntries().iterator();
+    long removed = 1;
+    while (it.hasNext()) {
+      assertThat(seen.add(it.next().getKey())).isTrue();
+      if (removed < 1000) {
+        map.remove(removed);
+        removed += 2;
+      }
+    }
+    for (long i = 0; i < 1000; i += 2) {
+      assertThat(seen).contains(i);
+    }
+  }
+
+  @Test
+  public void clearWithExecutorEmptiesMap() {
+    PrimitiveKeyConcurrentHashMap map = new PrimitiveKeyConcurrentHashMap(Long.class, 16, 0.75f, 4);
+    for (long i = 0; i < 100; i++) {
+      map.put(i, entry(i, i));
+    }
+    map.clearWithExecutor(Runnable::run);
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(1L)).isNull();
+  }
+
+  @Test
+  public void clearReleasesOffHeapEntries() {
+    PrimitiveKeyConcurrentHashMap map = new PrimitiveKeyConcurrentHashMap(Long.class, 16, 0.75f, 4);
+    OffHeapRegionEntry entry =
+        mock(OffHeapRegionEntry.class, withSettings().extraInterfaces(HashEntry.class));
+    when(((HashEntry<?, ?>) entry).isKeyEqual(1L)).thenReturn(true);
+    map.put(1L, entry);
+
+    map.clear();
+
+    assertThat(map.isEmpty()).isTrue();
+    // without an executor the values are released on a thread of their own
+    await().untilAsserted(() -> verify(entry).release());
+  }
+
+  private static HashEntry<Object, Object> entry(Object key, Object value) {
+    return new HashEntryImpl<>(key, 0, null, value, null);
+  }
+
+  private static Object valueOf(Object entry) {
+    return entry == null ? null : ((HashEntry<?, ?>) entry).getMapValue();
+  }
+}
@@ -14,6 +14,8 @@
  */
 package org.apache.geode.internal.offheap;
 
+import java.util.function.LongSupplier;
+
 import org.apache.geode.Statistics;
 
 /**
@@ -111,6 +113,40 @@ public class NullOffHeapMemoryStats implements OffHeapMemoryStats {
     return 0;
   }
 
+  @Override
+  public long startBackgroundDefragmentation() {
+    return 0;
+  }
+
+  @Override
+  public void endBackgroundDefragmentation(long start) {}
+
+  @Override
+  public int getBackgroundDefragmentations() {
+    return 0;
+  }
+
+  @Override
+  public long getBackgroundDefragmentationTime() {
+    return 0;
+  }
+
+  @Override
+  public void setArenaHitsSupplier(LongSupplier supplier) {}
+
+  @Override
+  public long getArenaHits() {
+    return 0;
+  }
+
+  @Override
+  public void setArenaMissesSupplier(LongSupplier supplier) {}
+
+  @Override
+  public long getArenaMisses() {
+    return 0;
+  }
+
   @Override
   public Statistics getStats() {
     return null;